@@ -85,6 +85,22 @@ final class BoringSSL {
 
     static native void SSLContext_setSessionTicketKeys(long context, boolean enableCallback);
 
+    /**
+     * Use the given callback to store the sessions on the server side instead of encrypting them into the tickets,
+     * or go back to encrypted tickets if {@code null} is used.
+     *
+     * @return {@code 1} on success, {@code 0} otherwise.
+     */
+    static native int SSLContext_setSessionStoreCallback(long context, @Nullable Object callback);
+
+    /**
+     * Use the given callback to decide if early data that is offered in a {@code ClientHello} can be accepted, or
+     * remove the callback if {@code null} is used.
+     *
+     * @return {@code 1} on success, {@code 0} otherwise.
+     */
+    static native int SSLContext_setAntiReplayCallback(long context, @Nullable Object callback);
+
     static int SSLContext_set1_groups_list(long ctx, String... groups) {
         if (groups == null) {
             throw new NullPointerException("curves");
@@ -130,12 +146,41 @@ final class BoringSSL {
 
     static native void SSL_cleanup(long ssl);
 
+    /**
+     * Returns {@code 1} if early data was accepted, {@code -1} if the remote peer offered early data but it was
+     * rejected and {@code 0} otherwise.
+     */
+    static native int SSL_early_data_status(long ssl);
+
     static native long EVP_PKEY_parse(byte[] bytes, String pass);
     static native void EVP_PKEY_free(long key);
 
+    /**
+     * Increments the reference count of the given {@code EVP_PKEY}.
+     *
+     * @param key   the {@code EVP_PKEY}.
+     * @return      the given key or {@code 0} if the reference count could not be incremented.
+     */
+    static native long EVP_PKEY_up_ref(long key);
+
     static native long CRYPTO_BUFFER_stack_new(long ssl, byte[][] bytes);
+
+    /**
+     * Same as {@link #CRYPTO_BUFFER_stack_new(long, byte[][])} but takes the {@code SSL_CTX} and so can be used
+     * before there is any {@code SSL} instance.
+     */
+    static native long CRYPTO_BUFFER_stack_new_ctx(long ctx, byte[][] bytes);
     static native void CRYPTO_BUFFER_stack_free(long chain);
 
+    /**
+     * Creates a new stack that shares all the {@code CRYPTO_BUFFER}s of the given stack, incrementing their reference
+     * count. The returned stack needs to be released via {@link #CRYPTO_BUFFER_stack_free(long)}.
+     *
+     * @param chain the stack to copy.
+     * @return      the new stack or {@code 0} on failure.
+     */
+    static native long CRYPTO_BUFFER_stack_up_ref(long chain);
+
     @Nullable
     static native String ERR_last_error();
 
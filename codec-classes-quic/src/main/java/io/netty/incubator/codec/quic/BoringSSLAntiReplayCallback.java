@@ -0,0 +1,38 @@
+/*
+ * Copyright 2026 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty.incubator.codec.quic;
+
+final class BoringSSLAntiReplayCallback {
+
+    private final QuicSslAntiReplayFilter filter;
+    private final QuicSslSessionStats stats;
+
+    BoringSSLAntiReplayCallback(QuicSslAntiReplayFilter filter, QuicSslSessionStats stats) {
+        this.filter = filter;
+        this.stats = stats;
+    }
+
+    // Accessed via JNI.
+    @SuppressWarnings("unused")
+    boolean acceptEarlyData(long ssl, byte[] clientRandom) {
+        if (filter.checkAndRecord(clientRandom)) {
+            return true;
+        }
+        // The handshake will report early data as disabled, so count it here.
+        stats.earlyDataReplayed();
+        return false;
+    }
+}
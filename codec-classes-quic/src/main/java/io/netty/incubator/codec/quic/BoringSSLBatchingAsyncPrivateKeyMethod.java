@@ -0,0 +1,265 @@
+/*
+ * Copyright 2026 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty.incubator.codec.quic;
+
+import io.netty.util.concurrent.EventExecutor;
+import io.netty.util.concurrent.Future;
+import io.netty.util.concurrent.Promise;
+import io.netty.util.internal.ObjectUtil;
+import io.netty.util.internal.PlatformDependent;
+import org.jetbrains.annotations.Nullable;
+
+import javax.net.ssl.SSLEngine;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * {@link BoringSSLAsyncPrivateKeyMethod} that collects the sign requests of concurrent handshakes and passes them to
+ * a {@link BatchSigner} in batches. This is useful if the signing is done by a remote service for which the overhead
+ * per call is much higher than the cost of the signing itself.
+ * <p>
+ * A batch is passed to the {@link BatchSigner} once {@code maxBatchSize} requests were collected or the first request
+ * of the batch waited for the configured window, whatever happens first. The {@link BatchSigner} is always called
+ * from the given {@link EventExecutor} and does not need to wait for the results of one batch before the next batch
+ * is passed to it. Each request is completed on its own, so a handshake can continue as soon as its signature arrived.
+ * <p>
+ * As {@code QUIC} always uses {@code TLSv1.3}, {@link #decrypt(SSLEngine, byte[])} is never used and so not
+ * supported.
+ */
+public final class BoringSSLBatchingAsyncPrivateKeyMethod implements BoringSSLAsyncPrivateKeyMethod {
+
+    /**
+     * Signs batches of {@link SignRequest}s, for example by sending them to a remote signing service.
+     */
+    public interface BatchSigner {
+
+        /**
+         * Sign all the {@link SignRequest}s of the batch. Each of the requests must be completed via
+         * {@link SignRequest#complete(byte[])} or {@link SignRequest#fail(Throwable)} eventually, as otherwise the
+         * handshake will not make any progress. This method is never called concurrently, which allows to write all
+         * batches to a single connection, but should not block.
+         *
+         * @param batch         the requests.
+         * @throws Exception    if the batch could not be signed, in which case all requests that were not completed
+         *                      yet are failed.
+         */
+        void sign(List<SignRequest> batch) throws Exception;
+    }
+
+    /**
+     * A request to sign some data, which is part of a batch.
+     */
+    public static final class SignRequest {
+        @Nullable
+        private final SSLEngine engine;
+        private final int signatureAlgorithm;
+        private final byte[] input;
+        private final Promise<byte[]> promise;
+
+        SignRequest(@Nullable SSLEngine engine, int signatureAlgorithm, byte[] input, Promise<byte[]> promise) {
+            this.engine = engine;
+            this.signatureAlgorithm = signatureAlgorithm;
+            this.input = input;
+            this.promise = promise;
+        }
+
+        /**
+         * Returns the {@link SSLEngine} for which the signature is needed.
+         *
+         * @return the engine.
+         */
+        @Nullable
+        public SSLEngine engine() {
+            return engine;
+        }
+
+        /**
+         * Returns the algorithm to use for signing.
+         *
+         * @return the algorithm.
+         */
+        public int signatureAlgorithm() {
+            return signatureAlgorithm;
+        }
+
+        /**
+         * Returns the data to sign. The returned array must not be modified.
+         *
+         * @return the data.
+         */
+        public byte[] input() {
+            return input;
+        }
+
+        /**
+         * Complete the request with the given signature.
+         *
+         * @param signature the signature.
+         * @return          {@code true} if the request was completed, {@code false} if it was completed before.
+         */
+        public boolean complete(byte[] signature) {
+            return promise.trySuccess(ObjectUtil.checkNotNull(signature, "signature"));
+        }
+
+        /**
+         * Fail the request, which will also fail the handshake.
+         *
+         * @param cause the cause of the failure.
+         * @return      {@code true} if the request was failed, {@code false} if it was completed before.
+         */
+        public boolean fail(Throwable cause) {
+            return promise.tryFailure(ObjectUtil.checkNotNull(cause, "cause"));
+        }
+    }
+
+    private final BatchSigner signer;
+    private final EventExecutor executor;
+    private final long windowNanos;
+    private final int maxBatchSize;
+    private final Queue<SignRequest> pending = PlatformDependent.newMpscQueue();
+    private final AtomicInteger pendingCount = new AtomicInteger();
+    // The flush task that is currently responsible for the pending requests, if any. Only the task itself clears it,
+    // so a timed flush that was superseded by an immediate one can not end the window of the next batch early.
+    private final AtomicReference<FlushTask> flushOwner = new AtomicReference<>();
+    private final FlushTask immediateFlushTask = new FlushTask();
+
+    /**
+     * Create a new instance.
+     *
+     * @param signer        the {@link BatchSigner} that signs the batches.
+     * @param executor      the {@link EventExecutor} from which the {@link BatchSigner} is called.
+     * @param window        the maximum time the first request of a batch waits for more requests.
+     * @param unit          the {@link TimeUnit} of the window.
+     * @param maxBatchSize  the maximum number of requests in a batch.
+     */
+    public BoringSSLBatchingAsyncPrivateKeyMethod(BatchSigner signer, EventExecutor executor,
+                                                  long window, TimeUnit unit, int maxBatchSize) {
+        this.signer = ObjectUtil.checkNotNull(signer, "signer");
+        this.executor = ObjectUtil.checkNotNull(executor, "executor");
+        this.windowNanos = ObjectUtil.checkNotNull(unit, "unit").toNanos(
+                ObjectUtil.checkPositiveOrZero(window, "window"));
+        this.maxBatchSize = ObjectUtil.checkPositive(maxBatchSize, "maxBatchSize");
+    }
+
+    @Override
+    public Future<byte[]> sign(SSLEngine engine, int signatureAlgorithm, byte[] input) {
+        ObjectUtil.checkNotNull(input, "input");
+        SignRequest request = new SignRequest(engine, signatureAlgorithm, input, executor.newPromise());
+        pending.add(request);
+        try {
+            if (pendingCount.incrementAndGet() >= maxBatchSize || windowNanos == 0) {
+                // The batch is full, no need to wait any longer.
+                scheduleImmediateFlush();
+            } else {
+                scheduleTimedFlush();
+            }
+        } catch (RejectedExecutionException e) {
+            // The executor was shutdown, fail everything as no one will pick up the requests anymore.
+            failPending(e);
+        }
+        return request.promise;
+    }
+
+    @Override
+    public Future<byte[]> decrypt(SSLEngine engine, byte[] input) {
+        return executor.newFailedFuture(new UnsupportedOperationException("decrypt is not used by TLSv1.3"));
+    }
+
+    /**
+     * Returns the number of requests that were not passed to the {@link BatchSigner} yet.
+     *
+     * @return the number of requests.
+     */
+    public int pendingRequests() {
+        return pendingCount.get();
+    }
+
+    private void scheduleImmediateFlush() {
+        for (;;) {
+            FlushTask owner = flushOwner.get();
+            if (owner == immediateFlushTask) {
+                // Already submitted and not run yet, it will pick up this request as well.
+                return;
+            }
+            if (flushOwner.compareAndSet(owner, immediateFlushTask)) {
+                executor.execute(immediateFlushTask);
+                return;
+            }
+        }
+    }
+
+    private void scheduleTimedFlush() {
+        FlushTask task = new FlushTask();
+        if (flushOwner.compareAndSet(null, task)) {
+            executor.schedule(task, windowNanos, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private void flush() {
+        assert executor.inEventLoop();
+        int count;
+        while ((count = pendingCount.get()) > 0) {
+            List<SignRequest> batch = new ArrayList<>(Math.min(count, maxBatchSize));
+            SignRequest request;
+            while (batch.size() < maxBatchSize && (request = pending.poll()) != null) {
+                batch.add(request);
+            }
+            if (batch.isEmpty()) {
+                // The counter is incremented after the request was added, so this should never happen.
+                break;
+            }
+            pendingCount.addAndGet(-batch.size());
+            try {
+                signer.sign(Collections.unmodifiableList(batch));
+            } catch (Throwable cause) {
+                for (SignRequest r : batch) {
+                    r.fail(cause);
+                }
+            }
+            if (batch.size() < maxBatchSize) {
+                // Everything that is added from now on belongs to the next window.
+                break;
+            }
+        }
+        if (pendingCount.get() > 0) {
+            scheduleTimedFlush();
+        }
+    }
+
+    private void failPending(Throwable cause) {
+        SignRequest request;
+        while ((request = pending.poll()) != null) {
+            pendingCount.decrementAndGet();
+            request.fail(cause);
+        }
+    }
+
+    private final class FlushTask implements Runnable {
+        @Override
+        public void run() {
+            // Only flush if this task still owns the pending requests, otherwise another flush took over already.
+            if (flushOwner.compareAndSet(this, null)) {
+                flush();
+            }
+        }
+    }
+}
@@ -41,15 +41,24 @@ final class BoringSSLCertificateVerifyCallback {
     }
 
     private final QuicheQuicSslEngineMap engineMap;
-    private final X509TrustManager manager;
+    private volatile X509TrustManager manager;
 
     BoringSSLCertificateVerifyCallback(QuicheQuicSslEngineMap engineMap, @Nullable X509TrustManager manager) {
         this.engineMap = engineMap;
         this.manager = manager;
     }
 
+    /**
+     * Replace the {@link X509TrustManager} that is used to verify the peer of all handshakes that are verified after
+     * this method returns.
+     */
+    void trustManager(X509TrustManager manager) {
+        this.manager = manager;
+    }
+
     @SuppressWarnings("unused")
     int verify(long ssl, byte[][] x509, String authAlgorithm) {
+        final X509TrustManager manager = this.manager;
         final QuicheQuicSslEngine engine = engineMap.get(ssl);
         if (engine == null) {
             // May be null if it was destroyed in the meantime.
@@ -18,15 +18,18 @@ package io.netty.incubator.codec.quic;
 final class BoringSSLHandshakeCompleteCallback {
 
     private final QuicheQuicSslEngineMap map;
+    private final QuicSslSessionStats stats;
 
-    BoringSSLHandshakeCompleteCallback(QuicheQuicSslEngineMap map) {
+    BoringSSLHandshakeCompleteCallback(QuicheQuicSslEngineMap map, QuicSslSessionStats stats) {
         this.map = map;
+        this.stats = stats;
     }
 
     @SuppressWarnings("unused")
     void handshakeComplete(long ssl, byte[] id, String cipher, String protocol, byte[] peerCertificate,
                            byte[][] peerCertificateChain, long creationTime, long timeout, byte[] applicationProtocol,
                            boolean sessionReused) {
+        stats.handshakeComplete(sessionReused, BoringSSL.SSL_early_data_status(ssl));
         QuicheQuicSslEngine engine = map.get(ssl);
         if (engine != null) {
             engine.handshakeFinished(id, cipher, protocol, peerCertificate, peerCertificateChain, creationTime,
@@ -0,0 +1,60 @@
+/*
+ * Copyright 2026 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty.incubator.codec.quic;
+
+import org.jetbrains.annotations.Nullable;
+
+import java.security.SecureRandom;
+import java.util.Arrays;
+
+final class BoringSSLSessionStoreCallback {
+    static final int SESSION_ID_LEN = 32;
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    private final QuicSslSessionStore store;
+    private final QuicSslSessionStats stats;
+
+    BoringSSLSessionStoreCallback(QuicSslSessionStore store, QuicSslSessionStats stats) {
+        this.store = store;
+        this.stats = stats;
+    }
+
+    // Accessed via JNI.
+    byte @Nullable [] seal(long ssl, byte[] session) {
+        // BoringSSL opens a ticket into a buffer of the size of the ticket (see ssl_decrypt_ticket_with_method), so
+        // the ticket can't be smaller than the session even if we only need the id to look it up.
+        if (session.length < SESSION_ID_LEN) {
+            return null;
+        }
+        byte[] id = new byte[SESSION_ID_LEN];
+        RANDOM.nextBytes(id);
+        store.put(id, session);
+        stats.sessionStored();
+        return Arrays.copyOf(id, session.length);
+    }
+
+    // Accessed via JNI.
+    @Nullable
+    Runnable open(long ssl, byte[] ticket) {
+        if (ticket.length < SESSION_ID_LEN) {
+            return null;
+        }
+        // The session is looked up asynchronously, BoringSSL will call open again once the task completed.
+        return new BoringSSLSessionStoreOpenTask(
+                ssl, Arrays.copyOf(ticket, SESSION_ID_LEN), ticket.length, store, stats);
+    }
+}
@@ -0,0 +1,65 @@
+/*
+ * Copyright 2026 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty.incubator.codec.quic;
+
+import io.netty.util.concurrent.Future;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Looks up the session of a ticket in the {@link QuicSslSessionStore}, while the handshake is suspended.
+ */
+final class BoringSSLSessionStoreOpenTask extends BoringSSLTask {
+    private final byte[] id;
+    private final int maxSessionLength;
+    private final QuicSslSessionStore store;
+    private final QuicSslSessionStats stats;
+
+    // Accessed via JNI.
+    private byte @Nullable [] session;
+
+    BoringSSLSessionStoreOpenTask(long ssl, byte[] id, int maxSessionLength, QuicSslSessionStore store,
+                                  QuicSslSessionStats stats) {
+        super(ssl);
+        this.id = id;
+        this.maxSessionLength = maxSessionLength;
+        this.store = store;
+        this.stats = stats;
+    }
+
+    @Override
+    protected void runTask(long ssl, TaskCallback callback) {
+        Future<byte[]> future;
+        try {
+            future = store.get(id);
+        } catch (Throwable cause) {
+            // Just do a full handshake if the store failed.
+            stats.sessionMissed();
+            callback.onResult(ssl, 0);
+            return;
+        }
+        future.addListener(f -> {
+            byte[] result = f.isSuccess() ? (byte[]) f.getNow() : null;
+            // BoringSSL only accepts sessions that are not larger than the ticket.
+            if (result == null || result.length > maxSessionLength) {
+                stats.sessionMissed();
+                callback.onResult(ssl, 0);
+            } else {
+                session = result;
+                callback.onResult(ssl, 1);
+            }
+        });
+    }
+}
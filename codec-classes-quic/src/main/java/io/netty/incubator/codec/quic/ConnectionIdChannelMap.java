@@ -15,12 +15,14 @@
  */
 package io.netty.incubator.codec.quic;
 
+import io.netty.buffer.ByteBuf;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.nio.ByteBuffer;
 import java.security.SecureRandom;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 
@@ -33,6 +35,8 @@ final class ConnectionIdChannelMap {
 
     private final Map<ConnectionIdKey, QuicheQuicChannel> channelMap = new HashMap<>();
     private final SipHash sipHash;
+    // Re-used for lookups and removals, as the key is not stored in the map in this case.
+    private final ConnectionIdKey lookupKey = new ConnectionIdKey(0, null);
 
     ConnectionIdChannelMap() {
         byte[] seed = new byte[SipHash.SEED_LENGTH];
@@ -46,19 +50,63 @@ final class ConnectionIdChannelMap {
         return new ConnectionIdKey(hash, cid);
     }
 
+    private ConnectionIdKey lookupKey(ByteBuffer cid) {
+        lookupKey.hash = sipHash.macHash(cid);
+        lookupKey.key = cid;
+        return lookupKey;
+    }
+
     @Nullable
     QuicheQuicChannel put(ByteBuffer cid, QuicheQuicChannel channel) {
         return channelMap.put(key(cid), channel);
     }
 
+    /**
+     * Map all the given connection ids to the given {@link QuicheQuicChannel}.
+     */
+    void putAll(List<ByteBuffer> cids, QuicheQuicChannel channel) {
+        // Use an old style for loop to not create an Iterator.
+        for (int i = 0; i < cids.size(); i++) {
+            QuicheQuicChannel ch = channelMap.put(key(cids.get(i)), channel);
+            assert ch == null || ch == channel;
+        }
+    }
+
     @Nullable
     QuicheQuicChannel remove(ByteBuffer cid) {
-        return channelMap.remove(key(cid));
+        try {
+            return channelMap.remove(lookupKey(cid));
+        } finally {
+            lookupKey.key = null;
+        }
+    }
+
+    /**
+     * Remove all connection ids that are contained in the readable bytes of the given {@link ByteBuf}, each of
+     * them prefixed by its length as a single byte. The readable bytes of the {@link ByteBuf} are not modified.
+     */
+    void removeAll(ByteBuf cids, QuicheQuicChannel channel) {
+        int idx = cids.readerIndex();
+        int end = cids.writerIndex();
+        try {
+            while (idx < end) {
+                int len = cids.getUnsignedByte(idx++);
+                QuicheQuicChannel ch = channelMap.remove(lookupKey(cids.internalNioBuffer(idx, len)));
+                assert ch == channel;
+                idx += len;
+            }
+        } finally {
+            lookupKey.key = null;
+        }
     }
 
     @Nullable
     QuicheQuicChannel get(ByteBuffer cid) {
-        return channelMap.get(key(cid));
+        try {
+            return channelMap.get(lookupKey(cid));
+        } finally {
+            lookupKey.key = null;
+        }
     }
 
     void clear() {
@@ -66,10 +114,12 @@ final class ConnectionIdChannelMap {
     }
 
     private static final class ConnectionIdKey implements Comparable<ConnectionIdKey> {
-        private final long hash;
-        private final ByteBuffer key;
+        // Only mutated for the lookup key, keys that are stored in the map are never changed.
+        private long hash;
+        @Nullable
+        private ByteBuffer key;
 
-        ConnectionIdKey(long hash, ByteBuffer key) {
+        ConnectionIdKey(long hash, @Nullable ByteBuffer key) {
             this.hash = hash;
             this.key = key;
         }
@@ -0,0 +1,272 @@
+/*
+ * Copyright 2026 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty.incubator.codec.quic;
+
+import io.netty.util.AsciiString;
+import io.netty.util.internal.MathUtil;
+import io.netty.util.internal.ObjectUtil;
+import io.netty.util.internal.PlatformDependent;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileAttribute;
+import java.nio.file.attribute.PosixFilePermission;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.EnumSet;
+import java.util.Locale;
+
+/**
+ * {@link QuicClientSessionStore} that keeps the sessions in a memory-mapped file, so they survive restarts of the
+ * process. Nothing is read from the file up front, sessions are only read once a connection to the peer is opened.
+ * <p>
+ * The file is a fixed size hash table with {@code maxSessions} entries of {@code maxEntrySize} bytes each. Each peer
+ * can only be stored in one of a few entries, so if these are all used the session that expires first is replaced.
+ * Sessions that do not fit into an entry are not stored.
+ * <p>
+ * Changes are written to the file by the operating system, so they are only lost if the whole host crashes. The file
+ * must not be used by multiple processes at the same time.
+ * <p>
+ * The sessions contain the secrets that are needed to resume them, so on file systems that support {@code POSIX}
+ * permissions the file is created to be only readable and writable by its owner. The permissions of an existing file
+ * are not changed.
+ */
+public final class MappedFileQuicClientSessionStore implements QuicClientSessionStore, Closeable {
+    private static final int MAGIC = 0x51435353;
+    private static final int VERSION = 1;
+    private static final int FILE_HEADER_SIZE = 16;
+
+    // state (1), flags (1), host length (2), port (4), expiration time (8), session length (4)
+    private static final int ENTRY_HEADER_SIZE = 20;
+    private static final int STATE_OFFSET = 0;
+    private static final int FLAGS_OFFSET = 1;
+    private static final int HOST_LENGTH_OFFSET = 2;
+    private static final int PORT_OFFSET = 4;
+    private static final int EXPIRATION_OFFSET = 8;
+    private static final int SESSION_LENGTH_OFFSET = 16;
+
+    private static final byte STATE_FREE = 0;
+    private static final byte STATE_USED = 1;
+    private static final byte FLAG_SINGLE_USE = 1;
+
+    // The number of entries in which the session of a peer may be stored.
+    private static final int WAYS = 4;
+
+    private final Path file;
+    private final int entries;
+    private final int entrySize;
+    private final int maxPayloadSize;
+    private MappedByteBuffer buffer;
+    private boolean closed;
+
+    /**
+     * Create a new instance that can store {@code 1024} sessions of up to {@code 4096} bytes.
+     *
+     * @param file          the file in which the sessions are stored, which is created if it does not exist yet.
+     * @throws IOException  if the file could not be opened.
+     */
+    public MappedFileQuicClientSessionStore(Path file) throws IOException {
+        this(file, 1024, 4096);
+    }
+
+    /**
+     * Create a new instance.
+     *
+     * @param file          the file in which the sessions are stored, which is created if it does not exist yet. If
+     *                      the file was created with a different {@code maxSessions} or {@code maxEntrySize} all
+     *                      stored sessions are dropped.
+     * @param maxSessions   the maximum number of sessions, which is rounded up to the next power of two.
+     * @param maxEntrySize  the maximum size of the host name and the serialized session together, in bytes.
+     * @throws IOException  if the file could not be opened.
+     */
+    public MappedFileQuicClientSessionStore(Path file, int maxSessions, int maxEntrySize) throws IOException {
+        this.file = ObjectUtil.checkNotNull(file, "file");
+        entries = Math.max(WAYS,
+                MathUtil.findNextPositivePowerOfTwo(ObjectUtil.checkPositive(maxSessions, "maxSessions")));
+        maxPayloadSize = ObjectUtil.checkPositive(maxEntrySize, "maxEntrySize");
+        entrySize = ENTRY_HEADER_SIZE + maxPayloadSize;
+        long size = FILE_HEADER_SIZE + (long) entries * entrySize;
+        if (size > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("maxSessions * maxEntrySize too large: " + size);
+        }
+        try (FileChannel channel = FileChannel.open(file, EnumSet.of(StandardOpenOption.CREATE,
+                StandardOpenOption.READ, StandardOpenOption.WRITE), fileAttributes(file))) {
+            boolean valid = channel.size() == size;
+            if (!valid) {
+                // Drop everything and let the file be filled with zeros, which marks all entries as free.
+                channel.truncate(0);
+            }
+            buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+            if (valid) {
+                valid = buffer.getInt(0) == MAGIC && buffer.getInt(4) == VERSION &&
+                        buffer.getInt(8) == entries && buffer.getInt(12) == entrySize;
+                if (!valid) {
+                    for (int i = 0; i < entries; i++) {
+                        buffer.put(offset(i) + STATE_OFFSET, STATE_FREE);
+                    }
+                }
+            }
+            if (!valid) {
+                buffer.putInt(0, MAGIC).putInt(4, VERSION).putInt(8, entries).putInt(12, entrySize);
+            }
+        }
+    }
+
+    private static FileAttribute<?>[] fileAttributes(Path file) {
+        if (!file.getFileSystem().supportedFileAttributeViews().contains("posix")) {
+            return new FileAttribute<?>[0];
+        }
+        return new FileAttribute<?>[] { PosixFilePermissions.asFileAttribute(
+                EnumSet.of(PosixFilePermission.OWNER_READ, PosixFilePermission.OWNER_WRITE)) };
+    }
+
+    @Override
+    public synchronized void put(String host, int port, byte[] session, long expirationTime, boolean singleUse) {
+        ObjectUtil.checkNotNull(session, "session");
+        byte[] hostBytes = hostBytes(host);
+        if (closed || hostBytes.length > Short.MAX_VALUE || hostBytes.length + session.length > maxPayloadSize) {
+            return;
+        }
+        int first = firstEntry(host, port);
+        int entry = find(first, hostBytes, port);
+        if (entry == -1) {
+            entry = first;
+            for (int i = first; i < first + WAYS; i++) {
+                if (buffer.get(offset(i) + STATE_OFFSET) != STATE_USED) {
+                    entry = i;
+                    break;
+                }
+                if (buffer.getLong(offset(i) + EXPIRATION_OFFSET) <
+                        buffer.getLong(offset(entry) + EXPIRATION_OFFSET)) {
+                    entry = i;
+                }
+            }
+        }
+        int offset = offset(entry);
+        // Mark the entry as free until it is completely written, so a crash never leaves a partial entry behind.
+        buffer.put(offset + STATE_OFFSET, STATE_FREE);
+        buffer.put(offset + FLAGS_OFFSET, singleUse ? FLAG_SINGLE_USE : 0);
+        buffer.putShort(offset + HOST_LENGTH_OFFSET, (short) hostBytes.length);
+        buffer.putInt(offset + PORT_OFFSET, port);
+        buffer.putLong(offset + EXPIRATION_OFFSET, expirationTime);
+        buffer.putInt(offset + SESSION_LENGTH_OFFSET, session.length);
+        buffer.position(offset + ENTRY_HEADER_SIZE);
+        buffer.put(hostBytes).put(session);
+        buffer.put(offset + STATE_OFFSET, STATE_USED);
+    }
+
+    @Override
+    public synchronized byte @Nullable [] get(String host, int port) {
+        if (closed) {
+            return null;
+        }
+        int entry = find(firstEntry(host, port), hostBytes(host), port);
+        if (entry == -1) {
+            return null;
+        }
+        int offset = offset(entry);
+        if (buffer.getLong(offset + EXPIRATION_OFFSET) < System.currentTimeMillis()) {
+            buffer.put(offset + STATE_OFFSET, STATE_FREE);
+            return null;
+        }
+        byte[] session = new byte[buffer.getInt(offset + SESSION_LENGTH_OFFSET)];
+        buffer.position(offset + ENTRY_HEADER_SIZE + buffer.getShort(offset + HOST_LENGTH_OFFSET));
+        buffer.get(session);
+        if ((buffer.get(offset + FLAGS_OFFSET) & FLAG_SINGLE_USE) != 0) {
+            buffer.put(offset + STATE_OFFSET, STATE_FREE);
+        }
+        return session;
+    }
+
+    @Override
+    public synchronized void remove(String host, int port) {
+        if (closed) {
+            return;
+        }
+        int entry = find(firstEntry(host, port), hostBytes(host), port);
+        if (entry != -1) {
+            buffer.put(offset(entry) + STATE_OFFSET, STATE_FREE);
+        }
+    }
+
+    /**
+     * Write all changes to the file and unmap it. The store must not be used anymore after this method was called.
+     */
+    @Override
+    public synchronized void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        buffer.force();
+        PlatformDependent.freeDirectBuffer(buffer);
+    }
+
+    @Override
+    public String toString() {
+        return "MappedFileQuicClientSessionStore{" +
+                "file=" + file +
+                ", maxSessions=" + entries +
+                ", maxEntrySize=" + maxPayloadSize +
+                '}';
+    }
+
+    private int find(int first, byte[] hostBytes, int port) {
+        for (int i = first; i < first + WAYS; i++) {
+            int offset = offset(i);
+            if (buffer.get(offset + STATE_OFFSET) != STATE_USED || buffer.getInt(offset + PORT_OFFSET) != port ||
+                    buffer.getShort(offset + HOST_LENGTH_OFFSET) != hostBytes.length) {
+                continue;
+            }
+            int sessionLength = buffer.getInt(offset + SESSION_LENGTH_OFFSET);
+            // Never trust the lengths in the file blindly, it might have been truncated or modified.
+            if (sessionLength >= 0 && sessionLength <= maxPayloadSize - hostBytes.length &&
+                    hostMatches(offset + ENTRY_HEADER_SIZE, hostBytes)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private boolean hostMatches(int offset, byte[] hostBytes) {
+        for (int i = 0; i < hostBytes.length; i++) {
+            if (buffer.get(offset + i) != hostBytes[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private int firstEntry(String host, int port) {
+        // Same case-insensitive hash as used by QuicClientSessionCache.
+        int hash = 31 * AsciiString.hashCode(host) + port;
+        hash ^= hash >>> 16;
+        return hash & (entries - 1) & ~(WAYS - 1);
+    }
+
+    private int offset(int entry) {
+        return FILE_HEADER_SIZE + entry * entrySize;
+    }
+
+    private static byte[] hostBytes(String host) {
+        return ObjectUtil.checkNotNull(host, "host").toLowerCase(Locale.ROOT).getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -15,17 +15,28 @@
  */
 package io.netty.incubator.codec.quic;
 
+import io.netty.util.internal.ObjectUtil;
+
 import java.util.Objects;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Configuration used for setup
  * <a href="https://quiclog.github.io/internet-drafts/draft-marx-qlog-main-schema.html">qlog</a>.
+ * <p>
+ * quiche writes the log of every connection to its own file. To be able to keep qlog enabled with a lot of
+ * connections, only a sample of the connections can be logged and the number of log files that are open at the same
+ * time can be limited. The limit is shared by all the connections that use the same instance.
  */
 public final class QLogConfiguration {
 
     private final String path;
     private final String logTitle;
     private final String logDescription;
+    private final int sampleRate;
+    private final int maxActiveLogs;
+    private final AtomicInteger activeLogs = new AtomicInteger();
 
     /**
      * Create a new configuration.
@@ -36,9 +47,28 @@ public final class QLogConfiguration {
      * @param logDescription    the description to use when logging.
      */
     public QLogConfiguration(String path, String logTitle, String logDescription) {
+        this(path, logTitle, logDescription, 1, 0);
+    }
+
+    /**
+     * Create a new configuration that only logs some of the connections.
+     *
+     * @param path              the path to the log file to use. This file must not exist yet. If the path is a
+     *                          directory the filename will be generated
+     * @param logTitle          the title to use when logging.
+     * @param logDescription    the description to use when logging.
+     * @param sampleRate        log one in {@code sampleRate} connections, picked at random. {@code 1} logs all
+     *                          connections.
+     * @param maxActiveLogs     the maximum number of connections that are logged at the same time, {@code 0} means
+     *                          no limit. Connections that exceed the limit are not logged at all.
+     */
+    public QLogConfiguration(String path, String logTitle, String logDescription, int sampleRate,
+                             int maxActiveLogs) {
         this.path = Objects.requireNonNull(path, "path");
         this.logTitle = Objects.requireNonNull(logTitle, "logTitle");
         this.logDescription = Objects.requireNonNull(logDescription, "logDescription");
+        this.sampleRate = ObjectUtil.checkPositive(sampleRate, "sampleRate");
+        this.maxActiveLogs = ObjectUtil.checkPositiveOrZero(maxActiveLogs, "maxActiveLogs");
     }
 
     /**
@@ -67,4 +97,46 @@ public final class QLogConfiguration {
     public String logDescription() {
         return logDescription;
     }
+
+    /**
+     * Return the rate at which connections are logged, one in {@code sampleRate}.
+     *
+     * @return the sample rate.
+     */
+    public int sampleRate() {
+        return sampleRate;
+    }
+
+    /**
+     * Return the maximum number of connections that are logged at the same time, {@code 0} means no limit.
+     *
+     * @return the maximum number of active logs.
+     */
+    public int maxActiveLogs() {
+        return maxActiveLogs;
+    }
+
+    /**
+     * Returns {@code true} if a new connection should be logged, in which case {@link #release()} must be called
+     * once it is done.
+     */
+    boolean tryAcquire() {
+        if (sampleRate > 1 && ThreadLocalRandom.current().nextInt(sampleRate) != 0) {
+            return false;
+        }
+        for (;;) {
+            int active = activeLogs.get();
+            if (maxActiveLogs > 0 && active >= maxActiveLogs) {
+                return false;
+            }
+            if (activeLogs.compareAndSet(active, active + 1)) {
+                return true;
+            }
+        }
+    }
+
+    void release() {
+        int active = activeLogs.decrementAndGet();
+        assert active >= 0;
+    }
 }
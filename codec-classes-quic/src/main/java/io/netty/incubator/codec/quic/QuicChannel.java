@@ -323,6 +323,25 @@ public interface QuicChannel extends Channel {
      */
     Future<QuicConnectionPathStats> collectPathStats(int pathIdx, Promise<QuicConnectionPathStats> promise);
 
+    /**
+     * Collects statistics about the {@code DATAGRAM} frames of the connection and notifies the {@link Future} once
+     * done.
+     *
+     * @return the {@link Future} that is notified once the stats were collected.
+     */
+    default Future<QuicDatagramStats> collectDatagramStats() {
+        return collectDatagramStats(eventLoop().newPromise());
+    }
+
+    /**
+     * Collects statistics about the {@code DATAGRAM} frames of the connection and notifies the {@link Promise} once
+     * done.
+     *
+     * @param   promise the {@link ChannelPromise} that is notified once the stats were collected.
+     * @return          the {@link Future} that is notified once the stats were collected.
+     */
+    Future<QuicDatagramStats> collectDatagramStats(Promise<QuicDatagramStats> promise);
+
     /**
      * Creates a new {@link QuicChannelBootstrap} that can be used to create and connect new {@link QuicChannel}s to
      * endpoints using the given {@link Channel} as transport layer.
@@ -43,6 +43,41 @@ public final class QuicChannelOption<T> extends ChannelOption<T> {
     public static final ChannelOption<SegmentedDatagramPacketAllocator> SEGMENTED_DATAGRAM_PACKET_ALLOCATOR =
             valueOf(QuicChannelOption.class, "SEGMENTED_DATAGRAM_PACKET_ALLOCATOR");
 
+    /**
+     * The maximum number of {@code DATAGRAM} frames that are queued by a {@link QuicChannel} if they can not be sent
+     * directly. Once the queue is full datagrams are dropped according to {@link #DATAGRAM_DROP_POLICY}.
+     */
+    public static final ChannelOption<Integer> DATAGRAM_SEND_QUEUE_SIZE =
+            valueOf(QuicChannelOption.class, "DATAGRAM_SEND_QUEUE_SIZE");
+
+    /**
+     * The {@link QuicDatagramDropPolicy} that is used once {@link #DATAGRAM_SEND_QUEUE_SIZE} is reached.
+     */
+    public static final ChannelOption<QuicDatagramDropPolicy> DATAGRAM_DROP_POLICY =
+            valueOf(QuicChannelOption.class, "DATAGRAM_DROP_POLICY");
+
+    /**
+     * The number of times in a row a {@link QuicStreamChannel} with queued data may be passed over by streams with a
+     * more important {@link QuicStreamPriority} before it is allowed to write first, no matter its priority.
+     */
+    public static final ChannelOption<Integer> STREAM_STARVATION_THRESHOLD =
+            valueOf(QuicChannelOption.class, "STREAM_STARVATION_THRESHOLD");
+
+    /**
+     * The maximum number of bytes a {@link QuicStreamChannel} may write from its queue before the other writable
+     * streams get their turn, {@code 0} means no limit. Smaller values interleave the streams more evenly, larger
+     * values require fewer rounds.
+     */
+    public static final ChannelOption<Integer> STREAM_WRITE_QUANTUM =
+            valueOf(QuicChannelOption.class, "STREAM_WRITE_QUANTUM");
+
+    /**
+     * If {@code true} a {@link QuicCongestionEvent} is fired through the {@link io.netty.channel.ChannelPipeline} of
+     * the {@link QuicChannel} whenever the congestion state of the active path changed noticeably.
+     */
+    public static final ChannelOption<Boolean> CONGESTION_EVENTS =
+            valueOf(QuicChannelOption.class, "CONGESTION_EVENTS");
+
     @SuppressWarnings({ "deprecation" })
     private QuicChannelOption() {
         super(null);
@@ -43,6 +43,8 @@ final class QuicClientSessionCache {
     // See https://www.openssl.org/docs/man1.1.1/man3/SSL_get_default_timeout.html
     private final AtomicInteger sessionTimeout = new AtomicInteger(300);
     private int sessionCounter;
+    @Nullable
+    private final QuicClientSessionStore store;
 
     private final Map<HostPort, SessionHolder> sessions =
             new LinkedHashMap<HostPort, SessionHolder>() {
@@ -56,6 +58,14 @@ final class QuicClientSessionCache {
                 }
             };
 
+    QuicClientSessionCache() {
+        this(null);
+    }
+
+    QuicClientSessionCache(@Nullable QuicClientSessionStore store) {
+        this.store = store;
+    }
+
     void saveSession(@Nullable String host, int port, long creationTime, long timeout, byte[] session, boolean isSingleUse) {
         HostPort hostPort = keyFor(host, port);
         if (hostPort != null) {
@@ -69,6 +79,9 @@ final class QuicClientSessionCache {
 
                 sessions.put(hostPort, new SessionHolder(creationTime, timeout, session, isSingleUse));
             }
+            if (store != null && host != null) {
+                store.put(host, port, session, creationTime + timeout, isSingleUse);
+            }
         }
     }
 
@@ -89,14 +102,23 @@ final class QuicClientSessionCache {
             SessionHolder sessionHolder;
             synchronized (sessions) {
                 sessionHolder = sessions.get(hostPort);
+                if (sessionHolder != null && sessionHolder.isSingleUse()) {
+                    // Remove session as it should only be re-used once.
+                    sessions.remove(hostPort);
+                }
+            }
+            if (store != null && host != null) {
                 if (sessionHolder == null) {
-                    return null;
+                    // Not used since this process started, it might have been stored by a previous one.
+                    return store.get(host, port);
                 }
                 if (sessionHolder.isSingleUse()) {
-                    // Remove session as it should only be re-used once.
-                    sessions.remove(hostPort);
+                    store.remove(host, port);
                 }
             }
+            if (sessionHolder == null) {
+                return null;
+            }
             if (sessionHolder.isValid()) {
                 return sessionHolder.sessionBytes();
             }
@@ -110,6 +132,9 @@ final class QuicClientSessionCache {
             synchronized (sessions) {
                 sessions.remove(hostPort);
             }
+            if (store != null && host != null) {
+                store.remove(host, port);
+            }
         }
     }
 
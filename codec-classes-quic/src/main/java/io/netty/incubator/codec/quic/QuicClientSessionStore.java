@@ -0,0 +1,61 @@
+/*
+ * Copyright 2026 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty.incubator.codec.quic;
+
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Stores the {@code TLS} sessions of a client beyond the lifetime of the {@link QuicSslContext}, so a client can
+ * resume its sessions (and send {@code 0-RTT} data) after it was restarted.
+ * <p>
+ * The sessions are still cached in memory, the store is only consulted if a session is not found there. All methods
+ * are called from the {@link io.netty.channel.EventLoop} that handles the connection and so should not block.
+ * <p>
+ * See {@link QuicSslContextBuilder#clientSessionStore(QuicClientSessionStore)} and
+ * {@link MappedFileQuicClientSessionStore}.
+ */
+public interface QuicClientSessionStore {
+
+    /**
+     * Store the session for the given peer, replacing any previous session.
+     *
+     * @param host              the host of the peer.
+     * @param port              the port of the peer.
+     * @param session           the serialized session, which must not be modified.
+     * @param expirationTime    the time in milliseconds since the epoch after which the session must not be used
+     *                          anymore.
+     * @param singleUse         {@code true} if the session must only be used once.
+     */
+    void put(String host, int port, byte[] session, long expirationTime, boolean singleUse);
+
+    /**
+     * Retrieve the session for the given peer. Sessions that are expired must not be returned, and single-use
+     * sessions must be removed once they were returned.
+     *
+     * @param host  the host of the peer.
+     * @param port  the port of the peer.
+     * @return      the serialized session or {@code null} if there is none, in which case a full handshake is done.
+     */
+    byte @Nullable [] get(String host, int port);
+
+    /**
+     * Remove the session for the given peer, for example because the server did not accept it.
+     *
+     * @param host  the host of the peer.
+     * @param port  the port of the peer.
+     */
+    void remove(String host, int port);
+}
@@ -23,6 +23,7 @@ import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 
 import static io.netty.util.internal.ObjectUtil.checkInRange;
+import static io.netty.util.internal.ObjectUtil.checkNonEmpty;
 import static io.netty.util.internal.ObjectUtil.checkPositive;
 import static io.netty.util.internal.ObjectUtil.checkPositiveOrZero;
 
@@ -49,6 +50,7 @@ public abstract class QuicCodecBuilder<B extends QuicCodecBuilder<B>> {
     private Boolean enableHystart;
     private Boolean discoverPmtu;
     private QuicCongestionControlAlgorithm congestionControlAlgorithm;
+    private String congestionControlAlgorithmName;
     private Integer initialCongestionWindowPackets;
     private int localConnIdLength;
     private Function<QuicChannel, ? extends QuicSslEngine> sslEngineProvider;
@@ -56,6 +58,11 @@ public abstract class QuicCodecBuilder<B extends QuicCodecBuilder<B>> {
     private Integer recvQueueLen;
     private Integer sendQueueLen;
     private Long activeConnectionIdLimit;
+    private Long maxConnectionWindow;
+    private Long maxStreamWindow;
+    private QuicMemoryGovernor memoryGovernor;
+    private Long statsSamplingInterval;
+    private QuicConnectionSampleListener statsSampleListener;
     private byte[] statelessResetToken;
 
     private Executor sslTaskExecutor;
@@ -89,6 +96,7 @@ public abstract class QuicCodecBuilder<B extends QuicCodecBuilder<B>> {
         this.enableHystart = builder.enableHystart;
         this.discoverPmtu = builder.discoverPmtu;
         this.congestionControlAlgorithm = builder.congestionControlAlgorithm;
+        this.congestionControlAlgorithmName = builder.congestionControlAlgorithmName;
         this.initialCongestionWindowPackets = builder.initialCongestionWindowPackets;
         this.localConnIdLength = builder.localConnIdLength;
         this.sslEngineProvider = builder.sslEngineProvider;
@@ -96,6 +104,11 @@ public abstract class QuicCodecBuilder<B extends QuicCodecBuilder<B>> {
         this.recvQueueLen = builder.recvQueueLen;
         this.sendQueueLen = builder.sendQueueLen;
         this.activeConnectionIdLimit = builder.activeConnectionIdLimit;
+        this.maxConnectionWindow = builder.maxConnectionWindow;
+        this.maxStreamWindow = builder.maxStreamWindow;
+        this.memoryGovernor = builder.memoryGovernor;
+        this.statsSamplingInterval = builder.statsSamplingInterval;
+        this.statsSampleListener = builder.statsSampleListener;
         this.statelessResetToken = builder.statelessResetToken;
         this.sslTaskExecutor = builder.sslTaskExecutor;
         this.version = builder.version;
@@ -133,6 +146,24 @@ public abstract class QuicCodecBuilder<B extends QuicCodecBuilder<B>> {
      */
     public final B congestionControlAlgorithm(QuicCongestionControlAlgorithm congestionControlAlgorithm) {
         this.congestionControlAlgorithm = congestionControlAlgorithm;
+        this.congestionControlAlgorithmName = null;
+        return self();
+    }
+
+    /**
+     * Sets the congestion control algorithm to use by its name as understood by quiche, for example
+     * {@code "reno"}, {@code "cubic"}, {@code "bbr2"} or {@code "bbr2_gcongestion"}. This allows to use algorithms
+     * that have no {@link QuicCongestionControlAlgorithm} constant. An unknown name will fail the creation of the
+     * codec with an {@link IllegalArgumentException}.
+     *
+     * This overrides a previous call to {@link #congestionControlAlgorithm(QuicCongestionControlAlgorithm)}.
+     *
+     * @param name      the name of the algorithm.
+     * @return          the instance itself.
+     */
+    public final B congestionControlAlgorithm(String name) {
+        this.congestionControlAlgorithmName = checkNonEmpty(name, "name");
+        this.congestionControlAlgorithm = null;
         return self();
     }
 
@@ -295,6 +326,37 @@ public abstract class QuicCodecBuilder<B extends QuicCodecBuilder<B>> {
         return self();
     }
 
+    /**
+     * Sets the maximum size of the connection level flow control window. The window starts at
+     * {@link #initialMaxData(long)} and is grown by quiche whenever the remote peer would otherwise be limited by it
+     * within about two round-trips, so connections with a large bandwidth-delay product end up with a large window
+     * while idle connections keep a small one. This limits how much memory a single connection may use for data that
+     * was received but not read yet.
+     *
+     * The default value is 24MB.
+     *
+     * @param value   the maximum connection window in bytes.
+     * @return        the instance itself.
+     */
+    public final B maxConnectionWindow(long value) {
+        this.maxConnectionWindow = checkPositive(value, "value");
+        return self();
+    }
+
+    /**
+     * Sets the maximum size of the flow control window of a stream. Like {@link #maxConnectionWindow(long)} but for
+     * a single stream, starting at the {@code initialMaxStreamData*} value of the stream.
+     *
+     * The default value is 16MB.
+     *
+     * @param value   the maximum stream window in bytes.
+     * @return        the instance itself.
+     */
+    public final B maxStreamWindow(long value) {
+        this.maxStreamWindow = checkPositive(value, "value");
+        return self();
+    }
+
     /**
      * See
      * <a href="https://docs.rs/quiche/0.6.0/quiche/struct.Config.html#method.set_ack_delay_exponent">
@@ -445,6 +507,7 @@ public abstract class QuicCodecBuilder<B extends QuicCodecBuilder<B>> {
 
     /**
      * Allow to configure a {@link Executor} that will be used to run expensive SSL operations.
+     * {@link QuicSslOffloadExecutor} can be used to bound the amount of pending work and to collect statistics.
      *
      * @param sslTaskExecutor       the {@link Executor} that will be used to offload expensive SSL operations.
      * @return                      the instance itself.
@@ -454,6 +517,38 @@ public abstract class QuicCodecBuilder<B extends QuicCodecBuilder<B>> {
         return self();
     }
 
+    /**
+     * Allows to configure a {@link QuicMemoryGovernor} that limits the bytes queued by the connections of the codec.
+     * The same instance can be used for multiple codecs.
+     *
+     * @param memoryGovernor    the {@link QuicMemoryGovernor} to use.
+     * @return                  the instance itself.
+     */
+    public final B memoryGovernor(QuicMemoryGovernor memoryGovernor) {
+        this.memoryGovernor = memoryGovernor;
+        return self();
+    }
+
+    /**
+     * Sample the statistics of all connections of the codec at the given interval and pass them to the given
+     * {@link QuicConnectionSampleListener}. The samples are written into memory that is reused for every round,
+     * which makes this a lot cheaper than calling {@link QuicChannel#collectStats()} and
+     * {@link QuicChannel#collectPathStats(int)} for each connection.
+     *
+     * Sampling is disabled by default.
+     *
+     * @param interval  the interval at which the connections are sampled.
+     * @param unit      the {@link TimeUnit} of the interval.
+     * @param listener  the {@link QuicConnectionSampleListener} that is notified from the
+     *                  {@link io.netty.channel.EventLoop} of the codec once all connections were sampled.
+     * @return          the instance itself.
+     */
+    public final B statsSampling(long interval, TimeUnit unit, QuicConnectionSampleListener listener) {
+        this.statsSamplingInterval = unit.toNanos(checkPositive(interval, "interval"));
+        this.statsSampleListener = Objects.requireNonNull(listener, "listener");
+        return self();
+    }
+
     /**
      * Allows to configure the {@code active connect id limit} that should be used.
      *
@@ -469,7 +564,9 @@ public abstract class QuicCodecBuilder<B extends QuicCodecBuilder<B>> {
 
 
     /**
-     * Allows to configure the {@code active connect id limit} that should be used.
+     * Allows to configure the {@code stateless reset token} that should be used for the initial connection id of
+     * all connections. If not set servers derive it from the {@link QuicResetTokenGenerator}, like the tokens of
+     * all the other connection ids.
      *
      * @param token     the token to use.
      * @return          the instance itself.
@@ -488,8 +585,12 @@ public abstract class QuicCodecBuilder<B extends QuicCodecBuilder<B>> {
                 maxIdleTimeout, maxSendUdpPayloadSize, maxRecvUdpPayloadSize, initialMaxData,
                 initialMaxStreamDataBidiLocal, initialMaxStreamDataBidiRemote,
                 initialMaxStreamDataUni, initialMaxStreamsBidi, initialMaxStreamsUni,
+                maxConnectionWindow, maxStreamWindow,
                 ackDelayExponent, maxAckDelay, disableActiveMigration, enableHystart, discoverPmtu,
-                congestionControlAlgorithm, initialCongestionWindowPackets, recvQueueLen, sendQueueLen, activeConnectionIdLimit, statelessResetToken);
+                congestionControlAlgorithm, congestionControlAlgorithmName, initialCongestionWindowPackets,
+                recvQueueLen, sendQueueLen, activeConnectionIdLimit, statelessResetToken, memoryGovernor,
+                statsSampleListener == null ? null : new QuicheQuicStatsSampler(
+                        statsSamplingInterval, TimeUnit.NANOSECONDS, statsSampleListener));
     }
 
     /**
@@ -16,10 +16,14 @@
 package io.netty.incubator.codec.quic;
 
 /**
- * Available congestion control algorithms to use.
+ * Available congestion control algorithms to use. Algorithms that have no constant here can be selected by name via
+ * {@link QuicCodecBuilder#congestionControlAlgorithm(String)}.
  */
 public enum QuicCongestionControlAlgorithm {
     RENO,
     CUBIC,
+    /**
+     * BBR, which is backed by the {@code bbr2_gcongestion} implementation of quiche.
+     */
     BBR
 }
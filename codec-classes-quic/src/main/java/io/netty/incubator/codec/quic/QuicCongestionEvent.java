@@ -0,0 +1,102 @@
+/*
+ * Copyright 2026 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty.incubator.codec.quic;
+
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Fired through the {@link io.netty.channel.ChannelPipeline} of a {@link QuicChannel} when the congestion state of
+ * its active path changed noticeably, if {@link QuicChannelOption#CONGESTION_EVENTS} is enabled. This allows to
+ * observe how the configured {@link QuicCongestionControlAlgorithm} behaves without polling
+ * {@link QuicChannel#collectPathStats(int)}.
+ */
+public final class QuicCongestionEvent {
+
+    // A value must change by more than 1/8 before a new event is fired, so small fluctuations do not cause an event
+    // for every received ACK.
+    private static final int CHANGE_SHIFT = 3;
+
+    private final long congestionWindow;
+    private final long rtt;
+    private final long minRtt;
+    private final long deliveryRate;
+
+    QuicCongestionEvent(long congestionWindow, long rtt, long minRtt, long deliveryRate) {
+        this.congestionWindow = congestionWindow;
+        this.rtt = rtt;
+        this.minRtt = minRtt;
+        this.deliveryRate = deliveryRate;
+    }
+
+    /**
+     * The size of the congestion window in bytes.
+     *
+     * @return the congestion window.
+     */
+    public long congestionWindow() {
+        return congestionWindow;
+    }
+
+    /**
+     * The estimated round-trip time of the connection in nanoseconds.
+     *
+     * @return the rtt.
+     */
+    public long rtt() {
+        return rtt;
+    }
+
+    /**
+     * The smallest round-trip time estimate in nanoseconds that was seen since the connection was established.
+     *
+     * @return the min rtt.
+     */
+    public long minRtt() {
+        return minRtt;
+    }
+
+    /**
+     * The most recent data delivery rate estimate in bytes/s.
+     *
+     * @return the delivery rate.
+     */
+    public long deliveryRate() {
+        return deliveryRate;
+    }
+
+    /**
+     * Returns {@code true} if the given values differ enough from the ones of the last fired event to fire a new
+     * one.
+     */
+    static boolean isChanged(@Nullable QuicCongestionEvent last, long congestionWindow, long rtt, long deliveryRate) {
+        return last == null || isChanged(last.congestionWindow, congestionWindow) || isChanged(last.rtt, rtt) ||
+                isChanged(last.deliveryRate, deliveryRate);
+    }
+
+    private static boolean isChanged(long last, long current) {
+        return Math.abs(current - last) > (last >>> CHANGE_SHIFT);
+    }
+
+    @Override
+    public String toString() {
+        return "QuicCongestionEvent{" +
+                "congestionWindow=" + congestionWindow +
+                ", rtt=" + rtt +
+                ", minRtt=" + minRtt +
+                ", deliveryRate=" + deliveryRate +
+                '}';
+    }
+}
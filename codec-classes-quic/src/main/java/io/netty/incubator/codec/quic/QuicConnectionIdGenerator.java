@@ -15,6 +15,8 @@
  */
 package io.netty.incubator.codec.quic;
 
+import io.netty.buffer.ByteBuf;
+
 import java.nio.ByteBuffer;
 
 /**
@@ -35,6 +37,10 @@ public interface QuicConnectionIdGenerator {
     /**
      * Creates a new connection id with the given length. The given input may be used to sign or
      * seed the id, or may be ignored (depending on the implementation).
+     * <p>
+     * This is also used to generate the additional source connection ids a server issues to the remote peer. In this
+     * case the input is the original source connection id of the connection followed by an 8 byte big-endian
+     * sequence number, so implementations that derive the id from the input produce a different id each time.
      *
      * @param input     the input which may be used to generate the id.
      * @param length    the length of the id.
@@ -55,6 +61,33 @@ public interface QuicConnectionIdGenerator {
         return newId(dcid, length);
     }
 
+    /**
+     * Writes a new connection id with the given length into {@code out}. This is the same as
+     * {@link #newId(ByteBuffer, int)} but allows implementations to produce the id without any allocations, and is
+     * called with the same input.
+     *
+     * @param input     the input which may be used to generate the id.
+     * @param length    the length of the id.
+     * @param out       the {@link ByteBuf} into which the id is written.
+     */
+    default void writeId(ByteBuffer input, int length, ByteBuf out) {
+        out.writeBytes(newId(input, length));
+    }
+
+    /**
+     * Writes a new connection id with the given length into {@code out}. This is the same as
+     * {@link #newId(ByteBuffer, ByteBuffer, int)} but allows implementations to produce the id without any
+     * allocations.
+     *
+     * @param scid      the source connection id which may be used to generate the id.
+     * @param dcid      the destination connection id which may be used to generate the id.
+     * @param length    the length of the id.
+     * @param out       the {@link ByteBuf} into which the id is written.
+     */
+    default void writeId(ByteBuffer scid, ByteBuffer dcid, int length, ByteBuf out) {
+        out.writeBytes(newId(scid, dcid, length));
+    }
+
     /**
      * Returns the maximum length of a connection id.
      *
@@ -85,6 +118,6 @@ public interface QuicConnectionIdGenerator {
      * @return a {@link QuicConnectionIdGenerator} which generates ids by signing the given input.
      */
     static QuicConnectionIdGenerator signGenerator() {
-        return HmacSignQuicConnectionIdGenerator.INSTANCE;
+        return SipHashSignQuicConnectionIdGenerator.INSTANCE;
     }
 }
@@ -0,0 +1,577 @@
+/*
+ * Copyright 2026 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty.incubator.codec.quic;
+
+import io.netty.channel.ChannelHandler;
+import io.netty.resolver.NameResolver;
+import io.netty.util.concurrent.EventExecutor;
+import io.netty.util.concurrent.Future;
+import io.netty.util.concurrent.Promise;
+import io.netty.util.concurrent.ScheduledFuture;
+import io.netty.util.internal.ObjectUtil;
+import io.netty.util.internal.logging.InternalLogger;
+import io.netty.util.internal.logging.InternalLoggerFactory;
+import org.jetbrains.annotations.Nullable;
+
+import javax.net.ssl.SSLEngine;
+import java.io.Closeable;
+import java.net.Inet6Address;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.UnknownHostException;
+import java.security.cert.Certificate;
+import java.security.cert.X509Certificate;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Pool of client {@link QuicChannel}s that are shared between the streams to the same authority, so that opening a
+ * stream does usually not need a new connection and handshake.
+ * <p>
+ * A stream is opened on the connection to the authority with the fewest streams that still has
+ * {@linkplain QuicChannel#peerAllowedStreams(QuicStreamType) stream credits} left. Another connection is opened if
+ * all connections reached {@code maxStreamsPerConnection}, up to {@code maxConnectionsPerAuthority}. New connections
+ * race all resolved addresses as described in
+ * <a href="https://www.rfc-editor.org/rfc/rfc8305">RFC8305 Happy Eyeballs</a>, alternating between IPv6 and IPv4.
+ * After a failed attempt no new connection is opened to the authority for a while, see
+ * {@link QuicConnectionPoolBuilder#connectBackoff(long, long, TimeUnit)}.
+ * <p>
+ * If coalescing is enabled, a connection is also used for all other authorities on the same port that are covered by
+ * the certificate of the server, as permitted by
+ * <a href="https://www.rfc-editor.org/rfc/rfc9114#section-3.3">RFC9114 3.3. Connection Reuse</a>.
+ * <p>
+ * Connections stay in the pool until they are closed, for example because the idle timeout expired. All the state of
+ * the pool is only accessed from its {@link EventExecutor}, which should be the {@link io.netty.channel.EventLoop}
+ * of the {@link io.netty.channel.Channel} that is used by the {@link Connector}.
+ */
+public final class QuicConnectionPool implements Closeable {
+    private static final InternalLogger logger = InternalLoggerFactory.getInstance(QuicConnectionPool.class);
+
+    /**
+     * Opens the connections of a {@link QuicConnectionPool}.
+     */
+    @FunctionalInterface
+    public interface Connector {
+        /**
+         * Connect to the given address, usually via
+         * {@code QuicChannel.newBootstrap(channel).remoteAddress(remote).connect()}. The host name of the address
+         * is the authority, so it should be used for {@code SNI}.
+         *
+         * @param remote    the address of the peer.
+         * @return          the {@link Future} that is notified once the connection is established.
+         */
+        Future<QuicChannel> connect(InetSocketAddress remote);
+    }
+
+    private final EventExecutor executor;
+    private final Connector connector;
+    private final NameResolver<InetAddress> resolver;
+    private final int maxConnectionsPerAuthority;
+    private final int maxStreamsPerConnection;
+    private final long connectionAttemptDelayNanos;
+    private final long initialBackoffNanos;
+    private final long maxBackoffNanos;
+    private final boolean coalescing;
+    private final Map<Authority, AuthorityState> authorities = new HashMap<>();
+    private boolean closed;
+
+    QuicConnectionPool(EventExecutor executor, Connector connector, NameResolver<InetAddress> resolver,
+                       int maxConnectionsPerAuthority, int maxStreamsPerConnection, long connectionAttemptDelayNanos,
+                       long initialBackoffNanos, long maxBackoffNanos, boolean coalescing) {
+        this.executor = executor;
+        this.connector = connector;
+        this.resolver = resolver;
+        this.maxConnectionsPerAuthority = maxConnectionsPerAuthority;
+        this.maxStreamsPerConnection = maxStreamsPerConnection;
+        this.connectionAttemptDelayNanos = connectionAttemptDelayNanos;
+        this.initialBackoffNanos = initialBackoffNanos;
+        this.maxBackoffNanos = maxBackoffNanos;
+        this.coalescing = coalescing;
+    }
+
+    /**
+     * Returns a new {@link QuicConnectionPoolBuilder}.
+     *
+     * @param executor  the {@link EventExecutor} that is used for all the state of the pool.
+     * @param connector the {@link Connector} that is used to open new connections.
+     * @return          the builder.
+     */
+    public static QuicConnectionPoolBuilder builder(EventExecutor executor, Connector connector) {
+        return new QuicConnectionPoolBuilder(executor, connector);
+    }
+
+    /**
+     * Create a stream to the given authority, opening a new connection if needed.
+     *
+     * @param host      the host of the authority.
+     * @param port      the port of the authority.
+     * @param type      the {@link QuicStreamType} of the stream.
+     * @param handler   the {@link ChannelHandler} that is added to the {@link io.netty.channel.ChannelPipeline} of
+     *                  the stream, or {@code null}.
+     * @return          the {@link Future} that is notified once the stream was created.
+     */
+    public Future<QuicStreamChannel> createStream(String host, int port, QuicStreamType type,
+                                                  @Nullable ChannelHandler handler) {
+        Authority authority = new Authority(ObjectUtil.checkNotNull(host, "host"), port);
+        StreamRequest request = new StreamRequest(authority, ObjectUtil.checkNotNull(type, "type"), handler,
+                executor.<QuicStreamChannel>newPromise());
+        if (executor.inEventLoop()) {
+            createStream0(request);
+        } else {
+            executor.execute(() -> createStream0(request));
+        }
+        return request.promise;
+    }
+
+    /**
+     * Close all connections of the pool. New streams can not be created anymore.
+     */
+    @Override
+    public void close() {
+        if (executor.inEventLoop()) {
+            close0();
+        } else {
+            executor.execute(this::close0);
+        }
+    }
+
+    private void close0() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        IllegalStateException cause = new IllegalStateException("QuicConnectionPool closed");
+        for (AuthorityState state: authorities.values()) {
+            for (PooledConnection connection: state.connections) {
+                connection.channel.close();
+            }
+            failWaiters(state, cause);
+        }
+        authorities.clear();
+    }
+
+    private void createStream0(StreamRequest request) {
+        assert executor.inEventLoop();
+        if (closed) {
+            request.promise.tryFailure(new IllegalStateException("QuicConnectionPool closed"));
+            return;
+        }
+        PooledConnection connection = select(request.authority, request.type, true);
+        if (connection != null) {
+            connection.createStream(request);
+            return;
+        }
+        AuthorityState state = authorities.computeIfAbsent(request.authority, AuthorityState::new);
+        boolean backingOff = state.isBackingOff(System.nanoTime());
+        if (state.connecting == 0 && state.connections.size() < maxConnectionsPerAuthority && !backingOff) {
+            state.connecting++;
+            state.waiters.add(request);
+            new ConnectAttempt(state).resolve();
+            return;
+        }
+        if (state.connecting > 0) {
+            // Once the connection is established the request is dispatched again.
+            state.waiters.add(request);
+            return;
+        }
+        if (backingOff && state.connections.isEmpty()) {
+            // Don't hammer a peer that just failed, fail fast with the reason of the last attempt instead.
+            assert state.lastFailure != null;
+            request.promise.tryFailure(state.lastFailure);
+            return;
+        }
+        useAnyConnection(request);
+    }
+
+    /**
+     * Create the stream on the connection with the fewest streams, ignoring {@code maxStreamsPerConnection} as no
+     * other connection can be opened right now.
+     */
+    private void useAnyConnection(StreamRequest request) {
+        PooledConnection connection = select(request.authority, request.type, false);
+        if (connection != null) {
+            connection.createStream(request);
+        } else {
+            request.promise.tryFailure(new QuicException("No stream credits left for " + request.authority,
+                    QuicTransportError.STREAM_LIMIT_ERROR));
+        }
+    }
+
+    @Nullable
+    private PooledConnection select(Authority authority, QuicStreamType type, boolean respectStreamLimit) {
+        PooledConnection best = null;
+        AuthorityState state = authorities.get(authority);
+        if (state != null) {
+            best = select(best, state.connections, authority, type, respectStreamLimit);
+        }
+        if (coalescing) {
+            for (AuthorityState other: authorities.values()) {
+                if (other != state && other.authority.port == authority.port) {
+                    best = select(best, other.connections, authority, type, respectStreamLimit);
+                }
+            }
+        }
+        return best;
+    }
+
+    @Nullable
+    private PooledConnection select(@Nullable PooledConnection best, Collection<PooledConnection> connections,
+                                    Authority authority, QuicStreamType type, boolean respectStreamLimit) {
+        for (PooledConnection connection: connections) {
+            if (!connection.channel.isActive() ||
+                    connection.channel.peerAllowedStreams(type) <= connection.creating ||
+                    (respectStreamLimit && connection.streams >= maxStreamsPerConnection) ||
+                    !connection.covers(authority)) {
+                continue;
+            }
+            if (best == null || connection.streams < best.streams) {
+                best = connection;
+            }
+        }
+        return best;
+    }
+
+    private void connected(AuthorityState state, QuicChannel channel) {
+        assert executor.inEventLoop();
+        state.connecting--;
+        if (closed) {
+            channel.close();
+            return;
+        }
+        state.failures = 0;
+        state.lastFailure = null;
+        PooledConnection connection = new PooledConnection(state, channel,
+                coalescing ? names(channel.sslEngine()) : Collections.emptyList());
+        state.connections.add(connection);
+        channel.closeFuture().addListener(f -> executor.execute(() -> state.connections.remove(connection)));
+        dispatchWaiters(state);
+    }
+
+    private void connectFailed(AuthorityState state, Throwable cause) {
+        assert executor.inEventLoop();
+        state.connecting--;
+        long backoff = initialBackoffNanos;
+        for (int i = 0; i < state.failures && backoff < maxBackoffNanos; i++) {
+            backoff *= 2;
+        }
+        backoff = Math.min(maxBackoffNanos, backoff);
+        state.failures++;
+        state.lastFailure = cause;
+        state.retryAfterNanos = System.nanoTime() + backoff;
+        if (state.connections.isEmpty()) {
+            failWaiters(state, cause);
+        } else {
+            // There are still other connections that may be used. Don't dispatch the waiters via createStream0(...)
+            // as this would start the next attempt right away.
+            StreamRequest request;
+            while ((request = state.waiters.poll()) != null) {
+                useAnyConnection(request);
+            }
+        }
+    }
+
+    private void dispatchWaiters(AuthorityState state) {
+        int waiters = state.waiters.size();
+        for (int i = 0; i < waiters; i++) {
+            createStream0(state.waiters.poll());
+        }
+    }
+
+    private static void failWaiters(AuthorityState state, Throwable cause) {
+        StreamRequest request;
+        while ((request = state.waiters.poll()) != null) {
+            request.promise.tryFailure(cause);
+        }
+    }
+
+    /**
+     * Sort the addresses in the order in which they are tried, alternating between IPv6 and IPv4 while preserving
+     * the order of the resolver within each family.
+     */
+    static List<InetAddress> sortAddresses(List<InetAddress> addresses) {
+        List<InetAddress> ipv6 = new ArrayList<>();
+        List<InetAddress> ipv4 = new ArrayList<>();
+        for (InetAddress address: addresses) {
+            (address instanceof Inet6Address ? ipv6 : ipv4).add(address);
+        }
+        List<InetAddress> sorted = new ArrayList<>(addresses.size());
+        for (int i = 0; i < Math.max(ipv6.size(), ipv4.size()); i++) {
+            if (i < ipv6.size()) {
+                sorted.add(ipv6.get(i));
+            }
+            if (i < ipv4.size()) {
+                sorted.add(ipv4.get(i));
+            }
+        }
+        return sorted;
+    }
+
+    /**
+     * Returns {@code true} if the given DNS name of a certificate covers the host, supporting a wildcard in the
+     * left-most label only.
+     */
+    static boolean matches(String name, String host) {
+        if (name.startsWith("*.")) {
+            int dot = host.indexOf('.');
+            return dot > 0 && host.regionMatches(true, dot, name, 1, name.length() - 1) &&
+                    host.length() - dot == name.length() - 1;
+        }
+        return name.equalsIgnoreCase(host);
+    }
+
+    private static List<String> names(@Nullable SSLEngine engine) {
+        if (engine == null) {
+            return Collections.emptyList();
+        }
+        try {
+            Certificate[] certificates = engine.getSession().getPeerCertificates();
+            if (certificates.length == 0 || !(certificates[0] instanceof X509Certificate)) {
+                return Collections.emptyList();
+            }
+            Collection<List<?>> alternativeNames = ((X509Certificate) certificates[0]).getSubjectAlternativeNames();
+            if (alternativeNames == null) {
+                return Collections.emptyList();
+            }
+            List<String> names = new ArrayList<>(alternativeNames.size());
+            for (List<?> alternativeName: alternativeNames) {
+                // See https://docs.oracle.com/javase/8/docs/api/java/security/cert/X509Certificate.html
+                if (alternativeName.size() >= 2 && Integer.valueOf(2).equals(alternativeName.get(0))) {
+                    names.add((String) alternativeName.get(1));
+                }
+            }
+            return names;
+        } catch (Exception e) {
+            logger.debug("Unable to get the names of the peer certificate, connection will not be coalesced", e);
+            return Collections.emptyList();
+        }
+    }
+
+    private final class ConnectAttempt {
+        private final AuthorityState state;
+        private List<InetAddress> addresses;
+        private int next;
+        private int inFlight;
+        private boolean done;
+        @Nullable
+        private Throwable cause;
+        @Nullable
+        private ScheduledFuture<?> timer;
+
+        ConnectAttempt(AuthorityState state) {
+            this.state = state;
+        }
+
+        void resolve() {
+            resolver.resolveAll(state.authority.host).addListener(f -> executor.execute(() -> {
+                if (f.isSuccess()) {
+                    @SuppressWarnings("unchecked")
+                    List<InetAddress> resolved = (List<InetAddress>) f.getNow();
+                    addresses = sortAddresses(resolved);
+                    connectNext();
+                } else {
+                    cause = f.cause();
+                    finish(null);
+                }
+            }));
+        }
+
+        private void connectNext() {
+            timer = null;
+            if (done) {
+                return;
+            }
+            if (next == addresses.size()) {
+                if (inFlight == 0) {
+                    finish(null);
+                }
+                return;
+            }
+            InetSocketAddress remote;
+            try {
+                // Keep the host name, so it is used for SNI.
+                remote = new InetSocketAddress(InetAddress.getByAddress(
+                        state.authority.host, addresses.get(next++).getAddress()), state.authority.port);
+            } catch (UnknownHostException e) {
+                cause = e;
+                connectNext();
+                return;
+            }
+            inFlight++;
+            connector.connect(remote).addListener(f -> executor.execute(() -> {
+                @SuppressWarnings("unchecked")
+                Future<QuicChannel> future = (Future<QuicChannel>) f;
+                connectDone(future);
+            }));
+            if (next < addresses.size()) {
+                timer = executor.schedule(this::connectNext, connectionAttemptDelayNanos, TimeUnit.NANOSECONDS);
+            }
+        }
+
+        private void connectDone(Future<QuicChannel> future) {
+            inFlight--;
+            if (future.isSuccess()) {
+                if (done) {
+                    // Another address was faster.
+                    future.getNow().close();
+                } else {
+                    finish(future.getNow());
+                }
+                return;
+            }
+            cause = future.cause();
+            if (!done) {
+                // Don't wait for the timer if an attempt failed already.
+                if (timer != null) {
+                    timer.cancel(false);
+                }
+                connectNext();
+            }
+        }
+
+        private void finish(@Nullable QuicChannel channel) {
+            done = true;
+            if (timer != null) {
+                timer.cancel(false);
+                timer = null;
+            }
+            if (channel != null) {
+                connected(state, channel);
+            } else {
+                connectFailed(state, cause != null ? cause :
+                        new UnknownHostException("No address for " + state.authority.host));
+            }
+        }
+    }
+
+    private final class PooledConnection {
+        private final AuthorityState state;
+        private final QuicChannel channel;
+        private final List<String> names;
+        int streams;
+        int creating;
+
+        PooledConnection(AuthorityState state, QuicChannel channel, List<String> names) {
+            this.state = state;
+            this.channel = channel;
+            this.names = names;
+        }
+
+        boolean covers(Authority authority) {
+            if (state.authority.equals(authority)) {
+                return true;
+            }
+            for (String name: names) {
+                if (matches(name, authority.host)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        void createStream(StreamRequest request) {
+            streams++;
+            creating++;
+            channel.createStream(request.type, request.handler).addListener(f -> executor.execute(() -> {
+                creating--;
+                if (f.isSuccess()) {
+                    QuicStreamChannel stream = (QuicStreamChannel) f.getNow();
+                    stream.closeFuture().addListener(cf -> executor.execute(() -> streams--));
+                    if (!request.promise.trySuccess(stream)) {
+                        stream.close();
+                    }
+                } else {
+                    streams--;
+                    request.promise.tryFailure(f.cause());
+                }
+            }));
+        }
+    }
+
+    private static final class AuthorityState {
+        final Authority authority;
+        final List<PooledConnection> connections = new ArrayList<>();
+        final Queue<StreamRequest> waiters = new ArrayDeque<>();
+        int connecting;
+        int failures;
+        long retryAfterNanos;
+        @Nullable
+        Throwable lastFailure;
+
+        AuthorityState(Authority authority) {
+            this.authority = authority;
+        }
+
+        boolean isBackingOff(long nanoTime) {
+            return failures > 0 && retryAfterNanos - nanoTime > 0;
+        }
+    }
+
+    private static final class StreamRequest {
+        final Authority authority;
+        final QuicStreamType type;
+        @Nullable
+        final ChannelHandler handler;
+        final Promise<QuicStreamChannel> promise;
+
+        StreamRequest(Authority authority, QuicStreamType type, @Nullable ChannelHandler handler,
+                      Promise<QuicStreamChannel> promise) {
+            this.authority = authority;
+            this.type = type;
+            this.handler = handler;
+            this.promise = promise;
+        }
+    }
+
+    private static final class Authority {
+        final String host;
+        final int port;
+
+        Authority(String host, int port) {
+            this.host = host.toLowerCase(Locale.ROOT);
+            this.port = port;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Authority)) {
+                return false;
+            }
+            Authority authority = (Authority) o;
+            return port == authority.port && host.equals(authority.host);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * host.hashCode() + port;
+        }
+
+        @Override
+        public String toString() {
+            return host + ':' + port;
+        }
+    }
+}
@@ -0,0 +1,147 @@
+/*
+ * Copyright 2026 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty.incubator.codec.quic;
+
+import io.netty.resolver.DefaultNameResolver;
+import io.netty.resolver.NameResolver;
+import io.netty.util.concurrent.EventExecutor;
+import io.netty.util.concurrent.GlobalEventExecutor;
+import io.netty.util.internal.ObjectUtil;
+
+import java.net.InetAddress;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Builder for {@link QuicConnectionPool}s, see {@link QuicConnectionPool#builder(EventExecutor,
+ * QuicConnectionPool.Connector)}.
+ */
+public final class QuicConnectionPoolBuilder {
+    private final EventExecutor executor;
+    private final QuicConnectionPool.Connector connector;
+    private NameResolver<InetAddress> resolver;
+    private int maxConnectionsPerAuthority = 4;
+    private int maxStreamsPerConnection = 100;
+    // Recommended by https://www.rfc-editor.org/rfc/rfc8305#section-5
+    private long connectionAttemptDelayNanos = TimeUnit.MILLISECONDS.toNanos(250);
+    private boolean coalescing;
+    private long initialBackoffNanos = TimeUnit.SECONDS.toNanos(1);
+    private long maxBackoffNanos = TimeUnit.SECONDS.toNanos(30);
+
+    QuicConnectionPoolBuilder(EventExecutor executor, QuicConnectionPool.Connector connector) {
+        this.executor = ObjectUtil.checkNotNull(executor, "executor");
+        this.connector = ObjectUtil.checkNotNull(connector, "connector");
+    }
+
+    /**
+     * Set the {@link NameResolver} that is used to resolve the hosts. By default the JDK is used to resolve them
+     * on the {@link GlobalEventExecutor}, a {@code DnsNameResolver} should be used instead if many hosts are used.
+     *
+     * @param resolver  the resolver.
+     * @return          this builder.
+     */
+    public QuicConnectionPoolBuilder resolver(NameResolver<InetAddress> resolver) {
+        this.resolver = ObjectUtil.checkNotNull(resolver, "resolver");
+        return this;
+    }
+
+    /**
+     * Set the maximum number of connections that are opened to an authority. Default is {@code 4}.
+     *
+     * @param maxConnectionsPerAuthority    the maximum number of connections.
+     * @return                              this builder.
+     */
+    public QuicConnectionPoolBuilder maxConnectionsPerAuthority(int maxConnectionsPerAuthority) {
+        this.maxConnectionsPerAuthority = ObjectUtil.checkPositive(
+                maxConnectionsPerAuthority, "maxConnectionsPerAuthority");
+        return this;
+    }
+
+    /**
+     * Set the number of concurrent streams after which another connection is opened, if the maximum number of
+     * connections was not reached yet. Default is {@code 100}.
+     *
+     * @param maxStreamsPerConnection   the number of streams.
+     * @return                          this builder.
+     */
+    public QuicConnectionPoolBuilder maxStreamsPerConnection(int maxStreamsPerConnection) {
+        this.maxStreamsPerConnection = ObjectUtil.checkPositive(maxStreamsPerConnection, "maxStreamsPerConnection");
+        return this;
+    }
+
+    /**
+     * Set the delay after which the next address is tried while the previous attempts are still in progress.
+     * Default is {@code 250ms}.
+     *
+     * @param delay     the delay.
+     * @param unit      the {@link TimeUnit} of the delay.
+     * @return          this builder.
+     */
+    public QuicConnectionPoolBuilder connectionAttemptDelay(long delay, TimeUnit unit) {
+        this.connectionAttemptDelayNanos = ObjectUtil.checkNotNull(unit, "unit").toNanos(
+                ObjectUtil.checkPositiveOrZero(delay, "delay"));
+        return this;
+    }
+
+    /**
+     * Set for how long no new connection is opened to an authority after a connection attempt to it failed. The
+     * delay doubles with every failure in a row, up to {@code maxDelay}, and is reset once a connection was
+     * established. In the meantime streams are created on the existing connections of the authority or fail if there
+     * are none. Default is {@code 1s}, up to {@code 30s}.
+     *
+     * @param initialDelay  the delay after the first failure.
+     * @param maxDelay      the maximum delay.
+     * @param unit          the {@link TimeUnit} of the delays.
+     * @return              this builder.
+     */
+    public QuicConnectionPoolBuilder connectBackoff(long initialDelay, long maxDelay, TimeUnit unit) {
+        ObjectUtil.checkNotNull(unit, "unit");
+        long initialBackoffNanos = unit.toNanos(ObjectUtil.checkPositiveOrZero(initialDelay, "initialDelay"));
+        long maxBackoffNanos = unit.toNanos(ObjectUtil.checkPositiveOrZero(maxDelay, "maxDelay"));
+        if (maxBackoffNanos < initialBackoffNanos) {
+            throw new IllegalArgumentException("maxDelay: " + maxDelay + " (expected: >= " + initialDelay + ')');
+        }
+        this.initialBackoffNanos = initialBackoffNanos;
+        this.maxBackoffNanos = maxBackoffNanos;
+        return this;
+    }
+
+    /**
+     * Enable / disable the use of connections for all authorities that are covered by the certificate of the server.
+     * This should only be enabled if the application protocol allows it. Default is {@code false}.
+     *
+     * @param coalescing    {@code true} if connections should be coalesced.
+     * @return              this builder.
+     */
+    public QuicConnectionPoolBuilder coalescing(boolean coalescing) {
+        this.coalescing = coalescing;
+        return this;
+    }
+
+    /**
+     * Build the {@link QuicConnectionPool}.
+     *
+     * @return the pool.
+     */
+    public QuicConnectionPool build() {
+        NameResolver<InetAddress> resolver = this.resolver;
+        if (resolver == null) {
+            resolver = new DefaultNameResolver(GlobalEventExecutor.INSTANCE);
+        }
+        return new QuicConnectionPool(executor, connector, resolver, maxConnectionsPerAuthority,
+                maxStreamsPerConnection, connectionAttemptDelayNanos, initialBackoffNanos, maxBackoffNanos,
+                coalescing);
+    }
+}
@@ -0,0 +1,78 @@
+/*
+ * Copyright 2026 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty.incubator.codec.quic;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A sample of the statistics of a {@link QuicChannel}, as collected periodically when
+ * {@link QuicCodecBuilder#statsSampling(long, TimeUnit, QuicConnectionSampleListener)} is used.
+ * <p>
+ * Instances are reused while iterating over the samples, so they must not be stored and are only valid until the
+ * iteration moves on to the next sample or {@link QuicConnectionSampleListener#samplesCollected(Iterable)} returns.
+ */
+public interface QuicConnectionSample {
+
+    /**
+     * The {@link QuicChannel} this sample belongs to.
+     *
+     * @return the channel.
+     */
+    QuicChannel channel();
+
+    /**
+     * The number of QUIC packets received on the connection.
+     *
+     * @return the number of received packets.
+     */
+    long recv();
+
+    /**
+     * The number of QUIC packets sent on this connection.
+     *
+     * @return the number of sent packets.
+     */
+    long sent();
+
+    /**
+     * The number of QUIC packets that were lost.
+     *
+     * @return the number of lost packets.
+     */
+    long lost();
+
+    /**
+     * The estimated round-trip time of the active path in nanoseconds, or {@code 0} if there is no active path.
+     *
+     * @return the rtt.
+     */
+    long rtt();
+
+    /**
+     * The size of the congestion window of the active path in bytes, or {@code 0} if there is no active path.
+     *
+     * @return the congestion window.
+     */
+    long cwnd();
+
+    /**
+     * The most recent data delivery rate estimate of the active path in bytes/s, or {@code 0} if there is no active
+     * path.
+     *
+     * @return the delivery rate.
+     */
+    long deliveryRate();
+}
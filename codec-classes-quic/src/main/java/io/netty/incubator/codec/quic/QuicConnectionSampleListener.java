@@ -0,0 +1,31 @@
+/*
+ * Copyright 2026 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty.incubator.codec.quic;
+
+/**
+ * Receives the {@link QuicConnectionSample}s of all the connections of a codec, see
+ * {@link QuicCodecBuilder#statsSampling(long, java.util.concurrent.TimeUnit, QuicConnectionSampleListener)}.
+ */
+public interface QuicConnectionSampleListener {
+
+    /**
+     * Called from the {@link io.netty.channel.EventLoop} of the codec each time all its connections were sampled.
+     * This method should return quickly as it blocks the processing of all these connections.
+     *
+     * @param samples   the samples, which are only valid until this method returns.
+     */
+    void samplesCollected(Iterable<QuicConnectionSample> samples);
+}
@@ -0,0 +1,127 @@
+/*
+ * Copyright 2026 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty.incubator.codec.quic;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.DefaultByteBufHolder;
+import io.netty.util.internal.ObjectUtil;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A {@code DATAGRAM} frame that is written to a {@link QuicChannel} and that is dropped if it could not be passed to
+ * the connection before its deadline, because the send queue was backed up. Writing a plain
+ * {@link ByteBuf} to the {@link QuicChannel} sends a datagram without deadline.
+ */
+public final class QuicDatagram extends DefaultByteBufHolder {
+
+    private final long deadlineNanos;
+
+    /**
+     * Create a new instance.
+     *
+     * @param data      the payload of the datagram.
+     * @param timeout   the time after which the datagram is dropped if it was not sent yet.
+     * @param unit      the {@link TimeUnit} of the timeout.
+     */
+    public QuicDatagram(ByteBuf data, long timeout, TimeUnit unit) {
+        this(data, System.nanoTime() + ObjectUtil.checkNotNull(unit, "unit").toNanos(
+                ObjectUtil.checkPositiveOrZero(timeout, "timeout")));
+    }
+
+    private QuicDatagram(ByteBuf data, long deadlineNanos) {
+        super(data);
+        this.deadlineNanos = deadlineNanos;
+    }
+
+    /**
+     * Returns the deadline as returned by {@link System#nanoTime()}.
+     *
+     * @return the deadline.
+     */
+    public long deadlineNanos() {
+        return deadlineNanos;
+    }
+
+    @Override
+    public QuicDatagram copy() {
+        return new QuicDatagram(content().copy(), deadlineNanos);
+    }
+
+    @Override
+    public QuicDatagram duplicate() {
+        return new QuicDatagram(content().duplicate(), deadlineNanos);
+    }
+
+    @Override
+    public QuicDatagram retainedDuplicate() {
+        return new QuicDatagram(content().retainedDuplicate(), deadlineNanos);
+    }
+
+    @Override
+    public QuicDatagram replace(ByteBuf content) {
+        return new QuicDatagram(content, deadlineNanos);
+    }
+
+    @Override
+    public QuicDatagram retain() {
+        super.retain();
+        return this;
+    }
+
+    @Override
+    public QuicDatagram retain(int increment) {
+        super.retain(increment);
+        return this;
+    }
+
+    @Override
+    public QuicDatagram touch() {
+        super.touch();
+        return this;
+    }
+
+    @Override
+    public QuicDatagram touch(Object hint) {
+        super.touch(hint);
+        return this;
+    }
+
+    @Override
+    public String toString() {
+        return "QuicDatagram{" +
+                "deadlineNanos=" + deadlineNanos +
+                ", content=" + contentToString() +
+                '}';
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        QuicDatagram that = (QuicDatagram) o;
+        return deadlineNanos == that.deadlineNanos && super.equals(o);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * super.hashCode() + Long.hashCode(deadlineNanos);
+    }
+}
@@ -0,0 +1,33 @@
+/*
+ * Copyright 2026 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty.incubator.codec.quic;
+
+/**
+ * Decides which datagram is dropped once the datagram send queue of a {@link QuicChannel} is full, see
+ * {@link QuicChannelOption#DATAGRAM_DROP_POLICY}.
+ */
+public enum QuicDatagramDropPolicy {
+    /**
+     * Drop the datagram that was queued the longest, which is usually the right choice for real-time data where
+     * newer data supersedes older data.
+     */
+    DROP_OLDEST,
+    /**
+     * Drop the datagram that is written, so the queued datagrams are sent in order without gaps. The write fails in
+     * this case.
+     */
+    DROP_NEWEST
+}
@@ -0,0 +1,54 @@
+/*
+ * Copyright 2026 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty.incubator.codec.quic;
+
+/**
+ * Statistics about the {@code DATAGRAM} frames of a {@link QuicChannel}, see
+ * {@link QuicChannel#collectDatagramStats()}. If unknown by the implementation it might return {@code -1} values
+ * for the various methods.
+ */
+public interface QuicDatagramStats {
+    /**
+     * @return The number of datagrams that were written to the channel and added to the send queue.
+     */
+    long queued();
+
+    /**
+     * @return The number of datagrams that were passed on to the connection to be sent.
+     */
+    long sent();
+
+    /**
+     * @return The number of datagrams that were received.
+     */
+    long received();
+
+    /**
+     * @return The number of datagrams that were dropped because the send queue was full or they were too large.
+     */
+    long dropped();
+
+    /**
+     * @return The number of datagrams that were dropped because their deadline passed before they could be sent.
+     */
+    long expired();
+
+    /**
+     * @return The time in microseconds the sent datagrams spent in the send queue before they were passed on to the
+     *         connection.
+     */
+    QuicHistogram queueResidency();
+}
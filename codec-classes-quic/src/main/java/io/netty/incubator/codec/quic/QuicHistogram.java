@@ -0,0 +1,52 @@
+/*
+ * Copyright 2026 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty.incubator.codec.quic;
+
+/**
+ * Snapshot of the distribution of recorded values, for example the time datagrams spent in the send queue. The
+ * values are kept in buckets whose width grows with the value, so percentiles are accurate to within
+ * {@code 12.5%} while the memory usage stays fixed.
+ */
+public interface QuicHistogram {
+
+    /**
+     * @return The number of recorded values.
+     */
+    long count();
+
+    /**
+     * @return The smallest recorded value or {@code 0} if nothing was recorded yet.
+     */
+    long min();
+
+    /**
+     * @return The largest recorded value or {@code 0} if nothing was recorded yet.
+     */
+    long max();
+
+    /**
+     * @return The mean of the recorded values or {@code 0} if nothing was recorded yet.
+     */
+    double mean();
+
+    /**
+     * Returns the value below which the given percentage of the recorded values fall.
+     *
+     * @param percentile    the percentile, between {@code 0} and {@code 100}.
+     * @return              the value or {@code 0} if nothing was recorded yet.
+     */
+    long valueAtPercentile(double percentile);
+}
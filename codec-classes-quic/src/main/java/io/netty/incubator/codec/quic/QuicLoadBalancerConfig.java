@@ -0,0 +1,401 @@
+/*
+ * Copyright 2026 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty.incubator.codec.quic;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.util.concurrent.FastThreadLocal;
+import io.netty.util.internal.ObjectUtil;
+import org.jetbrains.annotations.Nullable;
+
+import javax.crypto.Cipher;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.ByteBuffer;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+
+/**
+ * Configuration for encoding a server id into connection ids, so a stateless load balancer can route
+ * {@code QUIC} packets to the right server without terminating {@code QUIC}. The layout follows
+ * <a href="https://datatracker.ietf.org/doc/html/draft-ietf-quic-load-balancers">QUIC-LB</a>:
+ * <pre>
+ * Connection ID {
+ *   Config Rotation (3),
+ *   Length Self-Description / Random (5),
+ *   Server ID + Nonce (..), possibly encrypted
+ * }
+ * </pre>
+ * If a key is given the server id and nonce are encrypted, either with a single AES-128-ECB pass if the combined
+ * length is exactly 16 bytes, or with a four-pass Feistel network using AES-128-ECB as round function otherwise.
+ * <p>
+ * The config rotation bits allow to run multiple configurations at the same time, for example while rotating
+ * keys. Use {@link #newConnectionIdGenerator(byte[])} on the servers and {@link QuicLoadBalancerHandler} or
+ * {@link #decodeServerId(ByteBuf, byte[])} on the load balancer.
+ */
+public final class QuicLoadBalancerConfig {
+    /**
+     * Config rotation value that marks a connection id as unroutable.
+     */
+    public static final int UNROUTABLE_CONFIG_ID = 0x7;
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+    private static final int BLOCK_SIZE = 16;
+    private static final int MIN_NONCE_LENGTH = 4;
+    private static final int MAX_SERVER_ID_LENGTH = 15;
+    private static final String ALGORITHM = "AES";
+    private static final String TRANSFORMATION = "AES/ECB/NoPadding";
+
+    private final int configId;
+    private final int serverIdLength;
+    private final int nonceLength;
+    private final boolean encodeLength;
+    @Nullable
+    private final SecretKeySpec key;
+    @Nullable
+    private final FastThreadLocal<CipherState> cipherState;
+
+    /**
+     * Create a new configuration which does not encode the length of the connection id.
+     *
+     * @param configId          the config rotation value that is encoded into the first three bits, between 0 and 6.
+     * @param serverIdLength    the length of the server id in bytes, between 1 and 15.
+     * @param nonceLength       the length of the nonce in bytes, at least 4.
+     * @param key               the 16 bytes AES key that is used to encrypt the server id and nonce or {@code null}
+     *                          if these should be encoded in plaintext.
+     */
+    public QuicLoadBalancerConfig(int configId, int serverIdLength, int nonceLength, byte @Nullable [] key) {
+        this(configId, serverIdLength, nonceLength, key, false);
+    }
+
+    /**
+     * Create a new configuration.
+     *
+     * @param configId          the config rotation value that is encoded into the first three bits, between 0 and 6.
+     * @param serverIdLength    the length of the server id in bytes, between 1 and 15.
+     * @param nonceLength       the length of the nonce in bytes, at least 4.
+     * @param key               the 16 bytes AES key that is used to encrypt the server id and nonce or {@code null}
+     *                          if these should be encoded in plaintext.
+     * @param encodeLength      {@code true} if the length of the connection id (minus one) should be encoded into the
+     *                          remaining five bits of the first byte, {@code false} if these bits should be random.
+     */
+    public QuicLoadBalancerConfig(int configId, int serverIdLength, int nonceLength, byte @Nullable [] key,
+                                  boolean encodeLength) {
+        this.configId = ObjectUtil.checkInRange(configId, 0, UNROUTABLE_CONFIG_ID - 1, "configId");
+        this.serverIdLength = ObjectUtil.checkInRange(serverIdLength, 1, MAX_SERVER_ID_LENGTH, "serverIdLength");
+        this.nonceLength = ObjectUtil.checkInRange(nonceLength, MIN_NONCE_LENGTH,
+                Quic.MAX_CONN_ID_LEN - 1 - serverIdLength, "nonceLength");
+        this.encodeLength = encodeLength;
+        if (key == null) {
+            this.key = null;
+            this.cipherState = null;
+        } else {
+            if (key.length != BLOCK_SIZE) {
+                throw new IllegalArgumentException("key must be " + BLOCK_SIZE + " bytes: " + key.length);
+            }
+            SecretKeySpec keySpec = new SecretKeySpec(key.clone(), ALGORITHM);
+            this.key = keySpec;
+            this.cipherState = new FastThreadLocal<CipherState>() {
+                @Override
+                protected CipherState initialValue() {
+                    return new CipherState(keySpec);
+                }
+            };
+        }
+    }
+
+    /**
+     * Return the config rotation value.
+     *
+     * @return the config id.
+     */
+    public int configId() {
+        return configId;
+    }
+
+    /**
+     * Return the length of the server id.
+     *
+     * @return the length in bytes.
+     */
+    public int serverIdLength() {
+        return serverIdLength;
+    }
+
+    /**
+     * Return the length of the nonce.
+     *
+     * @return the length in bytes.
+     */
+    public int nonceLength() {
+        return nonceLength;
+    }
+
+    /**
+     * Return the length of the connection ids that are produced by this configuration. This length must be used
+     * as local connection id length in the {@link QuicCodecBuilder}.
+     *
+     * @return the length in bytes.
+     */
+    public int connectionIdLength() {
+        return 1 + serverIdLength + nonceLength;
+    }
+
+    /**
+     * Returns {@code true} if the server id is encrypted.
+     *
+     * @return {@code true} if encrypted.
+     */
+    public boolean isEncrypted() {
+        return key != null;
+    }
+
+    /**
+     * Return the config rotation value that is encoded into the given first byte of a connection id.
+     *
+     * @param firstByte the first byte of the connection id.
+     * @return          the config id, which might be {@link #UNROUTABLE_CONFIG_ID}.
+     */
+    public static int configId(byte firstByte) {
+        return (firstByte & 0xff) >>> 5;
+    }
+
+    /**
+     * Return a new {@link QuicConnectionIdGenerator} that encodes the given server id into all connection ids.
+     *
+     * @param serverId  the server id, must be {@link #serverIdLength()} bytes.
+     * @return          the generator.
+     */
+    public QuicConnectionIdGenerator newConnectionIdGenerator(byte[] serverId) {
+        ObjectUtil.checkNotNull(serverId, "serverId");
+        if (serverId.length != serverIdLength) {
+            throw new IllegalArgumentException("serverId must be " + serverIdLength + " bytes: " + serverId.length);
+        }
+        return new LoadBalancerQuicConnectionIdGenerator(this, serverId.clone());
+    }
+
+    /**
+     * Decode the server id of the given connection id into {@code serverId}. The readable bytes of the
+     * {@link ByteBuf} are not modified.
+     *
+     * @param connectionId  the connection id, starting at the {@link ByteBuf#readerIndex()}.
+     * @param serverId      the array into which the server id is written, must be at least
+     *                      {@link #serverIdLength()} bytes.
+     * @return              {@code true} if the connection id was produced by this configuration and so the server
+     *                      id could be decoded, {@code false} otherwise.
+     */
+    public boolean decodeServerId(ByteBuf connectionId, byte[] serverId) {
+        int cidLength = connectionIdLength();
+        if (connectionId.readableBytes() < cidLength || serverId.length < serverIdLength) {
+            return false;
+        }
+        int offset = connectionId.readerIndex();
+        byte first = connectionId.getByte(offset);
+        if (configId(first) != configId) {
+            return false;
+        }
+        if (encodeLength && (first & 0x1f) != cidLength - 1) {
+            return false;
+        }
+        if (key == null) {
+            connectionId.getBytes(offset + 1, serverId, 0, serverIdLength);
+            return true;
+        }
+        CipherState state = cipherState.get();
+        int plaintextLength = serverIdLength + nonceLength;
+        connectionId.getBytes(offset + 1, state.text, 0, plaintextLength);
+        if (plaintextLength == BLOCK_SIZE) {
+            state.decryptBlock(state.text);
+        } else {
+            state.fourPassDecrypt(plaintextLength);
+        }
+        System.arraycopy(state.text, 0, serverId, 0, serverIdLength);
+        return true;
+    }
+
+    /**
+     * Encode a new connection id that carries the given server id.
+     */
+    ByteBuffer encode(byte[] serverId) {
+        byte[] cid = new byte[connectionIdLength()];
+        // The nonce is already in place, as we fill the whole array with random bytes.
+        RANDOM.nextBytes(cid);
+        return encode(cid, serverId);
+    }
+
+    /**
+     * Encode the given server id into {@code cid}, which already holds the nonce after the server id.
+     * Package-private for testing.
+     */
+    ByteBuffer encode(byte[] cid, byte[] serverId) {
+        int plaintextLength = serverIdLength + nonceLength;
+        int first = configId << 5;
+        if (encodeLength) {
+            first |= cid.length - 1;
+        } else {
+            first |= cid[0] & 0x1f;
+        }
+        cid[0] = (byte) first;
+        System.arraycopy(serverId, 0, cid, 1, serverIdLength);
+
+        if (key != null) {
+            CipherState state = cipherState.get();
+            System.arraycopy(cid, 1, state.text, 0, plaintextLength);
+            if (plaintextLength == BLOCK_SIZE) {
+                state.encryptBlock(state.text);
+            } else {
+                state.fourPassEncrypt(plaintextLength);
+            }
+            System.arraycopy(state.text, 0, cid, 1, plaintextLength);
+        }
+        return ByteBuffer.wrap(cid);
+    }
+
+    /**
+     * Per thread state as {@link Cipher} is not thread-safe. All the arrays are re-used to not produce any garbage.
+     */
+    private static final class CipherState {
+        private final Cipher encrypt;
+        private final Cipher decrypt;
+        private final byte[] text = new byte[Quic.MAX_CONN_ID_LEN];
+        private final byte[] block = new byte[BLOCK_SIZE];
+        private final byte[] expanded = new byte[BLOCK_SIZE];
+        private final byte[] left = new byte[BLOCK_SIZE];
+        private final byte[] right = new byte[BLOCK_SIZE];
+
+        CipherState(SecretKeySpec key) {
+            try {
+                encrypt = Cipher.getInstance(TRANSFORMATION);
+                encrypt.init(Cipher.ENCRYPT_MODE, key);
+                decrypt = Cipher.getInstance(TRANSFORMATION);
+                decrypt.init(Cipher.DECRYPT_MODE, key);
+            } catch (GeneralSecurityException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+        void encryptBlock(byte[] in) {
+            crypt(encrypt, in, in);
+        }
+
+        void decryptBlock(byte[] in) {
+            crypt(decrypt, in, in);
+        }
+
+        private static void crypt(Cipher cipher, byte[] in, byte[] out) {
+            try {
+                cipher.doFinal(in, 0, BLOCK_SIZE, out, 0);
+            } catch (GeneralSecurityException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+        void fourPassEncrypt(int length) {
+            int halfLength = split(length);
+            boolean odd = (length & 1) != 0;
+            round(left, right, halfLength, 1, odd, true);
+            round(right, left, halfLength, 2, odd, false);
+            round(left, right, halfLength, 3, odd, true);
+            round(right, left, halfLength, 4, odd, false);
+            join(length, halfLength);
+        }
+
+        void fourPassDecrypt(int length) {
+            int halfLength = split(length);
+            boolean odd = (length & 1) != 0;
+            round(right, left, halfLength, 4, odd, false);
+            round(left, right, halfLength, 3, odd, true);
+            round(right, left, halfLength, 2, odd, false);
+            round(left, right, halfLength, 1, odd, true);
+            join(length, halfLength);
+        }
+
+        // Split text into the left and right half. If the length is odd the middle byte is shared, with the high
+        // nibble belonging to the left and the low nibble to the right half.
+        private int split(int length) {
+            int halfLength = (length + 1) / 2;
+            System.arraycopy(text, 0, left, 0, halfLength);
+            System.arraycopy(text, length - halfLength, right, 0, halfLength);
+            if ((length & 1) != 0) {
+                left[halfLength - 1] &= (byte) 0xf0;
+                right[0] &= 0x0f;
+            }
+            return halfLength;
+        }
+
+        private void join(int length, int halfLength) {
+            System.arraycopy(left, 0, text, 0, halfLength);
+            if ((length & 1) != 0) {
+                text[halfLength - 1] = (byte) ((left[halfLength - 1] & 0xf0) | (right[0] & 0x0f));
+                System.arraycopy(right, 1, text, halfLength, halfLength - 1);
+            } else {
+                System.arraycopy(right, 0, text, halfLength, halfLength);
+            }
+        }
+
+        // target ^= truncate(AES(expand(input, index))), where expand(..) zero pads the input to a block and stores
+        // the pass index in its last byte, and truncate(..) keeps the first halfLength bytes.
+        private void round(byte[] target, byte[] input, int halfLength, int index, boolean odd, boolean targetIsLeft) {
+            System.arraycopy(input, 0, block, 0, halfLength);
+            for (int i = halfLength; i < BLOCK_SIZE; i++) {
+                block[i] = 0;
+            }
+            block[BLOCK_SIZE - 1] = (byte) index;
+            crypt(encrypt, block, expanded);
+            for (int i = 0; i < halfLength; i++) {
+                target[i] ^= expanded[i];
+            }
+            if (odd) {
+                if (targetIsLeft) {
+                    target[halfLength - 1] &= (byte) 0xf0;
+                } else {
+                    target[0] &= 0x0f;
+                }
+            }
+        }
+    }
+
+    private static final class LoadBalancerQuicConnectionIdGenerator implements QuicConnectionIdGenerator {
+        private final QuicLoadBalancerConfig config;
+        private final byte[] serverId;
+
+        LoadBalancerQuicConnectionIdGenerator(QuicLoadBalancerConfig config, byte[] serverId) {
+            this.config = config;
+            this.serverId = serverId;
+        }
+
+        @Override
+        public ByteBuffer newId(int length) {
+            if (length != config.connectionIdLength()) {
+                throw new IllegalArgumentException("length must be " + config.connectionIdLength() + ": " + length);
+            }
+            return config.encode(serverId);
+        }
+
+        @Override
+        public ByteBuffer newId(ByteBuffer input, int length) {
+            return newId(length);
+        }
+
+        @Override
+        public int maxConnectionIdLength() {
+            return config.connectionIdLength();
+        }
+
+        @Override
+        public boolean isIdempotent() {
+            return false;
+        }
+    }
+}
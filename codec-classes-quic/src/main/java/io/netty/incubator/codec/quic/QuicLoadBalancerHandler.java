@@ -0,0 +1,201 @@
+/*
+ * Copyright 2026 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty.incubator.codec.quic;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.channel.socket.DatagramPacket;
+import io.netty.util.internal.ObjectUtil;
+import io.netty.util.internal.logging.InternalLogger;
+import io.netty.util.internal.logging.InternalLoggerFactory;
+import org.jetbrains.annotations.Nullable;
+
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * {@link io.netty.channel.ChannelHandler} that can be used to build a stateless load balancer in front of multiple
+ * {@code QUIC} servers. It does not terminate {@code QUIC} but just decodes the server id out of the destination
+ * connection id of each received {@link DatagramPacket} via the configured {@link QuicLoadBalancerConfig}s and
+ * forwards the packet to the matching backend.
+ * <p>
+ * Packets that don't carry a server id that we know about (for example the first {@code INITIAL} packets of a
+ * connection, which use a connection id that was chosen by the client) are forwarded to a backend that is picked
+ * by hashing the destination connection id. As the backends are ordered by their server id this mapping is the same
+ * on all load balancer instances that use the same backends, so no state needs to be shared. Short header packets
+ * don't carry the length of the connection id, so these are only hashed if all configs use the same connection id
+ * length and dropped otherwise.
+ * <p>
+ * How a packet reaches the backend is left to {@link #forward(ChannelHandlerContext, DatagramPacket,
+ * InetSocketAddress)}. Just writing the payload to the backend is not enough, as the backend would then see the
+ * load balancer as the sender and send its replies there. Implementations must preserve the address of the client,
+ * for example by encapsulating the packet together with {@link DatagramPacket#sender()} or by using a transport
+ * that can send with the address of the client and direct server return.
+ * <p>
+ * This handler is not sharable as it re-uses internal buffers while decoding.
+ */
+public abstract class QuicLoadBalancerHandler extends ChannelInboundHandlerAdapter {
+    private static final InternalLogger LOGGER = InternalLoggerFactory.getInstance(QuicLoadBalancerHandler.class);
+
+    private static final int MAX_CONFIGS = QuicLoadBalancerConfig.UNROUTABLE_CONFIG_ID;
+
+    // All arrays are indexed by the config id.
+    private final QuicLoadBalancerConfig[] configs = new QuicLoadBalancerConfig[MAX_CONFIGS];
+    private final byte[][] serverIds = new byte[MAX_CONFIGS][];
+    private final ByteBuffer[] serverIdKeys = new ByteBuffer[MAX_CONFIGS];
+    private final Map<ByteBuffer, InetSocketAddress> backends;
+    private final InetSocketAddress[] orderedBackends;
+    // The connection id length of short header packets with an unknown config id, or -1 if it is not known.
+    private final int shortHeaderConnectionIdLength;
+
+    /**
+     * Create a new instance.
+     *
+     * @param configs   the {@link QuicLoadBalancerConfig}s that are in use by the servers. Each must use a different
+     *                  config id.
+     * @param backends  the backends mapped by their server id. The readable bytes of each {@link ByteBuffer} are
+     *                  used as server id.
+     */
+    protected QuicLoadBalancerHandler(Collection<QuicLoadBalancerConfig> configs,
+                                      Map<ByteBuffer, InetSocketAddress> backends) {
+        ObjectUtil.checkNonEmpty(configs, "configs");
+        ObjectUtil.checkNonEmpty(backends, "backends");
+        int connectionIdLength = 0;
+        for (QuicLoadBalancerConfig config : configs) {
+            if (connectionIdLength == 0) {
+                connectionIdLength = config.connectionIdLength();
+            } else if (connectionIdLength != config.connectionIdLength()) {
+                connectionIdLength = -1;
+            }
+            int configId = config.configId();
+            if (this.configs[configId] != null) {
+                throw new IllegalArgumentException("Duplicate config id: " + configId);
+            }
+            this.configs[configId] = config;
+            serverIds[configId] = new byte[config.serverIdLength()];
+            serverIdKeys[configId] = ByteBuffer.wrap(serverIds[configId]);
+        }
+        shortHeaderConnectionIdLength = connectionIdLength;
+        this.backends = new HashMap<>(backends.size());
+        for (Map.Entry<ByteBuffer, InetSocketAddress> entry : backends.entrySet()) {
+            ByteBuffer serverId = entry.getKey();
+            byte[] copy = new byte[serverId.remaining()];
+            serverId.duplicate().get(copy);
+            this.backends.put(ByteBuffer.wrap(copy), ObjectUtil.checkNotNull(entry.getValue(), "backend"));
+        }
+        // Order by server id so all load balancer instances pick the same backend for unknown connection ids.
+        orderedBackends = this.backends.entrySet().stream()
+                .sorted(Map.Entry.comparingByKey())
+                .map(Map.Entry::getValue)
+                .toArray(InetSocketAddress[]::new);
+    }
+
+    @Override
+    public void channelRead(ChannelHandlerContext ctx, Object msg) throws Exception {
+        if (!(msg instanceof DatagramPacket)) {
+            ctx.fireChannelRead(msg);
+            return;
+        }
+        DatagramPacket packet = (DatagramPacket) msg;
+        InetSocketAddress backend = selectBackend(packet.content());
+        if (backend == null) {
+            if (LOGGER.isDebugEnabled()) {
+                LOGGER.debug("Unable to select backend for packet from {}, dropping it", packet.sender());
+            }
+            packet.release();
+            return;
+        }
+        forward(ctx, packet, backend);
+    }
+
+    @Override
+    public void channelReadComplete(ChannelHandlerContext ctx) {
+        // Flush once for all the packets we forwarded in this read loop.
+        ctx.flush();
+        ctx.fireChannelReadComplete();
+    }
+
+    /**
+     * Forward the given {@link DatagramPacket} to the backend, preserving the address of the client. The packet
+     * is flushed once the current read loop completes. Implementations are responsible for releasing the packet.
+     *
+     * @param ctx       the {@link ChannelHandlerContext} of this handler.
+     * @param packet    the received {@link DatagramPacket}.
+     * @param backend   the selected backend.
+     */
+    protected abstract void forward(ChannelHandlerContext ctx, DatagramPacket packet, InetSocketAddress backend);
+
+    // Package-private for testing.
+    @Nullable
+    InetSocketAddress selectBackend(ByteBuf packet) {
+        int readable = packet.readableBytes();
+        if (readable < 1) {
+            return null;
+        }
+        int offset = packet.readerIndex();
+        byte first = packet.getByte(offset);
+        int dcidOffset;
+        int dcidLength;
+        if (QuicHeaderParser.hasShortHeader(first)) {
+            // The length of the connection id is not part of a short header, we need to derive it from the config.
+            dcidOffset = offset + 1;
+            if (readable < 2) {
+                return null;
+            }
+            QuicLoadBalancerConfig config = config(packet.getByte(dcidOffset));
+            // If we don't know the config use the length that all configs share, the rest of the packet differs for
+            // each packet of the connection and so must not be hashed.
+            dcidLength = config == null ? shortHeaderConnectionIdLength : config.connectionIdLength();
+        } else {
+            // See https://www.rfc-editor.org/rfc/rfc9000#section-17.2
+            // Header Form (1), Fixed Bit (1), Type specific bits (6), Version (32), DCID Length (8), DCID (0..160)
+            if (readable < 6) {
+                return null;
+            }
+            dcidOffset = offset + 6;
+            dcidLength = packet.getUnsignedByte(offset + 5);
+        }
+        if (dcidLength <= 0 || dcidLength > Quic.MAX_CONN_ID_LEN || dcidOffset + dcidLength > offset + readable) {
+            return null;
+        }
+        ByteBuf dcid = packet.slice(dcidOffset, dcidLength);
+        QuicLoadBalancerConfig config = config(dcid.getByte(0));
+        if (config != null && config.connectionIdLength() == dcidLength) {
+            int configId = config.configId();
+            if (config.decodeServerId(dcid, serverIds[configId])) {
+                InetSocketAddress backend = backends.get(serverIdKeys[configId]);
+                if (backend != null) {
+                    return backend;
+                }
+            }
+        }
+        return orderedBackends[Math.floorMod(ByteBufUtil.hashCode(dcid), orderedBackends.length)];
+    }
+
+    @Nullable
+    private QuicLoadBalancerConfig config(byte firstByte) {
+        int configId = QuicLoadBalancerConfig.configId(firstByte);
+        if (configId == QuicLoadBalancerConfig.UNROUTABLE_CONFIG_ID) {
+            return null;
+        }
+        return configs[configId];
+    }
+}
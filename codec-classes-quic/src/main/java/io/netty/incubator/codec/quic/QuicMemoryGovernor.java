@@ -0,0 +1,202 @@
+/*
+ * Copyright 2026 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty.incubator.codec.quic;
+
+import io.netty.util.concurrent.EventExecutor;
+import io.netty.util.internal.ObjectUtil;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Keeps track of the bytes that are queued for sending by the {@link QuicStreamChannel}s and {@link QuicChannel}s
+ * of one or more codecs, see {@link QuicCodecBuilder#memoryGovernor(QuicMemoryGovernor)}. This includes the writes
+ * that wait for flow control credit and the {@code DATAGRAM} frames that wait in the send queue.
+ * <p>
+ * Once the queued bytes of all connections reach the high watermark, every {@link QuicStreamChannel} becomes
+ * unwritable until they dropped to the low watermark again. The same happens for the streams of a single connection
+ * once it queued more than its own limit, until half of it was sent. Handlers that respect
+ * {@link io.netty.channel.Channel#isWritable()} will stop writing, which limits the memory usage during spikes
+ * instead of queueing without bounds.
+ * <p>
+ * The same instance can be shared between multiple codecs, for example when using {@code SO_REUSEPORT}. To keep the
+ * overhead of sharing it low, each {@link io.netty.channel.EventLoop} only reports its changes once they add up to
+ * a small fraction of the distance between the watermarks, while below the high watermark. Once the high watermark
+ * was reached every change is reported directly, so the low watermark is detected exactly.
+ */
+public final class QuicMemoryGovernor {
+    private static final long MAX_BATCH_BYTES = 16 * 1024;
+
+    private final long lowWatermark;
+    private final long highWatermark;
+    private final long maxQueuedBytesPerConnection;
+    private final AtomicLong queuedBytes = new AtomicLong();
+    private final AtomicBoolean overLimit = new AtomicBoolean();
+    private final long batchBytes;
+    private final ConcurrentMap<EventExecutor, EventLoopAccount> accounts = new ConcurrentHashMap<>();
+
+    /**
+     * Create a new instance.
+     *
+     * @param lowWatermark                  the number of bytes below which the streams become writable again.
+     * @param highWatermark                 the number of bytes at which all streams become unwritable.
+     * @param maxQueuedBytesPerConnection   the number of bytes at which the streams of a single connection become
+     *                                      unwritable.
+     */
+    public QuicMemoryGovernor(long lowWatermark, long highWatermark, long maxQueuedBytesPerConnection) {
+        this.lowWatermark = ObjectUtil.checkPositiveOrZero(lowWatermark, "lowWatermark");
+        if (highWatermark <= lowWatermark) {
+            throw new IllegalArgumentException(
+                    "highWatermark: " + highWatermark + " (expected: > lowWatermark (" + lowWatermark + "))");
+        }
+        this.highWatermark = highWatermark;
+        this.maxQueuedBytesPerConnection = ObjectUtil.checkPositive(
+                maxQueuedBytesPerConnection, "maxQueuedBytesPerConnection");
+        batchBytes = Math.min(MAX_BATCH_BYTES, (highWatermark - lowWatermark) / 16);
+    }
+
+    /**
+     * Returns the number of bytes that are queued across all connections. While below the high watermark this might
+     * lag behind by a few kilobytes per {@link io.netty.channel.EventLoop}.
+     *
+     * @return the number of bytes.
+     */
+    public long queuedBytes() {
+        return queuedBytes.get();
+    }
+
+    /**
+     * Returns {@code true} if the high watermark was reached and the low watermark was not reached again since.
+     *
+     * @return {@code true} if over the limit.
+     */
+    public boolean isOverLimit() {
+        return overLimit.get();
+    }
+
+    long maxQueuedBytesPerConnection() {
+        return maxQueuedBytesPerConnection;
+    }
+
+    /**
+     * Register the channel, which must be done from the given {@link EventExecutor}. The returned
+     * {@link EventLoopAccount} is used to report the queued bytes of the channel.
+     */
+    EventLoopAccount register(QuicheQuicChannel channel, EventExecutor eventLoop) {
+        assert eventLoop.inEventLoop();
+        EventLoopAccount account = accounts.get(eventLoop);
+        if (account == null) {
+            account = new EventLoopAccount(eventLoop);
+            // Only this EventLoop adds or removes its account, so no one else could have added one in the meantime.
+            accounts.put(eventLoop, account);
+        }
+        account.channels.add(channel);
+        return account;
+    }
+
+    void unregister(QuicheQuicChannel channel, EventLoopAccount account) {
+        assert account.eventLoop.inEventLoop();
+        account.channels.remove(channel);
+        if (account.channels.isEmpty()) {
+            accounts.remove(account.eventLoop, account);
+            account.flush();
+        }
+    }
+
+    /**
+     * Add the given number of bytes, which is negative if bytes were sent or released.
+     */
+    void queuedBytesChanged(long delta) {
+        long bytes = queuedBytes.addAndGet(delta);
+        for (;;) {
+            boolean over = overLimit.get();
+            boolean newOver = over ? bytes > lowWatermark : bytes >= highWatermark;
+            if (newOver == over) {
+                return;
+            }
+            if (overLimit.compareAndSet(over, newOver)) {
+                // Notify each EventLoop only once, which then updates all of its channels.
+                for (EventLoopAccount account : accounts.values()) {
+                    account.memoryPressureChanged();
+                }
+            }
+            // Check again as others may have changed the bytes in the meantime but did not see our update yet.
+            bytes = queuedBytes.get();
+        }
+    }
+
+    /**
+     * Accounts the queued bytes of all the channels of one {@link io.netty.channel.EventLoop}. All methods except
+     * {@link #memoryPressureChanged()} must be called from the {@link io.netty.channel.EventLoop}.
+     */
+    final class EventLoopAccount implements Runnable {
+        private final EventExecutor eventLoop;
+        private final Set<QuicheQuicChannel> channels = new HashSet<>();
+        private final AtomicBoolean notifyScheduled = new AtomicBoolean();
+        private long pendingBytes;
+
+        EventLoopAccount(EventExecutor eventLoop) {
+            this.eventLoop = eventLoop;
+        }
+
+        /**
+         * Add the given number of bytes, which is negative if bytes were sent or released.
+         */
+        void queuedBytesChanged(long delta) {
+            assert eventLoop.inEventLoop();
+            long pending = pendingBytes + delta;
+            if (Math.abs(pending) < batchBytes && !overLimit.get() && !channels.isEmpty()) {
+                pendingBytes = pending;
+                return;
+            }
+            pendingBytes = 0;
+            QuicMemoryGovernor.this.queuedBytesChanged(pending);
+        }
+
+        void flush() {
+            long pending = pendingBytes;
+            if (pending != 0) {
+                pendingBytes = 0;
+                QuicMemoryGovernor.this.queuedBytesChanged(pending);
+            }
+        }
+
+        /**
+         * Called once the global limit was reached or the bytes dropped below it again. This might be called from
+         * any thread.
+         */
+        void memoryPressureChanged() {
+            if (notifyScheduled.compareAndSet(false, true)) {
+                eventLoop.execute(this);
+            }
+        }
+
+        @Override
+        public void run() {
+            notifyScheduled.set(false);
+            // Report what we held back so far, so the global bytes are exact while over the limit.
+            flush();
+            // Make a copy as the handlers may close channels once the writability changed.
+            for (QuicheQuicChannel channel : channels.toArray(new QuicheQuicChannel[0])) {
+                channel.updateMemoryPressure();
+            }
+        }
+    }
+}
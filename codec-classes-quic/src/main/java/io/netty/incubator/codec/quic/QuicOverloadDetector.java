@@ -0,0 +1,40 @@
+/*
+ * Copyright 2026 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty.incubator.codec.quic;
+
+/**
+ * Tells a {@code QUIC} server if it is overloaded and so should not accept new connections for now.
+ * While {@link #isOverloaded()} returns {@code true} new {@code INITIAL} packets are dropped, so the clients
+ * retransmit them later instead of piling up even more work.
+ *
+ * @see QuicServerCodecBuilder#overloadDetector(QuicOverloadDetector)
+ */
+public interface QuicOverloadDetector {
+
+    /**
+     * Returns {@code true} if no new connections should be accepted. This is called for every {@code INITIAL}
+     * packet that would create a new connection, so it should be cheap.
+     *
+     * @return {@code true} if new connections should be dropped.
+     */
+    boolean isOverloaded();
+
+    /**
+     * Called each time an {@code INITIAL} packet was dropped because {@link #isOverloaded()} returned
+     * {@code true}.
+     */
+    default void initialDropped() { }
+}
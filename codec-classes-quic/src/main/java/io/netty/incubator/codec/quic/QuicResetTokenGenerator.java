@@ -15,6 +15,8 @@
  */
 package io.netty.incubator.codec.quic;
 
+import io.netty.buffer.ByteBuf;
+
 import java.nio.ByteBuffer;
 
 /**
@@ -31,12 +33,39 @@ public interface QuicResetTokenGenerator {
      */
     ByteBuffer newResetToken(ByteBuffer cid);
 
+    /**
+     * Write the reset token to use for the given connection id into {@code out}. This is the same as
+     * {@link #newResetToken(ByteBuffer)} but allows implementations to produce the token without any allocations.
+     *
+     * @param cid   the connection id
+     * @param out   the {@link ByteBuf} into which the 16 bytes of the token are written.
+     */
+    default void writeResetToken(ByteBuffer cid, ByteBuf out) {
+        out.writeBytes(newResetToken(cid));
+    }
+
     /**
      * Return a {@link QuicResetTokenGenerator} which generates new reset tokens by signing the given input.
+     * The key is generated randomly once per JVM, so tokens will not match after a restart or between different
+     * servers. Use {@link #signGenerator(byte[])} if that is required.
      *
      * @return a {@link QuicResetTokenGenerator} which generates new reset tokens by signing the given input.
      */
     static QuicResetTokenGenerator signGenerator() {
-        return HmacSignQuicResetTokenGenerator.INSTANCE;
+        return SipHashSignQuicResetTokenGenerator.INSTANCE;
+    }
+
+    /**
+     * Return a {@link QuicResetTokenGenerator} which generates new reset tokens by signing the given input with
+     * the given secret key. All servers that share the same key will generate the same token for a connection id,
+     * even across restarts, which is needed for
+     * <a href="https://www.rfc-editor.org/rfc/rfc9000#section-10.3">Stateless Resets</a> to be recognized by the
+     * remote peer. The key must be kept secret.
+     *
+     * @param key   the key to use, which must be 16 bytes.
+     * @return      a {@link QuicResetTokenGenerator} which generates new reset tokens by signing the given input.
+     */
+    static QuicResetTokenGenerator signGenerator(byte[] key) {
+        return new SipHashSignQuicResetTokenGenerator(new SipHashSigner(key));
     }
 }
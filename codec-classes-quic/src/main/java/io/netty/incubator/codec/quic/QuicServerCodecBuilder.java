@@ -43,6 +43,8 @@ public final class QuicServerCodecBuilder extends QuicCodecBuilder<QuicServerCod
     private QuicConnectionIdGenerator connectionIdAddressGenerator;
     private QuicTokenHandler tokenHandler;
     private QuicResetTokenGenerator resetTokenGenerator;
+    private int statelessResetRateLimit;
+    private QuicOverloadDetector overloadDetector;
 
     /**
      * Creates a new instance.
@@ -62,6 +64,8 @@ public final class QuicServerCodecBuilder extends QuicCodecBuilder<QuicServerCod
         connectionIdAddressGenerator = builder.connectionIdAddressGenerator;
         tokenHandler = builder.tokenHandler;
         resetTokenGenerator = builder.resetTokenGenerator;
+        statelessResetRateLimit = builder.statelessResetRateLimit;
+        overloadDetector = builder.overloadDetector;
     }
 
     @Override
@@ -187,6 +191,42 @@ public final class QuicServerCodecBuilder extends QuicCodecBuilder<QuicServerCod
         return self();
     }
 
+    /**
+     * Enable sending of <a href="https://www.rfc-editor.org/rfc/rfc9000#section-10.3">Stateless Resets</a> for
+     * short header packets that are received for an unknown connection id, for example because the server was
+     * restarted. This allows the remote peer to detect that the connection is gone without waiting for the idle
+     * timeout. The reset token is derived from the configured {@link QuicResetTokenGenerator} and so will only be
+     * recognized by the peer if the generator is deterministic across restarts. The default generator uses a random
+     * key per JVM, so use {@link QuicResetTokenGenerator#signGenerator(byte[])} with a configured key in
+     * {@link #resetTokenGenerator(QuicResetTokenGenerator)} when enabling this. This can't be combined with
+     * {@link #statelessResetToken(byte[])}, as the initial connection id of each connection would use that token.
+     *
+     * The default is {@code 0} which disables sending of stateless resets.
+     *
+     * @param maxResetsPerSecond    the maximum number of stateless resets to send per second or {@code 0} to
+     *                              disable sending these.
+     * @return                      this instance.
+     */
+    public QuicServerCodecBuilder statelessResetRateLimit(int maxResetsPerSecond) {
+        this.statelessResetRateLimit = ObjectUtil.checkPositiveOrZero(maxResetsPerSecond, "maxResetsPerSecond");
+        return self();
+    }
+
+    /**
+     * Set the {@link QuicOverloadDetector} that decides if new connections should be dropped for now, or
+     * {@code null} if all connections should be accepted. {@link QuicSslOffloadExecutor} can be used to drop new
+     * connections while too many {@code TLS} operations are pending.
+     *
+     * The default is {@code null}.
+     *
+     * @param overloadDetector  the {@link QuicOverloadDetector} to use.
+     * @return                  this instance.
+     */
+    public QuicServerCodecBuilder overloadDetector(@Nullable QuicOverloadDetector overloadDetector) {
+        this.overloadDetector = overloadDetector;
+        return self();
+    }
+
     @Override
     protected void validate() {
         super.validate();
@@ -201,6 +241,9 @@ public final class QuicServerCodecBuilder extends QuicCodecBuilder<QuicServerCod
                                    Executor sslTaskExecutor,
                                    int localConnIdLength, FlushStrategy flushStrategy) {
         validate();
+        if (statelessResetRateLimit > 0 && config.hasStatelessResetToken()) {
+            throw new IllegalStateException("statelessResetToken can't be used together with statelessResetRateLimit");
+        }
         QuicTokenHandler tokenHandler = this.tokenHandler;
         if (tokenHandler == null) {
             tokenHandler = NoQuicTokenHandler.INSTANCE;
@@ -218,6 +261,7 @@ public final class QuicServerCodecBuilder extends QuicCodecBuilder<QuicServerCod
         return new QuicheQuicServerCodec(config, localConnIdLength, tokenHandler, generator, resetTokenGenerator,
                 flushStrategy, sslEngineProvider, sslTaskExecutor, handler,
                 Quic.toOptionsArray(options), Quic.toAttributesArray(attrs),
-                streamHandler, Quic.toOptionsArray(streamOptions), Quic.toAttributesArray(streamAttrs));
+                streamHandler, Quic.toOptionsArray(streamOptions), Quic.toAttributesArray(streamAttrs),
+                statelessResetRateLimit, overloadDetector);
     }
 }
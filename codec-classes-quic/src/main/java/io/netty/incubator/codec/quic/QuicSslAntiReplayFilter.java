@@ -0,0 +1,176 @@
+/*
+ * Copyright 2026 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty.incubator.codec.quic;
+
+import io.netty.util.internal.MathUtil;
+import io.netty.util.internal.ObjectUtil;
+
+import java.nio.ByteBuffer;
+import java.security.SecureRandom;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Protects {@code 0-RTT} data against replays by remembering the {@code ClientHello} random of every handshake that
+ * offered early data, as described in
+ * <a href="https://www.rfc-editor.org/rfc/rfc8446#section-8.2">RFC8446 8.2. Client Hello Recording</a>. If the
+ * same {@code ClientHello} is seen again within the window, the early data is rejected and the client needs to send
+ * it again after the handshake completed, so it is never delivered to the stream handlers twice.
+ * <p>
+ * The randoms are recorded in time-windowed bloom filters, so the memory usage is fixed and a false positive only
+ * costs the client an extra round-trip. The filters are split into shards, each with its own lock, to reduce
+ * contention between {@link io.netty.channel.EventLoop}s.
+ * <p>
+ * BoringSSL already rejects early data for tickets whose age is more than 60 seconds off, so the window should be
+ * at least this long. A replay that arrives later is rejected by BoringSSL itself.
+ * <p>
+ * This only protects a single server. If the same session tickets are accepted by multiple servers, a
+ * {@link QuicSslSessionStore} that removes sessions once they were used needs to be used in addition.
+ * <p>
+ * See {@link QuicSslContextBuilder#earlyDataAntiReplay(QuicSslAntiReplayFilter)}.
+ */
+public final class QuicSslAntiReplayFilter {
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    private final Shard[] shards;
+    private final long windowNanos;
+    private final LongAdder rejected = new LongAdder();
+
+    /**
+     * Create a new instance.
+     *
+     * @param expectedPerWindow         the expected number of handshakes with early data per window.
+     * @param falsePositiveProbability  the probability that early data is rejected although it was not replayed,
+     *                                  once the expected number of handshakes were recorded.
+     * @param window                    the time for which the randoms are remembered at least.
+     * @param unit                      the {@link TimeUnit} of the window.
+     * @param shards                    the number of shards, which is rounded up to the next power of two.
+     */
+    public QuicSslAntiReplayFilter(int expectedPerWindow, double falsePositiveProbability, long window,
+                                   TimeUnit unit, int shards) {
+        ObjectUtil.checkPositive(expectedPerWindow, "expectedPerWindow");
+        if (!(falsePositiveProbability > 0 && falsePositiveProbability < 1)) {
+            throw new IllegalArgumentException(
+                    "falsePositiveProbability: " + falsePositiveProbability + " (expected: > 0 and < 1)");
+        }
+        windowNanos = ObjectUtil.checkNotNull(unit, "unit").toNanos(ObjectUtil.checkPositive(window, "window"));
+        int numShards = MathUtil.findNextPositivePowerOfTwo(ObjectUtil.checkPositive(shards, "shards"));
+        int expectedPerShard = Math.max(1, expectedPerWindow / numShards);
+        // See https://en.wikipedia.org/wiki/Bloom_filter#Optimal_number_of_hash_functions
+        double ln2 = Math.log(2);
+        long bits = (long) Math.ceil(-expectedPerShard * Math.log(falsePositiveProbability) / (ln2 * ln2));
+        int words = (int) Math.min(Integer.MAX_VALUE, Math.max(1, (bits + Long.SIZE - 1) / Long.SIZE));
+        int hashes = (int) Math.max(1, Math.round((double) words * Long.SIZE / expectedPerShard * ln2));
+        this.shards = new Shard[numShards];
+        long now = System.nanoTime();
+        for (int i = 0; i < numShards; i++) {
+            this.shards[i] = new Shard(words, hashes, now);
+        }
+    }
+
+    /**
+     * Returns the number of times early data was rejected as the {@code ClientHello} was seen before.
+     *
+     * @return the number of rejections.
+     */
+    public long rejectedEarlyData() {
+        return rejected.sum();
+    }
+
+    /**
+     * Record the given {@code ClientHello} random and return {@code true} if it was not seen before, which means
+     * early data can be accepted.
+     */
+    boolean checkAndRecord(byte[] clientRandom) {
+        return checkAndRecord(clientRandom, System.nanoTime());
+    }
+
+    boolean checkAndRecord(byte[] clientRandom, long now) {
+        // The client controls the random, which is fine for picking the shard as the worst it can do is to put
+        // more load on a single shard. The bits within the shard are chosen via a keyed hash.
+        Shard shard = shards[Arrays.hashCode(clientRandom) & (shards.length - 1)];
+        boolean accepted;
+        synchronized (shard) {
+            accepted = shard.checkAndRecord(ByteBuffer.wrap(clientRandom), now, windowNanos);
+        }
+        if (!accepted) {
+            rejected.increment();
+        }
+        return accepted;
+    }
+
+    private static final class Shard {
+        private final SipHash sipHash;
+        private final int hashes;
+        private long[] current;
+        private long[] previous;
+        private long currentStart;
+
+        Shard(int words, int hashes, long now) {
+            byte[] seed = new byte[SipHash.SEED_LENGTH];
+            RANDOM.nextBytes(seed);
+            sipHash = new SipHash(1, 3, seed);
+            this.hashes = hashes;
+            current = new long[words];
+            previous = new long[words];
+            currentStart = now;
+        }
+
+        boolean checkAndRecord(ByteBuffer clientRandom, long now, long windowNanos) {
+            long age = now - currentStart;
+            if (age >= windowNanos) {
+                // Everything in previous is older than the window now, so reuse it for the new generation.
+                long[] tmp = previous;
+                previous = age >= 2 * windowNanos ? clear(current) : current;
+                current = clear(tmp);
+                currentStart = now;
+            }
+            long hash = sipHash.macHash(clientRandom);
+            // Use double hashing to derive all the indexes from a single hash.
+            int h1 = (int) hash;
+            int h2 = (int) (hash >>> 32);
+            long bits = (long) current.length * Long.SIZE;
+            if (mightContain(current, h1, h2, bits) || mightContain(previous, h1, h2, bits)) {
+                return false;
+            }
+            for (int i = 0; i < hashes; i++) {
+                int bit = index(h1 + i * h2, bits);
+                current[bit >>> 6] |= 1L << bit;
+            }
+            return true;
+        }
+
+        private boolean mightContain(long[] filter, int h1, int h2, long bits) {
+            for (int i = 0; i < hashes; i++) {
+                int bit = index(h1 + i * h2, bits);
+                if ((filter[bit >>> 6] & (1L << bit)) == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private static int index(int combined, long bits) {
+            return (int) ((combined & 0xFFFFFFFFL) % bits);
+        }
+
+        private static long[] clear(long[] filter) {
+            Arrays.fill(filter, 0);
+            return filter;
+        }
+    }
+}
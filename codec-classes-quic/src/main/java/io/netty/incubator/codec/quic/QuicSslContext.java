@@ -17,6 +17,10 @@ package io.netty.incubator.codec.quic;
 
 import io.netty.buffer.ByteBufAllocator;
 import io.netty.handler.ssl.SslContext;
+import org.jetbrains.annotations.Nullable;
+
+import javax.net.ssl.KeyManagerFactory;
+import javax.net.ssl.TrustManagerFactory;
 
 import java.io.InputStream;
 import java.security.cert.CertificateException;
@@ -36,6 +40,29 @@ public abstract class QuicSslContext extends SslContext {
     @Override
     public abstract QuicSslSessionContext sessionContext();
 
+    /**
+     * Replace the key material and / or the trust roots that are used by this context. All handshakes that start
+     * after this method returns will use the new {@link KeyManagerFactory} / {@link TrustManagerFactory}, while
+     * handshakes that are in progress complete with what they already selected. Everything else, like session
+     * ticket keys and cached sessions, is retained.
+     * <p>
+     * The key material is parsed by the calling thread before it is published, so this method should not be called
+     * from an {@link io.netty.channel.EventLoop}.
+     *
+     * @param keyManagerFactory     the new {@link KeyManagerFactory} or {@code null} if the current one should be kept.
+     * @param trustManagerFactory   the new {@link TrustManagerFactory} or {@code null} if the current one should be
+     *                              kept.
+     * @throws UnsupportedOperationException if this context does not support updating the certificates.
+     * @throws IllegalArgumentException if a {@link KeyManagerFactory} is given and either this context was built with
+     *                                  a {@link BoringSSLKeylessManagerFactory} or the given one is a
+     *                                  {@link BoringSSLKeylessManagerFactory}, as keyless operation can only be
+     *                                  chosen when the context is built.
+     */
+    public void updateCertificates(@Nullable KeyManagerFactory keyManagerFactory,
+                                   @Nullable TrustManagerFactory trustManagerFactory) {
+        throw new UnsupportedOperationException();
+    }
+
     static X509Certificate[] toX509Certificates0(InputStream stream)
             throws CertificateException {
         return SslContext.toX509Certificates(stream);
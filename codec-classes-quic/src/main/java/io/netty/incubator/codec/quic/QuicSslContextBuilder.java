@@ -173,6 +173,9 @@ public final class QuicSslContextBuilder {
     private String[] applicationProtocols;
     private Boolean earlyData;
     private BoringSSLKeylog keylog;
+    private QuicSslSessionStore sessionStore;
+    private QuicSslAntiReplayFilter antiReplayFilter;
+    private QuicClientSessionStore clientSessionStore;
     private Mapping<? super String, ? extends QuicSslContext> mapping;
 
     private QuicSslContextBuilder(boolean forServer) {
@@ -190,7 +193,8 @@ public final class QuicSslContextBuilder {
      * will be applied to the connection.
      * <p>
      * Use {@link io.netty.util.DomainWildcardMappingBuilder} to create the {@link Mapping} when
-     * matching against domain patterns is needed.
+     * matching against domain patterns is needed, or {@link QuicSslContextSniMapping} when there are many
+     * hostnames whose contexts should be built lazily.
      *
      * @param mapping the {@link Mapping} that maps hostnames to {@link QuicSslContext} instances
      * @return this builder
@@ -247,6 +251,61 @@ public final class QuicSslContextBuilder {
         return this;
     }
 
+    /**
+     * Keep the sessions in the given {@link QuicSslSessionStore} and only put their ids into the session tickets,
+     * instead of encrypting the whole session into the ticket. Session ticket keys are not used in this case, so
+     * {@link QuicSslSessionContext#setTicketKeys(SslSessionTicketKey...)} throws and the context can't be added to
+     * a {@link QuicSslSessionTicketKeyRotator}.
+     * When used together with {@link #sni(Mapping)} the contexts returned by the {@link Mapping} should use the same
+     * {@link QuicSslSessionStore}.
+     *
+     * @param sessionStore  the {@link QuicSslSessionStore} or {@code null} if the sessions should be encrypted into
+     *                      the tickets.
+     * @return              this builder.
+     */
+    public QuicSslContextBuilder sessionStore(@Nullable QuicSslSessionStore sessionStore) {
+        if (!forServer) {
+            throw new UnsupportedOperationException("Only supported for server");
+        }
+        this.sessionStore = sessionStore;
+        return this;
+    }
+
+    /**
+     * Reject early data if the {@code ClientHello} was already seen by the given {@link QuicSslAntiReplayFilter},
+     * so replayed {@code 0-RTT} data is never delivered to the streams. The client then needs to send the data again
+     * once the handshake completed. This only has an effect if {@link #earlyData(boolean)} is enabled.
+     * When used together with {@link #sni(Mapping)} this needs to be set on this context, as the check is done
+     * before the {@link Mapping} is used.
+     *
+     * @param antiReplayFilter  the {@link QuicSslAntiReplayFilter} or {@code null} if early data should not be
+     *                          checked for replays.
+     * @return                  this builder.
+     */
+    public QuicSslContextBuilder earlyDataAntiReplay(@Nullable QuicSslAntiReplayFilter antiReplayFilter) {
+        if (!forServer) {
+            throw new UnsupportedOperationException("Only supported for server");
+        }
+        this.antiReplayFilter = antiReplayFilter;
+        return this;
+    }
+
+    /**
+     * Also store the sessions in the given {@link QuicClientSessionStore}, so they can be resumed after the process
+     * was restarted. Sessions are still cached in memory as well.
+     *
+     * @param clientSessionStore    the {@link QuicClientSessionStore} or {@code null} if sessions should only be
+     *                              cached in memory.
+     * @return                      this builder.
+     */
+    public QuicSslContextBuilder clientSessionStore(@Nullable QuicClientSessionStore clientSessionStore) {
+        if (forServer) {
+            throw new UnsupportedOperationException("Only supported for client");
+        }
+        this.clientSessionStore = clientSessionStore;
+        return this;
+    }
+
     /**
      * Trusted certificates for verifying the remote endpoint's certificate. The file should
      * contain an X.509 certificate collection in PEM format. {@code null} uses the system default
@@ -413,12 +472,12 @@ public final class QuicSslContextBuilder {
     public QuicSslContext build() {
         if (forServer) {
             return new QuicheQuicSslContext(true, sessionTimeout, sessionCacheSize, clientAuth, trustManagerFactory,
-                    keyManagerFactory, keyPassword, mapping, earlyData, keylog,
-                    applicationProtocols, toArray(options.entrySet(), EMPTY_ENTRIES));
+                    keyManagerFactory, keyPassword, mapping, earlyData, keylog, sessionStore,
+                    antiReplayFilter, null, applicationProtocols, toArray(options.entrySet(), EMPTY_ENTRIES));
         } else {
             return new QuicheQuicSslContext(false, sessionTimeout, sessionCacheSize, clientAuth, trustManagerFactory,
-                    keyManagerFactory, keyPassword, mapping, earlyData, keylog,
-                    applicationProtocols, toArray(options.entrySet(), EMPTY_ENTRIES));
+                    keyManagerFactory, keyPassword, mapping, earlyData, keylog, null, null,
+                    clientSessionStore, applicationProtocols, toArray(options.entrySet(), EMPTY_ENTRIES));
         }
     }
 
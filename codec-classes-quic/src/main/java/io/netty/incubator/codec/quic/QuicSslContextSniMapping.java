@@ -0,0 +1,172 @@
+/*
+ * Copyright 2026 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty.incubator.codec.quic;
+
+import io.netty.util.Mapping;
+import io.netty.util.internal.ObjectUtil;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * {@link Mapping} that can be used with {@link QuicSslContextBuilder#sni(Mapping)} when there are a lot of hostnames
+ * which each use their own {@link QuicSslContext}.
+ * <p>
+ * Hostnames are first looked up in the table of contexts that were added via {@link #add(String, QuicSslContext)},
+ * which supports exact matches and wildcards like {@code *.netty.io}. If there is no match the context is looked up
+ * in a bounded cache of contexts that were built by the loader before, and only if this fails too the loader is
+ * called. Hostnames for which the loader returned {@code null} are remembered in a bounded cache as well, so unknown
+ * hostnames sent by clients don't call the loader on each handshake.
+ * <p>
+ * Contexts that are evicted from the cache or removed are not released explicitly, as handshakes on other threads
+ * might still be about to use them. Like any other {@link QuicSslContext} their native resources are freed once they
+ * were garbage collected and are not used by any connection anymore.
+ */
+public final class QuicSslContextSniMapping implements Mapping<String, QuicSslContext> {
+
+    private final Map<String, QuicSslContext> contexts = new ConcurrentHashMap<>();
+    // Guarded by itself, also guards notFound.
+    private final Map<String, QuicSslContext> loaded;
+    private final Map<String, Boolean> notFound;
+    private final Function<? super String, ? extends QuicSslContext> loader;
+    @Nullable
+    private final QuicSslContext defaultContext;
+
+    /**
+     * Create a new instance.
+     *
+     * @param loader                the {@link Function} that is used to build the {@link QuicSslContext} for a
+     *                              hostname that is not known yet. The {@link Function} may return {@code null}
+     *                              if there is no {@link QuicSslContext} for the hostname. It is called on the
+     *                              {@link io.netty.channel.EventLoop} that handles the connection, so should be
+     *                              fast or build the contexts via some other mechanism in advance.
+     * @param defaultContext        the {@link QuicSslContext} to use if no other context could be found or
+     *                              {@code null} if the handshake should fail in this case.
+     * @param maxLoadedContexts     the maximum number of contexts built by the loader that are cached, which is
+     *                              also the maximum number of hostnames for which the loader returned
+     *                              {@code null} that are cached.
+     */
+    public QuicSslContextSniMapping(Function<? super String, ? extends QuicSslContext> loader,
+                                    @Nullable QuicSslContext defaultContext, int maxLoadedContexts) {
+        this.loader = ObjectUtil.checkNotNull(loader, "loader");
+        this.defaultContext = defaultContext;
+        ObjectUtil.checkPositive(maxLoadedContexts, "maxLoadedContexts");
+        loaded = new LinkedHashMap<String, QuicSslContext>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, QuicSslContext> eldest) {
+                return size() > maxLoadedContexts;
+            }
+        };
+        notFound = new LinkedHashMap<String, Boolean>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Boolean> eldest) {
+                return size() > maxLoadedContexts;
+            }
+        };
+    }
+
+    /**
+     * Add a {@link QuicSslContext} for the given hostname, which may start with a {@code *.} wildcard that matches
+     * exactly one label. Contexts added via this method are never evicted.
+     *
+     * @param hostname  the hostname.
+     * @param context   the {@link QuicSslContext} to use.
+     * @return          this instance.
+     */
+    public QuicSslContextSniMapping add(String hostname, QuicSslContext context) {
+        contexts.put(normalize(ObjectUtil.checkNotNull(hostname, "hostname")),
+                ObjectUtil.checkNotNull(context, "context"));
+        return this;
+    }
+
+    /**
+     * Remove the {@link QuicSslContext} for the given hostname, regardless if it was added via
+     * {@link #add(String, QuicSslContext)} or built by the loader. New handshakes for the hostname will use the
+     * loader again, even if it returned {@code null} for the hostname before.
+     *
+     * @param hostname  the hostname.
+     * @return          this instance.
+     */
+    public QuicSslContextSniMapping remove(String hostname) {
+        String normalized = normalize(ObjectUtil.checkNotNull(hostname, "hostname"));
+        contexts.remove(normalized);
+        synchronized (loaded) {
+            loaded.remove(normalized);
+            notFound.remove(normalized);
+        }
+        return this;
+    }
+
+    @Nullable
+    @Override
+    public QuicSslContext map(@Nullable String hostname) {
+        if (hostname == null) {
+            return defaultContext;
+        }
+        String normalized = normalize(hostname);
+        QuicSslContext context = contexts.get(normalized);
+        if (context != null) {
+            return context;
+        }
+        int idx = normalized.indexOf('.');
+        if (idx > 0) {
+            context = contexts.get("*" + normalized.substring(idx));
+            if (context != null) {
+                return context;
+            }
+        }
+        synchronized (loaded) {
+            context = loaded.get(normalized);
+            if (context == null && notFound.get(normalized) != null) {
+                return defaultContext;
+            }
+        }
+        if (context != null) {
+            return context;
+        }
+        // Call the loader without holding the lock, it might be slow.
+        context = loader.apply(normalized);
+        if (context == null) {
+            synchronized (loaded) {
+                notFound.put(normalized, Boolean.TRUE);
+            }
+            return defaultContext;
+        }
+        synchronized (loaded) {
+            QuicSslContext old = loaded.putIfAbsent(normalized, context);
+            if (old != null) {
+                // Someone else loaded the context in the meantime, use the same.
+                return old;
+            }
+        }
+        return context;
+    }
+
+    private static String normalize(String hostname) {
+        // Only allocate a new String if there is an uppercase character, which should be rare.
+        for (int i = 0; i < hostname.length(); i++) {
+            char c = hostname.charAt(i);
+            if (c >= 'A' && c <= 'Z') {
+                return hostname.toLowerCase(Locale.US);
+            }
+        }
+        return hostname;
+    }
+}
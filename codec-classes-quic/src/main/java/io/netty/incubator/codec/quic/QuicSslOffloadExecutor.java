@@ -0,0 +1,246 @@
+/*
+ * Copyright 2026 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty.incubator.codec.quic;
+
+import io.netty.util.concurrent.DefaultThreadFactory;
+import io.netty.util.internal.ObjectUtil;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * {@link Executor} that can be used via {@link QuicCodecBuilder#sslTaskExecutor(Executor)} to offload expensive
+ * {@code TLS} operations, like signing with a RSA key, from the {@link io.netty.channel.EventLoop}.
+ * <p>
+ * Compared to using an arbitrary {@link Executor} this implementation:
+ * <ul>
+ *     <li>uses a fixed number of threads and a bounded queue. If the queue is full the task is rejected, which fails
+ *     the handshake of the connection, so the {@link io.netty.channel.EventLoop} never runs the expensive operation
+ *     itself.</li>
+ *     <li>is a {@link QuicOverloadDetector}, so a server that uses it via
+ *     {@link QuicServerCodecBuilder#overloadDetector(QuicOverloadDetector)} drops new {@code INITIAL} packets while
+ *     too many tasks are pending. This happens before the queue is full, so the handshakes of the connections that
+ *     were already accepted can complete.</li>
+ *     <li>keeps track of how long the different {@link TaskType}s take.</li>
+ * </ul>
+ * The same instance can be shared between multiple codecs. It must be shut down via {@link #shutdown()} once it is
+ * not used anymore.
+ */
+public final class QuicSslOffloadExecutor implements Executor, QuicOverloadDetector {
+
+    /**
+     * The different types of tasks for which statistics are collected.
+     */
+    public enum TaskType {
+        /**
+         * Selection of the key material to use.
+         */
+        CERTIFICATE,
+        /**
+         * Verification of the certificates of the remote peer.
+         */
+        CERTIFICATE_VERIFY,
+        /**
+         * Signing or decrypting via a {@link BoringSSLAsyncPrivateKeyMethod}.
+         */
+        PRIVATE_KEY,
+        /**
+         * Any other task.
+         */
+        OTHER
+    }
+
+    private final ThreadPoolExecutor executor;
+    private final int overloadThreshold;
+    private final TaskStats[] stats = new TaskStats[TaskType.values().length];
+    private final LongAdder rejectedTasks = new LongAdder();
+    private final LongAdder droppedInitials = new LongAdder();
+
+    /**
+     * Create a new instance.
+     *
+     * @param threads               the number of threads to use.
+     * @param maxPendingTasks       the maximum number of tasks that can be queued before new tasks are rejected.
+     * @param overloadThreshold     the number of pending tasks at which {@link #isOverloaded()} returns
+     *                              {@code true}.
+     */
+    public QuicSslOffloadExecutor(int threads, int maxPendingTasks, int overloadThreshold) {
+        this(threads, maxPendingTasks, overloadThreshold, new DefaultThreadFactory(QuicSslOffloadExecutor.class, true));
+    }
+
+    /**
+     * Create a new instance.
+     *
+     * @param threads               the number of threads to use.
+     * @param maxPendingTasks       the maximum number of tasks that can be queued before new tasks are rejected.
+     * @param overloadThreshold     the number of pending tasks at which {@link #isOverloaded()} returns
+     *                              {@code true}.
+     * @param threadFactory         the {@link ThreadFactory} used to create the threads.
+     */
+    public QuicSslOffloadExecutor(int threads, int maxPendingTasks, int overloadThreshold,
+                                  ThreadFactory threadFactory) {
+        ObjectUtil.checkPositive(threads, "threads");
+        ObjectUtil.checkPositive(maxPendingTasks, "maxPendingTasks");
+        this.overloadThreshold = ObjectUtil.checkInRange(overloadThreshold, 1, maxPendingTasks, "overloadThreshold");
+        executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(maxPendingTasks), ObjectUtil.checkNotNull(threadFactory, "threadFactory"));
+        for (int i = 0; i < stats.length; i++) {
+            stats[i] = new TaskStats();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @throws RejectedExecutionException   if too many tasks are pending or this executor was shut down.
+     */
+    @Override
+    public void execute(Runnable command) {
+        ObjectUtil.checkNotNull(command, "command");
+        long submitted = System.nanoTime();
+        Runnable task;
+        if (command instanceof QuicheQuicSslTaskRunner) {
+            // Record each of the tasks that the connection produces on its own.
+            QuicheQuicSslTaskRunner runner = (QuicheQuicSslTaskRunner) command;
+            task = () -> runner.run(this::runMeasured, submitted);
+        } else {
+            task = () -> runMeasured(command, submitted);
+        }
+        try {
+            executor.execute(task);
+        } catch (RejectedExecutionException e) {
+            if (!executor.isShutdown()) {
+                rejectedTasks.increment();
+            }
+            throw e;
+        }
+    }
+
+    private void runMeasured(Runnable task, long submitted) {
+        long start = System.nanoTime();
+        try {
+            task.run();
+        } finally {
+            long end = System.nanoTime();
+            stats[taskType(task).ordinal()].record(start - submitted, end - start);
+        }
+    }
+
+    private static TaskType taskType(Runnable task) {
+        if (task instanceof QuicheQuicConnection.SslTask) {
+            task = ((QuicheQuicConnection.SslTask) task).task;
+        }
+        if (task instanceof BoringSSLCertificateCallbackTask) {
+            return TaskType.CERTIFICATE;
+        }
+        if (task instanceof BoringSSLCertificateVerifyCallbackTask) {
+            return TaskType.CERTIFICATE_VERIFY;
+        }
+        if (task instanceof BoringSSLPrivateKeyMethodTask) {
+            return TaskType.PRIVATE_KEY;
+        }
+        return TaskType.OTHER;
+    }
+
+    /**
+     * Returns {@code true} if there are so many pending tasks that no new connections should be accepted.
+     */
+    @Override
+    public boolean isOverloaded() {
+        return pendingTasks() >= overloadThreshold;
+    }
+
+    /**
+     * Returns the number of tasks that are waiting to be executed.
+     */
+    public int pendingTasks() {
+        return executor.getQueue().size();
+    }
+
+    /**
+     * Returns the number of tasks that were rejected as there were too many pending tasks.
+     */
+    public long rejectedTasks() {
+        return rejectedTasks.sum();
+    }
+
+    /**
+     * Returns the number of {@code INITIAL} packets that were dropped as this executor was overloaded.
+     */
+    public long droppedInitials() {
+        return droppedInitials.sum();
+    }
+
+    /**
+     * Returns the number of completed tasks of the given type.
+     */
+    public long completedTasks(TaskType type) {
+        return stats[type.ordinal()].completed.sum();
+    }
+
+    /**
+     * Returns the total time in nanoseconds that tasks of the given type spent waiting to be executed.
+     */
+    public long totalQueueTimeNanos(TaskType type) {
+        return stats[type.ordinal()].totalQueueTime.sum();
+    }
+
+    /**
+     * Returns the total time in nanoseconds that it took to run the tasks of the given type.
+     */
+    public long totalRunTimeNanos(TaskType type) {
+        return stats[type.ordinal()].totalRunTime.sum();
+    }
+
+    /**
+     * Returns the maximum time in nanoseconds that it took to run a task of the given type.
+     */
+    public long maxRunTimeNanos(TaskType type) {
+        return stats[type.ordinal()].maxRunTime.get();
+    }
+
+    /**
+     * Shutdown the threads of this executor once all pending tasks were executed.
+     */
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    @Override
+    public void initialDropped() {
+        droppedInitials.increment();
+    }
+
+    private static final class TaskStats {
+        final LongAdder completed = new LongAdder();
+        final LongAdder totalQueueTime = new LongAdder();
+        final LongAdder totalRunTime = new LongAdder();
+        final LongAccumulator maxRunTime = new LongAccumulator(Math::max, 0);
+
+        void record(long queueTime, long runTime) {
+            completed.increment();
+            totalQueueTime.add(queueTime);
+            totalRunTime.add(runTime);
+            maxRunTime.accumulate(runTime);
+        }
+    }
+}
@@ -27,10 +27,23 @@ public interface QuicSslSessionContext extends SSLSessionContext {
     /**
      * Sets the {@link SslSessionTicketKey}s that should be used. The first key of the array is used for encryption
      * and decryption while the rest of the array is only used for decryption. This allows you to better handling
-     * rotating of the keys. The rotating is the responsibility of the user.
+     * rotating of the keys. The rotating is the responsibility of the user, see
+     * {@link QuicSslSessionTicketKeyRotator} for doing it automatically.
      * If {@code null} is used for {@code keys} a key will automatically generated by the library and also rotated.
      *
      * @param keys the tickets to use.
+     * @throws IllegalStateException if the context keeps its sessions in a {@link QuicSslSessionStore}, in which case
+     *                               no ticket keys are used.
      */
     void setTicketKeys(SslSessionTicketKey @Nullable ... keys);
+
+    /**
+     * Returns the {@link QuicSslSessionStats} that show how many handshakes could resume a previous session.
+     *
+     * @return the stats.
+     * @throws UnsupportedOperationException if no stats are collected.
+     */
+    default QuicSslSessionStats sessionStats() {
+        throw new UnsupportedOperationException();
+    }
 }
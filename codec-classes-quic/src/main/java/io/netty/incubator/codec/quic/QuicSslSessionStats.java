@@ -0,0 +1,149 @@
+/*
+ * Copyright 2026 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty.incubator.codec.quic;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counters about the handshakes of a {@link QuicSslContext}, which allow to see how many handshakes could resume a
+ * previous session and so were cheaper than a full handshake.
+ */
+public final class QuicSslSessionStats {
+    private final LongAdder fullHandshakes = new LongAdder();
+    private final LongAdder resumedHandshakes = new LongAdder();
+    private final LongAdder earlyDataAccepted = new LongAdder();
+    private final LongAdder earlyDataRejected = new LongAdder();
+    private final LongAdder earlyDataReplayRejected = new LongAdder();
+    private final LongAdder sessionsStored = new LongAdder();
+    private final LongAdder sessionsMissed = new LongAdder();
+
+    QuicSslSessionStats() { }
+
+    void handshakeComplete(boolean sessionReused, int earlyDataStatus) {
+        if (sessionReused) {
+            resumedHandshakes.increment();
+        } else {
+            fullHandshakes.increment();
+        }
+        if (earlyDataStatus > 0) {
+            earlyDataAccepted.increment();
+        } else if (earlyDataStatus < 0) {
+            earlyDataRejected.increment();
+        }
+    }
+
+    void earlyDataReplayed() {
+        earlyDataReplayRejected.increment();
+    }
+
+    void sessionStored() {
+        sessionsStored.increment();
+    }
+
+    void sessionMissed() {
+        sessionsMissed.increment();
+    }
+
+    /**
+     * Returns the number of completed handshakes that did not resume a session.
+     *
+     * @return the number of handshakes.
+     */
+    public long fullHandshakes() {
+        return fullHandshakes.sum();
+    }
+
+    /**
+     * Returns the number of completed handshakes that resumed a session.
+     *
+     * @return the number of handshakes.
+     */
+    public long resumedHandshakes() {
+        return resumedHandshakes.sum();
+    }
+
+    /**
+     * Returns the fraction of completed handshakes that resumed a session, between {@code 0} and {@code 1}.
+     *
+     * @return the fraction.
+     */
+    public double resumptionRate() {
+        long resumed = resumedHandshakes();
+        long total = resumed + fullHandshakes();
+        return total == 0 ? 0 : (double) resumed / total;
+    }
+
+    /**
+     * Returns the number of handshakes for which {@code 0-RTT} data was accepted.
+     *
+     * @return the number of handshakes.
+     */
+    public long earlyDataAccepted() {
+        return earlyDataAccepted.sum();
+    }
+
+    /**
+     * Returns the number of handshakes for which the client offered {@code 0-RTT} data which was rejected.
+     * Early data that was refused by the {@link QuicSslAntiReplayFilter} is counted by
+     * {@link #earlyDataReplayRejected()} instead.
+     *
+     * @return the number of handshakes.
+     */
+    public long earlyDataRejected() {
+        return earlyDataRejected.sum();
+    }
+
+    /**
+     * Returns the number of {@code ClientHello}s for which the {@link QuicSslAntiReplayFilter} refused the offered
+     * {@code 0-RTT} data, as it might have been replayed. These handshakes fall back to {@code 1-RTT}.
+     *
+     * @return the number of {@code ClientHello}s.
+     */
+    public long earlyDataReplayRejected() {
+        return earlyDataReplayRejected.sum();
+    }
+
+    /**
+     * Returns the number of sessions that were put into the {@link QuicSslSessionStore}.
+     *
+     * @return the number of sessions.
+     */
+    public long sessionsStored() {
+        return sessionsStored.sum();
+    }
+
+    /**
+     * Returns the number of tickets for which no session was found in the {@link QuicSslSessionStore}.
+     *
+     * @return the number of tickets.
+     */
+    public long sessionsMissed() {
+        return sessionsMissed.sum();
+    }
+
+    @Override
+    public String toString() {
+        return "QuicSslSessionStats{" +
+                "fullHandshakes=" + fullHandshakes() +
+                ", resumedHandshakes=" + resumedHandshakes() +
+                ", earlyDataAccepted=" + earlyDataAccepted() +
+                ", earlyDataRejected=" + earlyDataRejected() +
+                ", earlyDataReplayRejected=" + earlyDataReplayRejected() +
+                ", sessionsStored=" + sessionsStored() +
+                ", sessionsMissed=" + sessionsMissed() +
+                '}';
+    }
+}
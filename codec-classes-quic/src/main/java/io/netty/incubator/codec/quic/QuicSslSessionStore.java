@@ -0,0 +1,61 @@
+/*
+ * Copyright 2026 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty.incubator.codec.quic;
+
+import io.netty.util.concurrent.Future;
+
+/**
+ * Stores the {@code TLS} sessions of a server, so session tickets only need to contain the id of the session instead
+ * of the encrypted session itself. This allows to invalidate sessions on the server side and to share them between
+ * multiple servers via an external store.
+ * <p>
+ * All methods are called from the {@link io.netty.channel.EventLoop} that handles the handshake, or from the executor
+ * that is used for {@code SSL} tasks, and so should not block. Looking up a session is asynchronous, so the store may
+ * be backed by a remote service; the handshake is suspended until the returned {@link Future} completes. Storing and
+ * removing sessions can be done in the background. The sessions are opaque, serialized {@code TLS} sessions that must
+ * not be modified.
+ * <p>
+ * Tickets are still as large as the session itself, as {@code BoringSSL} does not allow to resume a session that is
+ * larger than its ticket. They only contain the random id of the session followed by zeros.
+ * <p>
+ * See {@link QuicSslContextBuilder#sessionStore(QuicSslSessionStore)} and {@link ShardedQuicSslSessionStore}.
+ */
+public interface QuicSslSessionStore {
+
+    /**
+     * Store a session.
+     *
+     * @param id        the id of the session.
+     * @param session   the serialized session.
+     */
+    void put(byte[] id, byte[] session);
+
+    /**
+     * Retrieve a session.
+     *
+     * @param id    the id of the session.
+     * @return      the {@link Future} that is completed with the serialized session, or with {@code null} if it is
+     *              not known (anymore). A full handshake is done in this case and if the {@link Future} fails.
+     */
+    Future<byte[]> get(byte[] id);
+
+    /**
+     * Remove a session, so it can not be used for resumption anymore.
+     *
+     * @param id    the id of the session.
+     */
+    void remove(byte[] id);
+}
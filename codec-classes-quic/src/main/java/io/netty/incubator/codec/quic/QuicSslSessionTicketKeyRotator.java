@@ -0,0 +1,316 @@
+/*
+ * Copyright 2026 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty.incubator.codec.quic;
+
+import io.netty.util.internal.ObjectUtil;
+import io.netty.util.internal.logging.InternalLogger;
+import io.netty.util.internal.logging.InternalLoggerFactory;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.SecureRandom;
+import java.util.Arrays;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps the {@link SslSessionTicketKey}s of one or more {@link QuicSslSessionContext}s up to date.
+ * <p>
+ * The keys are either generated by this instance on a schedule, in which case the previous keys are still used to
+ * decrypt tickets for a while, or loaded from a file. The file allows to share the keys between multiple processes
+ * and hosts, which is needed for resumption to work if the connections of a client may end up on any of them. One
+ * process generates the keys and writes them to the file, which is watched by all others:
+ * <pre>
+ *     // On the process that generates the keys.
+ *     QuicSslSessionTicketKeyRotator.generating(executor, 1, TimeUnit.HOURS, 2, file).add(ctx.sessionContext());
+ *     // On all the others.
+ *     QuicSslSessionTicketKeyRotator.fromFile(executor, file, 10, TimeUnit.SECONDS).add(ctx.sessionContext());
+ * </pre>
+ * The file contains the keys as a sequence of {@link SslSessionTicketKey#TICKET_KEY_SIZE} bytes records, each being
+ * the name, the {@code HMAC} key and the {@code AES} key, with the key used for new tickets first.
+ * <p>
+ * When generating, the key that will be used for new tickets after the next rotation is published one interval in
+ * advance, as second key and so only for decryption. This way all processes already accept tickets of the new key
+ * when the generating process starts to use it, as long as they check the file more often than the keys are rotated.
+ * If the file already contains keys when the generating instance is created, for example because the process was
+ * restarted, these keys are used instead of generating new ones, so tickets that were issued before stay valid.
+ * <p>
+ * The new keys are published to the contexts without blocking any handshake. Reading and writing the file is done
+ * on the given {@link ScheduledExecutorService}, so this should not be an {@link io.netty.channel.EventLoop}.
+ */
+public final class QuicSslSessionTicketKeyRotator implements AutoCloseable {
+    private static final InternalLogger LOGGER = InternalLoggerFactory.getInstance(
+            QuicSslSessionTicketKeyRotator.class);
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    private final Set<QuicSslSessionContext> contexts = new CopyOnWriteArraySet<>();
+    private final int maxKeys;
+    @Nullable
+    private final Path file;
+    private final boolean generate;
+    private final ScheduledFuture<?> future;
+    private volatile SslSessionTicketKey[] keys;
+    private byte @Nullable [] fileContent;
+
+    private QuicSslSessionTicketKeyRotator(ScheduledExecutorService executor, long interval, TimeUnit unit,
+                                           int maxKeys, @Nullable Path file, boolean generate) {
+        ObjectUtil.checkNotNull(executor, "executor");
+        ObjectUtil.checkPositive(interval, "interval");
+        ObjectUtil.checkNotNull(unit, "unit");
+        this.maxKeys = maxKeys;
+        this.file = file;
+        this.generate = generate;
+        if (generate) {
+            keys = initialKeys();
+        } else {
+            keys = new SslSessionTicketKey[0];
+            // Load the keys directly so we don't start with keys that differ from the ones of the other processes.
+            reload();
+        }
+        future = executor.scheduleWithFixedDelay(generate ? this::rotate : this::reload, interval, interval, unit);
+    }
+
+    /**
+     * Create a new instance that generates a new key every {@code interval}.
+     *
+     * @param executor      the {@link ScheduledExecutorService} on which the keys are rotated.
+     * @param interval      the interval in which new keys are generated.
+     * @param unit          the {@link TimeUnit} of the interval.
+     * @param previousKeys  the number of previous keys that are still used to decrypt tickets.
+     * @param file          the file to which the keys are written whenever they change, or {@code null} if the
+     *                      keys are not shared. If the file already contains keys these are used.
+     * @return              the new instance.
+     */
+    public static QuicSslSessionTicketKeyRotator generating(ScheduledExecutorService executor, long interval,
+                                                            TimeUnit unit, int previousKeys, @Nullable Path file) {
+        // The current key, the next key and the previous keys.
+        return new QuicSslSessionTicketKeyRotator(executor, interval, unit,
+                ObjectUtil.checkPositiveOrZero(previousKeys, "previousKeys") + 2, file, true);
+    }
+
+    /**
+     * Create a new instance that loads the keys from the given file, checking it for changes every
+     * {@code interval}. See {@link #writeKeys(Path, SslSessionTicketKey...)} for how to write the file.
+     *
+     * @param executor      the {@link ScheduledExecutorService} on which the file is checked.
+     * @param file          the file that contains the keys.
+     * @param interval      the interval in which the file is checked for changes.
+     * @param unit          the {@link TimeUnit} of the interval.
+     * @return              the new instance.
+     */
+    public static QuicSslSessionTicketKeyRotator fromFile(ScheduledExecutorService executor, Path file,
+                                                          long interval, TimeUnit unit) {
+        return new QuicSslSessionTicketKeyRotator(executor, interval, unit, Integer.MAX_VALUE,
+                ObjectUtil.checkNotNull(file, "file"), false);
+    }
+
+    /**
+     * Use the keys of this instance for the given {@link QuicSslSessionContext}, starting right away.
+     *
+     * @param context   the context.
+     * @return          this instance.
+     * @throws IllegalStateException if the context keeps its sessions in a {@link QuicSslSessionStore}.
+     */
+    public synchronized QuicSslSessionTicketKeyRotator add(QuicSslSessionContext context) {
+        ObjectUtil.checkNotNull(context, "context");
+        if (!contexts.contains(context)) {
+            context.setTicketKeys(keys);
+            contexts.add(context);
+        }
+        return this;
+    }
+
+    /**
+     * Stop updating the keys of the given {@link QuicSslSessionContext}. The context keeps its current keys.
+     *
+     * @param context   the context.
+     * @return          this instance.
+     */
+    public QuicSslSessionTicketKeyRotator remove(QuicSslSessionContext context) {
+        contexts.remove(context);
+        return this;
+    }
+
+    /**
+     * Returns the current keys, with the key that is used for new tickets first. When generating, the second key is
+     * the one that will be used for new tickets after the next rotation.
+     *
+     * @return the keys.
+     */
+    public SslSessionTicketKey[] keys() {
+        return keys.clone();
+    }
+
+    /**
+     * Rotate the keys right away, for example because the current key might have been leaked. The next key, which
+     * was published for decryption already, is used for new tickets and a new next key is generated. Previous keys
+     * are kept for decryption as usual.
+     *
+     * @throws IllegalStateException if this instance loads the keys from a file.
+     */
+    public synchronized void rotate() {
+        if (!generate) {
+            throw new IllegalStateException("Keys are loaded from " + file);
+        }
+        SslSessionTicketKey[] current = keys;
+        SslSessionTicketKey[] newKeys = new SslSessionTicketKey[Math.min(current.length + 1, maxKeys)];
+        newKeys[0] = current[1];
+        newKeys[1] = newKey();
+        if (newKeys.length > 2) {
+            // Keep the current key and the previous keys for decryption.
+            newKeys[2] = current[0];
+            System.arraycopy(current, 2, newKeys, 3, newKeys.length - 3);
+        }
+        writeKeysIfNeeded(newKeys);
+        publish(newKeys);
+    }
+
+    private SslSessionTicketKey[] initialKeys() {
+        SslSessionTicketKey[] loaded = null;
+        if (file != null && Files.exists(file)) {
+            try {
+                loaded = parseKeys(Files.readAllBytes(file));
+            } catch (IOException e) {
+                LOGGER.warn("Unable to read session ticket keys from {}, generating new keys", file, e);
+            }
+            if (loaded == null) {
+                LOGGER.warn("Invalid session ticket keys in {}, generating new keys", file);
+            }
+        }
+        SslSessionTicketKey[] initial;
+        if (loaded == null) {
+            initial = new SslSessionTicketKey[] { newKey(), newKey() };
+        } else if (loaded.length == 1) {
+            // There is no next key yet.
+            initial = new SslSessionTicketKey[] { loaded[0], newKey() };
+        } else {
+            // The file is still valid, so there is no need to write it again.
+            return loaded.length > maxKeys ? Arrays.copyOf(loaded, maxKeys) : loaded;
+        }
+        writeKeysIfNeeded(initial);
+        return initial;
+    }
+
+    private synchronized void reload() {
+        assert file != null;
+        byte[] content;
+        try {
+            content = Files.readAllBytes(file);
+        } catch (IOException e) {
+            LOGGER.warn("Unable to read session ticket keys from {}, keeping the current keys", file, e);
+            return;
+        }
+        if (Arrays.equals(content, fileContent)) {
+            return;
+        }
+        SslSessionTicketKey[] newKeys = parseKeys(content);
+        if (newKeys == null) {
+            LOGGER.warn("Invalid session ticket keys in {}, keeping the current keys", file);
+            return;
+        }
+        fileContent = content;
+        publish(newKeys);
+    }
+
+    private static SslSessionTicketKey @Nullable [] parseKeys(byte[] content) {
+        if (content.length == 0 || content.length % SslSessionTicketKey.TICKET_KEY_SIZE != 0) {
+            return null;
+        }
+        SslSessionTicketKey[] keys = new SslSessionTicketKey[content.length / SslSessionTicketKey.TICKET_KEY_SIZE];
+        int offset = 0;
+        for (int i = 0; i < keys.length; i++) {
+            byte[] name = Arrays.copyOfRange(content, offset, offset += SslSessionTicketKey.NAME_SIZE);
+            byte[] hmacKey = Arrays.copyOfRange(content, offset, offset += SslSessionTicketKey.HMAC_KEY_SIZE);
+            byte[] aesKey = Arrays.copyOfRange(content, offset, offset += SslSessionTicketKey.AES_KEY_SIZE);
+            keys[i] = new SslSessionTicketKey(name, hmacKey, aesKey);
+        }
+        return keys;
+    }
+
+    private void publish(SslSessionTicketKey[] newKeys) {
+        keys = newKeys;
+        for (QuicSslSessionContext context: contexts) {
+            context.setTicketKeys(newKeys);
+        }
+    }
+
+    private void writeKeysIfNeeded(SslSessionTicketKey[] keys) {
+        if (file != null) {
+            try {
+                writeKeys(file, keys);
+            } catch (IOException e) {
+                LOGGER.warn("Unable to write session ticket keys to {}", file, e);
+            }
+        }
+    }
+
+    /**
+     * Stop rotating the keys. The contexts keep their current keys.
+     */
+    @Override
+    public void close() {
+        future.cancel(false);
+        contexts.clear();
+    }
+
+    /**
+     * Atomically replace the content of the given file with the keys, so they can be loaded via
+     * {@link #fromFile(ScheduledExecutorService, Path, long, TimeUnit)}.
+     *
+     * @param file          the file.
+     * @param keys          the keys, with the key that should be used for new tickets first.
+     * @throws IOException  if the file could not be written.
+     */
+    public static void writeKeys(Path file, SslSessionTicketKey... keys) throws IOException {
+        ObjectUtil.checkNotNull(file, "file");
+        ObjectUtil.checkNonEmpty(keys, "keys");
+        byte[] content = new byte[keys.length * SslSessionTicketKey.TICKET_KEY_SIZE];
+        int offset = 0;
+        for (SslSessionTicketKey key: keys) {
+            System.arraycopy(key.name, 0, content, offset, SslSessionTicketKey.NAME_SIZE);
+            offset += SslSessionTicketKey.NAME_SIZE;
+            System.arraycopy(key.hmacKey, 0, content, offset, SslSessionTicketKey.HMAC_KEY_SIZE);
+            offset += SslSessionTicketKey.HMAC_KEY_SIZE;
+            System.arraycopy(key.aesKey, 0, content, offset, SslSessionTicketKey.AES_KEY_SIZE);
+            offset += SslSessionTicketKey.AES_KEY_SIZE;
+        }
+        Path parent = file.toAbsolutePath().getParent();
+        Path tmp = Files.createTempFile(parent, file.getFileName().toString(), ".tmp");
+        try {
+            Files.write(tmp, content);
+            // Readers must never see a partially written file.
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+    }
+
+    private static SslSessionTicketKey newKey() {
+        byte[] name = new byte[SslSessionTicketKey.NAME_SIZE];
+        byte[] hmacKey = new byte[SslSessionTicketKey.HMAC_KEY_SIZE];
+        byte[] aesKey = new byte[SslSessionTicketKey.AES_KEY_SIZE];
+        RANDOM.nextBytes(name);
+        RANDOM.nextBytes(hmacKey);
+        RANDOM.nextBytes(aesKey);
+        return new SslSessionTicketKey(name, hmacKey, aesKey);
+    }
+}
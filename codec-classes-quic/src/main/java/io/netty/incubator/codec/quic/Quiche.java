@@ -21,6 +21,7 @@ import io.netty.util.collection.IntObjectHashMap;
 import io.netty.util.internal.ClassInitializerUtil;
 import io.netty.util.internal.NativeLibraryLoader;
 import io.netty.util.internal.PlatformDependent;
+import io.netty.util.internal.SystemPropertyUtil;
 import io.netty.util.internal.logging.InternalLogger;
 import io.netty.util.internal.logging.InternalLoggerFactory;
 import org.jetbrains.annotations.Nullable;
@@ -37,6 +38,16 @@ final class Quiche {
     private static final boolean DEBUG_LOGGING_ENABLED = logger.isDebugEnabled();
     private static final IntObjectHashMap<QuicTransportErrorHolder> ERROR_MAPPINGS = new IntObjectHashMap<>();
 
+    /**
+     * System property that can be used to specify the absolute path of the native library. If set the library is
+     * loaded from there and never extracted to a temporary file.
+     */
+    static final String NATIVE_LIBRARY_PATH_PROPERTY = "io.netty.incubator.codec.quic.nativeLibraryPath";
+
+    // See org.graalvm.nativeimage.ImageInfo, which we can not reference directly.
+    private static final boolean IN_NATIVE_IMAGE =
+            "runtime".equals(SystemPropertyUtil.get("org.graalvm.nativeimage.imagecode"));
+
     static {
         // Preload all classes that will be used in the OnLoad(...) function of JNI to eliminate the possibility of a
         // class-loader deadlock. This is a workaround for https://github.com/netty/netty/issues/11209.
@@ -77,6 +88,29 @@ final class Quiche {
                     + '_' + PlatformDependent.normalizedArch();
         }
 
+        String libPath = SystemPropertyUtil.get(NATIVE_LIBRARY_PATH_PROPERTY);
+        if (libPath != null) {
+            // The user told us exactly where the library is, load it directly without extracting anything.
+            try {
+                System.load(libPath);
+                return;
+            } catch (UnsatisfiedLinkError e) {
+                logger.debug("Failed to load {} from {}", libName, libPath, e);
+                throw e;
+            }
+        }
+        if (IN_NATIVE_IMAGE) {
+            // When running as a native image the library is usually shipped next to the executable (or extracted
+            // during the build) and so can be found via java.library.path. Try this first as extracting the
+            // library from the embedded resources into a temporary file on each start is slow.
+            try {
+                System.loadLibrary(libName);
+                return;
+            } catch (UnsatisfiedLinkError e) {
+                logger.debug("Failed to load {} from java.library.path, falling back to extraction", libName, e);
+            }
+        }
+
         try {
             NativeLibraryLoader.load(libName, cl);
         } catch (UnsatisfiedLinkError e) {
@@ -474,6 +508,15 @@ final class Quiche {
      */
     static native long @Nullable [] quiche_conn_stats(long connAddr);
 
+    /**
+     * Writes the number of received, sent and lost packets of the connection followed by the RTT, the congestion
+     * window and the delivery rate of the active path as {@code uint64_t} into the given memory, which must have room
+     * for {@link QuicheQuicStatsSampler#SAMPLE_SIZE} bytes. The path values are {@code 0} if there is no active path.
+     * See
+     * <a href="https://github.com/cloudflare/quiche/blob/0.6.0/include/quiche.h#L361">quiche_conn_stats</a>.
+     */
+    static native void quiche_conn_stats_sample(long connAddr, long memory);
+
     /**
      * See
      * <a href="https://github.com/cloudflare/quiche/blob/master/quiche/include/quiche.h#L567C65-L567C88">
@@ -529,6 +572,15 @@ final class Quiche {
      */
     static native Object @Nullable [] quiche_conn_path_stats(long connAddr, long streamIdx);
 
+    /**
+     * Fills the congestion window, the RTT and the delivery rate of the active path into {@code out}, which must
+     * have at least a length of 3. Returns {@code 0} on success or {@code -1} if there is no active path.
+     * See
+     * <a href="https://github.com/cloudflare/quiche/blob/0.20.0/quiche/include/quiche.h#L672">
+     *     quiche_conn_path_stats</a>.
+     */
+    static native int quiche_conn_cc_stats(long connAddr, long[] out);
+
     /**
      * See
      * <a href="https://github.com/cloudflare/quiche/blob/0.6.0/include/quiche.h#L358">
@@ -551,6 +603,15 @@ final class Quiche {
      */
     static native int quiche_conn_dgram_recv(long connAddr, long buf, int size);
 
+    /**
+     * Receives up to {@code maxCount} datagrams into the given buffer, one after the other, and stores their lengths
+     * into {@code lengths}. At most {@code 64} datagrams are received per call.
+     *
+     * @return the number of datagrams received, {@code 0} if the first datagram does not fit into the buffer in
+     *         which case its length is stored as first element of {@code lengths}, or the error if there was none.
+     */
+    static native int quiche_conn_dgram_recv_batch(long connAddr, long buf, int size, int[] lengths, int maxCount);
+
     /**
      * See
      * <a href="https://github.com/cloudflare/quiche/blob/0.6.0/include/quiche.h#L3651">
@@ -558,6 +619,14 @@ final class Quiche {
      */
     static native int quiche_conn_dgram_send(long connAddr, long buf, int size);
 
+    /**
+     * Calls {@code quiche_conn_dgram_send} for each of the {@code count} datagrams, stopping at the first that could
+     * not be sent. At most {@code 64} datagrams are sent per call.
+     *
+     * @return the number of datagrams that were sent, or the error of the first datagram if none was sent.
+     */
+    static native int quiche_conn_dgram_send_batch(long connAddr, long[] addresses, int[] lengths, int count);
+
     /**
      * See
      * <a href="https://github.com/cloudflare/quiche/blob/0.10.0/include/quiche.h#L267">
@@ -574,9 +643,28 @@ final class Quiche {
 
     static native int quiche_conn_scids_left(long connAddr);
 
-    static native long quiche_conn_new_scid(long connAddr, long scidAddr, int scidLen, byte[] resetToken, boolean retire_if_needed, long seq);
+    /**
+     * Issues {@code count} new source connection ids by calling
+     * <a href="https://github.com/cloudflare/quiche/blob/0.22.0/quiche/include/quiche.h">quiche_conn_new_scid</a>
+     * for each of them. The ids are stored next to each other in the memory pointed to by {@code scidsAddr}, each
+     * of them {@code scidLen} bytes long. The reset tokens are stored the same way in the memory pointed to by
+     * {@code resetTokensAddr}, each 16 bytes long. The sequence number that quiche assigned to each of the ids is
+     * written as 8 bytes in native order into the memory pointed to by {@code seqsAddr}. If quiche already knew an
+     * id the sequence number it assigned before is written.
+     *
+     * @return the number of ids that were issued or a negative error code if not a single id could be issued.
+     */
+    static native int quiche_conn_new_scids(long connAddr, long scidsAddr, int scidLen, long resetTokensAddr,
+                                            long seqsAddr, int count, boolean retireIfNeeded);
 
-    static native byte @Nullable [] quiche_conn_retired_scid_next(long connAddr);
+    /**
+     * Writes as many retired source connection ids into the given memory as possible by calling
+     * <a href="https://github.com/cloudflare/quiche/blob/0.22.0/quiche/include/quiche.h">
+     *     quiche_conn_retired_scid_next</a>. Each id is prefixed with its length as a single byte.
+     *
+     * @return the number of bytes that were written, {@code 0} means there are no retired ids left.
+     */
+    static native int quiche_conn_retired_scids(long connAddr, long bufAddr, int bufLen);
 
     static native long quiche_conn_path_event_next(long connAddr);
     static native int quiche_path_event_type(long pathEvent);
@@ -664,6 +752,20 @@ final class Quiche {
      */
     static native void quiche_config_set_initial_max_streams_uni(long configAddr, long value);
 
+    /**
+     * See
+     * <a href="https://docs.rs/quiche/latest/quiche/struct.Config.html#method.set_max_connection_window">
+     *     set_max_connection_window</a>.
+     */
+    static native void quiche_config_set_max_connection_window(long configAddr, long value);
+
+    /**
+     * See
+     * <a href="https://docs.rs/quiche/latest/quiche/struct.Config.html#method.set_max_stream_window">
+     *     set_max_stream_window</a>.
+     */
+    static native void quiche_config_set_max_stream_window(long configAddr, long value);
+
     /**
      * See
      * <a href="https://github.com/cloudflare/quiche/blob/0.6.0/include/quiche.h#167">
@@ -692,6 +794,13 @@ final class Quiche {
      */
     static native void quiche_config_set_cc_algorithm(long configAddr, int algo);
 
+    /**
+     * See
+     * <a href="https://docs.rs/quiche/latest/quiche/struct.Config.html#method.set_cc_algorithm_name">
+     *     set_cc_algorithm_name</a>.
+     */
+    static native int quiche_config_set_cc_algorithm_name(long configAddr, String name);
+
     /**
      * See
      * <a href="https://github.com/cloudflare/quiche/blob/0.21.0/quiche/include/quiche.h#L222">
@@ -19,17 +19,28 @@ import org.jetbrains.annotations.Nullable;
 
 final class QuicheConfig {
     private final boolean isDatagramSupported;
+    private final boolean hasStatelessResetToken;
+    @Nullable
+    private final QuicMemoryGovernor memoryGovernor;
+    @Nullable
+    private final QuicheQuicStatsSampler statsSampler;
     private long config = -1;
 
     QuicheConfig(int version, @Nullable Boolean grease, @Nullable Long maxIdleTimeout, @Nullable Long maxSendUdpPayloadSize,
                  @Nullable Long maxRecvUdpPayloadSize, @Nullable Long initialMaxData,
                  @Nullable Long initialMaxStreamDataBidiLocal, @Nullable Long initialMaxStreamDataBidiRemote,
                  @Nullable Long initialMaxStreamDataUni, @Nullable Long initialMaxStreamsBidi, @Nullable Long initialMaxStreamsUni,
+                 @Nullable Long maxConnectionWindow, @Nullable Long maxStreamWindow,
                  @Nullable Long ackDelayExponent, @Nullable Long maxAckDelay, @Nullable Boolean disableActiveMigration, @Nullable Boolean enableHystart,
                  @Nullable Boolean discoverPmtu,
-                 @Nullable QuicCongestionControlAlgorithm congestionControlAlgorithm, @Nullable Integer initialCongestionWindowPackets,
+                 @Nullable QuicCongestionControlAlgorithm congestionControlAlgorithm,
+                 @Nullable String congestionControlAlgorithmName, @Nullable Integer initialCongestionWindowPackets,
                  @Nullable Integer recvQueueLen, @Nullable Integer sendQueueLen,
-                 @Nullable Long activeConnectionIdLimit, byte @Nullable [] statelessResetToken) {
+                 @Nullable Long activeConnectionIdLimit, byte @Nullable [] statelessResetToken,
+                 @Nullable QuicMemoryGovernor memoryGovernor, @Nullable QuicheQuicStatsSampler statsSampler) {
+        this.memoryGovernor = memoryGovernor;
+        this.statsSampler = statsSampler;
+        this.hasStatelessResetToken = statelessResetToken != null;
         long config = Quiche.quiche_config_new(version);
         try {
             if (grease != null) {
@@ -93,6 +104,17 @@ final class QuicheConfig {
                                 "Unknown congestionControlAlgorithm: " + congestionControlAlgorithm);
                 }
             }
+            if (congestionControlAlgorithmName != null &&
+                    Quiche.quiche_config_set_cc_algorithm_name(config, congestionControlAlgorithmName) < 0) {
+                throw new IllegalArgumentException(
+                        "Unknown congestionControlAlgorithm: " + congestionControlAlgorithmName);
+            }
+            if (maxConnectionWindow != null) {
+                Quiche.quiche_config_set_max_connection_window(config, maxConnectionWindow);
+            }
+            if (maxStreamWindow != null) {
+                Quiche.quiche_config_set_max_stream_window(config, maxStreamWindow);
+            }
             if (initialCongestionWindowPackets != null) {
                 Quiche.quiche_config_set_initial_congestion_window_packets(config, initialCongestionWindowPackets);
             }
@@ -119,6 +141,23 @@ final class QuicheConfig {
         return isDatagramSupported;
     }
 
+    /**
+     * Returns {@code true} if a stateless reset token was configured for all connections.
+     */
+    boolean hasStatelessResetToken() {
+        return hasStatelessResetToken;
+    }
+
+    @Nullable
+    QuicMemoryGovernor memoryGovernor() {
+        return memoryGovernor;
+    }
+
+    @Nullable
+    QuicheQuicStatsSampler statsSampler() {
+        return statsSampler;
+    }
+
     long nativeAddress() {
         return config;
     }
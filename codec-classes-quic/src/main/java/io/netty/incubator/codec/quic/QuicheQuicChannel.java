@@ -31,6 +31,7 @@ import io.netty.channel.ChannelPromise;
 import io.netty.channel.ConnectTimeoutException;
 import io.netty.channel.DefaultChannelPipeline;
 import io.netty.channel.EventLoop;
+import io.netty.channel.MaxMessagesRecvByteBufAllocator;
 import io.netty.channel.RecvByteBufAllocator;
 import io.netty.channel.socket.DatagramPacket;
 import io.netty.handler.ssl.SniCompletionEvent;
@@ -43,6 +44,7 @@ import io.netty.util.concurrent.ImmediateEventExecutor;
 import io.netty.util.concurrent.ImmediateExecutor;
 import io.netty.util.concurrent.Promise;
 import io.netty.util.internal.StringUtil;
+import io.netty.util.internal.ThrowableUtil;
 import io.netty.util.internal.logging.InternalLogger;
 import io.netty.util.internal.logging.InternalLoggerFactory;
 import org.jetbrains.annotations.Nullable;
@@ -55,6 +57,7 @@ import java.net.InetSocketAddress;
 import java.net.SocketAddress;
 import java.nio.BufferUnderflowException;
 import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
 import java.nio.channels.AlreadyConnectedException;
 import java.nio.channels.ClosedChannelException;
 import java.nio.channels.ConnectionPendingException;
@@ -65,6 +68,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLongFieldUpdater;
@@ -123,9 +127,14 @@ final class QuicheQuicChannel extends AbstractChannel implements QuicChannel {
     }
 
     private static final ChannelMetadata METADATA = new ChannelMetadata(false, 16);
+    private static final int DATAGRAM_SEND_BATCH = 32;
+    private static final int DATAGRAM_RECV_BATCH = 64;
+    private static final QuicException DATAGRAM_DROPPED_EXCEPTION = ThrowableUtil.unknownStackTrace(
+            new QuicException("Datagram send queue full"), QuicheQuicChannel.class, "doWrite(...)");
     private long[] readableStreams = new long[4];
     private long[] writableStreams = new long[4];
     private final LongObjectMap<QuicheQuicStreamChannel> streams = new LongObjectHashMap<>();
+    private final QuicheQuicStreamScheduler streamScheduler = new QuicheQuicStreamScheduler();
     private final QuicheQuicChannelConfig config;
     private final boolean server;
     private final QuicStreamIdGenerator idGenerator;
@@ -136,6 +145,9 @@ final class QuicheQuicChannel extends AbstractChannel implements QuicChannel {
     private final QuicConnectionIdGenerator connectionIdAddressGenerator;
     private final QuicResetTokenGenerator resetTokenGenerator;
     private final Set<ByteBuffer> sourceConnectionIds = new HashSet<>();
+    private long sourceConnectionIdSequence;
+    // quiche assigns 0 to the source connection id that was used to create the connection.
+    private long largestSourceConnectionIdSeq;
 
     private Consumer<QuicheQuicChannel> freeTask;
     private Executor sslTaskExecutor;
@@ -151,6 +163,23 @@ final class QuicheQuicChannel extends AbstractChannel implements QuicChannel {
     private QuicConnectionCloseEvent connectionCloseEvent;
     private QuicConnectionStats statsAtClose;
     private boolean supportsDatagram;
+    private final QuicheQuicDatagramSendQueue datagramSendQueue = new QuicheQuicDatagramSendQueue();
+    private ByteBuf[] datagramBatch;
+    private long[] datagramBatchAddresses;
+    private int[] datagramBatchLengths;
+    private int[] datagramRecvLengths;
+    private long datagramsReceived;
+    private long[] congestionStats;
+    private QuicCongestionEvent lastCongestionEvent;
+    private long minRtt = Long.MAX_VALUE;
+    @Nullable
+    private QuicMemoryGovernor memoryGovernor;
+    @Nullable
+    private QuicMemoryGovernor.EventLoopAccount memoryAccount;
+    private long queuedBytes;
+    private long accountedDatagramBytes;
+    private boolean connectionOverMemoryLimit;
+    private boolean memoryPressure;
     private boolean recvDatagramPending;
     private boolean datagramReadable;
     private boolean recvStreamPending;
@@ -303,7 +332,7 @@ final class QuicheQuicChannel extends AbstractChannel implements QuicChannel {
 
         // Setup QLOG if needed.
         QLogConfiguration configuration = config.getQLogConfiguration();
-        if (configuration != null) {
+        if (configuration != null && configuration.tryAcquire()) {
             final String fileName;
             File file = new File(configuration.path());
             if (file.isDirectory()) {
@@ -319,8 +348,8 @@ final class QuicheQuicChannel extends AbstractChannel implements QuicChannel {
                 fileName = configuration.path();
             }
 
-            if (!Quiche.quiche_conn_set_qlog_path(connection.address(), fileName,
-                    configuration.logTitle(), configuration.logDescription())) {
+            if (!connection.setQLog(fileName, configuration)) {
+                configuration.release();
                 logger.info("Unable to create qlog file: {} ", fileName);
             }
         }
@@ -654,6 +683,8 @@ final class QuicheQuicChannel extends AbstractChannel implements QuicChannel {
                     finBuffer.release();
                     finBuffer = null;
                 }
+                datagramSendQueue.clear();
+                datagramQueuedBytesChanged();
                 if (outErrorCodeBuffer != null) {
                     outErrorCodeBuffer.release();
                     outErrorCodeBuffer = null;
@@ -669,6 +700,9 @@ final class QuicheQuicChannel extends AbstractChannel implements QuicChannel {
                 if (freeTask != null) {
                     freeTask.accept(this);
                 }
+                if (memoryGovernor != null && memoryAccount != null) {
+                    memoryGovernor.unregister(this, memoryAccount);
+                }
                 timeoutHandler.cancel();
 
                 local = null;
@@ -691,6 +725,18 @@ final class QuicheQuicChannel extends AbstractChannel implements QuicChannel {
         if (msg instanceof ByteBuf) {
             return msg;
         }
+        if (msg instanceof QuicDatagram) {
+            QuicDatagram datagram = (QuicDatagram) msg;
+            ByteBuf buffer = datagram.content();
+            if (!buffer.isDirect()) {
+                ByteBuf tmpBuffer = alloc().directBuffer(buffer.readableBytes());
+                tmpBuffer.writeBytes(buffer, buffer.readerIndex(), buffer.readableBytes());
+                QuicDatagram tmpDatagram = datagram.replace(tmpBuffer);
+                datagram.release();
+                return tmpDatagram;
+            }
+            return msg;
+        }
         throw new UnsupportedOperationException("Unsupported message type: " + StringUtil.simpleClassName(msg));
     }
 
@@ -699,79 +745,195 @@ final class QuicheQuicChannel extends AbstractChannel implements QuicChannel {
         if (!supportsDatagram) {
             throw new UnsupportedOperationException("Datagram extension is not supported");
         }
+        QuicheQuicConnection conn = connection;
+        int capacity = config.getDatagramSendQueueSize();
+        QuicDatagramDropPolicy policy = config.getDatagramDropPolicy();
+        for (;;) {
+            Object msg = channelOutboundBuffer.current();
+            if (msg == null) {
+                break;
+            }
+            final ByteBuf buffer;
+            final long deadline;
+            if (msg instanceof QuicDatagram) {
+                buffer = ((QuicDatagram) msg).content();
+                deadline = ((QuicDatagram) msg).deadlineNanos();
+            } else if (msg instanceof ByteBuf) {
+                buffer = (ByteBuf) msg;
+                deadline = QuicheQuicDatagramSendQueue.NO_DEADLINE;
+            } else {
+                channelOutboundBuffer.remove(new UnsupportedOperationException(
+                        "unsupported message type: " + StringUtil.simpleClassName(msg)));
+                continue;
+            }
+
+            int readable = buffer.readableBytes();
+            if (readable == 0) {
+                // Skip empty buffers.
+                channelOutboundBuffer.remove();
+                continue;
+            }
+            int maxLen = Quiche.quiche_conn_dgram_max_writable_len(connectionAddressChecked(conn));
+            if (maxLen >= 0 && readable > maxLen) {
+                datagramSendQueue.dropTooLarge();
+                channelOutboundBuffer.remove(new BufferUnderflowException());
+                continue;
+            }
+            if (datagramSendQueue.size() >= capacity) {
+                // Try to make space before we need to drop something.
+                sendDatagrams(conn);
+            }
+
+            final ByteBuf datagram;
+            if (!buffer.isDirect() || buffer.nioBufferCount() > 1) {
+                datagram = alloc().directBuffer(readable);
+                datagram.writeBytes(buffer, buffer.readerIndex(), readable);
+            } else {
+                datagram = buffer.retainedSlice();
+            }
+            if (datagramSendQueue.offer(datagram, deadline, capacity, policy, System.nanoTime())) {
+                channelOutboundBuffer.remove();
+            } else {
+                datagram.release();
+                channelOutboundBuffer.remove(DATAGRAM_DROPPED_EXCEPTION);
+            }
+            if (datagramSendQueue.size() >= DATAGRAM_SEND_BATCH) {
+                sendDatagrams(conn);
+            }
+        }
+        sendDatagrams(conn);
+    }
+
+    /**
+     * Pass the queued datagrams to quiche in batches. If quiche's own queue is full the datagrams stay in the
+     * {@link QuicheQuicDatagramSendQueue} until the connection is writable again, where they may expire or be
+     * dropped according to the {@link QuicDatagramDropPolicy} if more datagrams are written in the meantime.
+     */
+    private void sendDatagrams(QuicheQuicConnection conn) throws Exception {
+        if (datagramSendQueue.isEmpty()) {
+            datagramQueuedBytesChanged();
+            return;
+        }
+        if (datagramBatch == null) {
+            datagramBatch = new ByteBuf[DATAGRAM_SEND_BATCH];
+            datagramBatchAddresses = new long[DATAGRAM_SEND_BATCH];
+            datagramBatchLengths = new int[DATAGRAM_SEND_BATCH];
+        }
         boolean sendSomething = false;
         boolean retry = false;
-        QuicheQuicConnection conn = connection;
         try {
+            long now = System.nanoTime();
             for (;;) {
-                ByteBuf buffer = (ByteBuf) channelOutboundBuffer.current();
-                if (buffer == null) {
+                int count = datagramSendQueue.peek(datagramBatch, now);
+                if (count == 0) {
                     break;
                 }
-
-                int readable = buffer.readableBytes();
-                if (readable == 0) {
-                    // Skip empty buffers.
-                    channelOutboundBuffer.remove();
-                    continue;
-                }
-
-                final int res;
-                if (!buffer.isDirect() || buffer.nioBufferCount() > 1) {
-                    ByteBuf tmpBuffer = alloc().directBuffer(readable);
-                    try {
-                        tmpBuffer.writeBytes(buffer, buffer.readerIndex(), readable);
-                        res = sendDatagram(conn, tmpBuffer);
-                    } finally {
-                        tmpBuffer.release();
-                    }
-                } else {
-                    res = sendDatagram(conn, buffer);
+                for (int i = 0; i < count; i++) {
+                    ByteBuf datagram = datagramBatch[i];
+                    datagramBatchAddresses[i] = Quiche.readerMemoryAddress(datagram);
+                    datagramBatchLengths[i] = datagram.readableBytes();
+                    datagramBatch[i] = null;
                 }
-                if (res >= 0) {
-                    channelOutboundBuffer.remove();
+                int res = Quiche.quiche_conn_dgram_send_batch(connectionAddressChecked(conn),
+                        datagramBatchAddresses, datagramBatchLengths, count);
+                if (res > 0) {
+                    datagramSendQueue.removeSent(res, now);
                     sendSomething = true;
                     retry = false;
-                } else {
-                    if (res == Quiche.QUICHE_ERR_BUFFER_TOO_SHORT) {
-                        retry = false;
-                        channelOutboundBuffer.remove(new BufferUnderflowException());
-                    } else if (res == Quiche.QUICHE_ERR_INVALID_STATE) {
-                        throw new UnsupportedOperationException("Remote peer does not support Datagram extension");
-                    } else if (res == Quiche.QUICHE_ERR_DONE) {
-                        if (retry) {
-                            // We already retried and it didn't work. Let's drop the datagrams on the floor.
-                            for (;;) {
-                                if (!channelOutboundBuffer.remove()) {
-                                    // The buffer is empty now.
-                                    return;
-                                }
-                            }
-                        }
-                        // Set sendSomething to false a we will call connectionSend() now.
-                        sendSomething = false;
-                        // If this returned DONE we couldn't write anymore. This happens if the internal queue
-                        // is full. In this case we should call quiche_conn_send(...) and so make space again.
-                        if (connectionSend(conn) != SendResult.NONE) {
-                            forceFlushParent();
-                        }
-                        // Let's try again to write the message.
-                        retry = true;
-                    } else {
-                        throw Quiche.convertToException(res);
+                    if (res == count) {
+                        continue;
                     }
+                    // The next datagram did not fit into the queue of quiche anymore.
+                    res = Quiche.QUICHE_ERR_DONE;
+                }
+                if (res == Quiche.QUICHE_ERR_DONE) {
+                    if (retry) {
+                        // We already retried and it didn't work, keep the datagrams until we are writable again.
+                        break;
+                    }
+                    // Set sendSomething to false a we will call connectionSend() now.
+                    sendSomething = false;
+                    // If this returned DONE we couldn't write anymore. This happens if the internal queue
+                    // is full. In this case we should call quiche_conn_send(...) and so make space again.
+                    if (connectionSend(conn) != SendResult.NONE) {
+                        forceFlushParent();
+                    }
+                    retry = true;
+                } else if (res == Quiche.QUICHE_ERR_BUFFER_TOO_SHORT) {
+                    // The max datagram size shrunk after the datagram was queued.
+                    datagramSendQueue.dropHead();
+                } else if (res == Quiche.QUICHE_ERR_INVALID_STATE) {
+                    datagramSendQueue.clear();
+                    throw new UnsupportedOperationException("Remote peer does not support Datagram extension");
+                } else {
+                    throw Quiche.convertToException(res);
                 }
             }
         } finally {
+            datagramQueuedBytesChanged();
             if (sendSomething && connectionSend(conn) != SendResult.NONE) {
                 flushParent();
             }
         }
     }
 
-    private static int sendDatagram(QuicheQuicConnection conn, ByteBuf buf) throws ClosedChannelException {
-        return Quiche.quiche_conn_dgram_send(connectionAddressChecked(conn),
-                Quiche.readerMemoryAddress(buf), buf.readableBytes());
+    private void datagramQueuedBytesChanged() {
+        long bytes = datagramSendQueue.bytes();
+        long delta = bytes - accountedDatagramBytes;
+        if (delta != 0) {
+            accountedDatagramBytes = bytes;
+            queuedBytesChanged(delta);
+        }
+    }
+
+    /**
+     * Use the given {@link QuicMemoryGovernor} to account the bytes that are queued by this channel and its streams.
+     */
+    void memoryGovernor(QuicMemoryGovernor memoryGovernor) {
+        this.memoryGovernor = memoryGovernor;
+        memoryAccount = memoryGovernor.register(this, parent().eventLoop());
+    }
+
+    /**
+     * Add the given number of queued bytes, which is negative if bytes were sent or released.
+     */
+    void queuedBytesChanged(long delta) {
+        QuicMemoryGovernor.EventLoopAccount memoryAccount = this.memoryAccount;
+        if (memoryAccount == null) {
+            return;
+        }
+        queuedBytes += delta;
+        memoryAccount.queuedBytesChanged(delta);
+        updateMemoryPressure();
+    }
+
+    /**
+     * Returns {@code true} if the streams should not be writable because of the limits of the
+     * {@link QuicMemoryGovernor}.
+     */
+    boolean isMemoryPressure() {
+        return memoryPressure;
+    }
+
+    /**
+     * Called from the {@link EventLoop} once the limits of the {@link QuicMemoryGovernor} might
+     * have changed.
+     */
+    void updateMemoryPressure() {
+        QuicMemoryGovernor memoryGovernor = this.memoryGovernor;
+        if (memoryGovernor == null) {
+            return;
+        }
+        long limit = memoryGovernor.maxQueuedBytesPerConnection();
+        connectionOverMemoryLimit = connectionOverMemoryLimit ? queuedBytes > limit / 2 : queuedBytes >= limit;
+        boolean pressure = connectionOverMemoryLimit || memoryGovernor.isOverLimit();
+        if (pressure != memoryPressure) {
+            memoryPressure = pressure;
+            // Make a copy as the handlers may close streams once the writability changed.
+            for (QuicheQuicStreamChannel streamChannel : streams.values().toArray(new QuicheQuicStreamChannel[0])) {
+                streamChannel.memoryPressureChanged();
+            }
+        }
     }
 
     @Override
@@ -859,6 +1021,7 @@ final class QuicheQuicChannel extends AbstractChannel implements QuicChannel {
 
     void streamClosed(long streamId) {
         streams.remove(streamId);
+        streamScheduler.remove(streamId);
     }
 
     boolean isStreamLocalCreated(long streamId) {
@@ -1000,37 +1163,43 @@ final class QuicheQuicChannel extends AbstractChannel implements QuicChannel {
     }
 
     /**
-     * Return all source connection ids that are retired and so should be removed to map to the channel.
+     * Write all source connection ids that are retired and so should be removed to map to the channel into the
+     * given {@link ByteBuf}. Each id is prefixed with its length as a single byte. This method should be called until
+     * it returns {@code 0} as not all ids might fit into the {@link ByteBuf}.
      *
-     * @return retired ids.
+     * @param out   the direct {@link ByteBuf} into which the ids are written.
+     * @return      the number of bytes written, {@code 0} if there are no retired ids.
      */
-    List<ByteBuffer> retiredSourceConnectionId() {
+    int retiredSourceConnectionIds(ByteBuf out) {
         QuicheQuicConnection connection = this.connection;
         if (connection == null || connection.isFreed()) {
-            return Collections.emptyList();
+            return 0;
         }
         long connAddr = connection.address();
         assert connAddr != -1;
-        List<ByteBuffer> retiredSourceIds = null;
-        for (;;) {
-            byte[] retired = Quiche.quiche_conn_retired_scid_next(connAddr);
-            if (retired == null) {
-                break;
-            }
-            if (retiredSourceIds == null) {
-                retiredSourceIds = new ArrayList<>();
+        int written = Quiche.quiche_conn_retired_scids(
+                connAddr, Quiche.writerMemoryAddress(out), out.writableBytes());
+        if (written > 0) {
+            int idx = out.writerIndex();
+            int end = idx + written;
+            while (idx < end) {
+                int len = out.getUnsignedByte(idx++);
+                sourceConnectionIds.remove(out.internalNioBuffer(idx, len));
+                idx += len;
             }
-            ByteBuffer retiredId = ByteBuffer.wrap(retired);
-            retiredSourceIds.add(retiredId);
-            sourceConnectionIds.remove(retiredId);
-        }
-        if (retiredSourceIds == null) {
-            return Collections.emptyList();
+            out.writerIndex(end);
         }
-        return retiredSourceIds;
+        return written;
     }
 
-    List<ByteBuffer> newSourceConnectionIds() {
+    /**
+     * Issue as many new source connection ids as allowed.
+     *
+     * @param buffer    the direct {@link ByteBuf} that is used as scratch space to generate the ids and reset tokens,
+     *                  so these can be passed to quiche in batches.
+     * @return          the new ids, which should be mapped to the channel.
+     */
+    List<ByteBuffer> newSourceConnectionIds(ByteBuf buffer) {
         if (connectionIdAddressGenerator != null && resetTokenGenerator != null ) {
             QuicheQuicConnection connection = this.connection;
             if (connection == null || connection.isFreed()) {
@@ -1045,35 +1214,73 @@ final class QuicheQuicChannel extends AbstractChannel implements QuicChannel {
                 if (sourceAddr == null) {
                     return Collections.emptyList();
                 }
-                List<ByteBuffer> generatedIds = new ArrayList<>(left);
-                boolean sendAndFlush = false;
                 ByteBuffer key = sourceAddr.id();
-                ByteBuf connIdBuffer = alloc().directBuffer(key.remaining());
-
-                byte[] resetTokenArray = new byte[Quic.RESET_TOKEN_LEN];
-                try {
-                    do {
-                        ByteBuffer srcId = connectionIdAddressGenerator.newId(key.duplicate(), key.remaining())
-                                .asReadOnlyBuffer();
-                        connIdBuffer.clear();
-                        connIdBuffer.writeBytes(srcId.duplicate());
-                        ByteBuffer resetToken = resetTokenGenerator.newResetToken(srcId.duplicate());
-                        resetToken.get(resetTokenArray);
-                        long result = Quiche.quiche_conn_new_scid(
-                                connAddr, Quiche.memoryAddress(connIdBuffer, 0, connIdBuffer.readableBytes()),
-                                connIdBuffer.readableBytes(), resetTokenArray, false, -1);
-                        if (result < 0) {
-                            break;
+                int idLen = key.remaining();
+                // The ids are generated from the original source id followed by a sequence number as 8 byte
+                // big-endian. This ensures we produce unique ids even if the QuicConnectionIdGenerator is
+                // idempotent, see QuicConnectionIdGenerator.newId(ByteBuffer, int).
+                int inputLen = idLen + Long.BYTES;
+                // Each id needs space for itself, its reset token and the sequence number quiche assigns to it.
+                int batchSize = (buffer.capacity() - inputLen) / (idLen + Quic.RESET_TOKEN_LEN + Long.BYTES);
+                assert batchSize > 0;
+
+                // Use our own view so we not conflict with any ByteBuf operations that may use
+                // ByteBuf.internalNioBuffer(...).
+                ByteBuffer view = buffer.nioBuffer(0, buffer.capacity()).order(ByteOrder.BIG_ENDIAN);
+                List<ByteBuffer> generatedIds = new ArrayList<>(left);
+                while (left > 0) {
+                    int batch = Math.min(left, batchSize);
+                    int idsOffset = inputLen;
+                    int tokensOffset = idsOffset + batch * idLen;
+                    int seqsOffset = tokensOffset + batch * Quic.RESET_TOKEN_LEN;
+
+                    buffer.clear();
+                    buffer.writeBytes(key.duplicate());
+                    buffer.writerIndex(inputLen);
+                    for (int i = 0; i < batch; i++) {
+                        view.clear();
+                        view.putLong(idLen, ++sourceConnectionIdSequence);
+                        view.limit(inputLen);
+                        connectionIdAddressGenerator.writeId(view, idLen, buffer);
+                    }
+                    for (int i = 0; i < batch; i++) {
+                        int idOffset = idsOffset + i * idLen;
+                        view.limit(idOffset + idLen).position(idOffset);
+                        resetTokenGenerator.writeResetToken(view, buffer);
+                    }
+                    if (buffer.writerIndex() != seqsOffset) {
+                        throw new IllegalStateException("Generated connection ids or reset tokens have wrong length");
+                    }
+                    int issued = Quiche.quiche_conn_new_scids(connAddr,
+                            Quiche.memoryAddress(buffer, idsOffset, batch * idLen), idLen,
+                            Quiche.memoryAddress(buffer, tokensOffset, batch * Quic.RESET_TOKEN_LEN),
+                            Quiche.memoryAddress(buffer, seqsOffset, batch * Long.BYTES), batch, false);
+                    if (issued <= 0) {
+                        break;
+                    }
+                    // Copy all ids at once, the ByteBuffers share the array.
+                    byte[] ids = new byte[issued * idLen];
+                    buffer.getBytes(idsOffset, ids);
+                    for (int i = 0; i < issued; i++) {
+                        // The sequence numbers are written in native order, which is the order of the buffer.
+                        long seq = buffer.getLong(seqsOffset + i * Long.BYTES);
+                        if (seq <= largestSourceConnectionIdSeq) {
+                            // quiche already knew this id and so returned its sequence number again, this can only
+                            // happen if the generator produced a duplicate.
+                            continue;
                         }
-                        sendAndFlush = true;
+                        largestSourceConnectionIdSeq = seq;
+                        ByteBuffer srcId = ByteBuffer.wrap(ids, i * idLen, idLen).asReadOnlyBuffer();
                         generatedIds.add(srcId.duplicate());
                         sourceConnectionIds.add(srcId);
-                    } while (--left > 0);
-                } finally {
-                    connIdBuffer.release();
+                    }
+                    if (issued < batch) {
+                        break;
+                    }
+                    left -= issued;
                 }
 
-                if (sendAndFlush) {
+                if (!generatedIds.isEmpty()) {
                     connectionSendAndFlush();
                 }
                 return generatedIds;
@@ -1086,6 +1293,13 @@ final class QuicheQuicChannel extends AbstractChannel implements QuicChannel {
         QuicheQuicConnection conn = connection;
         SendResult result = connectionSend(conn);
         handleWritableStreams(conn);
+        if (!datagramSendQueue.isEmpty()) {
+            try {
+                sendDatagrams(conn);
+            } catch (Exception e) {
+                pipeline().fireExceptionCaught(e);
+            }
+        }
         if (connectionSend(conn) == SendResult.SOME) {
             result = SendResult.SOME;
         }
@@ -1127,10 +1341,7 @@ final class QuicheQuicChannel extends AbstractChannel implements QuicChannel {
                             long streamId = writableStreams[i];
                             QuicheQuicStreamChannel streamChannel = streams.get(streamId);
                             if (streamChannel != null) {
-                                long capacity = Quiche.quiche_conn_stream_capacity(connAddr, streamId);
-                                if (streamChannel.writable(capacity)) {
-                                    mayNeedWrite = true;
-                                }
+                                streamScheduler.add(streamId, streamChannel.priority());
                             }
                         }
                         if (writable > 0) {
@@ -1145,6 +1356,47 @@ final class QuicheQuicChannel extends AbstractChannel implements QuicChannel {
                     Quiche.quiche_stream_iter_free(writableIterator);
                 }
                 writableStreams = growIfNeeded(writableStreams, totalWritable);
+
+                // All the streams share the connection level flow control window, so let the more important ones
+                // write first.
+                int scheduled = streamScheduler.schedule(config.getStreamStarvationThreshold());
+                int quantum = config.getStreamWriteQuantum();
+                try {
+                    boolean firstRound = true;
+                    for (;;) {
+                        boolean moreQueued = false;
+                        for (int i = 0; i < scheduled; i++) {
+                            long streamId = streamScheduler.streamId(i);
+                            QuicheQuicStreamChannel streamChannel = streams.get(streamId);
+                            if (streamChannel == null || !firstRound && !streamChannel.hasQueuedWrites()) {
+                                continue;
+                            }
+                            long capacity = Quiche.quiche_conn_stream_capacity(connAddr, streamId);
+                            if (firstRound) {
+                                streamScheduler.served(i, capacity == 0 && streamChannel.hasQueuedWrites());
+                            }
+                            if (streamChannel.writable(capacity, quantum)) {
+                                mayNeedWrite = true;
+                                moreQueued |= streamChannel.hasQueuedWrites();
+                            }
+                        }
+                        if (!moreQueued || conn.isFreed()) {
+                            break;
+                        }
+                        // Every stream wrote its quantum, let the packets leave before the next round so all
+                        // streams make progress at the same time.
+                        if (connectionSend(conn) != SendResult.NONE) {
+                            flushParent();
+                        }
+                        if (conn.isFreed()) {
+                            // The connection was closed while sending, connAddr must not be used anymore.
+                            break;
+                        }
+                        firstRound = false;
+                    }
+                } finally {
+                    streamScheduler.clear();
+                }
             }
             return mayNeedWrite;
         } finally {
@@ -1170,6 +1422,7 @@ final class QuicheQuicChannel extends AbstractChannel implements QuicChannel {
             // If we had called recv we need to ensure we call send as well.
             // See https://docs.rs/quiche/0.6.0/quiche/struct.Connection.html#method.send
             connectionSend(conn);
+            fireCongestionEventIfNeeded(conn);
 
             // We are done with the read loop, flush all pending writes now.
             forceFlushParent();
@@ -1179,6 +1432,27 @@ final class QuicheQuicChannel extends AbstractChannel implements QuicChannel {
         }
     }
 
+    private void fireCongestionEventIfNeeded(QuicheQuicConnection conn) {
+        if (!config.isCongestionEvents() || conn.isFreed()) {
+            return;
+        }
+        if (congestionStats == null) {
+            congestionStats = new long[3];
+        }
+        if (Quiche.quiche_conn_cc_stats(conn.address(), congestionStats) != 0) {
+            return;
+        }
+        long congestionWindow = congestionStats[0];
+        long rtt = congestionStats[1];
+        long deliveryRate = congestionStats[2];
+        minRtt = Math.min(minRtt, rtt);
+        if (QuicCongestionEvent.isChanged(lastCongestionEvent, congestionWindow, rtt, deliveryRate)) {
+            QuicCongestionEvent event = new QuicCongestionEvent(congestionWindow, rtt, minRtt, deliveryRate);
+            lastCongestionEvent = event;
+            pipeline().fireUserEventTriggered(event);
+        }
+    }
+
     private void fireChannelReadCompleteIfNeeded() {
         if (fireChannelReadCompletePending) {
             fireChannelReadCompletePending = false;
@@ -1199,30 +1473,32 @@ final class QuicheQuicChannel extends AbstractChannel implements QuicChannel {
     }
 
     private void runAllTaskSend(QuicheQuicConnection conn, Runnable task) {
-        sslTaskExecutor.execute(decorateTaskSend(conn, task));
-    }
-
-    private void runAll(QuicheQuicConnection conn, Runnable task) {
-        do {
-            task.run();
-        } while ((task = conn.sslTask()) != null);
+        runAllTasks(conn, task, () -> {
+            // Call connection send to continue handshake if needed.
+            if (connectionSend(conn) != SendResult.NONE) {
+                forceFlushParent();
+            }
+            freeIfClosed();
+        });
     }
 
-    private Runnable decorateTaskSend(QuicheQuicConnection conn, Runnable task) {
-        return () -> {
-            try {
-                runAll(conn, task);
-            } finally {
-                // Move back to the EventLoop.
-                eventLoop().execute(() -> {
-                    // Call connection send to continue handshake if needed.
-                    if (connectionSend(conn) != SendResult.NONE) {
-                        forceFlushParent();
-                    }
-                    freeIfClosed();
-                });
-            }
-        };
+    /**
+     * Run the given task and all following tasks via the {@code sslTaskExecutor} and then run the completion
+     * on the {@link io.netty.channel.EventLoop}.
+     */
+    private void runAllTasks(QuicheQuicConnection conn, Runnable task, Runnable completion) {
+        try {
+            sslTaskExecutor.execute(new QuicheQuicSslTaskRunner(conn, task, eventLoop(), completion));
+        } catch (RejectedExecutionException e) {
+            // The handshake can't make progress without the result of the task, so give up on the connection.
+            // This is done later as we might be in the middle of processing the connection.
+            eventLoop().execute(() -> {
+                if (!tryFailConnectPromise(e)) {
+                    fireExceptionEvents(conn, e);
+                }
+                forceClose();
+            });
+        }
     }
 
     private SendResult connectionSendSegments(QuicheQuicConnection conn,
@@ -1803,29 +2079,18 @@ final class QuicheQuicChannel extends AbstractChannel implements QuicChannel {
         }
 
         private void runAllTaskRecv(QuicheQuicConnection conn, Runnable task) {
-            sslTaskExecutor.execute(decorateTaskRecv(conn, task));
-        }
+            runAllTasks(conn, task, () -> {
+                if (!conn.isFreed()) {
+                    processReceived(conn);
 
-        private Runnable decorateTaskRecv(QuicheQuicConnection conn, Runnable task) {
-            return () -> {
-                try {
-                    runAll(conn, task);
-                } finally {
-                    // Move back to the EventLoop.
-                    eventLoop().execute(() -> {
-                        if (!conn.isFreed()) {
-                            processReceived(conn);
-
-                            // Call connection send to continue handshake if needed.
-                            if (connectionSend(conn) != SendResult.NONE) {
-                                forceFlushParent();
-                            }
+                    // Call connection send to continue handshake if needed.
+                    if (connectionSend(conn) != SendResult.NONE) {
+                        forceFlushParent();
+                    }
 
-                            freeIfClosed();
-                        }
-                    });
+                    freeIfClosed();
                 }
-            };
+            });
         }
         void recv() {
             QuicheQuicConnection conn = connection;
@@ -1902,41 +2167,64 @@ final class QuicheQuicChannel extends AbstractChannel implements QuicChannel {
                 @SuppressWarnings("deprecation")
                 RecvByteBufAllocator.Handle recvHandle = recvBufAllocHandle();
                 recvHandle.reset(config());
+                if (datagramRecvLengths == null) {
+                    datagramRecvLengths = new int[DATAGRAM_RECV_BATCH];
+                }
+                // Without auto-read only a single datagram is read per read() call.
+                int maxMessages = config().isAutoRead() ? maxMessagesPerRead() : 1;
 
                 int numMessagesRead = 0;
                 do {
                     long connAddr = conn.address();
-                    int len = Quiche.quiche_conn_dgram_recv_front_len(connAddr);
-                    if (len == Quiche.QUICHE_ERR_DONE) {
-                        datagramReadable = false;
-                        return;
-                    }
+                    int maxCount = Math.min(DATAGRAM_RECV_BATCH, maxMessages - numMessagesRead);
 
-                    ByteBuf datagramBuffer = alloc().directBuffer(len);
+                    // Drain as many datagrams as fit into a single buffer, which are then handed out as slices.
+                    ByteBuf datagramBuffer = alloc().directBuffer(recvHandle.guess());
                     recvHandle.attemptedBytesRead(datagramBuffer.writableBytes());
-                    int writerIndex = datagramBuffer.writerIndex();
-                    long memoryAddress = Quiche.writerMemoryAddress(datagramBuffer);
-
-                    int written = Quiche.quiche_conn_dgram_recv(connAddr,
-                            memoryAddress, datagramBuffer.writableBytes());
-                    if (written < 0) {
+                    int count = Quiche.quiche_conn_dgram_recv_batch(connAddr,
+                            Quiche.writerMemoryAddress(datagramBuffer), datagramBuffer.writableBytes(),
+                            datagramRecvLengths, maxCount);
+                    if (count == 0) {
+                        // The next datagram is larger than the buffer, allocate one that fits.
                         datagramBuffer.release();
-                        if (written == Quiche.QUICHE_ERR_DONE) {
-                            // We did consume all datagram packets.
-                            datagramReadable = false;
-                            break;
+                        datagramBuffer = alloc().directBuffer(datagramRecvLengths[0]);
+                        recvHandle.attemptedBytesRead(datagramBuffer.writableBytes());
+                        count = Quiche.quiche_conn_dgram_recv_batch(connAddr,
+                                Quiche.writerMemoryAddress(datagramBuffer), datagramBuffer.writableBytes(),
+                                datagramRecvLengths, maxCount);
+                    }
+                    if (count <= 0) {
+                        datagramBuffer.release();
+                        // We did consume all datagram packets or there was an error.
+                        datagramReadable = false;
+                        if (count < 0 && count != Quiche.QUICHE_ERR_DONE) {
+                            pipeline().fireExceptionCaught(Quiche.convertToException(count));
                         }
-                        pipeline().fireExceptionCaught(Quiche.convertToException(written));
+                        break;
+                    }
+                    int readerIndex = datagramBuffer.writerIndex();
+                    int written = 0;
+                    for (int i = 0; i < count; i++) {
+                        written += datagramRecvLengths[i];
                     }
+                    datagramBuffer.writerIndex(readerIndex + written);
                     recvHandle.lastBytesRead(written);
-                    recvHandle.incMessagesRead(1);
-                    numMessagesRead++;
-                    datagramBuffer.writerIndex(writerIndex + written);
+                    recvHandle.incMessagesRead(count);
+                    numMessagesRead += count;
+                    datagramsReceived += count;
                     recvDatagramPending = false;
                     fireChannelReadCompletePending = true;
 
-                    pipeline().fireChannelRead(datagramBuffer);
-                } while (recvHandle.continueReading() && !conn.isFreed());
+                    try {
+                        for (int i = 0; i < count; i++) {
+                            int length = datagramRecvLengths[i];
+                            pipeline().fireChannelRead(datagramBuffer.retainedSlice(readerIndex, length));
+                            readerIndex += length;
+                        }
+                    } finally {
+                        datagramBuffer.release();
+                    }
+                } while (numMessagesRead < maxMessages && !conn.isFreed());
                 recvHandle.readComplete();
 
                 // Check if we produced any messages.
@@ -1946,6 +2234,14 @@ final class QuicheQuicChannel extends AbstractChannel implements QuicChannel {
             }
         }
 
+        private int maxMessagesPerRead() {
+            RecvByteBufAllocator allocator = config().getRecvByteBufAllocator();
+            if (allocator instanceof MaxMessagesRecvByteBufAllocator) {
+                return ((MaxMessagesRecvByteBufAllocator) allocator).maxMessagesPerRead();
+            }
+            return 1;
+        }
+
         private boolean handlePendingChannelActive(QuicheQuicConnection conn) {
             if (conn.isFreed() || state == ChannelState.CLOSED) {
                 return true;
@@ -1994,7 +2290,7 @@ final class QuicheQuicChannel extends AbstractChannel implements QuicChannel {
                     QuicheQuicChannel.this, streamId);
             QuicheQuicStreamChannel old = streams.put(streamId, streamChannel);
             assert old == null;
-            streamChannel.writable(streamCapacity(streamId));
+            streamChannel.writable(streamCapacity(streamId), 0);
             return streamChannel;
         }
     }
@@ -2104,6 +2400,19 @@ final class QuicheQuicChannel extends AbstractChannel implements QuicChannel {
         return promise;
     }
 
+    /**
+     * Write a sample of the stats into the given memory, see {@link QuicheQuicStatsSampler}. Returns {@code false} if
+     * the connection was already freed and so nothing was written.
+     */
+    boolean sampleStats(long memory) {
+        QuicheQuicConnection conn = connection;
+        if (conn.isFreed()) {
+            return false;
+        }
+        Quiche.quiche_conn_stats_sample(conn.address(), memory);
+        return true;
+    }
+
     private void collectStats0(Promise<QuicConnectionStats> promise) {
         QuicheQuicConnection conn = connection;
         if (conn.isFreed()) {
@@ -2154,6 +2463,22 @@ final class QuicheQuicChannel extends AbstractChannel implements QuicChannel {
     }
 
 
+    @Override
+    public Future<QuicDatagramStats> collectDatagramStats(Promise<QuicDatagramStats> promise) {
+        if (eventLoop().inEventLoop()) {
+            collectDatagramStats0(promise);
+        } else {
+            eventLoop().execute(() -> collectDatagramStats0(promise));
+        }
+        return promise;
+    }
+
+    private void collectDatagramStats0(Promise<QuicDatagramStats> promise) {
+        promise.setSuccess(new QuicheQuicDatagramStats(datagramSendQueue.queued(), datagramSendQueue.sent(),
+                datagramsReceived, datagramSendQueue.dropped(), datagramSendQueue.expired(),
+                datagramSendQueue.residency()));
+    }
+
     @Override
     public QuicTransportParameters peerTransportParameters() {
         return connection.peerParameters();
@@ -22,6 +22,7 @@ import io.netty.channel.DefaultChannelConfig;
 import io.netty.channel.MessageSizeEstimator;
 import io.netty.channel.RecvByteBufAllocator;
 import io.netty.channel.WriteBufferWaterMark;
+import io.netty.util.internal.ObjectUtil;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.Map;
@@ -34,6 +35,11 @@ final class QuicheQuicChannelConfig extends DefaultChannelConfig implements Quic
     private volatile QLogConfiguration qLogConfiguration;
     private volatile SegmentedDatagramPacketAllocator segmentedDatagramPacketAllocator =
             SegmentedDatagramPacketAllocator.NONE;
+    private volatile int datagramSendQueueSize = 128;
+    private volatile QuicDatagramDropPolicy datagramDropPolicy = QuicDatagramDropPolicy.DROP_OLDEST;
+    private volatile int streamStarvationThreshold = 8;
+    private volatile int streamWriteQuantum = 16 * 1024;
+    private volatile boolean congestionEvents;
 
     QuicheQuicChannelConfig(Channel channel) {
         super(channel);
@@ -42,7 +48,10 @@ final class QuicheQuicChannelConfig extends DefaultChannelConfig implements Quic
     @Override
     public Map<ChannelOption<?>, Object> getOptions() {
         return getOptions(super.getOptions(),
-                QuicChannelOption.QLOG, QuicChannelOption.SEGMENTED_DATAGRAM_PACKET_ALLOCATOR);
+                QuicChannelOption.QLOG, QuicChannelOption.SEGMENTED_DATAGRAM_PACKET_ALLOCATOR,
+                QuicChannelOption.DATAGRAM_SEND_QUEUE_SIZE, QuicChannelOption.DATAGRAM_DROP_POLICY,
+                QuicChannelOption.STREAM_STARVATION_THRESHOLD, QuicChannelOption.STREAM_WRITE_QUANTUM,
+                QuicChannelOption.CONGESTION_EVENTS);
     }
 
     @SuppressWarnings("unchecked")
@@ -54,6 +63,21 @@ final class QuicheQuicChannelConfig extends DefaultChannelConfig implements Quic
         if (option == QuicChannelOption.SEGMENTED_DATAGRAM_PACKET_ALLOCATOR) {
             return (T) getSegmentedDatagramPacketAllocator();
         }
+        if (option == QuicChannelOption.DATAGRAM_SEND_QUEUE_SIZE) {
+            return (T) Integer.valueOf(getDatagramSendQueueSize());
+        }
+        if (option == QuicChannelOption.DATAGRAM_DROP_POLICY) {
+            return (T) getDatagramDropPolicy();
+        }
+        if (option == QuicChannelOption.STREAM_STARVATION_THRESHOLD) {
+            return (T) Integer.valueOf(getStreamStarvationThreshold());
+        }
+        if (option == QuicChannelOption.STREAM_WRITE_QUANTUM) {
+            return (T) Integer.valueOf(getStreamWriteQuantum());
+        }
+        if (option == QuicChannelOption.CONGESTION_EVENTS) {
+            return (T) Boolean.valueOf(isCongestionEvents());
+        }
         return super.getOption(option);
     }
 
@@ -67,6 +91,26 @@ final class QuicheQuicChannelConfig extends DefaultChannelConfig implements Quic
             setSegmentedDatagramPacketAllocator((SegmentedDatagramPacketAllocator) value);
             return true;
         }
+        if (option == QuicChannelOption.DATAGRAM_SEND_QUEUE_SIZE) {
+            setDatagramSendQueueSize((Integer) value);
+            return true;
+        }
+        if (option == QuicChannelOption.DATAGRAM_DROP_POLICY) {
+            setDatagramDropPolicy((QuicDatagramDropPolicy) value);
+            return true;
+        }
+        if (option == QuicChannelOption.STREAM_STARVATION_THRESHOLD) {
+            setStreamStarvationThreshold((Integer) value);
+            return true;
+        }
+        if (option == QuicChannelOption.STREAM_WRITE_QUANTUM) {
+            setStreamWriteQuantum((Integer) value);
+            return true;
+        }
+        if (option == QuicChannelOption.CONGESTION_EVENTS) {
+            congestionEvents = (Boolean) value;
+            return true;
+        }
         return super.setOption(option, value);
     }
 
@@ -157,4 +201,41 @@ final class QuicheQuicChannelConfig extends DefaultChannelConfig implements Quic
             SegmentedDatagramPacketAllocator segmentedDatagramPacketAllocator) {
         this.segmentedDatagramPacketAllocator = segmentedDatagramPacketAllocator;
     }
+
+    int getDatagramSendQueueSize() {
+        return datagramSendQueueSize;
+    }
+
+    private void setDatagramSendQueueSize(int datagramSendQueueSize) {
+        this.datagramSendQueueSize = ObjectUtil.checkPositive(datagramSendQueueSize, "datagramSendQueueSize");
+    }
+
+    QuicDatagramDropPolicy getDatagramDropPolicy() {
+        return datagramDropPolicy;
+    }
+
+    private void setDatagramDropPolicy(QuicDatagramDropPolicy datagramDropPolicy) {
+        this.datagramDropPolicy = ObjectUtil.checkNotNull(datagramDropPolicy, "datagramDropPolicy");
+    }
+
+    int getStreamStarvationThreshold() {
+        return streamStarvationThreshold;
+    }
+
+    private void setStreamStarvationThreshold(int streamStarvationThreshold) {
+        this.streamStarvationThreshold = ObjectUtil.checkPositive(
+                streamStarvationThreshold, "streamStarvationThreshold");
+    }
+
+    int getStreamWriteQuantum() {
+        return streamWriteQuantum;
+    }
+
+    private void setStreamWriteQuantum(int streamWriteQuantum) {
+        this.streamWriteQuantum = ObjectUtil.checkPositiveOrZero(streamWriteQuantum, "streamWriteQuantum");
+    }
+
+    boolean isCongestionEvents() {
+        return congestionEvents;
+    }
 }
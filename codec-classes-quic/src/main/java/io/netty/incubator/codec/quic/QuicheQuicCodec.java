@@ -30,6 +30,7 @@ import java.net.SocketAddress;
 import java.nio.ByteBuffer;
 import java.util.ArrayDeque;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Queue;
 import java.util.Set;
 import java.util.function.Consumer;
@@ -41,6 +42,9 @@ import static io.netty.incubator.codec.quic.Quiche.allocateNativeOrder;
  */
 abstract class QuicheQuicCodec extends ChannelDuplexHandler {
     private static final InternalLogger LOGGER = InternalLoggerFactory.getInstance(QuicheQuicCodec.class);
+    // Big enough to hold more than 20 connection ids with their reset tokens and sequence numbers in one batch.
+    private static final int CONNECTION_IDS_MEMORY_SIZE = 1024;
+
     private final ConnectionIdChannelMap connectionIdToChannel = new ConnectionIdChannelMap();
     private final Set<QuicheQuicChannel> channels = new HashSet<>();
     private final Queue<QuicheQuicChannel> needsFireChannelReadComplete = new ArrayDeque<>();
@@ -63,6 +67,9 @@ abstract class QuicheQuicCodec extends ChannelDuplexHandler {
     private ByteBuf senderSockaddrMemory;
     private ByteBuf recipientSockaddrMemory;
 
+    // Scratch space that is used to exchange retired and new source connection ids with quiche in batches.
+    private ByteBuf connectionIdsMemory;
+
     QuicheQuicCodec(QuicheConfig config, int localConnIdLength, FlushStrategy flushStrategy) {
         this.config = config;
         this.localConnIdLength = localConnIdLength;
@@ -79,14 +86,19 @@ abstract class QuicheQuicCodec extends ChannelDuplexHandler {
         return connectionIdToChannel.get(key);
     }
 
-    private void addMapping(QuicheQuicChannel channel, ByteBuffer id) {
-        QuicheQuicChannel ch = connectionIdToChannel.put(id, channel);
-        assert ch == null || ch == channel;
-    }
-
-    private void removeMapping(QuicheQuicChannel channel, ByteBuffer id) {
-        QuicheQuicChannel ch = connectionIdToChannel.remove(id);
-        assert ch == channel;
+    private void updateMappings(QuicheQuicChannel channel) {
+        ByteBuf memory = connectionIdsMemory;
+        for (;;) {
+            memory.clear();
+            if (channel.retiredSourceConnectionIds(memory) == 0) {
+                break;
+            }
+            connectionIdToChannel.removeAll(memory, channel);
+        }
+        List<ByteBuffer> newIds = channel.newSourceConnectionIds(memory);
+        if (!newIds.isEmpty()) {
+            connectionIdToChannel.putAll(newIds, channel);
+        }
     }
 
     private void processDelayedRemoval() {
@@ -118,6 +130,10 @@ abstract class QuicheQuicCodec extends ChannelDuplexHandler {
     protected final void addChannel(QuicheQuicChannel channel) {
         boolean added = channels.add(channel);
         assert added;
+        QuicMemoryGovernor memoryGovernor = config.memoryGovernor();
+        if (memoryGovernor != null) {
+            channel.memoryGovernor(memoryGovernor);
+        }
         for (ByteBuffer id : channel.sourceConnectionIds()) {
             QuicheQuicChannel ch = connectionIdToChannel.put(id.duplicate(), channel);
             assert ch == null;
@@ -128,9 +144,14 @@ abstract class QuicheQuicCodec extends ChannelDuplexHandler {
     public final void handlerAdded(ChannelHandlerContext ctx) {
         senderSockaddrMemory = allocateNativeOrder(Quiche.SIZEOF_SOCKADDR_STORAGE);
         recipientSockaddrMemory = allocateNativeOrder(Quiche.SIZEOF_SOCKADDR_STORAGE);
+        connectionIdsMemory = allocateNativeOrder(CONNECTION_IDS_MEMORY_SIZE);
         headerParser = new QuicHeaderParser(localConnIdLength);
         parserCallback = new QuicCodecHeaderProcessor(ctx);
         estimatorHandle = ctx.channel().config().getMessageSizeEstimator().newHandle();
+        QuicheQuicStatsSampler statsSampler = config.statsSampler();
+        if (statsSampler != null) {
+            statsSampler.start(ctx.executor(), channels);
+        }
         handlerAdded(ctx, localConnIdLength);
     }
 
@@ -158,6 +179,10 @@ abstract class QuicheQuicCodec extends ChannelDuplexHandler {
             needsFireChannelReadComplete.clear();
             delayedRemoval.clear();
 
+            QuicheQuicStatsSampler statsSampler = config.statsSampler();
+            if (statsSampler != null) {
+                statsSampler.stop();
+            }
             config.free();
             if (senderSockaddrMemory != null) {
                 senderSockaddrMemory.release();
@@ -165,6 +190,9 @@ abstract class QuicheQuicCodec extends ChannelDuplexHandler {
             if (recipientSockaddrMemory != null) {
                 recipientSockaddrMemory.release();
             }
+            if (connectionIdsMemory != null) {
+                connectionIdsMemory.release();
+            }
             if (headerParser != null) {
                 headerParser.close();
                 headerParser = null;
@@ -231,6 +259,21 @@ abstract class QuicheQuicCodec extends ChannelDuplexHandler {
                                                         Consumer<QuicheQuicChannel> freeTask,
                                                         int localConnIdLength, QuicheConfig config) throws Exception;
 
+    /**
+     * Called once a short header packet was received for which we could not find a {@link QuicheQuicChannel}.
+     * The default implementation just drops the packet.
+     *
+     * @param ctx the {@link ChannelHandlerContext} of this handler.
+     * @param sender the sender of the packet.
+     * @param dcid the destination connection id of the packet.
+     * @param packet the whole packet.
+     * @throws Exception  thrown if there is an error during processing.
+     */
+    protected void unknownConnectionIdRead(ChannelHandlerContext ctx, InetSocketAddress sender,
+                                           ByteBuf dcid, ByteBuf packet) throws Exception {
+        // NOOP
+    }
+
     @Override
     public final void channelReadComplete(ChannelHandlerContext ctx) {
         inChannelReadComplete = true;
@@ -369,12 +412,9 @@ abstract class QuicheQuicCodec extends ChannelDuplexHandler {
                     needsFireChannelReadComplete.add(channel);
                 }
                 channel.recv(sender, recipient, buffer);
-                for (ByteBuffer retiredSourceConnectionId : channel.retiredSourceConnectionId()) {
-                    removeMapping(channel, retiredSourceConnectionId);
-                }
-                for (ByteBuffer newSourceConnectionId : channel.newSourceConnectionIds()) {
-                    addMapping(channel, newSourceConnectionId);
-                }
+                updateMappings(channel);
+            } else if (type == QuicPacketType.SHORT) {
+                unknownConnectionIdRead(ctx, sender, dcid, buffer);
             }
         }
     }
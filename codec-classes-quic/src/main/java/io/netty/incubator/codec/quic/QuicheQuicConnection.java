@@ -58,6 +58,8 @@ final class QuicheQuicConnection {
     private final ByteBuffer sendInfoBuffer2;
 
     private long connection;
+    @Nullable
+    private QLogConfiguration qLogConfiguration;
 
     QuicheQuicConnection(long connection, long ssl, QuicheQuicSslEngine engine, ReferenceCounted refCnt) {
         assert connection != -1;
@@ -95,8 +97,11 @@ final class QuicheQuicConnection {
 
     private void free(boolean closeLeakTracker) {
         boolean release = false;
+        QLogConfiguration qLogConfiguration = null;
         synchronized (this) {
             if (connection != -1) {
+                qLogConfiguration = this.qLogConfiguration;
+                this.qLogConfiguration = null;
                 try {
                     BoringSSL.SSL_cleanup(ssl);
                     Quiche.quiche_conn_free(connection);
@@ -108,6 +113,9 @@ final class QuicheQuicConnection {
                 }
             }
         }
+        if (qLogConfiguration != null) {
+            qLogConfiguration.release();
+        }
         if (release) {
             recvInfoBuffer.release();
             sendInfoBuffer.release();
@@ -118,7 +126,7 @@ final class QuicheQuicConnection {
     }
 
     @Nullable
-    Runnable sslTask() {
+    SslTask sslTask() {
         final Runnable task;
         synchronized (this) {
             if (connection != -1) {
@@ -131,13 +139,28 @@ final class QuicheQuicConnection {
             return null;
         }
 
-        return () -> {
+        return new SslTask(task);
+    }
+
+    /**
+     * A task returned by {@link BoringSSL#SSL_getTask(long)} which will only be run if the connection was not freed
+     * yet.
+     */
+    final class SslTask implements Runnable {
+        final Runnable task;
+
+        private SslTask(Runnable task) {
+            this.task = task;
+        }
+
+        @Override
+        public void run() {
             if (connection == -1) {
                 return;
             }
 
             task.run();
-        };
+        }
     }
 
     @Nullable
@@ -177,6 +200,21 @@ final class QuicheQuicConnection {
         return new QuicheQuicTransportParameters(ret);
     }
 
+    /**
+     * Enable qlog for this connection, the given {@link QLogConfiguration} must have been acquired before and will be
+     * released once this connection is freed.
+     */
+    synchronized boolean setQLog(String path, QLogConfiguration configuration) {
+        assert connection != -1;
+        assert qLogConfiguration == null;
+        if (!Quiche.quiche_conn_set_qlog_path(connection, path,
+                configuration.logTitle(), configuration.logDescription())) {
+            return false;
+        }
+        qLogConfiguration = configuration;
+        return true;
+    }
+
     QuicheQuicSslEngine engine() {
         return engine;
     }
@@ -0,0 +1,198 @@
+/*
+ * Copyright 2026 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty.incubator.codec.quic;
+
+import io.netty.buffer.ByteBuf;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bounded queue of the datagrams that were written to a {@link QuicheQuicChannel} but could not be passed to quiche
+ * yet, because its own send queue was full. This is only accessed from the {@link io.netty.channel.EventLoop}.
+ */
+final class QuicheQuicDatagramSendQueue {
+    // Used for datagrams that were written as plain ByteBuf.
+    static final long NO_DEADLINE = Long.MAX_VALUE;
+
+    private ByteBuf[] datagrams = new ByteBuf[16];
+    private long[] deadlines = new long[16];
+    private long[] enqueueTimes = new long[16];
+    private final QuicheQuicHistogram residency = new QuicheQuicHistogram();
+    private int head;
+    private int size;
+    private long queued;
+    private long bytes;
+    private long sent;
+    private long dropped;
+    private long expired;
+
+    /**
+     * Add the datagram to the queue, dropping a datagram if the queue contains {@code capacity} datagrams already.
+     *
+     * @return {@code false} if the given datagram itself was dropped, in which case it is not released.
+     */
+    boolean offer(ByteBuf datagram, long deadline, int capacity, QuicDatagramDropPolicy policy, long now) {
+        if (size >= capacity) {
+            if (policy == QuicDatagramDropPolicy.DROP_NEWEST || size == 0) {
+                dropped++;
+                return false;
+            }
+            // The capacity might have been lowered since the last offer, so more than one datagram may be evicted.
+            do {
+                removeHead().release();
+                dropped++;
+            } while (size >= capacity);
+        }
+        if (size == datagrams.length) {
+            grow();
+        }
+        int tail = index(size);
+        datagrams[tail] = datagram;
+        deadlines[tail] = deadline;
+        enqueueTimes[tail] = now;
+        bytes += datagram.readableBytes();
+        size++;
+        queued++;
+        return true;
+    }
+
+    /**
+     * Copy the datagrams at the head of the queue into the given array, dropping expired datagrams first.
+     *
+     * @return the number of datagrams that were copied.
+     */
+    int peek(ByteBuf[] out, long now) {
+        int count = 0;
+        for (int i = 0; i < size && count < out.length; i++) {
+            int idx = index(i);
+            if (deadlines[idx] != NO_DEADLINE && deadlines[idx] - now < 0) {
+                if (count == 0) {
+                    // Only expire the head, so the ones that were peeked can be removed in order.
+                    removeHead().release();
+                    expired++;
+                    i--;
+                    continue;
+                }
+                break;
+            }
+            out[count++] = datagrams[idx];
+        }
+        return count;
+    }
+
+    /**
+     * Remove the given number of datagrams from the head of the queue, as they were sent.
+     */
+    void removeSent(int count, long now) {
+        for (int i = 0; i < count; i++) {
+            residency.record(TimeUnit.NANOSECONDS.toMicros(now - enqueueTimes[head]));
+            removeHead().release();
+        }
+        sent += count;
+    }
+
+    /**
+     * Drop the datagram at the head of the queue, as it could not be sent.
+     */
+    void dropHead() {
+        removeHead().release();
+        dropped++;
+    }
+
+    /**
+     * Record a datagram that was dropped before it was queued, as it was larger than the connection allows.
+     */
+    void dropTooLarge() {
+        dropped++;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * Returns the number of bytes of the queued datagrams.
+     */
+    long bytes() {
+        return bytes;
+    }
+
+    long queued() {
+        return queued;
+    }
+
+    long sent() {
+        return sent;
+    }
+
+    long dropped() {
+        return dropped;
+    }
+
+    long expired() {
+        return expired;
+    }
+
+    /**
+     * Returns a snapshot of the time in microseconds the sent datagrams spent in the queue.
+     */
+    QuicHistogram residency() {
+        return residency.copy();
+    }
+
+    /**
+     * Release all queued datagrams.
+     */
+    void clear() {
+        while (size > 0) {
+            removeHead().release();
+        }
+    }
+
+    private ByteBuf removeHead() {
+        ByteBuf datagram = datagrams[head];
+        datagrams[head] = null;
+        bytes -= datagram.readableBytes();
+        head = (head + 1) & (datagrams.length - 1);
+        size--;
+        return datagram;
+    }
+
+    private int index(int i) {
+        return (head + i) & (datagrams.length - 1);
+    }
+
+    private void grow() {
+        int length = datagrams.length;
+        ByteBuf[] newDatagrams = new ByteBuf[length << 1];
+        long[] newDeadlines = new long[length << 1];
+        long[] newEnqueueTimes = new long[length << 1];
+        for (int i = 0; i < size; i++) {
+            int idx = index(i);
+            newDatagrams[i] = datagrams[idx];
+            newDeadlines[i] = deadlines[idx];
+            newEnqueueTimes[i] = enqueueTimes[idx];
+        }
+        datagrams = newDatagrams;
+        deadlines = newDeadlines;
+        enqueueTimes = newEnqueueTimes;
+        head = 0;
+    }
+}
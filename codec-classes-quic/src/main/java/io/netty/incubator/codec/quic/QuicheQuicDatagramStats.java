@@ -0,0 +1,80 @@
+/*
+ * Copyright 2026 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty.incubator.codec.quic;
+
+import io.netty.util.internal.StringUtil;
+
+final class QuicheQuicDatagramStats implements QuicDatagramStats {
+
+    private final long queued;
+    private final long sent;
+    private final long received;
+    private final long dropped;
+    private final long expired;
+    private final QuicHistogram queueResidency;
+
+    QuicheQuicDatagramStats(long queued, long sent, long received, long dropped, long expired,
+                            QuicHistogram queueResidency) {
+        this.queued = queued;
+        this.sent = sent;
+        this.received = received;
+        this.dropped = dropped;
+        this.expired = expired;
+        this.queueResidency = queueResidency;
+    }
+
+    @Override
+    public long queued() {
+        return queued;
+    }
+
+    @Override
+    public long sent() {
+        return sent;
+    }
+
+    @Override
+    public long received() {
+        return received;
+    }
+
+    @Override
+    public long dropped() {
+        return dropped;
+    }
+
+    @Override
+    public long expired() {
+        return expired;
+    }
+
+    @Override
+    public QuicHistogram queueResidency() {
+        return queueResidency;
+    }
+
+    @Override
+    public String toString() {
+        return StringUtil.simpleClassName(this) + "[" +
+                "queued=" + queued +
+                ", sent=" + sent +
+                ", received=" + received +
+                ", dropped=" + dropped +
+                ", expired=" + expired +
+                ", queueResidency=" + queueResidency +
+                "]";
+    }
+}
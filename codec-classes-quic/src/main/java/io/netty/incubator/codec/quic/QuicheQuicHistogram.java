@@ -0,0 +1,149 @@
+/*
+ * Copyright 2026 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty.incubator.codec.quic;
+
+import io.netty.util.internal.StringUtil;
+
+import java.util.Arrays;
+
+/**
+ * {@link QuicHistogram} with log-linear buckets: values below {@code 8} have their own bucket and every power of two
+ * above is split into {@code 8} buckets. This is not thread-safe, use {@link #copy()} to hand out a snapshot.
+ */
+final class QuicheQuicHistogram implements QuicHistogram {
+    private static final int SUB_BUCKET_BITS = 3;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int BUCKETS = (Long.SIZE - SUB_BUCKET_BITS + 1) * SUB_BUCKETS;
+
+    private long[] buckets;
+    private long count;
+    private long sum;
+    private long min;
+    private long max;
+
+    QuicheQuicHistogram() {
+        this(new long[SUB_BUCKETS]);
+    }
+
+    private QuicheQuicHistogram(long[] buckets) {
+        this.buckets = buckets;
+    }
+
+    /**
+     * Record the given value, negative values are recorded as {@code 0}.
+     */
+    void record(long value) {
+        if (value < 0) {
+            value = 0;
+        }
+        int bucket = bucket(value);
+        if (bucket >= buckets.length) {
+            // Only grow as far as needed, most histograms only ever see small values.
+            buckets = Arrays.copyOf(buckets, Math.min(BUCKETS, Math.max(bucket + 1, buckets.length << 1)));
+        }
+        buckets[bucket]++;
+        if (count == 0 || value < min) {
+            min = value;
+        }
+        if (value > max) {
+            max = value;
+        }
+        count++;
+        sum += value;
+    }
+
+    QuicheQuicHistogram copy() {
+        QuicheQuicHistogram copy = new QuicheQuicHistogram(buckets.clone());
+        copy.count = count;
+        copy.sum = sum;
+        copy.min = min;
+        copy.max = max;
+        return copy;
+    }
+
+    @Override
+    public long count() {
+        return count;
+    }
+
+    @Override
+    public long min() {
+        return min;
+    }
+
+    @Override
+    public long max() {
+        return max;
+    }
+
+    @Override
+    public double mean() {
+        return count == 0 ? 0 : (double) sum / count;
+    }
+
+    @Override
+    public long valueAtPercentile(double percentile) {
+        if (!(percentile >= 0 && percentile <= 100)) {
+            throw new IllegalArgumentException("percentile: " + percentile + " (expected: 0-100)");
+        }
+        if (count == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100 * count));
+        long seen = 0;
+        for (int i = 0; i < buckets.length; i++) {
+            seen += buckets[i];
+            if (seen >= rank) {
+                // Use the upper bound of the bucket but never report something that was not recorded.
+                return Math.max(min, Math.min(max, upperBound(i)));
+            }
+        }
+        return max;
+    }
+
+    static int bucket(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int exp = Long.SIZE - 1 - Long.numberOfLeadingZeros(value);
+        int sub = (int) (value >>> (exp - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+        return (exp - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + sub;
+    }
+
+    static long upperBound(int bucket) {
+        if (bucket < SUB_BUCKETS) {
+            return bucket;
+        }
+        int exp = bucket / SUB_BUCKETS + SUB_BUCKET_BITS - 1;
+        long sub = bucket & (SUB_BUCKETS - 1);
+        long lower = (SUB_BUCKETS + sub) << (exp - SUB_BUCKET_BITS);
+        long width = 1L << (exp - SUB_BUCKET_BITS);
+        // The last bucket would overflow.
+        return lower + width - 1 < lower ? Long.MAX_VALUE : lower + width - 1;
+    }
+
+    @Override
+    public String toString() {
+        return StringUtil.simpleClassName(this) + "[" +
+                "count=" + count +
+                ", min=" + min +
+                ", max=" + max +
+                ", mean=" + mean() +
+                ", p50=" + valueAtPercentile(50) +
+                ", p99=" + valueAtPercentile(99) +
+                "]";
+    }
+}
@@ -33,6 +33,7 @@ import java.net.SocketAddress;
 import java.nio.ByteBuffer;
 import java.util.Map;
 import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.function.Consumer;
 import java.util.function.Function;
 
@@ -43,6 +44,11 @@ import static io.netty.incubator.codec.quic.Quiche.allocateNativeOrder;
  */
 final class QuicheQuicServerCodec extends QuicheQuicCodec {
     private static final InternalLogger LOGGER = InternalLoggerFactory.getInstance(QuicheQuicServerCodec.class);
+    // See https://www.rfc-editor.org/rfc/rfc9000#section-10.3:
+    // 1 byte header + at least 4 bytes of unpredictable bits + the reset token.
+    static final int MIN_STATELESS_RESET_LEN = 5 + Quic.RESET_TOKEN_LEN;
+    // Big enough to be indistinguishable from a short header packet with a maximum sized connection id.
+    static final int MAX_STATELESS_RESET_LEN = 1 + Quic.MAX_CONN_ID_LEN + 1 + Quic.RESET_TOKEN_LEN + 4;
     private final Function<QuicChannel, ? extends QuicSslEngine> sslEngineProvider;
     private final Executor sslTaskExecutor;
     private final QuicConnectionIdGenerator connectionIdAddressGenerator;
@@ -54,8 +60,13 @@ final class QuicheQuicServerCodec extends QuicheQuicCodec {
     private final ChannelHandler streamHandler;
     private final Map.Entry<ChannelOption<?>, Object>[] streamOptionsArray;
     private final Map.Entry<AttributeKey<?>, Object>[] streamAttrsArray;
+    @Nullable
+    private final StatelessResetRateLimiter statelessResetRateLimiter;
+    @Nullable
+    private final QuicOverloadDetector overloadDetector;
     private ByteBuf mintTokenBuffer;
     private ByteBuf connIdBuffer;
+    private ByteBuf resetTokenBuffer;
 
     QuicheQuicServerCodec(QuicheConfig config,
                           int localConnIdLength,
@@ -70,7 +81,9 @@ final class QuicheQuicServerCodec extends QuicheQuicCodec {
                           Map.Entry<AttributeKey<?>, Object>[] attrsArray,
                           ChannelHandler streamHandler,
                           Map.Entry<ChannelOption<?>, Object>[] streamOptionsArray,
-                          Map.Entry<AttributeKey<?>, Object>[] streamAttrsArray) {
+                          Map.Entry<AttributeKey<?>, Object>[] streamAttrsArray,
+                          int statelessResetRateLimit,
+                          @Nullable QuicOverloadDetector overloadDetector) {
         super(config, localConnIdLength, flushStrategy);
         this.tokenHandler = tokenHandler;
         this.connectionIdAddressGenerator = connectionIdAddressGenerator;
@@ -83,12 +96,16 @@ final class QuicheQuicServerCodec extends QuicheQuicCodec {
         this.streamHandler = streamHandler;
         this.streamOptionsArray = streamOptionsArray;
         this.streamAttrsArray = streamAttrsArray;
+        this.statelessResetRateLimiter = statelessResetRateLimit > 0 ?
+                new StatelessResetRateLimiter(statelessResetRateLimit) : null;
+        this.overloadDetector = overloadDetector;
     }
 
     @Override
     protected void handlerAdded(ChannelHandlerContext ctx, int localConnIdLength) {
         connIdBuffer = Quiche.allocateNativeOrder(localConnIdLength);
         mintTokenBuffer = Unpooled.directBuffer(tokenHandler.maxTokenLength());
+        resetTokenBuffer = Unpooled.wrappedBuffer(new byte[Quic.RESET_TOKEN_LEN]);
     }
 
     @Override
@@ -100,6 +117,9 @@ final class QuicheQuicServerCodec extends QuicheQuicCodec {
         if (mintTokenBuffer != null) {
             mintTokenBuffer.release();
         }
+        if (resetTokenBuffer != null) {
+            resetTokenBuffer.release();
+        }
     }
 
     @Override
@@ -114,6 +134,13 @@ final class QuicheQuicServerCodec extends QuicheQuicCodec {
         ByteBuffer dcidByteBuffer = dcid.internalNioBuffer(dcid.readerIndex(), dcid.readableBytes());
         QuicheQuicChannel channel = getChannel(dcidByteBuffer);
         if (channel == null && type == QuicPacketType.INITIAL) {
+            QuicOverloadDetector overloadDetector = this.overloadDetector;
+            if (overloadDetector != null && overloadDetector.isOverloaded()) {
+                // Don't accept new connections while we can't keep up with the handshakes we already have. The
+                // client will retransmit the packet.
+                overloadDetector.initialDropped();
+                return null;
+            }
             // We only want to possibility create a new QuicChannel if this is the initial packet, otherwise
             // drop the packet on the floor if we did not find a mapping before.
             return handleServer(ctx, sender, recipient, type, version, scid, dcid, token,
@@ -122,6 +149,69 @@ final class QuicheQuicServerCodec extends QuicheQuicCodec {
         return channel;
     }
 
+    @Override
+    protected void unknownConnectionIdRead(ChannelHandlerContext ctx, InetSocketAddress sender,
+                                           ByteBuf dcid, ByteBuf packet) {
+        StatelessResetRateLimiter limiter = statelessResetRateLimiter;
+        if (limiter == null) {
+            return;
+        }
+        int packetLength = packet.readableBytes();
+        // The stateless reset must be smaller than the packet that triggered it, this guarantees that two endpoints
+        // can not end up in an infinite loop of resets.
+        // See https://www.rfc-editor.org/rfc/rfc9000#section-10.3.3
+        if (packetLength <= MIN_STATELESS_RESET_LEN || !limiter.tryAcquire(System.nanoTime())) {
+            return;
+        }
+        int resetLength = Math.min(packetLength - 1, MAX_STATELESS_RESET_LEN);
+        ByteBuf out = ctx.alloc().directBuffer(resetLength);
+        try {
+            writeStatelessReset(out, resetLength, resetTokenGenerator,
+                    dcid.internalNioBuffer(dcid.readerIndex(), dcid.readableBytes()));
+        } catch (Throwable cause) {
+            out.release();
+            throw cause;
+        }
+        ctx.writeAndFlush(new DatagramPacket(out, sender));
+    }
+
+    /**
+     * Write a stateless reset of the given length into {@code out}.
+     *
+     * See <a href="https://www.rfc-editor.org/rfc/rfc9000#section-10.3">Stateless Reset</a>.
+     */
+    static void writeStatelessReset(ByteBuf out, int length, QuicResetTokenGenerator resetTokenGenerator,
+                                    ByteBuffer dcid) {
+        assert length >= MIN_STATELESS_RESET_LEN;
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int unpredictableBytes = length - Quic.RESET_TOKEN_LEN - 1;
+
+        // Fixed Bit (1) followed by unpredictable bits, so it looks like a short header packet.
+        out.writeByte((random.nextInt() & 0x3f) | 0x40);
+        while (unpredictableBytes >= Long.BYTES) {
+            out.writeLong(random.nextLong());
+            unpredictableBytes -= Long.BYTES;
+        }
+        while (unpredictableBytes > 0) {
+            out.writeByte(random.nextInt());
+            unpredictableBytes--;
+        }
+        int tokenIndex = out.writerIndex();
+        resetTokenGenerator.writeResetToken(dcid, out);
+        if (out.writerIndex() - tokenIndex != Quic.RESET_TOKEN_LEN) {
+            throw new IllegalStateException("Reset token must be of length " + Quic.RESET_TOKEN_LEN);
+        }
+    }
+
+    private void setStatelessResetToken(QuicheConfig config, ByteBuffer connectionId) {
+        ByteBuf tokenBuffer = resetTokenBuffer.clear();
+        resetTokenGenerator.writeResetToken(connectionId.duplicate(), tokenBuffer);
+        if (tokenBuffer.readableBytes() != Quic.RESET_TOKEN_LEN) {
+            throw new IllegalStateException("Reset token must be of length " + Quic.RESET_TOKEN_LEN);
+        }
+        Quiche.quiche_config_set_stateless_reset_token(config.nativeAddress(), tokenBuffer.array());
+    }
+
     private static void writePacket(ChannelHandlerContext ctx, int res, ByteBuf buffer, InetSocketAddress sender)
             throws Exception {
         if (res < 0) {
@@ -164,11 +254,10 @@ final class QuicheQuicServerCodec extends QuicheQuicCodec {
 
             // The remote peer did not send a token.
             if (tokenHandler.writeToken(mintTokenBuffer, dcid, sender)) {
-                ByteBuffer connId = connectionIdAddressGenerator.newId(
+                connectionIdAddressGenerator.writeId(
                         scid.internalNioBuffer(scid.readerIndex(), scid.readableBytes()),
                         dcid.internalNioBuffer(dcid.readerIndex(), dcid.readableBytes()),
-                        localConnIdLength);
-                connIdBuffer.writeBytes(connId);
+                        localConnIdLength, connIdBuffer);
 
                 ByteBuf out = ctx.alloc().directBuffer(Quic.MAX_DATAGRAM_SIZE);
                 int written = Quiche.quiche_retry(
@@ -259,6 +348,12 @@ final class QuicheQuicServerCodec extends QuicheQuicCodec {
 
             ByteBuffer peerAddrMemory = senderSockaddrMemory.internalNioBuffer(0, senderSockaddrMemory.capacity());
             int peerLen = SockaddrIn.setAddress(peerAddrMemory, sender);
+            if (!config.hasStatelessResetToken()) {
+                // quiche takes the reset token of the initial connection id from the config when the connection is
+                // created, so set it to the one of the QuicResetTokenGenerator. Otherwise the peer would not
+                // recognize the stateless resets we send for this id, see unknownConnectionIdRead(...).
+                setStatelessResetToken(config, key);
+            }
             return Quiche.quiche_conn_new_with_tls(scidAddr, scidLen, ocidAddr, ocidLen,
                     Quiche.memoryAddressWithPosition(localAddrMemory), localLen,
                     Quiche.memoryAddressWithPosition(peerAddrMemory), peerLen,
@@ -152,6 +152,14 @@ final class QuicheQuicSslContext extends QuicSslContext {
     private final QuicClientSessionCache sessionCache;
 
     private final BoringSSLSessionTicketCallback sessionTicketCallback = new BoringSSLSessionTicketCallback();
+    private final QuicSslSessionStats sessionStats = new QuicSslSessionStats();
+
+    private final BoringSSLCertificateCallback certificateCallback;
+    private final BoringSSLCertificateVerifyCallback certificateVerifyCallback;
+    // The private key method is bound to the SSL_CTX when it is created, so it can't be added or removed later.
+    private final boolean keyless;
+    // Tickets only contain the id of the session in the store, so ticket keys are never used.
+    private final boolean sessionStoreInUse;
 
     final NativeSslContext nativeSslContext;
 
@@ -160,6 +168,9 @@ final class QuicheQuicSslContext extends QuicSslContext {
                          @Nullable KeyManagerFactory keyManagerFactory, String password,
                          @Nullable Mapping<? super String, ? extends QuicSslContext> mapping,
                          @Nullable Boolean earlyData, @Nullable BoringSSLKeylog keylog,
+                         @Nullable QuicSslSessionStore sessionStore,
+                         @Nullable QuicSslAntiReplayFilter antiReplayFilter,
+                         @Nullable QuicClientSessionStore clientSessionStore,
                          String[] applicationProtocols, Map.Entry<SslContextOption<?>, Object>... ctxOptions) {
         Quic.ensureAvailability();
         this.server = server;
@@ -220,23 +231,27 @@ final class QuicheQuicSslContext extends QuicSslContext {
             }
         }
         final BoringSSLPrivateKeyMethod privateKeyMethod;
-        if (keyManagerFactory instanceof  BoringSSLKeylessManagerFactory) {
+        keyless = keyManagerFactory instanceof BoringSSLKeylessManagerFactory;
+        if (keyless) {
             privateKeyMethod = new BoringSSLAsyncPrivateKeyMethodAdapter(engineMap,
                     ((BoringSSLKeylessManagerFactory) keyManagerFactory).privateKeyMethod);
         } else {
             privateKeyMethod = null;
         }
-        sessionCache = server ? null : new QuicClientSessionCache();
+        sessionCache = server ? null : new QuicClientSessionCache(clientSessionStore);
         int verifyMode = server ? boringSSLVerifyModeForServer(this.clientAuth) : BoringSSL.SSL_VERIFY_PEER;
+        certificateCallback = new BoringSSLCertificateCallback(
+                engineMap, keyManager, password, serverKeyTypes, clientKeyTypes);
+        certificateVerifyCallback = new BoringSSLCertificateVerifyCallback(engineMap, trustManager);
         nativeSslContext = new NativeSslContext(BoringSSL.SSLContext_new(server, applicationProtocols,
-                new BoringSSLHandshakeCompleteCallback(engineMap),
-                new BoringSSLCertificateCallback(engineMap, keyManager, password, serverKeyTypes, clientKeyTypes),
-                new BoringSSLCertificateVerifyCallback(engineMap, trustManager),
+                new BoringSSLHandshakeCompleteCallback(engineMap, sessionStats),
+                certificateCallback,
+                certificateVerifyCallback,
                 mapping == null ? null : new BoringSSLTlsextServernameCallback(engineMap, mapping),
                 keylog == null ? null : new BoringSSLKeylogCallback(engineMap, keylog),
                 server ? null : new BoringSSLSessionCallback(engineMap, sessionCache), privateKeyMethod,
                 sessionTicketCallback, verifyMode,
-                BoringSSL.subjectNames(trustManager.getAcceptedIssuers())));
+                BoringSSL.subjectNames(trustManager.getAcceptedIssuers())), certificateCallback);
         boolean success = false;
         try {
             if (groups.length > 0 && BoringSSL.SSLContext_set1_groups_list(nativeSslContext.ctx, groups) == 0) {
@@ -277,6 +292,15 @@ final class QuicheQuicSslContext extends QuicSslContext {
             if (earlyData != null) {
                 BoringSSL.SSLContext_set_early_data_enabled(nativeSslContext.address(), earlyData);
             }
+            sessionStoreInUse = sessionStore != null;
+            if (sessionStore != null && BoringSSL.SSLContext_setSessionStoreCallback(nativeSslContext.address(),
+                    new BoringSSLSessionStoreCallback(sessionStore, sessionStats)) == 0) {
+                throw new IllegalStateException("failed to set session store");
+            }
+            if (antiReplayFilter != null && BoringSSL.SSLContext_setAntiReplayCallback(nativeSslContext.address(),
+                    new BoringSSLAntiReplayCallback(antiReplayFilter, sessionStats)) == 0) {
+                throw new IllegalStateException("failed to set anti-replay filter");
+            }
             sessionCtx = new QuicheQuicSslSessionContext(this);
             success = true;
         } finally {
@@ -432,6 +456,40 @@ final class QuicheQuicSslContext extends QuicSslContext {
         return sessionCtx;
     }
 
+    @Override
+    public void updateCertificates(@Nullable KeyManagerFactory keyManagerFactory,
+                                   @Nullable TrustManagerFactory trustManagerFactory) {
+        if (keyManagerFactory != null) {
+            if (keyless) {
+                // Otherwise the new certificate would be served while still signing with the old remote key.
+                throw new IllegalArgumentException("The key material of a context that was built with a " +
+                        BoringSSLKeylessManagerFactory.class.getSimpleName() + " can't be updated");
+            }
+            if (keyManagerFactory instanceof BoringSSLKeylessManagerFactory) {
+                throw new IllegalArgumentException(BoringSSLKeylessManagerFactory.class.getSimpleName() +
+                        " can only be used when building the context");
+            }
+        }
+        // Choose both first so we either update everything or nothing.
+        X509ExtendedKeyManager keyManager = keyManagerFactory == null ? null : chooseKeyManager(keyManagerFactory);
+        X509TrustManager trustManager = trustManagerFactory == null ? null : chooseTrustManager(trustManagerFactory);
+
+        // Ensure the native context is not freed while we parse the key material into it.
+        nativeSslContext.retain();
+        try {
+            if (keyManager != null) {
+                certificateCallback.keyManager(nativeSslContext.address(), keyManager);
+            }
+            if (trustManager != null) {
+                // The CA names that are sent to the client when requesting a certificate are not updated, as these
+                // can't be changed safely while handshakes are in progress.
+                certificateVerifyCallback.trustManager(trustManager);
+            }
+        } finally {
+            nativeSslContext.release();
+        }
+    }
+
     @Override
     protected SslHandler newHandler(ByteBufAllocator alloc, boolean startTls) {
         throw new UnsupportedOperationException();
@@ -492,6 +550,9 @@ final class QuicheQuicSslContext extends QuicSslContext {
     }
 
     void setSessionTicketKeys(SslSessionTicketKey @Nullable [] ticketKeys) {
+        if (sessionStoreInUse && ticketKeys != null && ticketKeys.length != 0) {
+            throw new IllegalStateException("Session ticket keys can't be used together with a QuicSslSessionStore");
+        }
         sessionTicketCallback.setSessionTicketKeys(ticketKeys);
         BoringSSL.SSLContext_setSessionTicketKeys(
                 nativeSslContext.address(), ticketKeys != null && ticketKeys.length != 0);
@@ -567,13 +628,20 @@ final class QuicheQuicSslContext extends QuicSslContext {
         public void setTicketKeys(SslSessionTicketKey @Nullable ... keys) {
             context.setSessionTicketKeys(keys);
         }
+
+        @Override
+        public QuicSslSessionStats sessionStats() {
+            return context.sessionStats;
+        }
     }
 
     static final class NativeSslContext extends AbstractReferenceCounted {
         private final long ctx;
+        private final BoringSSLCertificateCallback certificateCallback;
 
-        NativeSslContext(long ctx) {
+        NativeSslContext(long ctx, BoringSSLCertificateCallback certificateCallback) {
             this.ctx = ctx;
+            this.certificateCallback = certificateCallback;
         }
 
         long address() {
@@ -583,6 +651,8 @@ final class QuicheQuicSslContext extends QuicSslContext {
         @Override
         protected void deallocate() {
             BoringSSL.SSLContext_free(ctx);
+            // Connections hold their own references on the key material, so we can release the cached one now.
+            certificateCallback.destroy();
         }
 
         @Override
@@ -74,10 +74,16 @@ final class QuicheQuicSslEngine extends QuicSslEngine {
     }
 
     long moveTo(String hostname, QuicheQuicSslContext ctx) {
-        // First of remove the engine from its previous QuicheQuicSslContext.
-        this.ctx.remove(this);
-        this.ctx = ctx;
-        long added = ctx.add(this);
+        final long added;
+        if (this.ctx == ctx) {
+            // Nothing to move, which is common if the same context is used for many hostnames.
+            added = ctx.nativeSslContext.address();
+        } else {
+            // First of remove the engine from its previous QuicheQuicSslContext.
+            this.ctx.remove(this);
+            this.ctx = ctx;
+            added = ctx.add(this);
+        }
         Consumer<String> sniSelectedCallback = this.sniSelectedCallback;
         if (sniSelectedCallback != null) {
             sniSelectedCallback.accept(hostname);
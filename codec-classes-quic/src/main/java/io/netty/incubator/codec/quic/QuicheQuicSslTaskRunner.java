@@ -0,0 +1,124 @@
+/*
+ * Copyright 2026 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty.incubator.codec.quic;
+
+import io.netty.util.concurrent.EventExecutor;
+import io.netty.util.concurrent.FastThreadLocal;
+import io.netty.util.internal.PlatformDependent;
+import io.netty.util.internal.logging.InternalLogger;
+import io.netty.util.internal.logging.InternalLoggerFactory;
+
+import java.util.Queue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.ObjLongConsumer;
+
+/**
+ * Runs a {@code TLS} task and all the tasks that the connection produces afterwards on the {@code sslTaskExecutor},
+ * and then hands the completion back to the {@link io.netty.channel.EventLoop} of the connection. The completions
+ * are collected per {@link io.netty.channel.EventLoop}, so many completed handshake steps only need a single wakeup.
+ */
+final class QuicheQuicSslTaskRunner implements Runnable {
+    private static final InternalLogger LOGGER = InternalLoggerFactory.getInstance(QuicheQuicSslTaskRunner.class);
+    private static final ObjLongConsumer<Runnable> RUN = (task, queuedSince) -> task.run();
+
+    // Only accessed from the EventLoop that owns the queue.
+    private static final FastThreadLocal<CompletionQueue> COMPLETIONS = new FastThreadLocal<>();
+
+    private final QuicheQuicConnection connection;
+    private final Runnable task;
+    private final CompletionQueue completions;
+    private final Runnable completion;
+
+    /**
+     * Create a new instance. Must be called from the given {@link EventExecutor}.
+     */
+    QuicheQuicSslTaskRunner(QuicheQuicConnection connection, Runnable task, EventExecutor eventLoop,
+                            Runnable completion) {
+        assert eventLoop.inEventLoop();
+        this.connection = connection;
+        this.task = task;
+        this.completion = completion;
+        CompletionQueue completions = COMPLETIONS.getIfExists();
+        if (completions == null || completions.eventLoop != eventLoop) {
+            completions = new CompletionQueue(eventLoop);
+            COMPLETIONS.set(completions);
+        }
+        this.completions = completions;
+    }
+
+    @Override
+    public void run() {
+        run(RUN, 0);
+    }
+
+    /**
+     * Run all the tasks via {@code taskRunner}, which is called with each task and the {@link System#nanoTime()}
+     * since when it was waiting to be run.
+     */
+    void run(ObjLongConsumer<Runnable> taskRunner, long submitted) {
+        try {
+            Runnable t = task;
+            long queuedSince = submitted;
+            do {
+                taskRunner.accept(t, queuedSince);
+                // Tasks produced by the connection itself didn't need to wait in the queue.
+                queuedSince = System.nanoTime();
+            } while ((t = connection.sslTask()) != null);
+        } finally {
+            completions.add(completion);
+        }
+    }
+
+    /**
+     * Collects the completions for an {@link EventExecutor} and runs all of them in one go.
+     */
+    private static final class CompletionQueue implements Runnable {
+        private final EventExecutor eventLoop;
+        private final Queue<Runnable> completions = PlatformDependent.newMpscQueue();
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+
+        CompletionQueue(EventExecutor eventLoop) {
+            this.eventLoop = eventLoop;
+        }
+
+        void add(Runnable completion) {
+            completions.add(completion);
+            if (scheduled.compareAndSet(false, true)) {
+                eventLoop.execute(this);
+            }
+        }
+
+        @Override
+        public void run() {
+            for (;;) {
+                Runnable completion;
+                while ((completion = completions.poll()) != null) {
+                    try {
+                        completion.run();
+                    } catch (Throwable cause) {
+                        LOGGER.warn("Unexpected exception while completing a TLS task", cause);
+                    }
+                }
+                scheduled.set(false);
+                // Check again as a completion might have been added after we drained the queue but before we reset
+                // the flag, in which case no one did schedule us.
+                if (completions.isEmpty() || !scheduled.compareAndSet(false, true)) {
+                    return;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,200 @@
+/*
+ * Copyright 2026 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty.incubator.codec.quic;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.util.concurrent.EventExecutor;
+import io.netty.util.concurrent.ScheduledFuture;
+import io.netty.util.internal.MathUtil;
+import io.netty.util.internal.logging.InternalLogger;
+import io.netty.util.internal.logging.InternalLoggerFactory;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.TimeUnit;
+
+import static io.netty.incubator.codec.quic.Quiche.allocateNativeOrder;
+
+/**
+ * Periodically samples the statistics of all the connections of a codec into a single block of native memory that
+ * is reused for every round, so no objects are allocated per connection. The samples are exposed to the
+ * {@link QuicConnectionSampleListener} via a flyweight.
+ */
+final class QuicheQuicStatsSampler implements Iterable<QuicConnectionSample> {
+    private static final InternalLogger LOGGER = InternalLoggerFactory.getInstance(QuicheQuicStatsSampler.class);
+
+    // The layout that is written by Quiche.quiche_conn_stats_sample(...).
+    static final int SAMPLE_SIZE = 6 * Long.BYTES;
+    private static final int RECV_OFFSET = 0;
+    private static final int SENT_OFFSET = 8;
+    private static final int LOST_OFFSET = 16;
+    private static final int RTT_OFFSET = 24;
+    private static final int CWND_OFFSET = 32;
+    private static final int DELIVERY_RATE_OFFSET = 40;
+
+    private static final int MIN_CAPACITY = 16;
+    private static final QuicheQuicChannel[] EMPTY = new QuicheQuicChannel[0];
+
+    private final long intervalNanos;
+    private final QuicConnectionSampleListener listener;
+    private final SampleIterator iterator = new SampleIterator();
+
+    private QuicheQuicChannel[] channels = EMPTY;
+    private int count;
+    @Nullable
+    private ByteBuf memory;
+    @Nullable
+    private ScheduledFuture<?> future;
+
+    QuicheQuicStatsSampler(long interval, TimeUnit unit, QuicConnectionSampleListener listener) {
+        this.intervalNanos = unit.toNanos(interval);
+        this.listener = listener;
+    }
+
+    /**
+     * Start sampling the given channels, which must only be modified from the given {@link EventExecutor}.
+     */
+    void start(EventExecutor executor, Collection<QuicheQuicChannel> channels) {
+        assert future == null;
+        future = executor.scheduleAtFixedRate(
+                () -> sample(channels), intervalNanos, intervalNanos, TimeUnit.NANOSECONDS);
+    }
+
+    void stop() {
+        if (future != null) {
+            future.cancel(false);
+            future = null;
+        }
+        if (memory != null) {
+            memory.release();
+            memory = null;
+        }
+        channels = EMPTY;
+    }
+
+    private void sample(Collection<QuicheQuicChannel> toSample) {
+        if (toSample.isEmpty()) {
+            return;
+        }
+        ensureCapacity(toSample.size());
+        ByteBuf memory = this.memory;
+        long address = Quiche.memoryAddress(memory, 0, memory.capacity());
+        for (QuicheQuicChannel channel : toSample) {
+            if (channel.sampleStats(address + (long) count * SAMPLE_SIZE)) {
+                channels[count++] = channel;
+            }
+        }
+        try {
+            listener.samplesCollected(this);
+        } catch (Throwable cause) {
+            LOGGER.warn("Exception thrown by {}.samplesCollected(...)", listener.getClass().getName(), cause);
+        } finally {
+            Arrays.fill(channels, 0, count, null);
+            count = 0;
+        }
+    }
+
+    private void ensureCapacity(int size) {
+        if (channels.length >= size) {
+            return;
+        }
+        int capacity = MathUtil.findNextPositivePowerOfTwo(Math.max(MIN_CAPACITY, size));
+        if (memory != null) {
+            memory.release();
+        }
+        memory = allocateNativeOrder(capacity * SAMPLE_SIZE);
+        channels = new QuicheQuicChannel[capacity];
+    }
+
+    @Override
+    public Iterator<QuicConnectionSample> iterator() {
+        iterator.index = -1;
+        return iterator;
+    }
+
+    private final class SampleIterator implements Iterator<QuicConnectionSample>, QuicConnectionSample {
+        int index;
+
+        @Override
+        public boolean hasNext() {
+            return index + 1 < count;
+        }
+
+        @Override
+        public QuicConnectionSample next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            index++;
+            return this;
+        }
+
+        @Override
+        public QuicChannel channel() {
+            return channels[index];
+        }
+
+        @Override
+        public long recv() {
+            return get(RECV_OFFSET);
+        }
+
+        @Override
+        public long sent() {
+            return get(SENT_OFFSET);
+        }
+
+        @Override
+        public long lost() {
+            return get(LOST_OFFSET);
+        }
+
+        @Override
+        public long rtt() {
+            return get(RTT_OFFSET);
+        }
+
+        @Override
+        public long cwnd() {
+            return get(CWND_OFFSET);
+        }
+
+        @Override
+        public long deliveryRate() {
+            return get(DELIVERY_RATE_OFFSET);
+        }
+
+        private long get(int offset) {
+            return memory.getLong(index * SAMPLE_SIZE + offset);
+        }
+
+        @Override
+        public String toString() {
+            return "QuicConnectionSample{" +
+                    "channel=" + channel() +
+                    ", recv=" + recv() +
+                    ", sent=" + sent() +
+                    ", lost=" + lost() +
+                    ", rtt=" + rtt() +
+                    ", cwnd=" + cwnd() +
+                    ", deliveryRate=" + deliveryRate() +
+                    '}';
+        }
+    }
+}
@@ -76,6 +76,10 @@ final class QuicheQuicStreamChannel extends DefaultAttributeMap implements QuicS
     private volatile boolean outputShutdown;
     private volatile QuicStreamPriority priority;
     private volatile long capacity;
+    // The number of bytes that may still be written before other streams get their turn.
+    private long writeBudget = Long.MAX_VALUE;
+    // The bytes of the queue that were reported to the parent.
+    private long accountedQueuedBytes;
 
     QuicheQuicStreamChannel(QuicheQuicChannel parent, long streamId) {
         this.parent = parent;
@@ -409,10 +413,17 @@ final class QuicheQuicStreamChannel extends DefaultAttributeMap implements QuicS
         return "[id: 0x" + id.asShortText() + ", " + address + "]";
     }
 
+    /**
+     * Returns {@code true} if there are writes queued that wait for capacity.
+     */
+    boolean hasQueuedWrites() {
+        return !queue.isEmpty();
+    }
+
     /**
      * Stream writability changed.
      */
-    boolean writable(long capacity) {
+    boolean writable(long capacity, int quantum) {
         assert eventLoop().inEventLoop();
         if (capacity < 0) {
             // If the value is negative its a quiche error.
@@ -420,10 +431,12 @@ final class QuicheQuicStreamChannel extends DefaultAttributeMap implements QuicS
                 if (!queue.isEmpty()) {
                     if (capacity == Quiche.QUICHE_ERR_STREAM_STOPPED) {
                         queue.removeAndFailAll(new ChannelOutputShutdownException("STOP_SENDING frame received"));
+                        queuedBytesChanged();
                         // If STOP_SENDING is received we should not close the channel but just fail all queued writes.
                         return false;
                     } else {
                         queue.removeAndFailAll(Quiche.convertToException((int) capacity));
+                        queuedBytesChanged();
                     }
                 } else if (capacity == Quiche.QUICHE_ERR_STREAM_STOPPED) {
                     // If STOP_SENDING is received we should not close the channel
@@ -436,13 +449,44 @@ final class QuicheQuicStreamChannel extends DefaultAttributeMap implements QuicS
             return false;
         }
         this.capacity = capacity;
-        boolean mayNeedWrite = unsafe().writeQueued();
+        if (quantum > 0) {
+            writeBudget = quantum;
+        }
+        boolean mayNeedWrite;
+        try {
+            mayNeedWrite = unsafe().writeQueued();
+            // Also take partially written messages into account.
+            mayNeedWrite |= writeBudget < quantum;
+        } finally {
+            writeBudget = Long.MAX_VALUE;
+        }
         // we need to re-read this.capacity as writeQueued() may update the capacity.
         updateWritabilityIfNeeded(this.capacity > 0);
         return mayNeedWrite;
     }
 
+    /**
+     * Called by the parent once it is (no longer) over the limit of its {@link QuicMemoryGovernor}.
+     */
+    void memoryPressureChanged() {
+        updateWritabilityIfNeeded(capacity > 0);
+    }
+
+    /**
+     * Let the parent know how many bytes are queued now.
+     */
+    private void queuedBytesChanged() {
+        long bytes = queue.bytes();
+        long delta = bytes - accountedQueuedBytes;
+        if (delta != 0) {
+            accountedQueuedBytes = bytes;
+            parent.queuedBytesChanged(delta);
+        }
+    }
+
     private void updateWritabilityIfNeeded(boolean newWritable) {
+        // Never signal writability while the memory limits are exceeded, so the handlers stop writing.
+        newWritable &= !parent.isMemoryPressure();
         if (writable != newWritable) {
             writable = newWritable;
             pipeline.fireChannelWritabilityChanged();
@@ -558,6 +602,7 @@ final class QuicheQuicStreamChannel extends DefaultAttributeMap implements QuicS
                         writeFailCause = new ClosedChannelException();
                     }
                     queue.removeAndFailAll(writeFailCause);
+                    queuedBytesChanged();
                 }
 
                 promise.trySuccess();
@@ -714,6 +759,7 @@ final class QuicheQuicStreamChannel extends DefaultAttributeMap implements QuicS
                 }
                 return written;
             } finally {
+                queuedBytesChanged();
                 closeIfNeeded(wasFinSent);
                 inWriteQueued = false;
             }
@@ -824,6 +870,7 @@ final class QuicheQuicStreamChannel extends DefaultAttributeMap implements QuicS
                 if (mayNeedWritabilityUpdate) {
                     updateWritabilityIfNeeded(false);
                 }
+                queuedBytesChanged();
                 closeIfNeeded(wasFinSent);
             }
         }
@@ -853,10 +900,20 @@ final class QuicheQuicStreamChannel extends DefaultAttributeMap implements QuicS
                 return 1;
             }
 
+            if (readable && writeBudget <= 0) {
+                return 0;
+            }
             boolean sendSomething = false;
             try {
                 do {
-                    int res = parent().streamSend(streamId(), buffer, fin);
+                    int res;
+                    if (buffer.readableBytes() > writeBudget) {
+                        // Only send what the budget allows, the rest is written once it is our turn again.
+                        res = parent().streamSend(streamId(), buffer.slice(buffer.readerIndex(), (int) writeBudget),
+                                false);
+                    } else {
+                        res = parent().streamSend(streamId(), buffer, fin);
+                    }
 
                     // Update the capacity as well.
                     long cap = parent.streamCapacity(streamId());
@@ -871,6 +928,12 @@ final class QuicheQuicStreamChannel extends DefaultAttributeMap implements QuicS
                     }
                     sendSomething = true;
                     buffer.skipBytes(res);
+                    if (writeBudget != Long.MAX_VALUE) {
+                        writeBudget -= res;
+                        if (writeBudget <= 0 && buffer.isReadable()) {
+                            return 0;
+                        }
+                    }
                 } while (buffer.isReadable());
 
                 if (fin) {
@@ -0,0 +1,156 @@
+/*
+ * Copyright 2026 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty.incubator.codec.quic;
+
+import io.netty.util.collection.LongObjectHashMap;
+import io.netty.util.collection.LongObjectMap;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Arrays;
+import java.util.Comparator;
+
+/**
+ * Decides in which order the writable streams of a {@link QuicheQuicChannel} may write their queued data, following
+ * <a href="https://www.rfc-editor.org/rfc/rfc9218.html">RFC9218: Extensible Prioritization Scheme for HTTP</a>.
+ * As every stream that writes takes from the same connection level flow control window, the order decides which
+ * stream gets to send when the window is small.
+ * <p>
+ * Streams with a lower urgency go first. Within the same urgency non-incremental streams are served one after the
+ * other in the order of their ids, while incremental streams take turns, starting with the one after the stream that
+ * went first in the previous round. A stream that did not get any capacity for {@code starvationThreshold} rounds in
+ * a row while having data queued goes first in the next round, no matter its priority.
+ * <p>
+ * This is only accessed from the {@link io.netty.channel.EventLoop}.
+ */
+final class QuicheQuicStreamScheduler {
+    // See https://www.rfc-editor.org/rfc/rfc9218.html#section-4
+    static final int DEFAULT_URGENCY = 3;
+
+    private static final Comparator<Entry> ORDER = (e1, e2) -> {
+        if (e1.starved != e2.starved) {
+            return e1.starved ? -1 : 1;
+        }
+        if (e1.starved) {
+            // The longest starved stream goes first.
+            return Integer.compare(e2.deferred, e1.deferred);
+        }
+        if (e1.urgency != e2.urgency) {
+            return Integer.compare(e1.urgency, e2.urgency);
+        }
+        if (e1.incremental != e2.incremental) {
+            return e1.incremental ? 1 : -1;
+        }
+        if (e1.wrapped != e2.wrapped) {
+            return e1.wrapped ? 1 : -1;
+        }
+        return Long.compare(e1.streamId, e2.streamId);
+    };
+
+    private final LongObjectMap<Entry> entries = new LongObjectHashMap<>();
+    private Entry[] scheduled = new Entry[8];
+    private int size;
+    private long @Nullable [] cursors;
+
+    /**
+     * Add the stream to the current round.
+     */
+    void add(long streamId, @Nullable QuicStreamPriority priority) {
+        Entry entry = entries.get(streamId);
+        if (entry == null) {
+            entry = new Entry(streamId);
+            entries.put(streamId, entry);
+        }
+        entry.urgency = priority == null ? DEFAULT_URGENCY : priority.urgency();
+        entry.incremental = priority != null && priority.isIncremental();
+        if (size == scheduled.length) {
+            scheduled = Arrays.copyOf(scheduled, size << 1);
+        }
+        scheduled[size++] = entry;
+    }
+
+    /**
+     * Order the streams that were added to the current round.
+     *
+     * @return the number of streams, see {@link #streamId(int)}.
+     */
+    int schedule(int starvationThreshold) {
+        if (cursors == null) {
+            cursors = new long[Byte.MAX_VALUE + 1];
+            Arrays.fill(cursors, -1);
+        }
+        for (int i = 0; i < size; i++) {
+            Entry entry = scheduled[i];
+            entry.starved = entry.deferred >= starvationThreshold;
+            entry.wrapped = entry.incremental && entry.streamId <= cursors[entry.urgency];
+        }
+        if (size > 1) {
+            Arrays.sort(scheduled, 0, size, ORDER);
+        }
+        int urgency = -1;
+        for (int i = 0; i < size; i++) {
+            Entry entry = scheduled[i];
+            if (entry.incremental && !entry.starved && entry.urgency != urgency) {
+                // Remember who went first so the next one goes first in the next round.
+                urgency = entry.urgency;
+                cursors[urgency] = entry.streamId;
+            }
+        }
+        return size;
+    }
+
+    /**
+     * Returns the id of the stream that should be served at the given position of the current round.
+     */
+    long streamId(int idx) {
+        return scheduled[idx].streamId;
+    }
+
+    /**
+     * Record if the stream at the given position of the current round had data queued but no capacity to write it.
+     */
+    void served(int idx, boolean deferred) {
+        Entry entry = scheduled[idx];
+        entry.deferred = deferred ? entry.deferred + 1 : 0;
+    }
+
+    /**
+     * Finish the current round.
+     */
+    void clear() {
+        Arrays.fill(scheduled, 0, size, null);
+        size = 0;
+    }
+
+    /**
+     * Forget about the stream as it was closed.
+     */
+    void remove(long streamId) {
+        entries.remove(streamId);
+    }
+
+    private static final class Entry {
+        final long streamId;
+        int urgency;
+        boolean incremental;
+        int deferred;
+        boolean starved;
+        boolean wrapped;
+
+        Entry(long streamId) {
+            this.streamId = streamId;
+        }
+    }
+}
@@ -0,0 +1,148 @@
+/*
+ * Copyright 2026 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty.incubator.codec.quic;
+
+import io.netty.util.concurrent.Future;
+import io.netty.util.concurrent.ImmediateEventExecutor;
+import io.netty.util.internal.MathUtil;
+import io.netty.util.internal.ObjectUtil;
+import org.jetbrains.annotations.Nullable;
+
+import java.nio.ByteBuffer;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * In-memory {@link QuicSslSessionStore} that is split into multiple shards, each with its own lock, so handshakes on
+ * different {@link io.netty.channel.EventLoop}s rarely contend. Each shard evicts the least recently used sessions
+ * once it is full, and sessions are removed once their timeout expired.
+ */
+public final class ShardedQuicSslSessionStore implements QuicSslSessionStore {
+
+    private final Shard[] shards;
+    private final long timeoutNanos;
+
+    /**
+     * Create a new instance.
+     *
+     * @param shards            the number of shards, which is rounded up to the next power of two.
+     * @param maxSessions       the maximum number of sessions to store.
+     * @param sessionTimeout    the time after which a session is removed.
+     * @param unit              the {@link TimeUnit} of the timeout.
+     */
+    public ShardedQuicSslSessionStore(int shards, int maxSessions, long sessionTimeout, TimeUnit unit) {
+        int numShards = MathUtil.findNextPositivePowerOfTwo(ObjectUtil.checkPositive(shards, "shards"));
+        ObjectUtil.checkPositive(maxSessions, "maxSessions");
+        timeoutNanos = ObjectUtil.checkNotNull(unit, "unit").toNanos(
+                ObjectUtil.checkPositive(sessionTimeout, "sessionTimeout"));
+        int maxSessionsPerShard = Math.max(1, maxSessions / numShards);
+        this.shards = new Shard[numShards];
+        for (int i = 0; i < numShards; i++) {
+            this.shards[i] = new Shard(maxSessionsPerShard);
+        }
+    }
+
+    @Override
+    public void put(byte[] id, byte[] session) {
+        ObjectUtil.checkNotNull(session, "session");
+        ByteBuffer key = key(id);
+        Shard shard = shard(key);
+        StoredSession entry = new StoredSession(session, System.nanoTime() + timeoutNanos);
+        synchronized (shard) {
+            shard.put(key, entry);
+        }
+    }
+
+    @Override
+    public Future<byte[]> get(byte[] id) {
+        return ImmediateEventExecutor.INSTANCE.newSucceededFuture(get0(id));
+    }
+
+    private byte @Nullable [] get0(byte[] id) {
+        ByteBuffer key = key(id);
+        Shard shard = shard(key);
+        synchronized (shard) {
+            StoredSession entry = shard.get(key);
+            if (entry == null) {
+                return null;
+            }
+            if (entry.expiresAt - System.nanoTime() <= 0) {
+                shard.remove(key);
+                return null;
+            }
+            return entry.session;
+        }
+    }
+
+    @Override
+    public void remove(byte[] id) {
+        ByteBuffer key = key(id);
+        Shard shard = shard(key);
+        synchronized (shard) {
+            shard.remove(key);
+        }
+    }
+
+    /**
+     * Returns the number of stored sessions, including the ones that expired but were not removed yet.
+     *
+     * @return the number of sessions.
+     */
+    public int size() {
+        int size = 0;
+        for (Shard shard: shards) {
+            synchronized (shard) {
+                size += shard.size();
+            }
+        }
+        return size;
+    }
+
+    private static ByteBuffer key(byte[] id) {
+        return ByteBuffer.wrap(ObjectUtil.checkNotNull(id, "id"));
+    }
+
+    private Shard shard(ByteBuffer key) {
+        return shards[key.hashCode() & (shards.length - 1)];
+    }
+
+    private static final class StoredSession {
+        final byte[] session;
+        final long expiresAt;
+
+        StoredSession(byte[] session, long expiresAt) {
+            this.session = session;
+            this.expiresAt = expiresAt;
+        }
+    }
+
+    private static final class Shard extends LinkedHashMap<ByteBuffer, StoredSession> {
+        private static final long serialVersionUID = 1L;
+
+        private final int maxSessions;
+
+        Shard(int maxSessions) {
+            super(16, 0.75f, true);
+            this.maxSessions = maxSessions;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<ByteBuffer, StoredSession> eldest) {
+            return size() > maxSessions || eldest.getValue().expiresAt - System.nanoTime() <= 0;
+        }
+    }
+}
@@ -67,15 +67,24 @@ final class SipHash {
     }
 
     long macHash(ByteBuffer input) {
+        return macHash(input, 0);
+    }
+
+    /**
+     * Calculate the hash of the given input, while mixing the given tweak into the initial state. Using different
+     * tweaks for the same input and seed produces independent outputs, which allows to expand the output to more
+     * than 64 bits without the need to copy the input.
+     */
+    long macHash(ByteBuffer input, long tweak) {
         v0 = initialStateV0;
-        v1 = initialStateV1;
+        v1 = initialStateV1 ^ tweak;
         v2 = initialStateV2;
         v3 = initialStateV3;
         int remaining = input.remaining();
         int position = input.position();
         int len = remaining - (remaining % Long.BYTES);
         boolean needsReverse = input.order() == ByteOrder.BIG_ENDIAN;
-        for (int offset = position; offset < len; offset +=  Long.BYTES) {
+        for (int offset = position; offset < position + len; offset +=  Long.BYTES) {
             long m = input.getLong(offset);
             if (needsReverse) {
                 // We use little-endian as in the paper.
@@ -94,19 +103,19 @@ final class SipHash {
         assert left < Long.BYTES;
         switch (left) {
             case 7:
-                b |= ((long) input.get(position + len + 6) << 48);
+                b |= (input.get(position + len + 6) & 0xffL) << 48;
             case 6:
-                b |= ((long) input.get(position + len + 5) << 40);
+                b |= (input.get(position + len + 5) & 0xffL) << 40;
             case 5:
-                b |= ((long) input.get(position + len + 4) << 32);
+                b |= (input.get(position + len + 4) & 0xffL) << 32;
             case 4:
-                b |= ((long) input.get(position + len + 3) << 24);
+                b |= (input.get(position + len + 3) & 0xffL) << 24;
             case 3:
-                b |= ((long) input.get(position + len + 2) << 16);
+                b |= (input.get(position + len + 2) & 0xffL) << 16;
             case 2:
-                b |= ((long) input.get(position + len + 1) << 8);
+                b |= (input.get(position + len + 1) & 0xffL) << 8;
             case 1:
-                b |= input.get(position + len);
+                b |= input.get(position + len) & 0xffL;
                 break;
             case 0:
                 break;
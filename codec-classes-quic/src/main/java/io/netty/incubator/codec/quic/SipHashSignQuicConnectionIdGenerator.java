@@ -17,31 +17,46 @@ package io.netty.incubator.codec.quic;
 
 import java.nio.ByteBuffer;
 
+import io.netty.buffer.ByteBuf;
 import io.netty.util.internal.ObjectUtil;
 
 /**
  * A {@link QuicConnectionIdGenerator} which creates new connection id by signing the given input
- * using hmac algorithms.
+ * using a keyed hash, see {@link SipHashSigner}.
  */
-final class HmacSignQuicConnectionIdGenerator implements QuicConnectionIdGenerator {
-    static final QuicConnectionIdGenerator INSTANCE = new HmacSignQuicConnectionIdGenerator();
+final class SipHashSignQuicConnectionIdGenerator implements QuicConnectionIdGenerator {
+    static final QuicConnectionIdGenerator INSTANCE = new SipHashSignQuicConnectionIdGenerator();
 
-    private HmacSignQuicConnectionIdGenerator() {
+    private SipHashSignQuicConnectionIdGenerator() {
     }
 
     @Override
     public ByteBuffer newId(int length) {
         throw new UnsupportedOperationException(
-                "HmacSignQuicConnectionIdGenerator should always have an input to sign with");
+                "SipHashSignQuicConnectionIdGenerator should always have an input to sign with");
     }
 
     @Override
     public ByteBuffer newId(ByteBuffer buffer, int length) {
+        checkInput(buffer, length);
+        return SipHashSigner.DEFAULT.sign(buffer, length);
+    }
+
+    @Override
+    public void writeId(ByteBuffer buffer, int length, ByteBuf out) {
+        checkInput(buffer, length);
+        SipHashSigner.DEFAULT.sign(buffer, out, length);
+    }
+
+    @Override
+    public void writeId(ByteBuffer scid, ByteBuffer dcid, int length, ByteBuf out) {
+        writeId(dcid, length, out);
+    }
+
+    private void checkInput(ByteBuffer buffer, int length) {
         ObjectUtil.checkNotNull(buffer, "buffer");
         ObjectUtil.checkPositive(buffer.remaining(), "buffer");
         ObjectUtil.checkInRange(length, 0, maxConnectionIdLength(), "length");
-
-        return Hmac.sign(buffer, length);
     }
 
     @Override
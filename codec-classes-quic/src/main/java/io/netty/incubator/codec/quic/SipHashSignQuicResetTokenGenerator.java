@@ -15,25 +15,36 @@
  */
 package io.netty.incubator.codec.quic;
 
+import io.netty.buffer.ByteBuf;
 import io.netty.util.internal.ObjectUtil;
 
 import java.nio.ByteBuffer;
 
 /**
  * A {@link QuicResetTokenGenerator} which creates new reset token by using the connection id by signing the given input
- * using <a href="https://www.ietf.org/archive/id/draft-ietf-quic-transport-29.html#section-10.4.2">HMAC algorithms</a>.
+ * using a keyed hash as described in
+ * <a href="https://www.rfc-editor.org/rfc/rfc9000#section-10.3.2">Calculating a Stateless Reset Token</a>.
  */
-final class HmacSignQuicResetTokenGenerator implements QuicResetTokenGenerator {
-    static final QuicResetTokenGenerator INSTANCE = new HmacSignQuicResetTokenGenerator();
+final class SipHashSignQuicResetTokenGenerator implements QuicResetTokenGenerator {
+    static final QuicResetTokenGenerator INSTANCE = new SipHashSignQuicResetTokenGenerator(SipHashSigner.DEFAULT);
 
-    private HmacSignQuicResetTokenGenerator() {
-    }
+    private final SipHashSigner signer;
 
+    SipHashSignQuicResetTokenGenerator(SipHashSigner signer) {
+        this.signer = signer;
+    }
 
     @Override
     public ByteBuffer newResetToken(ByteBuffer cid) {
         ObjectUtil.checkNotNull(cid, "cid");
         ObjectUtil.checkPositive(cid.remaining(), "cid");
-        return Hmac.sign(cid, Quic.RESET_TOKEN_LEN);
+        return signer.sign(cid, Quic.RESET_TOKEN_LEN);
+    }
+
+    @Override
+    public void writeResetToken(ByteBuffer cid, ByteBuf out) {
+        ObjectUtil.checkNotNull(cid, "cid");
+        ObjectUtil.checkPositive(cid.remaining(), "cid");
+        signer.sign(cid, out, Quic.RESET_TOKEN_LEN);
     }
 }
@@ -0,0 +1,102 @@
+/*
+ * Copyright 2026 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty.incubator.codec.quic;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.util.concurrent.FastThreadLocal;
+import io.netty.util.internal.ObjectUtil;
+
+import java.nio.ByteBuffer;
+import java.security.SecureRandom;
+
+/**
+ * Signs the given input with a secret key. SipHash-2-4 only produces 64 bits, so longer outputs are expanded in
+ * counter mode: the {@code n}-th block of 64 bits is the SipHash-2-4 of the input with {@code n} XOR-ed into the
+ * {@code v1} state word, see {@link SipHash#macHash(ByteBuffer, long)}. The first block uses {@code 0} and so is
+ * plain SipHash-2-4. This is the same kind of domain separation SipHash-128 uses, which XORs {@code 0xee} into
+ * {@code v1}, and lets us produce outputs of any length without allocations or copying the input.
+ * <p>
+ * All blocks share the same 128 bit key, so outputs longer than 128 bits are not any harder to forge than the key is
+ * to recover.
+ */
+final class SipHashSigner {
+
+    /**
+     * Signer that uses a random key which is generated once per JVM.
+     */
+    static final SipHashSigner DEFAULT = new SipHashSigner(randomKey());
+
+    // SipHash is stateful and so not thread-safe.
+    private final FastThreadLocal<SipHash> hashes;
+
+    /**
+     * Create a new instance that signs with the given key, which must be {@link SipHash#SEED_LENGTH} bytes.
+     */
+    SipHashSigner(byte[] key) {
+        ObjectUtil.checkNotNull(key, "key");
+        if (key.length != SipHash.SEED_LENGTH) {
+            throw new IllegalArgumentException("key must be " + SipHash.SEED_LENGTH + " bytes but was " + key.length);
+        }
+        final byte[] seed = key.clone();
+        hashes = new FastThreadLocal<SipHash>() {
+            @Override
+            protected SipHash initialValue() {
+                return new SipHash(2, 4, seed);
+            }
+        };
+    }
+
+    private static byte[] randomKey() {
+        byte[] key = new byte[SipHash.SEED_LENGTH];
+        new SecureRandom().nextBytes(key);
+        return key;
+    }
+
+    /**
+     * Sign the readable bytes of {@code input} and write {@code outLength} bytes of the signature into {@code out}.
+     * The position of {@code input} is not changed.
+     */
+    void sign(ByteBuffer input, ByteBuf out, int outLength) {
+        SipHash hash = hashes.get();
+        int tweak = 0;
+        while (outLength >= Long.BYTES) {
+            out.writeLongLE(hash.macHash(input, tweak++));
+            outLength -= Long.BYTES;
+        }
+        if (outLength > 0) {
+            long value = hash.macHash(input, tweak);
+            for (int i = 0; i < outLength; i++) {
+                out.writeByte((int) (value >>> (i * Byte.SIZE)));
+            }
+        }
+    }
+
+    /**
+     * Sign the readable bytes of {@code input} and return {@code outLength} bytes of the signature.
+     */
+    ByteBuffer sign(ByteBuffer input, int outLength) {
+        SipHash hash = hashes.get();
+        byte[] signBytes = new byte[outLength];
+        int tweak = 0;
+        for (int i = 0; i < outLength; i += Long.BYTES) {
+            long value = hash.macHash(input, tweak++);
+            for (int j = i; j < Math.min(outLength, i + Long.BYTES); j++) {
+                signBytes[j] = (byte) (value >>> ((j - i) * Byte.SIZE));
+            }
+        }
+        return ByteBuffer.wrap(signBytes);
+    }
+}
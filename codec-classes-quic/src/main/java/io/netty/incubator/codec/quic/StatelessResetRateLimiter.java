@@ -0,0 +1,69 @@
+/*
+ * Copyright 2026 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty.incubator.codec.quic;
+
+import io.netty.util.internal.ObjectUtil;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Simple token bucket that limits how many stateless resets are sent per second. Stateless resets are sent in
+ * response to packets that we can not map to a connection and so can be triggered by anyone, which makes it
+ * important to bound them independently of the rest of the traffic.
+ *
+ * This class is not thread-safe and is expected to be only used from the {@link io.netty.channel.EventLoop} of
+ * the codec.
+ */
+final class StatelessResetRateLimiter {
+    private static final long ONE_SECOND_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final int permitsPerSecond;
+    private final long nanosPerPermit;
+    private long permits;
+    private long lastRefillNanos;
+
+    StatelessResetRateLimiter(int permitsPerSecond) {
+        this(permitsPerSecond, System.nanoTime());
+    }
+
+    StatelessResetRateLimiter(int permitsPerSecond, long nowNanos) {
+        this.permitsPerSecond = ObjectUtil.checkPositive(permitsPerSecond, "permitsPerSecond");
+        this.nanosPerPermit = Math.max(1, ONE_SECOND_NANOS / permitsPerSecond);
+        this.permits = permitsPerSecond;
+        this.lastRefillNanos = nowNanos;
+    }
+
+    /**
+     * Try to acquire a permit for sending a stateless reset.
+     *
+     * @param nowNanos  the current time as returned by {@link System#nanoTime()}.
+     * @return          {@code true} if a stateless reset might be sent, {@code false} otherwise.
+     */
+    boolean tryAcquire(long nowNanos) {
+        long elapsed = nowNanos - lastRefillNanos;
+        if (elapsed >= nanosPerPermit) {
+            long refill = elapsed / nanosPerPermit;
+            permits = Math.min(permitsPerSecond, permits + refill);
+            // Only move forward by the time we actually accounted for so we not lose fractions of a permit.
+            lastRefillNanos += refill * nanosPerPermit;
+        }
+        if (permits > 0) {
+            permits--;
+            return true;
+        }
+        return false;
+    }
+}
@@ -82,6 +82,16 @@ static jmethodID sessionCallbackMethod = NULL;
 static jweak sessionTicketCallbackClassWeak = NULL;
 static jmethodID sessionTicketCallbackMethod = NULL;
 
+static jweak sessionStoreCallbackClassWeak = NULL;
+static jmethodID sessionStoreCallbackSealMethod = NULL;
+static jmethodID sessionStoreCallbackOpenMethod = NULL;
+
+static jweak sessionStoreOpenTaskClassWeak = NULL;
+static jfieldID sessionStoreOpenTaskSessionField = NULL;
+
+static jweak antiReplayCallbackClassWeak = NULL;
+static jmethodID antiReplayCallbackMethod = NULL;
+
 static jclass byteArrayClass = NULL;
 static jclass stringClass = NULL;
 
@@ -94,6 +104,8 @@ static int sessionCallbackIdx = -1;
 static int sslPrivateKeyMethodIdx = -1;
 static int sslTaskIdx = -1;
 static int sessionTicketCallbackIdx = -1;
+static int sessionStoreCallbackIdx = -1;
+static int antiReplayCallbackIdx = -1;
 static int alpn_data_idx = -1;
 static int crypto_buffer_pool_idx = -1;
 
@@ -1196,6 +1208,16 @@ static void netty_boringssl_SSLContext_free(JNIEnv* env, jclass clazz, jlong ctx
         (*env)->DeleteGlobalRef(env, sessionTicketCallbackRef);
     }
 
+    jobject sessionStoreCallbackRef = SSL_CTX_get_ex_data(ssl_ctx, sessionStoreCallbackIdx);
+    if (sessionStoreCallbackRef != NULL) {
+        (*env)->DeleteGlobalRef(env, sessionStoreCallbackRef);
+    }
+
+    jobject antiReplayCallbackRef = SSL_CTX_get_ex_data(ssl_ctx, antiReplayCallbackIdx);
+    if (antiReplayCallbackRef != NULL) {
+        (*env)->DeleteGlobalRef(env, antiReplayCallbackRef);
+    }
+
     CRYPTO_BUFFER_POOL* pool = SSL_CTX_get_ex_data(ssl_ctx, crypto_buffer_pool_idx);
     SSL_CTX_free(ssl_ctx);
 
@@ -1226,6 +1248,22 @@ static void netty_boringssl_SSLContext_set_early_data_enabled(JNIEnv* env, jclas
     SSL_CTX_set_early_data_enabled((SSL_CTX*) ctx, enabled == JNI_TRUE ? 1 : 0);
 }
 
+// Returns 1 if early data was accepted, -1 if the peer offered early data but it was rejected and 0 otherwise.
+static jint netty_boringssl_SSL_early_data_status(JNIEnv* env, jclass clazz, jlong ssl) {
+    switch (SSL_get_early_data_reason((SSL *) ssl)) {
+        case ssl_early_data_accepted:
+            return 1;
+        case ssl_early_data_unknown:
+        case ssl_early_data_disabled:
+        case ssl_early_data_protocol_version:
+        case ssl_early_data_peer_declined:
+        case ssl_early_data_no_session_offered:
+            return 0;
+        default:
+            return -1;
+    }
+}
+
 jlong netty_boringssl_SSL_new0(JNIEnv* env, jclass clazz, jlong ctx, jboolean server, jstring hostname) {
     SSL* ssl = SSL_new((SSL_CTX*) ctx);
 
@@ -1312,24 +1350,53 @@ void netty_boringssl_EVP_PKEY_free(JNIEnv* env, jclass clazz, jlong privateKey)
     EVP_PKEY_free((EVP_PKEY*) privateKey); // Safe to call with NULL as well.
 }
 
-jlong netty_boringssl_CRYPTO_BUFFER_stack_new(JNIEnv* env, jclass clazz, jlong ssl, jobjectArray x509Chain){
+jlong netty_boringssl_CRYPTO_BUFFER_stack_new_ctx(JNIEnv* env, jclass clazz, jlong ctx, jobjectArray x509Chain){
     CRYPTO_BUFFER_POOL* pool = NULL;
-    SSL_CTX* ctx = SSL_get_SSL_CTX((SSL*) ssl);
-    if (ctx != NULL) {
-        pool = SSL_CTX_get_ex_data(ctx, crypto_buffer_pool_idx);
+    if (ctx != 0) {
+        pool = SSL_CTX_get_ex_data((SSL_CTX*) ctx, crypto_buffer_pool_idx);
     }
     STACK_OF(CRYPTO_BUFFER) *chain = arrayToStack(env, x509Chain, pool);
     if (chain == NULL) {
         return 0;
     }
     return (jlong) chain;
+}
 
+jlong netty_boringssl_CRYPTO_BUFFER_stack_new(JNIEnv* env, jclass clazz, jlong ssl, jobjectArray x509Chain){
+    return netty_boringssl_CRYPTO_BUFFER_stack_new_ctx(env, clazz, (jlong) SSL_get_SSL_CTX((SSL*) ssl), x509Chain);
 }
 
 void netty_boringssl_CRYPTO_BUFFER_stack_free(JNIEnv* env, jclass clazz, jlong chain) {
     sk_CRYPTO_BUFFER_pop_free((STACK_OF(CRYPTO_BUFFER) *) chain, CRYPTO_BUFFER_free);
 }
 
+jlong netty_boringssl_EVP_PKEY_up_ref(JNIEnv* env, jclass clazz, jlong privateKey) {
+    if (EVP_PKEY_up_ref((EVP_PKEY*) privateKey) != 1) {
+        return 0;
+    }
+    return privateKey;
+}
+
+// Returns a new stack that references the same CRYPTO_BUFFERs as the given one. Each CRYPTO_BUFFER is up-ref'd so
+// the returned stack must be released via CRYPTO_BUFFER_stack_free(...) like any other stack.
+jlong netty_boringssl_CRYPTO_BUFFER_stack_up_ref(JNIEnv* env, jclass clazz, jlong chain) {
+    const STACK_OF(CRYPTO_BUFFER) *stack = (STACK_OF(CRYPTO_BUFFER) *) chain;
+    STACK_OF(CRYPTO_BUFFER) *copy = sk_CRYPTO_BUFFER_new_null();
+    if (copy == NULL) {
+        return 0;
+    }
+    int num = sk_CRYPTO_BUFFER_num(stack);
+    for (int i = 0; i < num; i++) {
+        CRYPTO_BUFFER* buffer = sk_CRYPTO_BUFFER_value(stack, i);
+        if (sk_CRYPTO_BUFFER_push(copy, buffer) == 0) {
+            sk_CRYPTO_BUFFER_pop_free(copy, CRYPTO_BUFFER_free);
+            return 0;
+        }
+        CRYPTO_BUFFER_up_ref(buffer);
+    }
+    return (jlong) copy;
+}
+
 jstring netty_boringssl_ERR_last_error(JNIEnv* env, jclass clazz) {
     char buf[ERR_LEN];
     unsigned long err = ERR_get_error();
@@ -1418,6 +1485,206 @@ static int netty_boringssl_tlsext_ticket_key_cb(SSL *s, unsigned char key_name[1
     }
 }
 
+// Sessions are kept in a store on the java side and the ticket only contains the key that is used to look them up.
+// BoringSSL only allows the opened ticket to be as large as the ticket itself, so the java side pads the key to the
+// length of the session. Looking up the session is done by a task, during which the handshake is suspended.
+static size_t netty_boringssl_ticket_aead_max_overhead(SSL *ssl) {
+    return 0;
+}
+
+static int netty_boringssl_ticket_aead_seal(SSL *ssl, uint8_t *out, size_t *out_len, size_t max_out_len, const uint8_t *in, size_t in_len) {
+    SSL_CTX *c = SSL_get_SSL_CTX(ssl);
+    if (c == NULL) {
+        return 0;
+    }
+
+    jobject sessionStoreCallback = SSL_CTX_get_ex_data(c, sessionStoreCallbackIdx);
+    if (sessionStoreCallback == NULL) {
+       return 0;
+    }
+    JNIEnv* env = NULL;
+    if (quic_get_java_env(&env) != JNI_OK) {
+        return 0;
+    }
+
+    jbyteArray session = to_byte_array(env, (uint8_t*) in, in_len);
+    if (session == NULL) {
+        return 0;
+    }
+    jbyteArray ticket = (jbyteArray) (*env)->CallObjectMethod(env, sessionStoreCallback, sessionStoreCallbackSealMethod, (jlong) ssl, session);
+    // This is called from native code and so the local references are not freed before the handshake returns.
+    (*env)->DeleteLocalRef(env, session);
+    if ((*env)->ExceptionCheck(env) == JNI_TRUE) {
+        (*env)->ExceptionClear(env);
+        return 0;
+    }
+    if (ticket == NULL) {
+        return 0;
+    }
+    int ticketLen = (*env)->GetArrayLength(env, ticket);
+    if (ticketLen > max_out_len) {
+        (*env)->DeleteLocalRef(env, ticket);
+        return 0;
+    }
+    (*env)->GetByteArrayRegion(env, ticket, 0, ticketLen, (jbyte*) out);
+    (*env)->DeleteLocalRef(env, ticket);
+    *out_len = ticketLen;
+    return 1;
+}
+
+static enum ssl_ticket_aead_result_t netty_boringssl_ticket_aead_open(SSL *ssl, uint8_t *out, size_t *out_len, size_t max_out_len, const uint8_t *in, size_t in_len) {
+    JNIEnv* env = NULL;
+    if (quic_get_java_env(&env) != JNI_OK) {
+        return ssl_ticket_aead_error;
+    }
+
+    netty_boringssl_ssl_task_t* ssl_task = SSL_get_ex_data(ssl, sslTaskIdx);
+    // Let's check if we retried the operation and so have stored a sslTask that looks up the session.
+    if (ssl_task != NULL) {
+        // Check if the task complete yet. If not the complete field will be still false.
+        if ((*env)->GetBooleanField(env, ssl_task->task, sslTaskComplete) == JNI_FALSE) {
+            // Not done yet, try again later.
+            return ssl_ticket_aead_retry;
+        }
+
+        jbyteArray session = (*env)->GetObjectField(env, ssl_task->task, sessionStoreOpenTaskSessionField);
+
+        SSL_set_ex_data(ssl, sslTaskIdx, NULL);
+        netty_boringssl_ssl_task_free(env, ssl_task);
+
+        if (session == NULL) {
+            // Unknown or expired session, or the store failed.
+            return ssl_ticket_aead_ignore_ticket;
+        }
+        int sessionLen = (*env)->GetArrayLength(env, session);
+        if (sessionLen > max_out_len) {
+            (*env)->DeleteLocalRef(env, session);
+            return ssl_ticket_aead_ignore_ticket;
+        }
+        (*env)->GetByteArrayRegion(env, session, 0, sessionLen, (jbyte*) out);
+        (*env)->DeleteLocalRef(env, session);
+        *out_len = sessionLen;
+        return ssl_ticket_aead_success;
+    }
+
+    SSL_CTX *c = SSL_get_SSL_CTX(ssl);
+    if (c == NULL) {
+        return ssl_ticket_aead_ignore_ticket;
+    }
+
+    jobject sessionStoreCallback = SSL_CTX_get_ex_data(c, sessionStoreCallbackIdx);
+    if (sessionStoreCallback == NULL) {
+       return ssl_ticket_aead_ignore_ticket;
+    }
+
+    jbyteArray ticket = to_byte_array(env, (uint8_t*) in, in_len);
+    if (ticket == NULL) {
+        return ssl_ticket_aead_ignore_ticket;
+    }
+    jobject task = (*env)->CallObjectMethod(env, sessionStoreCallback, sessionStoreCallbackOpenMethod, (jlong) ssl, ticket);
+    (*env)->DeleteLocalRef(env, ticket);
+    if ((*env)->ExceptionCheck(env) == JNI_TRUE) {
+        // Just do a full handshake if the store failed.
+        (*env)->ExceptionClear(env);
+        return ssl_ticket_aead_ignore_ticket;
+    }
+    if (task == NULL) {
+        // The ticket was not created by us.
+        return ssl_ticket_aead_ignore_ticket;
+    }
+    // Store the task on the SSL object. We then later retrieve it via BoringSSL.SSL_getTask(ssl) and run it.
+    ssl_task = netty_boringssl_ssl_task_new(env, task);
+    // netty_boringssl_ssl_task_new(...) holds a global reference to the task if it succeeded.
+    (*env)->DeleteLocalRef(env, task);
+    if (ssl_task == NULL) {
+        return ssl_ticket_aead_error;
+    }
+    SSL_set_ex_data(ssl, sslTaskIdx, ssl_task);
+    return ssl_ticket_aead_retry;
+}
+
+static const SSL_TICKET_AEAD_METHOD netty_boringssl_ticket_aead_method = {
+    netty_boringssl_ticket_aead_max_overhead,
+    netty_boringssl_ticket_aead_seal,
+    netty_boringssl_ticket_aead_open
+};
+
+static jint netty_boringssl_SSLContext_setSessionStoreCallback(JNIEnv* env, jclass clazz, jlong ctx, jobject callback) {
+    SSL_CTX *ssl_ctx = (SSL_CTX *) ctx;
+    jobject oldCallbackRef = SSL_CTX_get_ex_data(ssl_ctx, sessionStoreCallbackIdx);
+    jobject callbackRef = NULL;
+    if (callback != NULL) {
+        if ((callbackRef = (*env)->NewGlobalRef(env, callback)) == NULL) {
+            return 0;
+        }
+    }
+    SSL_CTX_set_ex_data(ssl_ctx, sessionStoreCallbackIdx, callbackRef);
+    SSL_CTX_set_ticket_aead_method(ssl_ctx, callbackRef == NULL ? NULL : &netty_boringssl_ticket_aead_method);
+    if (oldCallbackRef != NULL) {
+        (*env)->DeleteGlobalRef(env, oldCallbackRef);
+    }
+    return 1;
+}
+
+// Called before BoringSSL decides if early data is accepted, which allows us to disable it for replayed ClientHellos.
+static enum ssl_select_cert_result_t netty_boringssl_select_certificate_cb(const SSL_CLIENT_HELLO *client_hello) {
+    SSL *ssl = client_hello->ssl;
+    SSL_CTX *c = SSL_get_SSL_CTX(ssl);
+    if (c == NULL) {
+        return ssl_select_cert_success;
+    }
+    jobject antiReplayCallback = SSL_CTX_get_ex_data(c, antiReplayCallbackIdx);
+    if (antiReplayCallback == NULL) {
+        return ssl_select_cert_success;
+    }
+
+    const uint8_t *data = NULL;
+    size_t len = 0;
+    if (SSL_early_callback_ctx_extension_get(client_hello, TLSEXT_TYPE_early_data, &data, &len) == 0) {
+        // No early data offered, so there is nothing that could be replayed.
+        return ssl_select_cert_success;
+    }
+
+    JNIEnv* env = NULL;
+    if (quic_get_java_env(&env) != JNI_OK) {
+        // Be safe and just fallback to a 1-RTT handshake.
+        SSL_set_early_data_enabled(ssl, 0);
+        return ssl_select_cert_success;
+    }
+    jbyteArray random = to_byte_array(env, (uint8_t*) client_hello->random, client_hello->random_len);
+    if (random == NULL) {
+        SSL_set_early_data_enabled(ssl, 0);
+        return ssl_select_cert_success;
+    }
+    jboolean accept = (*env)->CallBooleanMethod(env, antiReplayCallback, antiReplayCallbackMethod, (jlong) ssl, random);
+    (*env)->DeleteLocalRef(env, random);
+    if ((*env)->ExceptionCheck(env) == JNI_TRUE) {
+        (*env)->ExceptionClear(env);
+        accept = JNI_FALSE;
+    }
+    if (accept != JNI_TRUE) {
+        SSL_set_early_data_enabled(ssl, 0);
+    }
+    return ssl_select_cert_success;
+}
+
+static jint netty_boringssl_SSLContext_setAntiReplayCallback(JNIEnv* env, jclass clazz, jlong ctx, jobject callback) {
+    SSL_CTX *ssl_ctx = (SSL_CTX *) ctx;
+    jobject oldCallbackRef = SSL_CTX_get_ex_data(ssl_ctx, antiReplayCallbackIdx);
+    jobject callbackRef = NULL;
+    if (callback != NULL) {
+        if ((callbackRef = (*env)->NewGlobalRef(env, callback)) == NULL) {
+            return 0;
+        }
+    }
+    SSL_CTX_set_ex_data(ssl_ctx, antiReplayCallbackIdx, callbackRef);
+    SSL_CTX_set_select_certificate_cb(ssl_ctx, callbackRef == NULL ? NULL : netty_boringssl_select_certificate_cb);
+    if (oldCallbackRef != NULL) {
+        (*env)->DeleteGlobalRef(env, oldCallbackRef);
+    }
+    return 1;
+}
+
 void netty_boringssl_SSLContext_setSessionTicketKeys(JNIEnv* env, jclass clazz, jlong ctx, jboolean enableCallback) {
     if (enableCallback == JNI_TRUE) {
         SSL_CTX_set_tlsext_ticket_key_cb((SSL_CTX *) ctx, netty_boringssl_tlsext_ticket_key_cb);
@@ -1476,16 +1743,22 @@ static const JNINativeMethod fixed_method_table[] = {
   { "SSLContext_setSessionCacheSize", "(JJ)J", (void *) netty_boringssl_SSLContext_setSessionCacheSize },
   { "SSLContext_set_early_data_enabled", "(JZ)V", (void *) netty_boringssl_SSLContext_set_early_data_enabled },
   { "SSLContext_setSessionTicketKeys", "(JZ)V", (void *) netty_boringssl_SSLContext_setSessionTicketKeys },
+  { "SSLContext_setSessionStoreCallback", "(JLjava/lang/Object;)I", (void *) netty_boringssl_SSLContext_setSessionStoreCallback },
+  { "SSLContext_setAntiReplayCallback", "(JLjava/lang/Object;)I", (void *) netty_boringssl_SSLContext_setAntiReplayCallback },
   { "SSLContext_set1_groups_list", "(JLjava/lang/String;)I", (void *) netty_boringssl_SSLContext_set1_groups_list },
   { "SSLContext_set1_sigalgs_list", "(JLjava/lang/String;)I", (void *) netty_boringssl_SSLContext_set1_sigalgs_list },
   { "SSL_new0", "(JZLjava/lang/String;)J", (void *) netty_boringssl_SSL_new0 },
   { "SSL_free", "(J)V", (void *) netty_boringssl_SSL_free },
   { "SSL_getTask", "(J)Ljava/lang/Runnable;", (void *) netty_boringssl_SSL_getTask },
   { "SSL_cleanup", "(J)V", (void *) netty_boringssl_SSL_cleanup },
+  { "SSL_early_data_status", "(J)I", (void *) netty_boringssl_SSL_early_data_status },
   { "EVP_PKEY_parse", "([BLjava/lang/String;)J", (void *) netty_boringssl_EVP_PKEY_parse },
   { "EVP_PKEY_free", "(J)V", (void *) netty_boringssl_EVP_PKEY_free },
+  { "EVP_PKEY_up_ref", "(J)J", (void *) netty_boringssl_EVP_PKEY_up_ref },
   { "CRYPTO_BUFFER_stack_new", "(J[[B)J", (void *) netty_boringssl_CRYPTO_BUFFER_stack_new },
+  { "CRYPTO_BUFFER_stack_new_ctx", "(J[[B)J", (void *) netty_boringssl_CRYPTO_BUFFER_stack_new_ctx },
   { "CRYPTO_BUFFER_stack_free", "(J)V", (void *) netty_boringssl_CRYPTO_BUFFER_stack_free },
+  { "CRYPTO_BUFFER_stack_up_ref", "(J)J", (void *) netty_boringssl_CRYPTO_BUFFER_stack_up_ref },
   { "ERR_last_error", "()Ljava/lang/String;", (void *) netty_boringssl_ERR_last_error }
 };
 
@@ -1507,6 +1780,9 @@ static void unload_all_classes(JNIEnv* env) {
     NETTY_JNI_UTIL_UNLOAD_CLASS_WEAK(env, keylogCallbackClassWeak);
     NETTY_JNI_UTIL_UNLOAD_CLASS_WEAK(env, sessionCallbackClassWeak);
     NETTY_JNI_UTIL_UNLOAD_CLASS_WEAK(env, sessionTicketCallbackClassWeak);
+    NETTY_JNI_UTIL_UNLOAD_CLASS_WEAK(env, sessionStoreCallbackClassWeak);
+    NETTY_JNI_UTIL_UNLOAD_CLASS_WEAK(env, sessionStoreOpenTaskClassWeak);
+    NETTY_JNI_UTIL_UNLOAD_CLASS_WEAK(env, antiReplayCallbackClassWeak);
 }
 
 // IMPORTANT: If you add any NETTY_JNI_UTIL_LOAD_CLASS or NETTY_JNI_UTIL_FIND_CLASS calls you also need to update
@@ -1529,6 +1805,9 @@ jint netty_boringssl_JNI_OnLoad(JNIEnv* env, const char* packagePrefix) {
     jclass keylogCallbackClass = NULL;
     jclass sessionCallbackClass = NULL;
     jclass sessionTicketCallbackClass = NULL;
+    jclass sessionStoreCallbackClass = NULL;
+    jclass sessionStoreOpenTaskClass = NULL;
+    jclass antiReplayCallbackClass = NULL;
 
     // We must register the statically referenced methods first!
     if (netty_jni_util_register_natives(env,
@@ -1634,6 +1913,22 @@ jint netty_boringssl_JNI_OnLoad(JNIEnv* env, const char* packagePrefix) {
     NETTY_JNI_UTIL_NEW_LOCAL_FROM_WEAK(env, sessionTicketCallbackClass, sessionTicketCallbackClassWeak, done);
     NETTY_JNI_UTIL_GET_METHOD(env, sessionTicketCallbackClass, sessionTicketCallbackMethod, "findSessionTicket", "([B)[B", done);
 
+    NETTY_JNI_UTIL_PREPEND(packagePrefix, "io/netty/incubator/codec/quic/BoringSSLSessionStoreCallback", name, done);
+    NETTY_JNI_UTIL_LOAD_CLASS_WEAK(env, sessionStoreCallbackClassWeak, name, done);
+    NETTY_JNI_UTIL_NEW_LOCAL_FROM_WEAK(env, sessionStoreCallbackClass, sessionStoreCallbackClassWeak, done);
+    NETTY_JNI_UTIL_GET_METHOD(env, sessionStoreCallbackClass, sessionStoreCallbackSealMethod, "seal", "(J[B)[B", done);
+    NETTY_JNI_UTIL_GET_METHOD(env, sessionStoreCallbackClass, sessionStoreCallbackOpenMethod, "open", "(J[B)Ljava/lang/Runnable;", done);
+
+    NETTY_JNI_UTIL_PREPEND(packagePrefix, "io/netty/incubator/codec/quic/BoringSSLSessionStoreOpenTask", name, done);
+    NETTY_JNI_UTIL_LOAD_CLASS_WEAK(env, sessionStoreOpenTaskClassWeak, name, done);
+    NETTY_JNI_UTIL_NEW_LOCAL_FROM_WEAK(env, sessionStoreOpenTaskClass, sessionStoreOpenTaskClassWeak, done);
+    NETTY_JNI_UTIL_GET_FIELD(env, sessionStoreOpenTaskClass, sessionStoreOpenTaskSessionField, "session", "[B", done);
+
+    NETTY_JNI_UTIL_PREPEND(packagePrefix, "io/netty/incubator/codec/quic/BoringSSLAntiReplayCallback", name, done);
+    NETTY_JNI_UTIL_LOAD_CLASS_WEAK(env, antiReplayCallbackClassWeak, name, done);
+    NETTY_JNI_UTIL_NEW_LOCAL_FROM_WEAK(env, antiReplayCallbackClass, antiReplayCallbackClassWeak, done);
+    NETTY_JNI_UTIL_GET_METHOD(env, antiReplayCallbackClass, antiReplayCallbackMethod, "acceptEarlyData", "(J[B)Z", done);
+
     verifyCallbackIdx = SSL_CTX_get_ex_new_index(0, NULL, NULL, NULL, NULL);
     certificateCallbackIdx = SSL_CTX_get_ex_new_index(0, NULL, NULL, NULL, NULL);
     handshakeCompleteCallbackIdx = SSL_CTX_get_ex_new_index(0, NULL, NULL, NULL, NULL);
@@ -1645,6 +1940,8 @@ jint netty_boringssl_JNI_OnLoad(JNIEnv* env, const char* packagePrefix) {
     alpn_data_idx = SSL_CTX_get_ex_new_index(0, NULL, NULL, NULL, NULL);
     crypto_buffer_pool_idx = SSL_CTX_get_ex_new_index(0, NULL, NULL, NULL, NULL);
     sessionTicketCallbackIdx = SSL_CTX_get_ex_new_index(0, NULL, NULL, NULL, NULL);
+    sessionStoreCallbackIdx = SSL_CTX_get_ex_new_index(0, NULL, NULL, NULL, NULL);
+    antiReplayCallbackIdx = SSL_CTX_get_ex_new_index(0, NULL, NULL, NULL, NULL);
 
     ret = NETTY_JNI_UTIL_JNI_VERSION;
 done:
@@ -1670,6 +1967,9 @@ done:
     NETTY_JNI_UTIL_DELETE_LOCAL(env, keylogCallbackClass);
     NETTY_JNI_UTIL_DELETE_LOCAL(env, sessionCallbackClass);
     NETTY_JNI_UTIL_DELETE_LOCAL(env, sessionTicketCallbackClass);
+    NETTY_JNI_UTIL_DELETE_LOCAL(env, sessionStoreCallbackClass);
+    NETTY_JNI_UTIL_DELETE_LOCAL(env, sessionStoreOpenTaskClass);
+    NETTY_JNI_UTIL_DELETE_LOCAL(env, antiReplayCallbackClass);
 
     return ret;
 }
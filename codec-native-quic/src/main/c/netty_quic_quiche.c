@@ -46,6 +46,8 @@
 #define STATICALLY_CLASSNAME "io/netty/incubator/codec/quic/QuicheNativeStaticallyReferencedJniMethods"
 #define QUICHE_CLASSNAME "io/netty/incubator/codec/quic/Quiche"
 #define LIBRARYNAME "netty_quiche"
+// See https://www.rfc-editor.org/rfc/rfc9000#section-10.3
+#define RESET_TOKEN_LEN 16
 
 static jweak    quiche_logger_class_weak = NULL;
 static jmethodID quiche_logger_class_log = NULL;
@@ -575,6 +577,29 @@ static jlongArray netty_quiche_conn_stats(JNIEnv* env, jclass clazz, jlong conn)
     return statsArray;
 }
 
+static void netty_quiche_conn_stats_sample(JNIEnv* env, jclass clazz, jlong conn, jlong memory) {
+    quiche_stats stats = {0,0,0,0,0,0,0,0,0};
+    quiche_conn_stats((quiche_conn *) conn, &stats);
+
+    uint64_t* sample = (uint64_t*) memory;
+    sample[0] = (uint64_t) stats.recv;
+    sample[1] = (uint64_t) stats.sent;
+    sample[2] = (uint64_t) stats.lost;
+    sample[3] = 0;
+    sample[4] = 0;
+    sample[5] = 0;
+
+    quiche_path_stats path_stats = {0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0};
+    for (size_t idx = 0; quiche_conn_path_stats((quiche_conn *) conn, idx, &path_stats) == 0; idx++) {
+        if (path_stats.active) {
+            sample[3] = (uint64_t) path_stats.rtt;
+            sample[4] = (uint64_t) path_stats.cwnd;
+            sample[5] = (uint64_t) path_stats.delivery_rate;
+            break;
+        }
+    }
+}
+
 static jlongArray netty_quiche_conn_peer_transport_params(JNIEnv* env, jclass clazz, jlong conn) {
     // See https://github.com/cloudflare/quiche/blob/master/quiche/include/quiche.h#L563
     quiche_transport_params params = {0,0,0,0,0,0,0,0,0,0,false,0,0};
@@ -667,10 +692,72 @@ static jint netty_quiche_conn_dgram_recv(JNIEnv* env, jclass clazz, jlong conn,
     return (jint) quiche_conn_dgram_recv((quiche_conn *) conn, (uint8_t *) buf, (size_t) buf_len);
 }
 
+#define NETTY_QUICHE_DGRAM_RECV_BATCH_MAX 64
+
+static jint netty_quiche_conn_dgram_recv_batch(JNIEnv* env, jclass clazz, jlong conn, jlong buf, jint buf_len, jintArray lengths, jint max_count) {
+    jint buf_lens[NETTY_QUICHE_DGRAM_RECV_BATCH_MAX];
+    if (max_count > NETTY_QUICHE_DGRAM_RECV_BATCH_MAX) {
+        max_count = NETTY_QUICHE_DGRAM_RECV_BATCH_MAX;
+    }
+    int count = 0;
+    size_t offset = 0;
+    while (count < max_count) {
+        // Check the length first as quiche_conn_dgram_recv(...) drops the datagram if it does not fit.
+        ssize_t len = quiche_conn_dgram_recv_front_len((quiche_conn *) conn);
+        if (len < 0) {
+            if (count == 0) {
+                return (jint) len;
+            }
+            break;
+        }
+        if ((size_t) len > (size_t) buf_len - offset) {
+            if (count == 0) {
+                // Let the caller know how large the buffer needs to be.
+                buf_lens[0] = (jint) len;
+                (*env)->SetIntArrayRegion(env, lengths, 0, 1, buf_lens);
+                return 0;
+            }
+            break;
+        }
+        ssize_t written = quiche_conn_dgram_recv((quiche_conn *) conn, (uint8_t *) buf + offset, (size_t) buf_len - offset);
+        if (written < 0) {
+            if (count == 0) {
+                return (jint) written;
+            }
+            break;
+        }
+        buf_lens[count++] = (jint) written;
+        offset += written;
+    }
+    (*env)->SetIntArrayRegion(env, lengths, 0, count, buf_lens);
+    return count;
+}
+
 static jint netty_quiche_conn_dgram_send(JNIEnv* env, jclass clazz, jlong conn, jlong buf, jint buf_len) {
     return (jint) quiche_conn_dgram_send((quiche_conn *) conn, (uint8_t *) buf, (size_t) buf_len);
 }
 
+#define NETTY_QUICHE_DGRAM_SEND_BATCH_MAX 64
+
+static jint netty_quiche_conn_dgram_send_batch(JNIEnv* env, jclass clazz, jlong conn, jlongArray addresses, jintArray lengths, jint count) {
+    jlong bufs[NETTY_QUICHE_DGRAM_SEND_BATCH_MAX];
+    jint buf_lens[NETTY_QUICHE_DGRAM_SEND_BATCH_MAX];
+    if (count > NETTY_QUICHE_DGRAM_SEND_BATCH_MAX) {
+        count = NETTY_QUICHE_DGRAM_SEND_BATCH_MAX;
+    }
+    (*env)->GetLongArrayRegion(env, addresses, 0, count, bufs);
+    (*env)->GetIntArrayRegion(env, lengths, 0, count, buf_lens);
+
+    for (int i = 0; i < count; i++) {
+        ssize_t res = quiche_conn_dgram_send((quiche_conn *) conn, (uint8_t *) bufs[i], (size_t) buf_lens[i]);
+        if (res < 0) {
+            // Only return the error if nothing was sent, the caller will retry the rest.
+            return i == 0 ? (jint) res : i;
+        }
+    }
+    return count;
+}
+
 static jint netty_quiche_conn_set_session(JNIEnv* env, jclass clazz, jlong conn, jbyteArray sessionBytes) {
     int buf_len = (*env)->GetArrayLength(env, sessionBytes);
     uint8_t* buf = (uint8_t*) (*env)->GetByteArrayElements(env, sessionBytes, 0);
@@ -687,29 +774,39 @@ static jint netty_quiche_conn_scids_left(JNIEnv* env, jclass clazz, jlong conn)
     return (jint) quiche_conn_scids_left((quiche_conn *) conn);
 }
 
-static jlong netty_quiche_conn_new_scid(JNIEnv* env, jclass clazz, jlong conn, jlong scid, jint scid_len, jbyteArray reset_token, jboolean retire_if_needed, jlong sequenceAddr) {
-    uint8_t* buf = (uint8_t*) (*env)->GetByteArrayElements(env, reset_token, 0);
-
-    uint64_t* seq;
-    if (sequenceAddr < 0) {
-        uint64_t tmp;
-        seq = &tmp;
-    } else {
-        seq = (uint64_t *) sequenceAddr;
+static jint netty_quiche_conn_new_scids(JNIEnv* env, jclass clazz, jlong conn, jlong scids, jint scid_len, jlong reset_tokens, jlong seqs, jint count, jboolean retire_if_needed) {
+    const uint8_t* ids = (const uint8_t*) scids;
+    const uint8_t* tokens = (const uint8_t*) reset_tokens;
+    uint8_t* seqs_out = (uint8_t*) seqs;
+    uint64_t seq;
+    jint i;
+    for (i = 0; i < count; i++) {
+        int ret = quiche_conn_new_scid((quiche_conn *) conn, ids + i * scid_len, (size_t) scid_len,
+                tokens + i * RESET_TOKEN_LEN, retire_if_needed == JNI_TRUE ? true : false, &seq);
+        if (ret < 0) {
+            // Only report the error if we could not issue any id at all.
+            return i == 0 ? (jint) ret : i;
+        }
+        // The memory is not necessarily aligned.
+        memcpy(seqs_out + i * sizeof(uint64_t), &seq, sizeof(uint64_t));
     }
-    jlong ret = quiche_conn_new_scid((quiche_conn *) conn, (const uint8_t *) scid, scid_len, buf, retire_if_needed == JNI_TRUE ? true : false, seq);
-    (*env)->ReleaseByteArrayElements(env, reset_token, (jbyte*)buf, JNI_ABORT);
-    return ret;
+    return count;
 }
 
-static jbyteArray netty_quiche_conn_retired_scid_next(JNIEnv* env, jclass clazz, jlong conn) {
+static jint netty_quiche_conn_retired_scids(JNIEnv* env, jclass clazz, jlong conn, jlong buf, jint buf_len) {
+    uint8_t* out = (uint8_t*) buf;
     const uint8_t *id = NULL;
     size_t len = 0;
-
-    if (quiche_conn_retired_scid_next((quiche_conn *) conn, &id, &len)) {
-        return to_byte_array(env, id, len);
+    jint written = 0;
+
+    // quiche_conn_retired_scid_next(...) consumes the id, so only ask for the next one if it will fit for sure.
+    while (buf_len - written >= 1 + QUICHE_MAX_CONN_ID_LEN &&
+            quiche_conn_retired_scid_next((quiche_conn *) conn, &id, &len)) {
+        out[written++] = (uint8_t) len;
+        memcpy(out + written, id, len);
+        written += (jint) len;
     }
-    return NULL;
+    return written;
 }
 
 static jlong netty_quiche_conn_path_event_next(JNIEnv* env, jclass clazz, jlong conn) {
@@ -742,6 +839,19 @@ static jobject netty_new_socket_address(JNIEnv* env, const struct sockaddr_stora
     return (*env)->NewObject(env, inetsocketaddress_class, inetsocketaddress_class_constructor, address, port);
 }
 
+static jint netty_quiche_conn_cc_stats(JNIEnv* env, jclass clazz, jlong conn, jlongArray out) {
+    quiche_path_stats stats = {0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0};
+    for (size_t idx = 0; quiche_conn_path_stats((quiche_conn *) conn, idx, &stats) == 0; idx++) {
+        if (stats.active) {
+            jlong values[3] = { (jlong) stats.cwnd, (jlong) stats.rtt, (jlong) stats.delivery_rate };
+            (*env)->SetLongArrayRegion(env, out, 0, 3, values);
+            return 0;
+        }
+    }
+    // No active path.
+    return -1;
+}
+
 static jobjectArray netty_quiche_conn_path_stats(JNIEnv* env, jclass clazz, jlong conn, jlong idx) {
     quiche_path_stats stats = {0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0};
     if (quiche_conn_path_stats((quiche_conn *) conn, idx, &stats) != 0) {
@@ -1004,6 +1114,14 @@ static void netty_quiche_config_set_initial_max_streams_uni(JNIEnv* env, jclass
     quiche_config_set_initial_max_streams_uni((quiche_config*) config, (uint64_t) value);
 }
 
+static void netty_quiche_config_set_max_connection_window(JNIEnv* env, jclass clazz, jlong config, jlong value) {
+    quiche_config_set_max_connection_window((quiche_config*) config, (uint64_t) value);
+}
+
+static void netty_quiche_config_set_max_stream_window(JNIEnv* env, jclass clazz, jlong config, jlong value) {
+    quiche_config_set_max_stream_window((quiche_config*) config, (uint64_t) value);
+}
+
 static void netty_quiche_config_set_ack_delay_exponent(JNIEnv* env, jclass clazz, jlong config, jlong value) {
     quiche_config_set_ack_delay_exponent((quiche_config*) config, (uint64_t) value);
 }
@@ -1020,6 +1138,16 @@ static void netty_quiche_config_set_cc_algorithm(JNIEnv* env, jclass clazz, jlon
     quiche_config_set_cc_algorithm((quiche_config*) config, (enum quiche_cc_algorithm) algo);
 }
 
+static jint netty_quiche_config_set_cc_algorithm_name(JNIEnv* env, jclass clazz, jlong config, jstring name) {
+    const char *algo = (*env)->GetStringUTFChars(env, name, 0);
+    if (algo == NULL) {
+        return -1;
+    }
+    int res = quiche_config_set_cc_algorithm_name((quiche_config*) config, algo);
+    (*env)->ReleaseStringUTFChars(env, name, algo);
+    return (jint) res;
+}
+
 static void netty_quiche_config_set_initial_congestion_window_packets(JNIEnv* env, jclass clazz, jlong config, jint value) {
     quiche_config_set_initial_congestion_window_packets((quiche_config*) config, (size_t) value);
 }
@@ -1218,6 +1346,7 @@ static const JNINativeMethod fixed_method_table[] = {
   { "quiche_conn_is_closed", "(J)Z", (void *) netty_quiche_conn_is_closed },
   { "quiche_conn_is_timed_out", "(J)Z", (void *) netty_quiche_conn_is_timed_out },
   { "quiche_conn_stats", "(J)[J", (void *) netty_quiche_conn_stats },
+  { "quiche_conn_stats_sample", "(JJ)V", (void *) netty_quiche_conn_stats_sample },
   { "quiche_conn_peer_transport_params", "(J)[J", (void *) netty_quiche_conn_peer_transport_params },
   { "quiche_conn_timeout_as_nanos", "(J)J", (void *) netty_quiche_conn_timeout_as_nanos },
   { "quiche_conn_on_timeout", "(J)V", (void *) netty_quiche_conn_on_timeout },
@@ -1228,12 +1357,14 @@ static const JNINativeMethod fixed_method_table[] = {
   { "quiche_conn_dgram_max_writable_len", "(J)I", (void* ) netty_quiche_conn_dgram_max_writable_len },
   { "quiche_conn_dgram_recv_front_len", "(J)I", (void* ) netty_quiche_conn_dgram_recv_front_len },
   { "quiche_conn_dgram_recv", "(JJI)I", (void* ) netty_quiche_conn_dgram_recv },
+  { "quiche_conn_dgram_recv_batch", "(JJI[II)I", (void* ) netty_quiche_conn_dgram_recv_batch },
   { "quiche_conn_dgram_send", "(JJI)I", (void* ) netty_quiche_conn_dgram_send },
+  { "quiche_conn_dgram_send_batch", "(J[J[II)I", (void* ) netty_quiche_conn_dgram_send_batch },
   { "quiche_conn_set_session", "(J[B)I", (void* ) netty_quiche_conn_set_session },
   { "quiche_conn_max_send_udp_payload_size", "(J)I", (void* ) netty_quiche_conn_max_send_udp_payload_size },
   { "quiche_conn_scids_left", "(J)I", (void* ) netty_quiche_conn_scids_left },
-  { "quiche_conn_new_scid", "(JJI[BZJ)J", (void* ) netty_quiche_conn_new_scid },
-  { "quiche_conn_retired_scid_next", "(J)[B", (void* ) netty_quiche_conn_retired_scid_next },
+  { "quiche_conn_new_scids", "(JJIJJIZ)I", (void* ) netty_quiche_conn_new_scids },
+  { "quiche_conn_retired_scids", "(JJI)I", (void* ) netty_quiche_conn_retired_scids },
   { "quiche_config_new", "(I)J", (void *) netty_quiche_config_new },
   { "quiche_config_enable_dgram", "(JZII)V", (void *) netty_quiche_config_enable_dgram },
   { "quiche_config_grease", "(JZ)V", (void *) netty_quiche_config_grease },
@@ -1246,10 +1377,13 @@ static const JNINativeMethod fixed_method_table[] = {
   { "quiche_config_set_initial_max_stream_data_uni", "(JJ)V", (void *) netty_quiche_config_set_initial_max_stream_data_uni },
   { "quiche_config_set_initial_max_streams_bidi", "(JJ)V", (void *) netty_quiche_config_set_initial_max_streams_bidi },
   { "quiche_config_set_initial_max_streams_uni", "(JJ)V", (void *) netty_quiche_config_set_initial_max_streams_uni },
+  { "quiche_config_set_max_connection_window", "(JJ)V", (void *) netty_quiche_config_set_max_connection_window },
+  { "quiche_config_set_max_stream_window", "(JJ)V", (void *) netty_quiche_config_set_max_stream_window },
   { "quiche_config_set_ack_delay_exponent", "(JJ)V", (void *) netty_quiche_config_set_ack_delay_exponent },
   { "quiche_config_set_max_ack_delay", "(JJ)V", (void *) netty_quiche_config_set_max_ack_delay },
   { "quiche_config_set_disable_active_migration", "(JZ)V", (void *) netty_quiche_config_set_disable_active_migration },
   { "quiche_config_set_cc_algorithm", "(JI)V", (void *) netty_quiche_config_set_cc_algorithm },
+  { "quiche_config_set_cc_algorithm_name", "(JLjava/lang/String;)I", (void *) netty_quiche_config_set_cc_algorithm_name },
   { "quiche_config_set_initial_congestion_window_packets", "(JI)V", (void *) netty_quiche_config_set_initial_congestion_window_packets },
   { "quiche_config_enable_hystart", "(JZ)V", (void *) netty_quiche_config_enable_hystart },
   { "quiche_config_discover_pmtu", "(JZ)V", (void *) netty_quiche_config_discover_pmtu },
@@ -1261,6 +1395,7 @@ static const JNINativeMethod fixed_method_table[] = {
   { "quiche_conn_path_event_next", "(J)J", (void *) netty_quiche_conn_path_event_next },
   { "quiche_path_event_type", "(J)I", (void *) netty_quiche_path_event_type },
   { "quiche_conn_path_stats", "(JJ)[Ljava/lang/Object;", (void *) netty_quiche_conn_path_stats },
+  { "quiche_conn_cc_stats", "(J[J)I", (void *) netty_quiche_conn_cc_stats },
   { "quiche_path_event_new", "(J)[Ljava/lang/Object;", (void *) netty_quiche_path_event_new },
   { "quiche_path_event_validated", "(J)[Ljava/lang/Object;", (void *) netty_quiche_path_event_validated },
   { "quiche_path_event_failed_validation", "(J)[Ljava/lang/Object;", (void *) netty_quiche_path_event_failed_validation },
@@ -0,0 +1,204 @@
+/*
+ * Copyright 2026 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty.incubator.codec.quic;
+
+import io.netty.util.concurrent.DefaultEventExecutor;
+import io.netty.util.concurrent.EventExecutor;
+import io.netty.util.concurrent.Future;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.Signature;
+import java.security.SignatureException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class BoringSSLBatchingAsyncPrivateKeyMethodTest {
+
+    // Just some value, the loopback signer always uses SHA256withRSA.
+    private static final int SIGNATURE_ALGORITHM = 0x0401;
+
+    private static KeyPair keyPair;
+    private EventExecutor executor;
+    private LoopbackBatchSigner signer;
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        if (keyPair == null) {
+            KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+            generator.initialize(2048);
+            keyPair = generator.generateKeyPair();
+        }
+        executor = new DefaultEventExecutor();
+        signer = new LoopbackBatchSigner();
+    }
+
+    @AfterEach
+    public void tearDown() throws Exception {
+        signer.close();
+        executor.shutdownGracefully(0, 0, TimeUnit.SECONDS).sync();
+    }
+
+    @Test
+    public void testRequestsWithinWindowAreBatched() throws Exception {
+        BoringSSLBatchingAsyncPrivateKeyMethod method = new BoringSSLBatchingAsyncPrivateKeyMethod(
+                signer, executor, 1, TimeUnit.SECONDS, 64);
+        List<byte[]> inputs = new ArrayList<>();
+        List<Future<byte[]>> futures = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            byte[] input = ("input" + i).getBytes();
+            inputs.add(input);
+            futures.add(method.sign(null, SIGNATURE_ALGORITHM, input));
+        }
+        for (int i = 0; i < futures.size(); i++) {
+            assertTrue(verify(inputs.get(i), futures.get(i).sync().getNow()));
+        }
+        assertEquals(1, signer.batchSizes.size());
+        assertEquals(10, signer.batchSizes.get(0));
+        assertEquals(0, method.pendingRequests());
+    }
+
+    @Test
+    public void testFullBatchIsSentWithoutWaitingForWindow() throws Exception {
+        BoringSSLBatchingAsyncPrivateKeyMethod method = new BoringSSLBatchingAsyncPrivateKeyMethod(
+                signer, executor, 1, TimeUnit.HOURS, 4);
+        List<Future<byte[]>> futures = new ArrayList<>();
+        // Submit all requests from the executor, so no flush can run in between and split the batches differently.
+        int submittedFlushes = executor.submit(() -> {
+            for (int i = 0; i < 8; i++) {
+                futures.add(method.sign(null, SIGNATURE_ALGORITHM, new byte[] { (byte) i }));
+            }
+            // A single flush is enough for all requests, the ones after the batch was full must not add more.
+            return ((DefaultEventExecutor) executor).pendingTasks();
+        }).sync().getNow();
+        assertEquals(1, submittedFlushes);
+        assertEquals(8, futures.size());
+        for (Future<byte[]> future : futures) {
+            assertTrue(future.await(10, TimeUnit.SECONDS));
+            assertTrue(future.isSuccess());
+        }
+        assertEquals(2, signer.batchSizes.size());
+        assertEquals(4, signer.batchSizes.get(0));
+        assertEquals(4, signer.batchSizes.get(1));
+    }
+
+    @Test
+    public void testFullBatchDoesNotShortenNextWindow() throws Exception {
+        BoringSSLBatchingAsyncPrivateKeyMethod method = new BoringSSLBatchingAsyncPrivateKeyMethod(
+                signer, executor, 1, TimeUnit.SECONDS, 2);
+        long start = System.nanoTime();
+        Future<byte[]> first = method.sign(null, SIGNATURE_ALGORITHM, new byte[1]);
+        Thread.sleep(500);
+        // Fills the batch, so it is flushed without waiting for the window of the first request.
+        Future<byte[]> second = method.sign(null, SIGNATURE_ALGORITHM, new byte[1]);
+        assertTrue(first.await(10, TimeUnit.SECONDS));
+        assertTrue(second.await(10, TimeUnit.SECONDS));
+
+        // Starts a new window, which must not be ended by the timed flush that was scheduled for the first request.
+        Future<byte[]> third = method.sign(null, SIGNATURE_ALGORITHM, new byte[1]);
+        // Wait until the timed flush of the first request fired, but the window of the third request is still open.
+        long remainingNanos = TimeUnit.MILLISECONDS.toNanos(1250) - (System.nanoTime() - start);
+        if (remainingNanos > 0) {
+            Thread.sleep(TimeUnit.NANOSECONDS.toMillis(remainingNanos));
+        }
+        assertFalse(third.isDone());
+        assertEquals(1, signer.batchSizes.size());
+        assertEquals(1, method.pendingRequests());
+
+        assertTrue(third.await(10, TimeUnit.SECONDS));
+        assertTrue(third.isSuccess());
+        assertEquals(2, signer.batchSizes.size());
+    }
+
+    @Test
+    public void testFailedBatchFailsAllRequests() throws Exception {
+        BoringSSLBatchingAsyncPrivateKeyMethod method = new BoringSSLBatchingAsyncPrivateKeyMethod(
+                batch -> {
+                    throw new SignatureException();
+                }, executor, 10, TimeUnit.MILLISECONDS, 64);
+        Future<byte[]> first = method.sign(null, SIGNATURE_ALGORITHM, new byte[1]);
+        Future<byte[]> second = method.sign(null, SIGNATURE_ALGORITHM, new byte[1]);
+        assertInstanceOf(SignatureException.class, first.await().cause());
+        assertInstanceOf(SignatureException.class, second.await().cause());
+    }
+
+    @Test
+    public void testDecryptNotSupported() {
+        BoringSSLBatchingAsyncPrivateKeyMethod method = new BoringSSLBatchingAsyncPrivateKeyMethod(
+                signer, executor, 10, TimeUnit.MILLISECONDS, 64);
+        assertInstanceOf(UnsupportedOperationException.class, method.decrypt(null, new byte[1]).cause());
+    }
+
+    private static boolean verify(byte[] input, byte[] signature) throws Exception {
+        Signature verifier = Signature.getInstance("SHA256withRSA");
+        verifier.initVerify(keyPair.getPublic());
+        verifier.update(input);
+        return verifier.verify(signature);
+    }
+
+    /**
+     * Stand-in for a remote signing service. Batches are written to a single "connection" (a queue) without waiting
+     * for the results of earlier batches, and the results are sent back one by one in reverse order.
+     */
+    private static final class LoopbackBatchSigner implements BoringSSLBatchingAsyncPrivateKeyMethod.BatchSigner {
+        final List<Integer> batchSizes = new CopyOnWriteArrayList<>();
+        private final Queue<BoringSSLBatchingAsyncPrivateKeyMethod.SignRequest> connection =
+                new ConcurrentLinkedQueue<>();
+        private final ExecutorService remote = Executors.newSingleThreadExecutor();
+
+        @Override
+        public void sign(List<BoringSSLBatchingAsyncPrivateKeyMethod.SignRequest> batch) {
+            batchSizes.add(batch.size());
+            connection.addAll(batch);
+            remote.execute(() -> {
+                List<BoringSSLBatchingAsyncPrivateKeyMethod.SignRequest> received = new ArrayList<>();
+                BoringSSLBatchingAsyncPrivateKeyMethod.SignRequest request;
+                while ((request = connection.poll()) != null) {
+                    received.add(request);
+                }
+                for (int i = received.size() - 1; i >= 0; i--) {
+                    request = received.get(i);
+                    try {
+                        Signature signature = Signature.getInstance("SHA256withRSA");
+                        signature.initSign(keyPair.getPrivate());
+                        signature.update(request.input());
+                        request.complete(signature.sign());
+                    } catch (Exception e) {
+                        request.fail(e);
+                    }
+                }
+            });
+        }
+
+        void close() {
+            remote.shutdown();
+        }
+    }
+}
@@ -0,0 +1,94 @@
+/*
+ * Copyright 2026 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty.incubator.codec.quic;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.ChannelHandlerAdapter;
+import io.netty.channel.embedded.EmbeddedChannel;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+public class ConnectionIdChannelMapTest {
+
+    private EmbeddedChannel parent;
+    private QuicheQuicChannel channel;
+
+    @BeforeEach
+    public void setUp() {
+        parent = new EmbeddedChannel();
+        InetSocketAddress address = new InetSocketAddress(0);
+        channel = QuicheQuicChannel.forClient(parent, address, address, new ChannelHandlerAdapter() { },
+                Quic.toOptionsArray(Collections.emptyMap()), Quic.toAttributesArray(Collections.emptyMap()));
+    }
+
+    @AfterEach
+    public void tearDown() {
+        parent.finishAndReleaseAll();
+    }
+
+    @Test
+    public void testPutAllAndRemoveAll() {
+        ConnectionIdChannelMap map = new ConnectionIdChannelMap();
+        List<ByteBuffer> ids = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            byte[] id = new byte[i + 4];
+            ThreadLocalRandom.current().nextBytes(id);
+            ids.add(ByteBuffer.wrap(id));
+        }
+        map.putAll(ids, channel);
+        for (ByteBuffer id : ids) {
+            assertSame(channel, map.get(id.duplicate()));
+        }
+
+        // Use a direct buffer, as this is what we use when exchanging ids with quiche.
+        ByteBuf encoded = Unpooled.directBuffer(256);
+        try {
+            // Some garbage that should not be touched.
+            encoded.writeInt(42).readerIndex(Integer.BYTES);
+            for (int i = 0; i < ids.size(); i += 2) {
+                ByteBuffer id = ids.get(i);
+                encoded.writeByte(id.remaining());
+                encoded.writeBytes(id.duplicate());
+            }
+            int readable = encoded.readableBytes();
+            map.removeAll(encoded, channel);
+            assertEquals(readable, encoded.readableBytes());
+        } finally {
+            encoded.release();
+        }
+
+        for (int i = 0; i < ids.size(); i++) {
+            if (i % 2 == 0) {
+                assertNull(map.get(ids.get(i)));
+            } else {
+                assertSame(channel, map.get(ids.get(i)));
+            }
+        }
+    }
+}
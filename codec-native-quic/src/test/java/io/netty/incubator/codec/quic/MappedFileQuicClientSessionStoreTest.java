@@ -0,0 +1,115 @@
+/*
+ * Copyright 2026 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty.incubator.codec.quic;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFilePermission;
+import java.util.EnumSet;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+public class MappedFileQuicClientSessionStoreTest {
+
+    @TempDir
+    Path dir;
+
+    private static long inOneHour() {
+        return System.currentTimeMillis() + TimeUnit.HOURS.toMillis(1);
+    }
+
+    @Test
+    public void testPutGetRemove() throws Exception {
+        try (MappedFileQuicClientSessionStore store =
+                     new MappedFileQuicClientSessionStore(dir.resolve("sessions"), 16, 256)) {
+            byte[] session = { 1, 2, 3 };
+            store.put("example.com", 443, session, inOneHour(), false);
+            // Hosts are case-insensitive.
+            assertArrayEquals(session, store.get("EXAMPLE.com", 443));
+            assertArrayEquals(session, store.get("example.com", 443));
+            assertNull(store.get("example.com", 8443));
+            assertNull(store.get("example.org", 443));
+
+            store.remove("example.com", 443);
+            assertNull(store.get("example.com", 443));
+        }
+    }
+
+    @Test
+    public void testFileIsOnlyAccessibleByOwner() throws Exception {
+        assumeTrue(dir.getFileSystem().supportedFileAttributeViews().contains("posix"));
+        Path file = dir.resolve("sessions");
+        try (MappedFileQuicClientSessionStore store = new MappedFileQuicClientSessionStore(file, 16, 256)) {
+            assertEquals(EnumSet.of(PosixFilePermission.OWNER_READ, PosixFilePermission.OWNER_WRITE),
+                    Files.getPosixFilePermissions(file));
+        }
+    }
+
+    @Test
+    public void testSingleUseAndExpired() throws Exception {
+        try (MappedFileQuicClientSessionStore store =
+                     new MappedFileQuicClientSessionStore(dir.resolve("sessions"), 16, 256)) {
+            store.put("single.example.com", 443, new byte[] { 1 }, inOneHour(), true);
+            assertArrayEquals(new byte[] { 1 }, store.get("single.example.com", 443));
+            assertNull(store.get("single.example.com", 443));
+
+            store.put("expired.example.com", 443, new byte[] { 1 }, System.currentTimeMillis() - 1, false);
+            assertNull(store.get("expired.example.com", 443));
+
+            // Too large to be stored.
+            store.put("large.example.com", 443, new byte[256], inOneHour(), false);
+            assertNull(store.get("large.example.com", 443));
+        }
+    }
+
+    @Test
+    public void testReplacesWhenFull() throws Exception {
+        try (MappedFileQuicClientSessionStore store =
+                     new MappedFileQuicClientSessionStore(dir.resolve("sessions"), 4, 256)) {
+            for (int i = 0; i < 16; i++) {
+                store.put("example.com", i, new byte[] { (byte) i }, inOneHour(), false);
+            }
+            // The most recently stored session is always kept.
+            assertArrayEquals(new byte[] { 15 }, store.get("example.com", 15));
+        }
+    }
+
+    @Test
+    public void testSessionsSurviveRestart() throws Exception {
+        Path file = dir.resolve("sessions");
+        byte[] session = { 4, 5, 6 };
+        long now = System.currentTimeMillis();
+        try (MappedFileQuicClientSessionStore store = new MappedFileQuicClientSessionStore(file, 16, 256)) {
+            new QuicClientSessionCache(store).saveSession("example.com", 443, now,
+                    TimeUnit.HOURS.toMillis(1), session, false);
+        }
+        try (MappedFileQuicClientSessionStore store = new MappedFileQuicClientSessionStore(file, 16, 256)) {
+            QuicClientSessionCache cache = new QuicClientSessionCache(store);
+            assertArrayEquals(session, cache.getSession("example.com", 443));
+        }
+        // Different geometry drops all the sessions.
+        try (MappedFileQuicClientSessionStore store = new MappedFileQuicClientSessionStore(file, 32, 256)) {
+            assertNull(store.get("example.com", 443));
+        }
+    }
+}
@@ -0,0 +1,65 @@
+/*
+ * Copyright 2026 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty.incubator.codec.quic;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class QLogConfigurationTest {
+
+    @Test
+    public void testUnlimited() {
+        QLogConfiguration configuration = new QLogConfiguration("path", "title", "description");
+        for (int i = 0; i < 100; i++) {
+            assertTrue(configuration.tryAcquire());
+        }
+    }
+
+    @Test
+    public void testMaxActiveLogs() {
+        QLogConfiguration configuration = new QLogConfiguration("path", "title", "description", 1, 2);
+        assertTrue(configuration.tryAcquire());
+        assertTrue(configuration.tryAcquire());
+        assertFalse(configuration.tryAcquire());
+        configuration.release();
+        assertTrue(configuration.tryAcquire());
+        assertFalse(configuration.tryAcquire());
+    }
+
+    @Test
+    public void testSampleRate() {
+        QLogConfiguration configuration = new QLogConfiguration("path", "title", "description", 4, 0);
+        int acquired = 0;
+        for (int i = 0; i < 10000; i++) {
+            if (configuration.tryAcquire()) {
+                acquired++;
+            }
+        }
+        // One in four is expected, use wide bounds so the test never fails by chance.
+        assertTrue(acquired > 1500 && acquired < 3500, "acquired: " + acquired);
+    }
+
+    @Test
+    public void testInvalidArguments() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new QLogConfiguration("path", "title", "description", 0, 0));
+        assertThrows(IllegalArgumentException.class,
+                () -> new QLogConfiguration("path", "title", "description", 1, -1));
+    }
+}
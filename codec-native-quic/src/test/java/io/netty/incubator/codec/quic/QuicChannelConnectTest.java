@@ -32,17 +32,22 @@ import io.netty.handler.ssl.ClientAuth;
 import io.netty.handler.ssl.SniCompletionEvent;
 import io.netty.handler.ssl.SslHandshakeCompletionEvent;
 import io.netty.handler.ssl.util.InsecureTrustManagerFactory;
+import io.netty.handler.ssl.util.SelfSignedCertificate;
 import io.netty.handler.ssl.util.TrustManagerFactoryWrapper;
 import io.netty.util.DomainWildcardMappingBuilder;
 import io.netty.util.ReferenceCountUtil;
 import io.netty.util.concurrent.Future;
+import io.netty.util.concurrent.GlobalEventExecutor;
 import io.netty.util.concurrent.ImmediateEventExecutor;
+import io.netty.util.concurrent.Promise;
 import org.jetbrains.annotations.Nullable;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.Timeout;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.MethodSource;
 import org.opentest4j.AssertionFailedError;
 
+import javax.net.ssl.KeyManagerFactory;
 import javax.net.ssl.SSLEngine;
 import javax.net.ssl.SSLEngineResult;
 import javax.net.ssl.SSLException;
@@ -60,10 +65,12 @@ import java.nio.channels.ClosedChannelException;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.security.KeyStore;
 import java.security.Principal;
 import java.security.PrivateKey;
 import java.security.Signature;
 import java.security.SignatureException;
+import java.security.cert.Certificate;
 import java.security.cert.CertificateException;
 import java.security.cert.X509Certificate;
 import java.security.spec.MGF1ParameterSpec;
@@ -78,7 +85,9 @@ import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
 import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicReference;
@@ -1877,6 +1886,228 @@ public class QuicChannelConnectTest extends AbstractQuicTest {
         }
     }
 
+    @ParameterizedTest
+    @MethodSource("newSslTaskExecutors")
+    public void testUpdateCertificates(Executor executor) throws Throwable {
+        QuicSslContext sslServerCtx = QuicSslContextBuilder.forServer(
+                        QuicTestUtils.SELF_SIGNED_CERTIFICATE.key(), null,
+                        QuicTestUtils.SELF_SIGNED_CERTIFICATE.cert())
+                .applicationProtocols(QuicTestUtils.PROTOS)
+                .build();
+        Channel server = QuicTestUtils.newServer(QuicTestUtils.newQuicServerBuilder(executor, sslServerCtx),
+                TestQuicTokenHandler.INSTANCE, new ChannelInboundHandlerAdapter() {
+                    @Override
+                    public boolean isSharable() {
+                        return true;
+                    }
+                }, new ChannelInboundHandlerAdapter());
+        InetSocketAddress address = (InetSocketAddress) server.localAddress();
+        Channel channel = QuicTestUtils.newClient(executor);
+        SelfSignedCertificate newCertificate = new SelfSignedCertificate();
+        try {
+            QuicChannelBootstrap bootstrap = QuicTestUtils.newQuicChannelBootstrap(channel)
+                    .handler(new ChannelInboundHandlerAdapter())
+                    .streamHandler(new ChannelInboundHandlerAdapter())
+                    .remoteAddress(address);
+
+            QuicChannel quicChannel1 = bootstrap.connect().get();
+            assertEquals(QuicTestUtils.SELF_SIGNED_CERTIFICATE.cert(),
+                    quicChannel1.sslEngine().getSession().getPeerCertificates()[0]);
+
+            KeyStore keyStore = KeyStore.getInstance(KeyStore.getDefaultType());
+            keyStore.load(null, null);
+            keyStore.setKeyEntry("key", newCertificate.key(), new char[0],
+                    new Certificate[] { newCertificate.cert() });
+            KeyManagerFactory keyManagerFactory =
+                    KeyManagerFactory.getInstance(KeyManagerFactory.getDefaultAlgorithm());
+            keyManagerFactory.init(keyStore, new char[0]);
+            sslServerCtx.updateCertificates(keyManagerFactory, null);
+
+            // New connections must use the new certificate while the old one stays usable.
+            QuicChannel quicChannel2 = bootstrap.connect().get();
+            assertEquals(newCertificate.cert(), quicChannel2.sslEngine().getSession().getPeerCertificates()[0]);
+            assertTrue(quicChannel1.isActive());
+
+            quicChannel1.close().sync();
+            quicChannel2.close().sync();
+        } finally {
+            newCertificate.delete();
+            server.close().sync();
+            // Close the parent Datagram channel as well.
+            channel.close().sync();
+
+            shutdown(executor);
+        }
+    }
+
+    @Test
+    public void testUpdateCertificatesKeyless() throws Throwable {
+        BoringSSLAsyncPrivateKeyMethod keyMethod = new BoringSSLAsyncPrivateKeyMethod() {
+            @Override
+            public Future<byte[]> sign(SSLEngine engine, int signatureAlgorithm, byte[] input) {
+                throw new UnsupportedOperationException();
+            }
+
+            @Override
+            public Future<byte[]> decrypt(SSLEngine engine, byte[] input) {
+                throw new UnsupportedOperationException();
+            }
+        };
+        KeyStore keyStore = KeyStore.getInstance(KeyStore.getDefaultType());
+        keyStore.load(null, null);
+        keyStore.setKeyEntry("key", QuicTestUtils.SELF_SIGNED_CERTIFICATE.key(), new char[0],
+                new Certificate[] { QuicTestUtils.SELF_SIGNED_CERTIFICATE.cert() });
+        KeyManagerFactory keyManagerFactory =
+                KeyManagerFactory.getInstance(KeyManagerFactory.getDefaultAlgorithm());
+        keyManagerFactory.init(keyStore, new char[0]);
+        BoringSSLKeylessManagerFactory keylessFactory = BoringSSLKeylessManagerFactory.newKeyless(
+                keyMethod, QuicTestUtils.SELF_SIGNED_CERTIFICATE.certificate());
+
+        // A keyless context must not start to use a local key, as the private key method stays bound to it.
+        QuicSslContext keylessCtx = QuicSslContextBuilder.forServer(keylessFactory, null)
+                .applicationProtocols(QuicTestUtils.PROTOS).build();
+        assertThrows(IllegalArgumentException.class, () -> keylessCtx.updateCertificates(keyManagerFactory, null));
+        assertThrows(IllegalArgumentException.class, () -> keylessCtx.updateCertificates(keylessFactory, null));
+
+        QuicSslContext ctx = QuicSslContextBuilder.forServer(keyManagerFactory, null)
+                .applicationProtocols(QuicTestUtils.PROTOS).build();
+        assertThrows(IllegalArgumentException.class, () -> ctx.updateCertificates(keylessFactory, null));
+        // Updating the certificates of a context that uses a local key still works.
+        ctx.updateCertificates(keyManagerFactory, null);
+    }
+
+    @ParameterizedTest
+    @MethodSource("newSslTaskExecutors")
+    public void testSessionStats(Executor executor) throws Throwable {
+        QuicSslSessionStats stats = resumeSession(executor, null);
+        assertEquals(1, stats.fullHandshakes());
+        assertEquals(1, stats.resumedHandshakes());
+        assertEquals(0.5, stats.resumptionRate());
+        assertEquals(0, stats.sessionsStored());
+    }
+
+    @ParameterizedTest
+    @MethodSource("newSslTaskExecutors")
+    public void testSessionStore(Executor executor) throws Throwable {
+        ShardedQuicSslSessionStore store = new ShardedQuicSslSessionStore(4, 128, 1, TimeUnit.MINUTES);
+        QuicSslSessionStats stats = resumeSession(executor, store);
+        assertNotEquals(0, store.size());
+        assertEquals(1, stats.fullHandshakes());
+        assertEquals(1, stats.resumedHandshakes());
+        assertNotEquals(0, stats.sessionsStored());
+        assertEquals(0, stats.sessionsMissed());
+    }
+
+    @ParameterizedTest
+    @MethodSource("newSslTaskExecutors")
+    public void testSessionStoreCompletesLater(Executor executor) throws Throwable {
+        ShardedQuicSslSessionStore store = new ShardedQuicSslSessionStore(4, 128, 1, TimeUnit.MINUTES);
+        // Complete the lookup from another thread, like a store that is backed by a remote service would do.
+        QuicSslSessionStore remoteStore = new QuicSslSessionStore() {
+            @Override
+            public void put(byte[] id, byte[] session) {
+                store.put(id, session);
+            }
+
+            @Override
+            public Future<byte[]> get(byte[] id) {
+                Promise<byte[]> promise = GlobalEventExecutor.INSTANCE.newPromise();
+                GlobalEventExecutor.INSTANCE.schedule(
+                        () -> promise.setSuccess(store.get(id).getNow()), 50, TimeUnit.MILLISECONDS);
+                return promise;
+            }
+
+            @Override
+            public void remove(byte[] id) {
+                store.remove(id);
+            }
+        };
+        QuicSslSessionStats stats = resumeSession(executor, remoteStore);
+        assertEquals(1, stats.resumedHandshakes());
+        assertEquals(0, stats.sessionsMissed());
+    }
+
+    @Test
+    public void testSessionStoreRejectsTicketKeys() {
+        QuicSslContext sslServerCtx = QuicSslContextBuilder.forServer(
+                        QuicTestUtils.SELF_SIGNED_CERTIFICATE.key(), null,
+                        QuicTestUtils.SELF_SIGNED_CERTIFICATE.cert())
+                .applicationProtocols(QuicTestUtils.PROTOS)
+                .sessionStore(new ShardedQuicSslSessionStore(1, 16, 1, TimeUnit.MINUTES))
+                .build();
+        SslSessionTicketKey key = new SslSessionTicketKey(new byte[SslSessionTicketKey.NAME_SIZE],
+                new byte[SslSessionTicketKey.HMAC_KEY_SIZE], new byte[SslSessionTicketKey.AES_KEY_SIZE]);
+        assertThrows(IllegalStateException.class, () -> sslServerCtx.sessionContext().setTicketKeys(key));
+        ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+        try (QuicSslSessionTicketKeyRotator rotator = QuicSslSessionTicketKeyRotator.generating(
+                scheduler, 1, TimeUnit.HOURS, 1, null)) {
+            assertThrows(IllegalStateException.class, () -> rotator.add(sslServerCtx.sessionContext()));
+        } finally {
+            scheduler.shutdownNow();
+        }
+    }
+
+    private static QuicSslSessionStats resumeSession(Executor executor, @Nullable QuicSslSessionStore sessionStore)
+            throws Exception {
+        QuicSslContext sslServerCtx = QuicSslContextBuilder.forServer(
+                        QuicTestUtils.SELF_SIGNED_CERTIFICATE.key(), null,
+                        QuicTestUtils.SELF_SIGNED_CERTIFICATE.cert())
+                .applicationProtocols(QuicTestUtils.PROTOS)
+                .sessionStore(sessionStore)
+                .build();
+        QuicSslContext sslClientCtx = QuicSslContextBuilder.forClient()
+                .trustManager(InsecureTrustManagerFactory.INSTANCE).applicationProtocols(QuicTestUtils.PROTOS).build();
+        Channel server = QuicTestUtils.newServer(QuicTestUtils.newQuicServerBuilder(executor, sslServerCtx),
+                TestQuicTokenHandler.INSTANCE,
+                new ChannelInboundHandlerAdapter() {
+                    @Override
+                    public boolean isSharable() {
+                        return true;
+                    }
+
+                    @Override
+                    public void channelActive(ChannelHandlerContext ctx) {
+                        ((QuicChannel) ctx.channel()).createStream(QuicStreamType.BIDIRECTIONAL,
+                                new ChannelInboundHandlerAdapter() {
+                                    @Override
+                                    public void channelActive(ChannelHandlerContext ctx) {
+                                        ctx.writeAndFlush(ctx.alloc().directBuffer(10).writeZero(10))
+                                                .addListener(f -> ctx.close());
+                                    }
+                                });
+                        ctx.fireChannelActive();
+                    }
+                },
+                new ChannelInboundHandlerAdapter());
+        InetSocketAddress address = (InetSocketAddress) server.localAddress();
+
+        Channel channel = QuicTestUtils.newClient(QuicTestUtils.newQuicClientBuilder(executor).sslEngineProvider(c ->
+                sslClientCtx.newEngine(c.alloc(), "localhost", 9999)));
+        try {
+            QuicChannelBootstrap bootstrap = QuicTestUtils.newQuicChannelBootstrap(channel)
+                    .handler(new ChannelInboundHandlerAdapter())
+                    .remoteAddress(address);
+            for (int i = 0; i < 2; i++) {
+                CountDownLatch latch = new CountDownLatch(1);
+                QuicChannel quicChannel = bootstrap
+                        .streamHandler(new BytesCountingHandler(latch, 10))
+                        .connect()
+                        .get();
+                latch.await();
+                // Only the second connection can resume the session of the first one.
+                assertSessionReused(quicChannel, i == 1);
+                quicChannel.close().sync();
+            }
+            return sslServerCtx.sessionContext().sessionStats();
+        } finally {
+            server.close().sync();
+            // Close the parent Datagram channel as well.
+            channel.close().sync();
+
+            shutdown(executor);
+        }
+    }
+
     private static void assertSessionReused(QuicChannel channel, boolean reused) throws Exception {
         QuicheQuicSslEngine engine =  (QuicheQuicSslEngine) channel.sslEngine();
         assertNotNull(engine);
@@ -23,6 +23,7 @@ import io.netty.channel.ChannelFutureListener;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.ChannelInboundHandlerAdapter;
 import io.netty.channel.ChannelOption;
+import io.netty.channel.FixedRecvByteBufAllocator;
 import io.netty.util.ReferenceCountUtil;
 import io.netty.util.concurrent.ImmediateEventExecutor;
 import io.netty.util.concurrent.Promise;
@@ -30,9 +31,15 @@ import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.MethodSource;
 
 import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
 import java.util.Random;
+import java.util.Set;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
 
@@ -303,4 +310,162 @@ public class QuicChannelDatagramTest extends AbstractQuicTest {
             shutdown(executor);
         }
     }
+
+    @ParameterizedTest
+    @MethodSource("newSslTaskExecutors")
+    public void testQuicDatagramExpires(Executor executor) throws Throwable {
+        QuicChannelValidationHandler serverHandler = new QuicChannelValidationHandler() {
+            @Override
+            public void channelRead(ChannelHandlerContext ctx, Object msg) {
+                ReferenceCountUtil.release(msg);
+            }
+        };
+        Channel server = QuicTestUtils.newServer(QuicTestUtils.newQuicServerBuilder(executor)
+                        .datagram(10, 10),
+                InsecureQuicTokenHandler.INSTANCE, serverHandler, new ChannelInboundHandlerAdapter());
+        InetSocketAddress address = (InetSocketAddress) server.localAddress();
+
+        // Only a single datagram fits into the send queue of quiche, everything else needs to wait in the queue of
+        // the channel until quiche was able to send it.
+        Channel channel = QuicTestUtils.newClient(QuicTestUtils.newQuicClientBuilder(executor)
+                .datagram(10, 1));
+        QuicChannelValidationHandler clientHandler = new QuicChannelValidationHandler();
+        try {
+            QuicChannel quicChannel = QuicTestUtils.newQuicChannelBootstrap(channel)
+                    .handler(clientHandler)
+                    .remoteAddress(address)
+                    .connect()
+                    .get();
+            ChannelFuture future = quicChannel.eventLoop().submit(() -> {
+                for (int i = 0; i < 4; i++) {
+                    quicChannel.write(Unpooled.copiedBuffer(data));
+                }
+                // Use a heap buffer so it needs to be copied to a direct buffer before it can be queued.
+                ChannelFuture f = quicChannel.write(
+                        new QuicDatagram(Unpooled.wrappedBuffer(data), 1, TimeUnit.NANOSECONDS));
+                quicChannel.flush();
+                return f;
+            }).sync().getNow();
+            future.sync();
+
+            long expired = 0;
+            for (int i = 0; i < 50; i++) {
+                expired = quicChannel.collectDatagramStats().sync().getNow().expired();
+                if (expired != 0) {
+                    break;
+                }
+                Thread.sleep(100);
+            }
+            assertEquals(1, expired);
+
+            quicChannel.close().sync();
+
+            serverHandler.assertState();
+            clientHandler.assertState();
+        } finally {
+            server.close().sync();
+            // Close the parent Datagram channel as well.
+            channel.close().sync();
+
+            shutdown(executor);
+        }
+    }
+
+    @ParameterizedTest
+    @MethodSource("newSslTaskExecutors")
+    public void testDatagramsReceivedIntoSharedBuffer(Executor executor) throws Throwable {
+        // All datagrams fit into a single buffer, so they should be handed out as slices of a shared buffer.
+        int numDatagrams = 8;
+        List<ByteBuf> received = testDatagramReceive(executor, 2048, numDatagrams, 16);
+        try {
+            Set<ByteBuf> buffers = Collections.newSetFromMap(new IdentityHashMap<>());
+            for (ByteBuf buffer : received) {
+                buffers.add(buffer.unwrap());
+            }
+            assertTrue(buffers.size() < numDatagrams, "Received " + numDatagrams + " datagrams in " +
+                    buffers.size() + " buffers");
+        } finally {
+            received.forEach(ReferenceCountUtil::release);
+        }
+    }
+
+    @ParameterizedTest
+    @MethodSource("newSslTaskExecutors")
+    public void testDatagramLargerThanReceiveBuffer(Executor executor) throws Throwable {
+        // The datagram does not fit into the buffer of the guessed size, so a buffer of its exact size is used.
+        List<ByteBuf> received = testDatagramReceive(executor, 64, 1, data.length);
+        received.forEach(ReferenceCountUtil::release);
+    }
+
+    private List<ByteBuf> testDatagramReceive(Executor executor, int bufferSize, int numDatagrams, int datagramSize)
+            throws Throwable {
+        List<ByteBuf> received = new ArrayList<>();
+        Promise<Void> serverPromise = ImmediateEventExecutor.INSTANCE.newPromise();
+        QuicChannelValidationHandler serverHandler = new QuicChannelValidationHandler() {
+            @Override
+            public void channelRead(ChannelHandlerContext ctx, Object msg) {
+                if (msg instanceof ByteBuf) {
+                    // Keep the datagrams so the buffers they were sliced from stay alive until they are compared.
+                    received.add((ByteBuf) msg);
+                    if (received.size() == numDatagrams) {
+                        serverPromise.trySuccess(null);
+                    }
+                } else {
+                    ctx.fireChannelRead(msg);
+                }
+            }
+
+            @Override
+            public void exceptionCaught(ChannelHandlerContext ctx, Throwable cause) {
+                serverPromise.tryFailure(cause);
+            }
+        };
+        Channel server = QuicTestUtils.newServer(QuicTestUtils.newQuicServerBuilder(executor)
+                        .option(ChannelOption.RCVBUF_ALLOCATOR, new FixedRecvByteBufAllocator(bufferSize))
+                        .option(ChannelOption.MAX_MESSAGES_PER_READ, numDatagrams * 2)
+                        .datagram(10, 10),
+                InsecureQuicTokenHandler.INSTANCE, serverHandler, new ChannelInboundHandlerAdapter());
+        InetSocketAddress address = (InetSocketAddress) server.localAddress();
+
+        Channel channel = QuicTestUtils.newClient(QuicTestUtils.newQuicClientBuilder(executor)
+                .datagram(10, 10));
+        QuicChannelValidationHandler clientHandler = new QuicChannelValidationHandler();
+        try {
+            QuicChannel quicChannel = QuicTestUtils.newQuicChannelBootstrap(channel)
+                    .handler(clientHandler)
+                    .remoteAddress(address)
+                    .connect()
+                    .get();
+            // Write all datagrams before flushing so they are sent together.
+            quicChannel.eventLoop().submit(() -> {
+                for (int i = 0; i < numDatagrams; i++) {
+                    quicChannel.write(Unpooled.copiedBuffer(data, i, datagramSize));
+                }
+                quicChannel.flush();
+            }).sync();
+
+            assertTrue(serverPromise.await(3000), "Server received: " + received.size());
+            serverPromise.sync();
+            for (int i = 0; i < numDatagrams; i++) {
+                ByteBuf expected = Unpooled.wrappedBuffer(data, i, datagramSize);
+                assertEquals(expected, received.get(i));
+                expected.release();
+            }
+
+            quicChannel.close().sync();
+
+            serverHandler.assertState();
+            clientHandler.assertState();
+            return received;
+        } catch (Throwable cause) {
+            received.forEach(ReferenceCountUtil::release);
+            throw cause;
+        } finally {
+            server.close().sync();
+            // Close the parent Datagram channel as well.
+            channel.close().sync();
+
+            shutdown(executor);
+        }
+    }
 }
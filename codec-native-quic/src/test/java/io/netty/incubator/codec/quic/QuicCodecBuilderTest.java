@@ -53,6 +53,8 @@ class QuicCodecBuilderTest {
             field.set(builder, Long.MIN_VALUE);
         } else if (QuicCongestionControlAlgorithm.class == clazz) {
             field.set(builder, QuicCongestionControlAlgorithm.CUBIC);
+        } else if (String.class == clazz) {
+            field.set(builder, "cubic");
         } else if (FlushStrategy.class == clazz) {
             field.set(builder, FlushStrategy.afterNumBytes(10));
         } else if (Function.class == clazz) {
@@ -65,6 +67,10 @@ class QuicCodecBuilderTest {
             field.set(builder, new byte[16]);
         } else if (Executor.class == clazz) {
             field.set(builder, ImmediateExecutor.INSTANCE);
+        } else if (QuicMemoryGovernor.class == clazz) {
+            field.set(builder, new QuicMemoryGovernor(1, 2, 3));
+        } else if (QuicConnectionSampleListener.class == clazz) {
+            field.set(builder, (QuicConnectionSampleListener) samples -> { });
         } else {
             throw new IllegalArgumentException("Unknown field type " + clazz);
         }
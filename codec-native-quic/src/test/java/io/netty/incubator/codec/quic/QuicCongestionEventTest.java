@@ -0,0 +1,43 @@
+/*
+ * Copyright 2026 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty.incubator.codec.quic;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class QuicCongestionEventTest {
+
+    @Test
+    public void testIsChanged() {
+        assertTrue(QuicCongestionEvent.isChanged(null, 0, 0, 0));
+
+        QuicCongestionEvent last = new QuicCongestionEvent(8000, 1000, 1000, 80000);
+        assertFalse(QuicCongestionEvent.isChanged(last, 8000, 1000, 80000));
+        assertFalse(QuicCongestionEvent.isChanged(last, 9000, 900, 70000));
+        assertTrue(QuicCongestionEvent.isChanged(last, 9001, 1000, 80000));
+        assertTrue(QuicCongestionEvent.isChanged(last, 8000, 874, 80000));
+        assertTrue(QuicCongestionEvent.isChanged(last, 8000, 1000, 90001));
+    }
+
+    @Test
+    public void testIsChangedFromZero() {
+        QuicCongestionEvent last = new QuicCongestionEvent(0, 0, 0, 0);
+        assertFalse(QuicCongestionEvent.isChanged(last, 0, 0, 0));
+        assertTrue(QuicCongestionEvent.isChanged(last, 0, 0, 1));
+    }
+}
@@ -0,0 +1,405 @@
+/*
+ * Copyright 2026 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty.incubator.codec.quic;
+
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.channel.ChannelPromise;
+import io.netty.channel.DefaultChannelPromise;
+import io.netty.channel.DefaultEventLoop;
+import io.netty.resolver.SimpleNameResolver;
+import io.netty.util.NetUtil;
+import io.netty.util.concurrent.EventExecutor;
+import io.netty.util.concurrent.Future;
+import io.netty.util.concurrent.Promise;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.net.ConnectException;
+import java.net.Inet6Address;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class QuicConnectionPoolTest extends AbstractQuicTest {
+
+    private static final String HOST = "example.com";
+    private static final int PORT = 443;
+
+    private DefaultEventLoop loop;
+    private final BlockingQueue<ConnectRequest> connects = new LinkedBlockingQueue<>();
+
+    @ParameterizedTest
+    @MethodSource("newSslTaskExecutors")
+    public void testReusesConnection(Executor executor) throws Throwable {
+        testPool(executor, 100, true);
+    }
+
+    @ParameterizedTest
+    @MethodSource("newSslTaskExecutors")
+    public void testOpensNewConnectionOnStreamLimit(Executor executor) throws Throwable {
+        testPool(executor, 1, false);
+    }
+
+    private static void testPool(Executor executor, int maxStreamsPerConnection, boolean sameConnection)
+            throws Throwable {
+        Channel server = null;
+        Channel channel = null;
+        QuicConnectionPool pool = null;
+        try {
+            server = QuicTestUtils.newServer(executor, QuicTestUtils.NOOP_HANDLER, new ChannelInboundHandlerAdapter());
+            InetSocketAddress address = (InetSocketAddress) server.localAddress();
+            channel = QuicTestUtils.newClient(executor);
+            Channel parent = channel;
+            pool = QuicConnectionPool.builder(channel.eventLoop(), remote ->
+                    QuicTestUtils.newQuicChannelBootstrap(parent)
+                            .handler(QuicTestUtils.NOOP_HANDLER)
+                            .streamHandler(new ChannelInboundHandlerAdapter())
+                            .remoteAddress(remote)
+                            .connect())
+                    .maxStreamsPerConnection(maxStreamsPerConnection)
+                    .build();
+
+            String host = NetUtil.LOCALHOST4.getHostAddress();
+            QuicStreamChannel first = pool.createStream(host, address.getPort(),
+                    QuicStreamType.BIDIRECTIONAL, new ChannelInboundHandlerAdapter()).get();
+            QuicStreamChannel second = pool.createStream(host, address.getPort(),
+                    QuicStreamType.BIDIRECTIONAL, new ChannelInboundHandlerAdapter()).get();
+            if (sameConnection) {
+                assertSame(first.parent(), second.parent());
+            } else {
+                assertNotSame(first.parent(), second.parent());
+            }
+
+            // Once the stream is closed the connection can be used again.
+            first.close().sync();
+            QuicStreamChannel third = pool.createStream(host, address.getPort(),
+                    QuicStreamType.BIDIRECTIONAL, new ChannelInboundHandlerAdapter()).get();
+            assertTrue(third.parent() == first.parent() || third.parent() == second.parent());
+        } finally {
+            if (pool != null) {
+                pool.close();
+            }
+            QuicTestUtils.closeIfNotNull(channel);
+            QuicTestUtils.closeIfNotNull(server);
+        }
+    }
+
+    @Test
+    public void testSortAddresses() throws Exception {
+        InetAddress v4a = InetAddress.getByName("192.0.2.1");
+        InetAddress v4b = InetAddress.getByName("192.0.2.2");
+        InetAddress v4c = InetAddress.getByName("192.0.2.3");
+        InetAddress v6a = InetAddress.getByName("2001:db8::1");
+        assertEquals(Arrays.asList(v6a, v4a, v4b, v4c),
+                QuicConnectionPool.sortAddresses(Arrays.asList(v4a, v4b, v6a, v4c)));
+    }
+
+    @Test
+    public void testMatches() {
+        assertTrue(QuicConnectionPool.matches("example.com", "EXAMPLE.com"));
+        assertTrue(QuicConnectionPool.matches("*.example.com", "api.example.com"));
+        assertFalse(QuicConnectionPool.matches("*.example.com", "example.com"));
+        assertFalse(QuicConnectionPool.matches("*.example.com", "a.b.example.com"));
+        assertFalse(QuicConnectionPool.matches("*.example.com", "api.example.org"));
+        assertFalse(QuicConnectionPool.matches("example.com", "api.example.com"));
+    }
+
+    @BeforeEach
+    public void setUp() {
+        loop = new DefaultEventLoop();
+    }
+
+    @AfterEach
+    public void tearDown() throws Exception {
+        loop.shutdownGracefully(0, 0, TimeUnit.SECONDS).sync();
+    }
+
+    @Test
+    public void testWaitersShareNewConnection() throws Exception {
+        QuicConnectionPool pool = newPool(QuicConnectionPool.builder(loop, this::connect), localhost4());
+        Future<QuicStreamChannel> first = createStream(pool);
+        Future<QuicStreamChannel> second = createStream(pool);
+        Future<QuicStreamChannel> third = createStream(pool);
+
+        FakeConnection connection = nextConnect().succeed();
+        assertSame(connection.channel, first.get().parent());
+        assertSame(connection.channel, second.get().parent());
+        assertSame(connection.channel, third.get().parent());
+        assertNoConnect();
+
+        // The connection is reused by later streams as well.
+        assertSame(connection.channel, createStream(pool).get().parent());
+        assertNoConnect();
+        assertEquals(4, connection.streams.get());
+        pool.close();
+    }
+
+    @Test
+    public void testOpensExtraConnection() throws Exception {
+        QuicConnectionPool pool = newPool(QuicConnectionPool.builder(loop, this::connect)
+                .maxStreamsPerConnection(1).maxConnectionsPerAuthority(2), localhost4());
+        Future<QuicStreamChannel> first = createStream(pool);
+        FakeConnection connection1 = nextConnect().succeed();
+        assertSame(connection1.channel, first.get().parent());
+
+        Future<QuicStreamChannel> second = createStream(pool);
+        FakeConnection connection2 = nextConnect().succeed();
+        assertSame(connection2.channel, second.get().parent());
+
+        // Both connections reached maxStreamsPerConnection but no more connections may be opened.
+        Future<QuicStreamChannel> third = createStream(pool);
+        QuicChannel parent = third.get().parent();
+        assertTrue(parent == connection1.channel || parent == connection2.channel);
+        assertNoConnect();
+        pool.close();
+        connection1.closeFuture.sync();
+        connection2.closeFuture.sync();
+    }
+
+    @Test
+    public void testFailedAttemptUsesExistingConnection() throws Exception {
+        QuicConnectionPool pool = newPool(QuicConnectionPool.builder(loop, this::connect)
+                .maxStreamsPerConnection(1).maxConnectionsPerAuthority(2)
+                .connectBackoff(1, 1, TimeUnit.HOURS), localhost4());
+        Future<QuicStreamChannel> first = createStream(pool);
+        FakeConnection connection = nextConnect().succeed();
+        assertSame(connection.channel, first.get().parent());
+
+        // The second connection can't be opened, so the existing one is used although it reached the limit.
+        Future<QuicStreamChannel> second = createStream(pool);
+        nextConnect().fail(new ConnectException());
+        assertSame(connection.channel, second.get().parent());
+
+        // While backing off no new attempt is made.
+        Future<QuicStreamChannel> third = createStream(pool);
+        assertSame(connection.channel, third.get().parent());
+        assertNoConnect();
+        pool.close();
+    }
+
+    @Test
+    public void testFailFastWhileBackingOff() throws Exception {
+        QuicConnectionPool pool = newPool(QuicConnectionPool.builder(loop, this::connect)
+                .connectBackoff(1, 1, TimeUnit.HOURS), localhost4());
+        ConnectException cause = new ConnectException();
+        Future<QuicStreamChannel> first = createStream(pool);
+        nextConnect().fail(cause);
+        assertSame(cause, assertThrows(ExecutionException.class, first::get).getCause());
+
+        Future<QuicStreamChannel> second = createStream(pool);
+        assertSame(cause, assertThrows(ExecutionException.class, second::get).getCause());
+        assertNoConnect();
+        pool.close();
+    }
+
+    @Test
+    public void testRetryAfterBackoff() throws Exception {
+        QuicConnectionPool pool = newPool(QuicConnectionPool.builder(loop, this::connect)
+                .connectBackoff(0, 0, TimeUnit.SECONDS), localhost4());
+        Future<QuicStreamChannel> first = createStream(pool);
+        nextConnect().fail(new ConnectException());
+        assertInstanceOf(ConnectException.class, assertThrows(ExecutionException.class, first::get).getCause());
+
+        Future<QuicStreamChannel> second = createStream(pool);
+        FakeConnection connection = nextConnect().succeed();
+        assertSame(connection.channel, second.get().parent());
+        pool.close();
+    }
+
+    @Test
+    public void testRaceBetweenAttempts() throws Exception {
+        InetAddress v4 = InetAddress.getByName("192.0.2.1");
+        InetAddress v6 = InetAddress.getByName("2001:db8::1");
+        QuicConnectionPool pool = newPool(QuicConnectionPool.builder(loop, this::connect)
+                .connectionAttemptDelay(10, TimeUnit.MILLISECONDS), Arrays.asList(v4, v6));
+        Future<QuicStreamChannel> stream = createStream(pool);
+
+        // IPv6 is tried first, and once the delay passed IPv4 is tried while the first attempt is still pending.
+        ConnectRequest slow = nextConnect();
+        assertInstanceOf(Inet6Address.class, slow.remote.getAddress());
+        assertEquals(HOST, slow.remote.getHostString());
+        ConnectRequest fast = nextConnect();
+        assertEquals(v4, InetAddress.getByAddress(fast.remote.getAddress().getAddress()));
+
+        FakeConnection winner = fast.succeed();
+        assertSame(winner.channel, stream.get().parent());
+
+        // The connection that lost the race is closed as it is not needed.
+        FakeConnection loser = slow.succeed();
+        loser.closeFuture.sync();
+        assertTrue(loser.closed);
+        assertEquals(0, loser.streams.get());
+        assertNoConnect();
+        pool.close();
+    }
+
+    private static List<InetAddress> localhost4() {
+        return Collections.singletonList(NetUtil.LOCALHOST4);
+    }
+
+    private QuicConnectionPool newPool(QuicConnectionPoolBuilder builder, List<InetAddress> addresses) {
+        return builder.resolver(new SimpleNameResolver<InetAddress>(loop) {
+            @Override
+            protected void doResolve(String inetHost, Promise<InetAddress> promise) {
+                promise.setSuccess(addresses.get(0));
+            }
+
+            @Override
+            protected void doResolveAll(String inetHost, Promise<List<InetAddress>> promise) {
+                promise.setSuccess(addresses);
+            }
+        }).build();
+    }
+
+    private static Future<QuicStreamChannel> createStream(QuicConnectionPool pool) {
+        return pool.createStream(HOST, PORT, QuicStreamType.BIDIRECTIONAL, null);
+    }
+
+    private Future<QuicChannel> connect(InetSocketAddress remote) {
+        ConnectRequest request = new ConnectRequest(remote, loop.newPromise());
+        connects.add(request);
+        return request.promise;
+    }
+
+    private ConnectRequest nextConnect() throws InterruptedException {
+        ConnectRequest request = connects.poll(5, TimeUnit.SECONDS);
+        assertNotNull(request, "No connection attempt was made");
+        return request;
+    }
+
+    private void assertNoConnect() throws Exception {
+        // Let all the tasks that are pending in the pool run first.
+        loop.submit(() -> { }).sync();
+        assertNull(connects.poll(50, TimeUnit.MILLISECONDS));
+    }
+
+    private final class ConnectRequest {
+        final InetSocketAddress remote;
+        final Promise<QuicChannel> promise;
+
+        ConnectRequest(InetSocketAddress remote, Promise<QuicChannel> promise) {
+            this.remote = remote;
+            this.promise = promise;
+        }
+
+        FakeConnection succeed() {
+            FakeConnection connection = new FakeConnection(loop);
+            promise.setSuccess(connection.channel);
+            return connection;
+        }
+
+        void fail(Throwable cause) {
+            promise.setFailure(cause);
+        }
+    }
+
+    /**
+     * A {@link QuicChannel} that only implements what is used by the {@link QuicConnectionPool}.
+     */
+    private static final class FakeConnection {
+        final QuicChannel channel;
+        // Not final as the proxy needs to exist before the promise can be created.
+        ChannelPromise closeFuture;
+        final AtomicInteger streams = new AtomicInteger();
+        volatile boolean closed;
+
+        FakeConnection(EventExecutor executor) {
+            channel = (QuicChannel) Proxy.newProxyInstance(QuicChannel.class.getClassLoader(),
+                    new Class<?>[] { QuicChannel.class }, (proxy, method, args) -> {
+                        switch (method.getName()) {
+                            case "isActive":
+                                return !closed;
+                            case "isRegistered":
+                                return true;
+                            case "peerAllowedStreams":
+                                return Long.MAX_VALUE;
+                            case "createStream":
+                                streams.incrementAndGet();
+                                return executor.newSucceededFuture(newStream(executor));
+                            case "closeFuture":
+                                return closeFuture;
+                            case "close":
+                                closed = true;
+                                closeFuture.trySuccess();
+                                return closeFuture;
+                            case "sslEngine":
+                                return null;
+                            default:
+                                return handleObjectMethod(proxy, method, args);
+                        }
+                    });
+            closeFuture = new DefaultChannelPromise(channel, executor);
+        }
+
+        private QuicStreamChannel newStream(EventExecutor executor) {
+            ChannelPromise[] streamCloseFuture = new ChannelPromise[1];
+            QuicStreamChannel stream = (QuicStreamChannel) Proxy.newProxyInstance(
+                    QuicStreamChannel.class.getClassLoader(), new Class<?>[] { QuicStreamChannel.class },
+                    (proxy, method, args) -> {
+                        switch (method.getName()) {
+                            case "parent":
+                                return channel;
+                            case "closeFuture":
+                                return streamCloseFuture[0];
+                            case "close":
+                                streamCloseFuture[0].trySuccess();
+                                return streamCloseFuture[0];
+                            default:
+                                return handleObjectMethod(proxy, method, args);
+                        }
+                    });
+            streamCloseFuture[0] = new DefaultChannelPromise(stream, executor);
+            return stream;
+        }
+
+        private static Object handleObjectMethod(Object proxy, Method method, Object[] args) {
+            switch (method.getName()) {
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "equals":
+                    return proxy == args[0];
+                case "toString":
+                    return "FakeConnection";
+                default:
+                    throw new UnsupportedOperationException(method.getName());
+            }
+        }
+    }
+}
@@ -0,0 +1,92 @@
+/*
+ * Copyright 2026 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty.incubator.codec.quic;
+
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.util.concurrent.ImmediateEventExecutor;
+import io.netty.util.concurrent.Promise;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class QuicConnectionSampleTest extends AbstractQuicTest {
+
+    @ParameterizedTest
+    @MethodSource("newSslTaskExecutors")
+    public void testConnectionsAreSampled(Executor executor) throws Throwable {
+        int numConnections = 2;
+        Set<Channel> serverChannels = ConcurrentHashMap.newKeySet();
+        Set<QuicChannel> sampledChannels = ConcurrentHashMap.newKeySet();
+        Promise<Void> sampledPromise = ImmediateEventExecutor.INSTANCE.newPromise();
+        QuicConnectionSampleListener listener = samples -> {
+            for (QuicConnectionSample sample : samples) {
+                // Only count a connection once all its values were populated.
+                if (sample.recv() > 0 && sample.sent() > 0 && sample.rtt() > 0 && sample.cwnd() > 0) {
+                    sampledChannels.add(sample.channel());
+                }
+            }
+            if (sampledChannels.size() == numConnections) {
+                sampledPromise.trySuccess(null);
+            }
+        };
+        QuicChannelValidationHandler serverHandler = new QuicChannelValidationHandler() {
+            @Override
+            public void channelActive(ChannelHandlerContext ctx) {
+                super.channelActive(ctx);
+                serverChannels.add(ctx.channel());
+            }
+        };
+        Channel server = null;
+        Channel channel = null;
+        try {
+            server = QuicTestUtils.newServer(QuicTestUtils.newQuicServerBuilder(executor)
+                            .statsSampling(10, TimeUnit.MILLISECONDS, listener),
+                    InsecureQuicTokenHandler.INSTANCE, serverHandler, new ChannelInboundHandlerAdapter());
+            channel = QuicTestUtils.newClient(executor);
+
+            QuicChannel[] clients = new QuicChannel[numConnections];
+            for (int i = 0; i < numConnections; i++) {
+                clients[i] = QuicTestUtils.newQuicChannelBootstrap(channel)
+                        .handler(new ChannelInboundHandlerAdapter())
+                        .streamHandler(new ChannelInboundHandlerAdapter())
+                        .remoteAddress(server.localAddress())
+                        .connect().get();
+            }
+
+            sampledPromise.await(5, TimeUnit.SECONDS);
+            assertEquals(numConnections, serverChannels.size());
+            assertEquals(serverChannels, sampledChannels);
+
+            for (QuicChannel client : clients) {
+                client.close().sync();
+            }
+            serverHandler.assertState();
+        } finally {
+            QuicTestUtils.closeIfNotNull(channel);
+            QuicTestUtils.closeIfNotNull(server);
+
+            shutdown(executor);
+        }
+    }
+}
@@ -0,0 +1,275 @@
+/*
+ * Copyright 2026 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty.incubator.codec.quic;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.channel.socket.DatagramPacket;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class QuicLoadBalancerConfigTest {
+
+    static Stream<Arguments> configs() {
+        byte[] key = new byte[16];
+        ThreadLocalRandom.current().nextBytes(key);
+        return Stream.of(
+                // Plaintext
+                Arguments.of(new QuicLoadBalancerConfig(0, 2, 6, null)),
+                Arguments.of(new QuicLoadBalancerConfig(1, 15, 4, null, true)),
+                // Single pass encryption
+                Arguments.of(new QuicLoadBalancerConfig(2, 8, 8, key)),
+                // Four pass encryption, even and odd length
+                Arguments.of(new QuicLoadBalancerConfig(3, 4, 6, key)),
+                Arguments.of(new QuicLoadBalancerConfig(4, 3, 4, key, true)),
+                Arguments.of(new QuicLoadBalancerConfig(5, 10, 9, key)));
+    }
+
+    @ParameterizedTest
+    @MethodSource("configs")
+    public void testEncodeDecode(QuicLoadBalancerConfig config) {
+        byte[] serverId = new byte[config.serverIdLength()];
+        ThreadLocalRandom.current().nextBytes(serverId);
+        QuicConnectionIdGenerator generator = config.newConnectionIdGenerator(serverId);
+        assertEquals(config.connectionIdLength(), generator.maxConnectionIdLength());
+        assertFalse(generator.isIdempotent());
+
+        byte[] decoded = new byte[config.serverIdLength()];
+        ByteBuffer previous = null;
+        for (int i = 0; i < 100; i++) {
+            ByteBuffer id = generator.newId(config.connectionIdLength());
+            assertEquals(config.connectionIdLength(), id.remaining());
+            assertEquals(config.configId(), QuicLoadBalancerConfig.configId(id.get(0)));
+            assertNotEquals(previous, id);
+            previous = id;
+
+            Arrays.fill(decoded, (byte) 0);
+            assertTrue(config.decodeServerId(Unpooled.wrappedBuffer(id.duplicate()), decoded));
+            assertArrayEquals(serverId, decoded);
+        }
+    }
+
+    static Stream<Arguments> vectors() {
+        // The expected connection ids were computed with an implementation of the construction that works on nibbles
+        // and so does not share the code that splits and joins odd length halves.
+        String key = "8f95f09245765f80256934e50c66207f";
+        return Stream.of(
+                // Four pass encryption, odd length.
+                Arguments.of(key, "ed793a", "ee080dbf", "07dcb15aabd57c60"),
+                // Four pass encryption, even length.
+                Arguments.of(key, "12345678", "0123456789ab", "0a5f65113180210d458b5c"),
+                // Four pass encryption, server id longer than the nonce.
+                Arguments.of(key, "4f22616d9c92ea9a3cc0", "50d5a7059d", "0fe30581717cd4e27336193061593a1d"),
+                // Single pass encryption.
+                Arguments.of(key, "2cc5c4bb6f4aa5d4", "01a8f2c9d67e3b05", "1038eab28411d7a28dc65afacca6e7076c"));
+    }
+
+    @ParameterizedTest
+    @MethodSource("vectors")
+    public void testVectors(String key, String serverId, String nonce, String connectionId) {
+        byte[] sid = ByteBufUtil.decodeHexDump(serverId);
+        byte[] expected = ByteBufUtil.decodeHexDump(connectionId);
+        QuicLoadBalancerConfig config = new QuicLoadBalancerConfig(
+                0, sid.length, nonce.length() / 2, ByteBufUtil.decodeHexDump(key), true);
+
+        byte[] cid = new byte[config.connectionIdLength()];
+        byte[] nonceBytes = ByteBufUtil.decodeHexDump(nonce);
+        System.arraycopy(nonceBytes, 0, cid, 1 + sid.length, nonceBytes.length);
+        assertEquals(ByteBuffer.wrap(expected), config.encode(cid, sid));
+
+        byte[] decoded = new byte[sid.length];
+        assertTrue(config.decodeServerId(Unpooled.wrappedBuffer(expected), decoded));
+        assertArrayEquals(sid, decoded);
+    }
+
+    @Test
+    public void testEncryptionHidesServerId() {
+        byte[] key = new byte[16];
+        ThreadLocalRandom.current().nextBytes(key);
+        QuicLoadBalancerConfig config = new QuicLoadBalancerConfig(0, 4, 6, key);
+        byte[] serverId = { 1, 2, 3, 4 };
+        QuicConnectionIdGenerator generator = config.newConnectionIdGenerator(serverId);
+        int plaintext = 0;
+        for (int i = 0; i < 100; i++) {
+            ByteBuffer id = generator.newId(config.connectionIdLength());
+            byte[] encoded = new byte[serverId.length];
+            id.position(1);
+            id.get(encoded);
+            if (Arrays.equals(serverId, encoded)) {
+                plaintext++;
+            }
+        }
+        assertTrue(plaintext < 2);
+    }
+
+    @Test
+    public void testDecodeWithWrongConfig() {
+        QuicLoadBalancerConfig config = new QuicLoadBalancerConfig(0, 2, 6, null, true);
+        QuicLoadBalancerConfig other = new QuicLoadBalancerConfig(1, 2, 6, null, true);
+        ByteBuffer id = config.newConnectionIdGenerator(new byte[] { 1, 2 }).newId(config.connectionIdLength());
+        byte[] decoded = new byte[2];
+        assertFalse(other.decodeServerId(Unpooled.wrappedBuffer(id.duplicate()), decoded));
+        // Too short
+        assertFalse(config.decodeServerId(Unpooled.wrappedBuffer(id.duplicate()).readerIndex(1), decoded));
+    }
+
+    @Test
+    public void testInvalidConfig() {
+        assertThrows(IllegalArgumentException.class, () -> new QuicLoadBalancerConfig(
+                QuicLoadBalancerConfig.UNROUTABLE_CONFIG_ID, 2, 6, null));
+        assertThrows(IllegalArgumentException.class, () -> new QuicLoadBalancerConfig(0, 0, 6, null));
+        assertThrows(IllegalArgumentException.class, () -> new QuicLoadBalancerConfig(0, 2, 3, null));
+        assertThrows(IllegalArgumentException.class, () -> new QuicLoadBalancerConfig(0, 10, 10, null));
+        assertThrows(IllegalArgumentException.class, () -> new QuicLoadBalancerConfig(0, 2, 6, new byte[8]));
+        QuicLoadBalancerConfig config = new QuicLoadBalancerConfig(0, 2, 6, null);
+        assertThrows(IllegalArgumentException.class, () -> config.newConnectionIdGenerator(new byte[3]));
+        assertThrows(IllegalArgumentException.class, () -> config.newConnectionIdGenerator(new byte[2]).newId(10));
+    }
+
+    @Test
+    public void testLoadBalancerHandlerRouting() {
+        byte[] key = new byte[16];
+        ThreadLocalRandom.current().nextBytes(key);
+        QuicLoadBalancerConfig config = new QuicLoadBalancerConfig(0, 2, 8, key);
+        // The config we are rotating to.
+        QuicLoadBalancerConfig newConfig = new QuicLoadBalancerConfig(1, 2, 8, null);
+
+        InetSocketAddress backend1 = new InetSocketAddress("127.0.0.1", 9001);
+        InetSocketAddress backend2 = new InetSocketAddress("127.0.0.1", 9002);
+        byte[] serverId1 = { 0, 1 };
+        byte[] serverId2 = { 0, 2 };
+        Map<ByteBuffer, InetSocketAddress> backends = new HashMap<>();
+        backends.put(ByteBuffer.wrap(serverId1), backend1);
+        backends.put(ByteBuffer.wrap(serverId2), backend2);
+
+        QuicLoadBalancerHandler handler = new QuicLoadBalancerHandler(Arrays.asList(config, newConfig), backends) {
+            @Override
+            protected void forward(ChannelHandlerContext ctx, DatagramPacket packet, InetSocketAddress backend) {
+                // Keep the address of the client as sender.
+                ctx.write(new DatagramPacket(packet.content(), backend, packet.sender()));
+            }
+        };
+        EmbeddedChannel channel = new EmbeddedChannel(handler);
+        InetSocketAddress client = new InetSocketAddress("127.0.0.1", 1234);
+
+        for (int i = 0; i < 10; i++) {
+            ByteBuffer cid1 = config.newConnectionIdGenerator(serverId1).newId(config.connectionIdLength());
+            ByteBuffer cid2 = newConfig.newConnectionIdGenerator(serverId2).newId(config.connectionIdLength());
+            assertRouted(channel, shortHeaderPacket(cid1), client, backend1);
+            assertRouted(channel, shortHeaderPacket(cid2), client, backend2);
+            assertRouted(channel, longHeaderPacket(cid1), client, backend1);
+        }
+
+        // Initial packets use a random connection id but must always end up on the same backend.
+        byte[] randomCid = new byte[8];
+        ThreadLocalRandom.current().nextBytes(randomCid);
+        // Mark the id as unroutable so we not accidentally decode a server id.
+        randomCid[0] |= (byte) 0xe0;
+        InetSocketAddress selected = handler.selectBackend(longHeaderPacket(ByteBuffer.wrap(randomCid)));
+        for (int i = 0; i < 10; i++) {
+            assertRouted(channel, longHeaderPacket(ByteBuffer.wrap(randomCid)), client, selected);
+        }
+
+        // Short header packets with an unknown config id must end up on the same backend, regardless of the bytes
+        // that follow the connection id.
+        byte[] unroutableCid = new byte[config.connectionIdLength()];
+        ThreadLocalRandom.current().nextBytes(unroutableCid);
+        unroutableCid[0] |= (byte) 0xe0;
+        selected = handler.selectBackend(shortHeaderPacket(ByteBuffer.wrap(unroutableCid)));
+        for (int i = 0; i < 10; i++) {
+            ByteBuf packet = shortHeaderPacket(ByteBuffer.wrap(unroutableCid));
+            packet.setByte(1 + unroutableCid.length + i, i + 1);
+            assertRouted(channel, packet, client, selected);
+        }
+
+        // Malformed packet is dropped.
+        assertNull(handler.selectBackend(Unpooled.wrappedBuffer(new byte[] { (byte) 0xc0, 0, 0 })));
+        assertFalse(channel.finish());
+    }
+
+    @Test
+    public void testLoadBalancerHandlerDropsShortHeaderWithUnknownLength() {
+        QuicLoadBalancerConfig config = new QuicLoadBalancerConfig(0, 2, 8, null);
+        QuicLoadBalancerConfig otherConfig = new QuicLoadBalancerConfig(1, 2, 6, null);
+        Map<ByteBuffer, InetSocketAddress> backends = new HashMap<>();
+        backends.put(ByteBuffer.wrap(new byte[] { 0, 1 }), new InetSocketAddress("127.0.0.1", 9001));
+        QuicLoadBalancerHandler handler = new QuicLoadBalancerHandler(Arrays.asList(config, otherConfig), backends) {
+            @Override
+            protected void forward(ChannelHandlerContext ctx, DatagramPacket packet, InetSocketAddress backend) {
+                ctx.write(packet);
+            }
+        };
+        byte[] randomCid = new byte[8];
+        ThreadLocalRandom.current().nextBytes(randomCid);
+        randomCid[0] |= (byte) 0xe0;
+        // The configs use different connection id lengths, so we can't know which bytes to hash.
+        assertNull(handler.selectBackend(shortHeaderPacket(ByteBuffer.wrap(randomCid))));
+        assertNotNull(handler.selectBackend(longHeaderPacket(ByteBuffer.wrap(randomCid))));
+    }
+
+    private static void assertRouted(EmbeddedChannel channel, ByteBuf packet, InetSocketAddress sender,
+                                     InetSocketAddress expected) {
+        assertFalse(channel.writeInbound(new DatagramPacket(packet, null, sender)));
+        DatagramPacket forwarded = channel.readOutbound();
+        try {
+            assertEquals(expected, forwarded.recipient());
+            assertEquals(sender, forwarded.sender());
+        } finally {
+            forwarded.release();
+        }
+    }
+
+    private static ByteBuf shortHeaderPacket(ByteBuffer dcid) {
+        ByteBuf packet = Unpooled.buffer();
+        packet.writeByte(0x40);
+        packet.writeBytes(dcid.duplicate());
+        packet.writeZero(32);
+        return packet;
+    }
+
+    private static ByteBuf longHeaderPacket(ByteBuffer dcid) {
+        ByteBuf packet = Unpooled.buffer();
+        packet.writeByte(0xc0);
+        packet.writeInt(1);
+        packet.writeByte(dcid.remaining());
+        packet.writeBytes(dcid.duplicate());
+        packet.writeByte(0);
+        packet.writeZero(32);
+        return packet;
+    }
+}
@@ -0,0 +1,118 @@
+/*
+ * Copyright 2026 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty.incubator.codec.quic;
+
+import io.netty.channel.ChannelHandlerAdapter;
+import io.netty.channel.embedded.EmbeddedChannel;
+import org.junit.jupiter.api.Test;
+
+import java.net.InetSocketAddress;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class QuicMemoryGovernorTest {
+
+    @Test
+    public void testWatermarks() {
+        QuicMemoryGovernor governor = new QuicMemoryGovernor(100, 200, 1000);
+        governor.queuedBytesChanged(150);
+        assertFalse(governor.isOverLimit());
+        governor.queuedBytesChanged(50);
+        assertTrue(governor.isOverLimit());
+        assertEquals(200, governor.queuedBytes());
+
+        // Stays over the limit until the low watermark is reached.
+        governor.queuedBytesChanged(-50);
+        assertTrue(governor.isOverLimit());
+        governor.queuedBytesChanged(-50);
+        assertFalse(governor.isOverLimit());
+        assertEquals(100, governor.queuedBytes());
+    }
+
+    @Test
+    public void testConcurrentUpdates() throws Exception {
+        QuicMemoryGovernor governor = new QuicMemoryGovernor(0, 1000, 1000);
+        Thread[] threads = new Thread[4];
+        for (int i = 0; i < threads.length; i++) {
+            threads[i] = new Thread(() -> {
+                for (int j = 0; j < 10000; j++) {
+                    governor.queuedBytesChanged(300);
+                    governor.queuedBytesChanged(-300);
+                }
+            });
+            threads[i].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertEquals(0, governor.queuedBytes());
+        assertFalse(governor.isOverLimit());
+    }
+
+    @Test
+    public void testUpdatesAreBatchedPerEventLoop() {
+        EmbeddedChannel parent = new EmbeddedChannel();
+        try {
+            InetSocketAddress address = new InetSocketAddress(0);
+            QuicheQuicChannel channel = QuicheQuicChannel.forClient(parent, address, address,
+                    new ChannelHandlerAdapter() { },
+                    Quic.toOptionsArray(Collections.emptyMap()), Quic.toAttributesArray(Collections.emptyMap()));
+            // Reports in steps of 16 KiB.
+            QuicMemoryGovernor governor = new QuicMemoryGovernor(0, 1024 * 1024, Long.MAX_VALUE);
+            channel.memoryGovernor(governor);
+
+            channel.queuedBytesChanged(1000);
+            assertEquals(0, governor.queuedBytes());
+            channel.queuedBytesChanged(16 * 1024);
+            assertEquals(1000 + 16 * 1024, governor.queuedBytes());
+            channel.queuedBytesChanged(-1000);
+            assertEquals(1000 + 16 * 1024, governor.queuedBytes());
+
+            // Another EventLoop reaches the high watermark.
+            governor.queuedBytesChanged(1024 * 1024);
+            assertTrue(governor.isOverLimit());
+            assertFalse(channel.isMemoryPressure());
+            // The EventLoop is notified once, reports what it held back and updates all of its channels.
+            parent.runPendingTasks();
+            assertEquals(1024 * 1024 + 16 * 1024, governor.queuedBytes());
+            assertTrue(channel.isMemoryPressure());
+
+            // While over the limit every change is reported directly.
+            channel.queuedBytesChanged(-1);
+            assertEquals(1024 * 1024 + 16 * 1024 - 1, governor.queuedBytes());
+
+            governor.queuedBytesChanged(-1024 * 1024);
+            channel.queuedBytesChanged(1 - 16 * 1024);
+            assertEquals(0, governor.queuedBytes());
+            assertFalse(governor.isOverLimit());
+            parent.runPendingTasks();
+            assertFalse(channel.isMemoryPressure());
+        } finally {
+            parent.finishAndReleaseAll();
+        }
+    }
+
+    @Test
+    public void testInvalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> new QuicMemoryGovernor(-1, 10, 10));
+        assertThrows(IllegalArgumentException.class, () -> new QuicMemoryGovernor(10, 10, 10));
+        assertThrows(IllegalArgumentException.class, () -> new QuicMemoryGovernor(1, 10, 0));
+    }
+}
@@ -0,0 +1,63 @@
+/*
+ * Copyright 2026 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty.incubator.codec.quic;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class QuicResetTokenGeneratorTest {
+
+    @Test
+    public void testSignGeneratorWithKeyIsDeterministic() {
+        byte[] key = new byte[16];
+        ThreadLocalRandom.current().nextBytes(key);
+        byte[] otherKey = key.clone();
+        otherKey[0]++;
+
+        ByteBuffer cid = ByteBuffer.wrap(new byte[] { 1, 2, 3, 4, 5, 6, 7, 8 });
+        ByteBuffer token = QuicResetTokenGenerator.signGenerator(key).newResetToken(cid);
+        assertEquals(16, token.remaining());
+        assertEquals(0, cid.position());
+
+        // A generator that was created with the same key, for example on another server, must produce the same token.
+        assertEquals(token, QuicResetTokenGenerator.signGenerator(key.clone()).newResetToken(cid));
+        assertNotEquals(token, QuicResetTokenGenerator.signGenerator(otherKey).newResetToken(cid));
+        assertNotEquals(token, QuicResetTokenGenerator.signGenerator().newResetToken(cid));
+
+        ByteBuf out = Unpooled.buffer();
+        try {
+            QuicResetTokenGenerator.signGenerator(key).writeResetToken(cid, out);
+            assertEquals(token, out.nioBuffer());
+        } finally {
+            out.release();
+        }
+    }
+
+    @Test
+    public void testSignGeneratorWithInvalidKey() {
+        assertThrows(NullPointerException.class, () -> QuicResetTokenGenerator.signGenerator(null));
+        assertThrows(IllegalArgumentException.class, () -> QuicResetTokenGenerator.signGenerator(new byte[15]));
+        assertThrows(IllegalArgumentException.class, () -> QuicResetTokenGenerator.signGenerator(new byte[17]));
+    }
+}
@@ -0,0 +1,80 @@
+/*
+ * Copyright 2026 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty.incubator.codec.quic;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class QuicSslAntiReplayFilterTest {
+
+    private static byte[] random(int i) {
+        return ByteBuffer.allocate(32).putInt(i).array();
+    }
+
+    @Test
+    public void testRejectsReplay() {
+        QuicSslAntiReplayFilter filter = new QuicSslAntiReplayFilter(1024, 0.001, 1, TimeUnit.MINUTES, 4);
+        long now = System.nanoTime();
+        assertTrue(filter.checkAndRecord(random(1), now));
+        assertFalse(filter.checkAndRecord(random(1), now));
+        assertEquals(1, filter.rejectedEarlyData());
+    }
+
+    @Test
+    public void testCallbackCountsReplays() {
+        QuicSslAntiReplayFilter filter = new QuicSslAntiReplayFilter(1024, 0.001, 1, TimeUnit.MINUTES, 4);
+        QuicSslSessionStats stats = new QuicSslSessionStats();
+        BoringSSLAntiReplayCallback callback = new BoringSSLAntiReplayCallback(filter, stats);
+        assertTrue(callback.acceptEarlyData(0, random(1)));
+        assertEquals(0, stats.earlyDataReplayRejected());
+        assertFalse(callback.acceptEarlyData(0, random(1)));
+        assertEquals(1, stats.earlyDataReplayRejected());
+        // These are not reported as rejected by the handshake.
+        assertEquals(0, stats.earlyDataRejected());
+    }
+
+    @Test
+    public void testAcceptsDistinctRandoms() {
+        QuicSslAntiReplayFilter filter = new QuicSslAntiReplayFilter(1024, 0.001, 1, TimeUnit.MINUTES, 4);
+        long now = System.nanoTime();
+        int accepted = 0;
+        for (int i = 0; i < 1024; i++) {
+            if (filter.checkAndRecord(random(i), now)) {
+                accepted++;
+            }
+        }
+        // Allow a few false positives.
+        assertTrue(accepted >= 1014, "accepted: " + accepted);
+    }
+
+    @Test
+    public void testRememberedForAtLeastOneWindow() {
+        QuicSslAntiReplayFilter filter = new QuicSslAntiReplayFilter(1024, 0.001, 1, TimeUnit.MINUTES, 1);
+        long window = TimeUnit.MINUTES.toNanos(1);
+        long now = System.nanoTime();
+        assertTrue(filter.checkAndRecord(random(1), now));
+        // Rotates the generations, but the random is still in the previous one.
+        assertFalse(filter.checkAndRecord(random(1), now + window));
+        // Two windows later both generations were replaced.
+        assertTrue(filter.checkAndRecord(random(1), now + 3 * window));
+    }
+}
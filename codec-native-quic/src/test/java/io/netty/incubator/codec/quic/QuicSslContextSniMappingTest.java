@@ -0,0 +1,108 @@
+/*
+ * Copyright 2026 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty.incubator.codec.quic;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+public class QuicSslContextSniMappingTest {
+
+    private static QuicSslContext newContext() {
+        return QuicSslContextBuilder.forServer(QuicTestUtils.SELF_SIGNED_CERTIFICATE.key(), null,
+                QuicTestUtils.SELF_SIGNED_CERTIFICATE.cert()).build();
+    }
+
+    @Test
+    public void testExactAndWildcard() {
+        QuicSslContext exact = newContext();
+        QuicSslContext wildcard = newContext();
+        QuicSslContextSniMapping mapping = new QuicSslContextSniMapping(name -> null, null, 10)
+                .add("netty.io", exact)
+                .add("*.netty.io", wildcard);
+
+        assertSame(exact, mapping.map("netty.io"));
+        assertSame(exact, mapping.map("NETTY.io"));
+        assertSame(wildcard, mapping.map("quic.netty.io"));
+        // Wildcards only match a single label.
+        assertNull(mapping.map("a.quic.netty.io"));
+        assertNull(mapping.map("netty.com"));
+        assertNull(mapping.map(null));
+
+        mapping.remove("*.netty.io");
+        assertNull(mapping.map("quic.netty.io"));
+    }
+
+    @Test
+    public void testLoaderIsOnlyUsedOnMiss() {
+        QuicSslContext defaultContext = newContext();
+        List<String> loadedNames = new ArrayList<>();
+        QuicSslContextSniMapping mapping = new QuicSslContextSniMapping(name -> {
+            loadedNames.add(name);
+            return name.startsWith("unknown") ? null : newContext();
+        }, defaultContext, 2);
+
+        QuicSslContext first = mapping.map("first.netty.io");
+        assertSame(first, mapping.map("first.netty.io"));
+        QuicSslContext second = mapping.map("second.netty.io");
+        assertSame(first, mapping.map("first.netty.io"));
+        assertEquals(2, loadedNames.size());
+
+        // Evicts second.netty.io as first.netty.io was accessed more recently.
+        mapping.map("third.netty.io");
+        assertSame(first, mapping.map("first.netty.io"));
+        assertEquals(3, loadedNames.size());
+        QuicSslContext secondReloaded = mapping.map("second.netty.io");
+        assertEquals(4, loadedNames.size());
+        assertEquals("second.netty.io", loadedNames.get(3));
+        assertSame(secondReloaded, mapping.map("second.netty.io"));
+        assertNotSame(second, secondReloaded);
+
+        assertSame(defaultContext, mapping.map("unknown.netty.io"));
+        assertEquals(5, loadedNames.size());
+    }
+
+    @Test
+    public void testUnknownHostnamesAreCached() {
+        List<String> loadedNames = new ArrayList<>();
+        QuicSslContextSniMapping mapping = new QuicSslContextSniMapping(name -> {
+            loadedNames.add(name);
+            return null;
+        }, null, 2);
+
+        assertNull(mapping.map("unknown1.netty.io"));
+        assertNull(mapping.map("unknown1.netty.io"));
+        assertEquals(1, loadedNames.size());
+
+        // Removing the hostname allows to use the loader again.
+        mapping.remove("unknown1.netty.io");
+        assertNull(mapping.map("unknown1.netty.io"));
+        assertEquals(2, loadedNames.size());
+
+        // The cache is bounded, so unknown1.netty.io is evicted.
+        mapping.map("unknown2.netty.io");
+        mapping.map("unknown3.netty.io");
+        assertEquals(4, loadedNames.size());
+        assertNull(mapping.map("unknown1.netty.io"));
+        assertEquals(5, loadedNames.size());
+    }
+}
@@ -0,0 +1,97 @@
+/*
+ * Copyright 2026 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty.incubator.codec.quic;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class QuicSslOffloadExecutorTest {
+
+    @Test
+    public void testOverloadAndReject() throws Exception {
+        QuicSslOffloadExecutor executor = new QuicSslOffloadExecutor(1, 2, 1);
+        try {
+            CountDownLatch started = new CountDownLatch(1);
+            CountDownLatch block = new CountDownLatch(1);
+            executor.execute(() -> {
+                started.countDown();
+                try {
+                    block.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+            started.await();
+            assertFalse(executor.isOverloaded());
+
+            CountDownLatch queued = new CountDownLatch(2);
+            executor.execute(queued::countDown);
+            assertTrue(executor.isOverloaded());
+            executor.execute(queued::countDown);
+            assertEquals(2, executor.pendingTasks());
+
+            // The queue is full so the task must be rejected and never run by the calling thread.
+            AtomicBoolean run = new AtomicBoolean();
+            assertThrows(RejectedExecutionException.class, () -> executor.execute(() -> run.set(true)));
+            assertFalse(run.get());
+            assertEquals(1, executor.rejectedTasks());
+
+            block.countDown();
+            assertTrue(queued.await(5, TimeUnit.SECONDS));
+        } finally {
+            executor.shutdown();
+        }
+        assertThrows(RejectedExecutionException.class, () -> executor.execute(() -> { }));
+        // Tasks rejected after the shutdown are not counted as overload.
+        assertEquals(1, executor.rejectedTasks());
+    }
+
+    @Test
+    public void testStats() throws Exception {
+        QuicSslOffloadExecutor executor = new QuicSslOffloadExecutor(2, 16, 8);
+        try {
+            CountDownLatch latch = new CountDownLatch(10);
+            for (int i = 0; i < 10; i++) {
+                executor.execute(latch::countDown);
+            }
+            assertTrue(latch.await(5, TimeUnit.SECONDS));
+        } finally {
+            executor.shutdown();
+        }
+        // Stats are recorded after the task did run, so wait until everything is done.
+        while (executor.completedTasks(QuicSslOffloadExecutor.TaskType.OTHER) != 10) {
+            Thread.sleep(10);
+        }
+        assertEquals(0, executor.completedTasks(QuicSslOffloadExecutor.TaskType.PRIVATE_KEY));
+        assertTrue(executor.maxRunTimeNanos(QuicSslOffloadExecutor.TaskType.OTHER) <=
+                executor.totalRunTimeNanos(QuicSslOffloadExecutor.TaskType.OTHER));
+    }
+
+    @Test
+    public void testInvalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> new QuicSslOffloadExecutor(0, 1, 1));
+        assertThrows(IllegalArgumentException.class, () -> new QuicSslOffloadExecutor(1, 1, 2));
+    }
+}
@@ -0,0 +1,222 @@
+/*
+ * Copyright 2026 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty.incubator.codec.quic;
+
+import org.jetbrains.annotations.Nullable;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.net.ssl.SSLSession;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class QuicSslSessionTicketKeyRotatorTest {
+
+    @TempDir
+    Path dir;
+
+    private ScheduledExecutorService executor;
+
+    @BeforeEach
+    public void setUp() {
+        executor = Executors.newSingleThreadScheduledExecutor();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    private static SslSessionTicketKey newKey(int i) {
+        return new SslSessionTicketKey(filled(SslSessionTicketKey.NAME_SIZE, i),
+                filled(SslSessionTicketKey.HMAC_KEY_SIZE, i + 1), filled(SslSessionTicketKey.AES_KEY_SIZE, i + 2));
+    }
+
+    private static byte[] filled(int size, int value) {
+        byte[] bytes = new byte[size];
+        Arrays.fill(bytes, (byte) value);
+        return bytes;
+    }
+
+    @Test
+    public void testRotateKeepsPreviousKeys() {
+        RecordingSessionContext context = new RecordingSessionContext();
+        try (QuicSslSessionTicketKeyRotator rotator = QuicSslSessionTicketKeyRotator.generating(
+                executor, 1, TimeUnit.HOURS, 1, null).add(context)) {
+            SslSessionTicketKey[] first = rotator.keys();
+            // The current and the next key.
+            assertEquals(2, first.length);
+            assertNotEquals(first[0], first[1]);
+            assertArrayEquals(first, context.keys);
+
+            rotator.rotate();
+            SslSessionTicketKey[] second = rotator.keys();
+            assertEquals(3, second.length);
+            // The next key that was published before is now used for encryption.
+            assertEquals(first[1], second[0]);
+            assertNotEquals(first[0], second[1]);
+            assertNotEquals(first[1], second[1]);
+            assertEquals(first[0], second[2]);
+
+            rotator.rotate();
+            SslSessionTicketKey[] third = rotator.keys();
+            assertEquals(3, third.length);
+            assertEquals(second[1], third[0]);
+            assertEquals(second[0], third[2]);
+            assertArrayEquals(third, context.keys);
+        }
+    }
+
+    @Test
+    public void testRotateWithoutPreviousKeys() {
+        try (QuicSslSessionTicketKeyRotator rotator = QuicSslSessionTicketKeyRotator.generating(
+                executor, 1, TimeUnit.HOURS, 0, null)) {
+            SslSessionTicketKey[] first = rotator.keys();
+            rotator.rotate();
+            SslSessionTicketKey[] second = rotator.keys();
+            assertEquals(2, second.length);
+            assertEquals(first[1], second[0]);
+        }
+    }
+
+    @Test
+    public void testNextKeyIsLoadedBeforeUsed() throws Exception {
+        Path file = dir.resolve("ticket.keys");
+        try (QuicSslSessionTicketKeyRotator generating = QuicSslSessionTicketKeyRotator.generating(
+                executor, 1, TimeUnit.HOURS, 1, file);
+             QuicSslSessionTicketKeyRotator loading = QuicSslSessionTicketKeyRotator.fromFile(
+                     executor, file, 1, TimeUnit.HOURS)) {
+            SslSessionTicketKey next = generating.keys()[1];
+            // Processes that load the file accept tickets of the next key before anyone uses it for encryption.
+            assertEquals(next, loading.keys()[1]);
+            generating.rotate();
+            assertEquals(next, generating.keys()[0]);
+        }
+    }
+
+    @Test
+    public void testGeneratingLoadsExistingFile() throws Exception {
+        Path file = dir.resolve("ticket.keys");
+        SslSessionTicketKey[] keys;
+        try (QuicSslSessionTicketKeyRotator rotator = QuicSslSessionTicketKeyRotator.generating(
+                executor, 1, TimeUnit.HOURS, 1, file)) {
+            rotator.rotate();
+            keys = rotator.keys();
+        }
+        // Simulate a restart of the process.
+        try (QuicSslSessionTicketKeyRotator rotator = QuicSslSessionTicketKeyRotator.generating(
+                executor, 1, TimeUnit.HOURS, 1, file)) {
+            assertArrayEquals(keys, rotator.keys());
+        }
+    }
+
+    @Test
+    public void testGeneratingAddsNextKeyToExistingFile() throws Exception {
+        Path file = dir.resolve("ticket.keys");
+        QuicSslSessionTicketKeyRotator.writeKeys(file, newKey(1));
+        try (QuicSslSessionTicketKeyRotator rotator = QuicSslSessionTicketKeyRotator.generating(
+                executor, 1, TimeUnit.HOURS, 1, file);
+             QuicSslSessionTicketKeyRotator loading = QuicSslSessionTicketKeyRotator.fromFile(
+                     executor, file, 1, TimeUnit.HOURS)) {
+            SslSessionTicketKey[] keys = rotator.keys();
+            assertEquals(2, keys.length);
+            assertEquals(newKey(1), keys[0]);
+            assertArrayEquals(keys, loading.keys());
+        }
+    }
+
+    @Test
+    public void testGeneratingWritesFileThatIsLoaded() throws Exception {
+        Path file = dir.resolve("ticket.keys");
+        RecordingSessionContext context = new RecordingSessionContext();
+        try (QuicSslSessionTicketKeyRotator generating = QuicSslSessionTicketKeyRotator.generating(
+                executor, 1, TimeUnit.HOURS, 2, file);
+             QuicSslSessionTicketKeyRotator loading = QuicSslSessionTicketKeyRotator.fromFile(
+                     executor, file, 1, TimeUnit.HOURS).add(context)) {
+            assertArrayEquals(generating.keys(), loading.keys());
+            assertArrayEquals(generating.keys(), context.keys);
+            assertThrows(IllegalStateException.class, loading::rotate);
+        }
+    }
+
+    @Test
+    public void testReloadsChangedFile() throws Exception {
+        Path file = dir.resolve("ticket.keys");
+        QuicSslSessionTicketKeyRotator.writeKeys(file, newKey(1));
+        RecordingSessionContext context = new RecordingSessionContext();
+        try (QuicSslSessionTicketKeyRotator rotator = QuicSslSessionTicketKeyRotator.fromFile(
+                executor, file, 10, TimeUnit.MILLISECONDS).add(context)) {
+            assertArrayEquals(new SslSessionTicketKey[] { newKey(1) }, context.keys);
+
+            QuicSslSessionTicketKeyRotator.writeKeys(file, newKey(2), newKey(1));
+            SslSessionTicketKey[] expected = { newKey(2), newKey(1) };
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+            while (!Arrays.equals(expected, context.keys) && System.nanoTime() < deadline) {
+                Thread.sleep(10);
+            }
+            assertArrayEquals(expected, context.keys);
+            assertArrayEquals(expected, rotator.keys());
+        }
+    }
+
+    private static final class RecordingSessionContext implements QuicSslSessionContext {
+        volatile SslSessionTicketKey[] keys;
+
+        @Override
+        public void setTicketKeys(SslSessionTicketKey @Nullable ... keys) {
+            this.keys = keys;
+        }
+
+        @Override
+        @Nullable
+        public SSLSession getSession(byte[] sessionId) {
+            return null;
+        }
+
+        @Override
+        public Enumeration<byte[]> getIds() {
+            return Collections.emptyEnumeration();
+        }
+
+        @Override
+        public void setSessionTimeout(int seconds) { }
+
+        @Override
+        public int getSessionTimeout() {
+            return 0;
+        }
+
+        @Override
+        public void setSessionCacheSize(int size) { }
+
+        @Override
+        public int getSessionCacheSize() {
+            return 0;
+        }
+    }
+}
@@ -0,0 +1,116 @@
+/*
+ * Copyright 2026 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty.incubator.codec.quic;
+
+import io.netty.buffer.Unpooled;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelHandler;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.channel.ChannelInitializer;
+import io.netty.channel.ChannelOutboundHandlerAdapter;
+import io.netty.channel.ChannelPromise;
+import io.netty.util.ReferenceCountUtil;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class QuicStatelessResetTest extends AbstractQuicTest {
+
+    @ParameterizedTest
+    @MethodSource("newSslTaskExecutors")
+    public void testClientClosesOnStatelessResetAfterRestart(Executor executor) throws Throwable {
+        byte[] key = new byte[16];
+        ThreadLocalRandom.current().nextBytes(key);
+        QuicServerCodecBuilder serverBuilder = QuicTestUtils.newQuicServerBuilder(executor)
+                .tokenHandler(InsecureQuicTokenHandler.INSTANCE)
+                .handler(new ChannelInboundHandlerAdapter())
+                .streamHandler(new ChannelInboundHandlerAdapter())
+                .resetTokenGenerator(QuicResetTokenGenerator.signGenerator(key))
+                .statelessResetRateLimit(100);
+        PacketDropper dropper = new PacketDropper();
+        Channel server = QuicTestUtils.newServerBootstrap()
+                .handler(new ChannelInitializer<Channel>() {
+                    @Override
+                    protected void initChannel(Channel ch) {
+                        ch.pipeline().addLast(dropper, serverBuilder.build());
+                    }
+                }).bind().sync().channel();
+        Channel channel = QuicTestUtils.newClient(executor);
+        try {
+            QuicChannel quicChannel = QuicTestUtils.newQuicChannelBootstrap(channel)
+                    .handler(new ChannelInboundHandlerAdapter())
+                    .streamHandler(new ChannelInboundHandlerAdapter())
+                    .remoteAddress(server.localAddress())
+                    .connect()
+                    .get();
+
+            // Simulate a restart of the server: all state of the connection is lost without the client being told.
+            server.eventLoop().submit(() -> {
+                dropper.drop = true;
+                server.pipeline().replace(QuicheQuicCodec.class, null, serverBuilder.build());
+                dropper.drop = false;
+            }).sync();
+
+            // The client still uses the connection id of the handshake, the new server should reset it.
+            QuicStreamChannel stream = quicChannel.createStream(QuicStreamType.BIDIRECTIONAL,
+                    new ChannelInboundHandlerAdapter()).sync().getNow();
+            stream.writeAndFlush(Unpooled.directBuffer().writeZero(64));
+
+            assertTrue(quicChannel.closeFuture().await(3, TimeUnit.SECONDS));
+            assertFalse(quicChannel.isTimedOut());
+        } finally {
+            server.close().sync();
+            // Close the parent Datagram channel as well.
+            channel.close().sync();
+
+            shutdown(executor);
+        }
+    }
+
+    @ParameterizedTest
+    @MethodSource("newSslTaskExecutors")
+    public void testStatelessResetTokenCanNotBeUsedWithRateLimit(Executor executor) {
+        QuicServerCodecBuilder serverBuilder = QuicTestUtils.newQuicServerBuilder(executor)
+                .handler(new ChannelInboundHandlerAdapter())
+                .statelessResetToken(new byte[16])
+                .statelessResetRateLimit(100);
+        assertThrows(IllegalStateException.class, serverBuilder::build);
+        shutdown(executor);
+    }
+
+    @ChannelHandler.Sharable
+    private static final class PacketDropper extends ChannelOutboundHandlerAdapter {
+        volatile boolean drop;
+
+        @Override
+        public void write(ChannelHandlerContext ctx, Object msg, ChannelPromise promise) {
+            if (drop) {
+                ReferenceCountUtil.release(msg);
+                promise.setSuccess();
+            } else {
+                ctx.write(msg, promise);
+            }
+        }
+    }
+}
@@ -52,14 +52,27 @@ public class QuicWritableTest extends AbstractQuicTest {
         testCorrectlyHandleWritability(executor, false);
     }
 
+    @ParameterizedTest
+    @MethodSource("newSslTaskExecutors")
+    public void testCorrectlyHandleWritabilitySmallWriteQuantum(Executor executor) throws Throwable {
+        // Messages need multiple rounds to be written completely.
+        testCorrectlyHandleWritability(executor, true, QuicTestUtils.newQuicServerBuilder(executor)
+                .option(QuicChannelOption.STREAM_WRITE_QUANTUM, 1000));
+    }
+
     private static void testCorrectlyHandleWritability(Executor executor, boolean readInComplete) throws Throwable  {
+        testCorrectlyHandleWritability(executor, readInComplete, QuicTestUtils.newQuicServerBuilder(executor));
+    }
+
+    private static void testCorrectlyHandleWritability(Executor executor, boolean readInComplete,
+                                                       QuicServerCodecBuilder serverBuilder) throws Throwable  {
         int bufferSize = 64 * 1024;
         Promise<Void> writePromise = ImmediateEventExecutor.INSTANCE.newPromise();
         final AtomicReference<Throwable> serverErrorRef = new AtomicReference<>();
         final AtomicReference<Throwable> clientErrorRef = new AtomicReference<>();
         QuicChannelValidationHandler serverHandler = new QuicChannelValidationHandler();
         Channel server = QuicTestUtils.newServer(
-                QuicTestUtils.newQuicServerBuilder(executor).initialMaxStreamsBidirectional(5000),
+                serverBuilder.initialMaxStreamsBidirectional(5000),
                 InsecureQuicTokenHandler.INSTANCE,
                 serverHandler, new ChannelInboundHandlerAdapter() {
 
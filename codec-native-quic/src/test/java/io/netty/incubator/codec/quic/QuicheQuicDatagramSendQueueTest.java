@@ -0,0 +1,161 @@
+/*
+ * Copyright 2026 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty.incubator.codec.quic;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class QuicheQuicDatagramSendQueueTest {
+
+    private static final long NO_DEADLINE = QuicheQuicDatagramSendQueue.NO_DEADLINE;
+
+    private static ByteBuf datagram(int i) {
+        return Unpooled.directBuffer().writeInt(i);
+    }
+
+    @Test
+    public void testDropOldest() {
+        QuicheQuicDatagramSendQueue queue = new QuicheQuicDatagramSendQueue();
+        ByteBuf first = datagram(1);
+        ByteBuf second = datagram(2);
+        ByteBuf third = datagram(3);
+        assertTrue(queue.offer(first, NO_DEADLINE, 2, QuicDatagramDropPolicy.DROP_OLDEST, 0));
+        assertTrue(queue.offer(second, NO_DEADLINE, 2, QuicDatagramDropPolicy.DROP_OLDEST, 0));
+        assertTrue(queue.offer(third, NO_DEADLINE, 2, QuicDatagramDropPolicy.DROP_OLDEST, 0));
+        assertEquals(0, first.refCnt());
+        assertEquals(1, queue.dropped());
+
+        ByteBuf[] batch = new ByteBuf[4];
+        assertEquals(2, queue.peek(batch, System.nanoTime()));
+        assertSame(second, batch[0]);
+        assertSame(third, batch[1]);
+        queue.removeSent(2, 0);
+        assertTrue(queue.isEmpty());
+        assertEquals(0, second.refCnt());
+        assertEquals(0, third.refCnt());
+    }
+
+    @Test
+    public void testDropOldestAfterCapacityWasLowered() {
+        QuicheQuicDatagramSendQueue queue = new QuicheQuicDatagramSendQueue();
+        ByteBuf[] datagrams = new ByteBuf[4];
+        for (int i = 0; i < datagrams.length; i++) {
+            datagrams[i] = datagram(i);
+            assertTrue(queue.offer(datagrams[i], NO_DEADLINE, 4, QuicDatagramDropPolicy.DROP_OLDEST, 0));
+        }
+        ByteBuf last = datagram(4);
+        assertTrue(queue.offer(last, NO_DEADLINE, 2, QuicDatagramDropPolicy.DROP_OLDEST, 0));
+        // Three datagrams had to be evicted to make room, each of them must be counted.
+        assertEquals(3, queue.dropped());
+        for (int i = 0; i < 3; i++) {
+            assertEquals(0, datagrams[i].refCnt());
+        }
+
+        ByteBuf[] batch = new ByteBuf[4];
+        assertEquals(2, queue.peek(batch, System.nanoTime()));
+        assertSame(datagrams[3], batch[0]);
+        assertSame(last, batch[1]);
+        queue.removeSent(2, 0);
+        assertTrue(queue.isEmpty());
+    }
+
+    @Test
+    public void testDropNewest() {
+        QuicheQuicDatagramSendQueue queue = new QuicheQuicDatagramSendQueue();
+        ByteBuf first = datagram(1);
+        ByteBuf second = datagram(2);
+        assertTrue(queue.offer(first, NO_DEADLINE, 1, QuicDatagramDropPolicy.DROP_NEWEST, 0));
+        assertFalse(queue.offer(second, NO_DEADLINE, 1, QuicDatagramDropPolicy.DROP_NEWEST, 0));
+        // The caller is responsible to release the dropped datagram.
+        assertEquals(1, second.refCnt());
+        second.release();
+        assertEquals(1, queue.dropped());
+        assertEquals(1, queue.size());
+        queue.clear();
+        assertEquals(0, first.refCnt());
+    }
+
+    @Test
+    public void testExpired() {
+        QuicheQuicDatagramSendQueue queue = new QuicheQuicDatagramSendQueue();
+        long now = System.nanoTime();
+        ByteBuf expired = datagram(1);
+        ByteBuf valid = datagram(2);
+        queue.offer(expired, now - 1, 16, QuicDatagramDropPolicy.DROP_OLDEST, 0);
+        queue.offer(valid, now + 1000, 16, QuicDatagramDropPolicy.DROP_OLDEST, 0);
+
+        ByteBuf[] batch = new ByteBuf[4];
+        assertEquals(1, queue.peek(batch, now));
+        assertSame(valid, batch[0]);
+        assertEquals(0, expired.refCnt());
+        assertEquals(1, queue.expired());
+
+        // Datagrams without deadline never expire.
+        queue.offer(datagram(3), NO_DEADLINE, 16, QuicDatagramDropPolicy.DROP_OLDEST, 0);
+        assertEquals(1, queue.peek(batch, now + 2000));
+        assertEquals(2, queue.expired());
+        queue.clear();
+    }
+
+    @Test
+    public void testGrowKeepsOrder() {
+        QuicheQuicDatagramSendQueue queue = new QuicheQuicDatagramSendQueue();
+        // Move the head so the queue wraps around before it grows.
+        for (int i = 0; i < 10; i++) {
+            queue.offer(datagram(-1), NO_DEADLINE, 1024, QuicDatagramDropPolicy.DROP_OLDEST, 0);
+        }
+        queue.removeSent(10, 0);
+        for (int i = 0; i < 100; i++) {
+            queue.offer(datagram(i), NO_DEADLINE, 1024, QuicDatagramDropPolicy.DROP_OLDEST, 0);
+        }
+        ByteBuf[] batch = new ByteBuf[32];
+        int expected = 0;
+        while (!queue.isEmpty()) {
+            int count = queue.peek(batch, System.nanoTime());
+            for (int i = 0; i < count; i++) {
+                assertEquals(expected++, batch[i].getInt(0));
+            }
+            queue.removeSent(count, 0);
+        }
+        assertEquals(100, expected);
+    }
+
+    @Test
+    public void testStats() {
+        QuicheQuicDatagramSendQueue queue = new QuicheQuicDatagramSendQueue();
+        queue.offer(datagram(1), NO_DEADLINE, 1, QuicDatagramDropPolicy.DROP_OLDEST, 0);
+        queue.offer(datagram(2), NO_DEADLINE, 1, QuicDatagramDropPolicy.DROP_OLDEST, 1000);
+        queue.offer(datagram(3), NO_DEADLINE, 2, QuicDatagramDropPolicy.DROP_OLDEST, 2000);
+        assertEquals(3, queue.queued());
+        assertEquals(1, queue.dropped());
+        queue.dropTooLarge();
+        assertEquals(3, queue.queued());
+        assertEquals(2, queue.dropped());
+
+        queue.removeSent(2, 5000);
+        assertEquals(2, queue.sent());
+        QuicHistogram residency = queue.residency();
+        assertEquals(2, residency.count());
+        assertEquals(3, residency.min());
+        assertEquals(4, residency.max());
+    }
+}
@@ -0,0 +1,81 @@
+/*
+ * Copyright 2026 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty.incubator.codec.quic;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class QuicheQuicHistogramTest {
+
+    @Test
+    public void testEmpty() {
+        QuicheQuicHistogram histogram = new QuicheQuicHistogram();
+        assertEquals(0, histogram.count());
+        assertEquals(0, histogram.mean());
+        assertEquals(0, histogram.valueAtPercentile(99));
+        assertThrows(IllegalArgumentException.class, () -> histogram.valueAtPercentile(101));
+    }
+
+    @Test
+    public void testPercentiles() {
+        QuicheQuicHistogram histogram = new QuicheQuicHistogram();
+        for (int i = 1; i <= 1000; i++) {
+            histogram.record(i);
+        }
+        assertEquals(1000, histogram.count());
+        assertEquals(1, histogram.min());
+        assertEquals(1000, histogram.max());
+        assertEquals(500.5, histogram.mean());
+        assertWithinError(500, histogram.valueAtPercentile(50));
+        assertWithinError(990, histogram.valueAtPercentile(99));
+        assertEquals(1000, histogram.valueAtPercentile(100));
+        assertEquals(1, histogram.valueAtPercentile(0));
+    }
+
+    @Test
+    public void testLargeValues() {
+        QuicheQuicHistogram histogram = new QuicheQuicHistogram();
+        histogram.record(Long.MAX_VALUE);
+        histogram.record(-1);
+        assertEquals(0, histogram.min());
+        assertEquals(Long.MAX_VALUE, histogram.valueAtPercentile(100));
+    }
+
+    @Test
+    public void testCopyIsIndependent() {
+        QuicheQuicHistogram histogram = new QuicheQuicHistogram();
+        histogram.record(10);
+        QuicheQuicHistogram copy = histogram.copy();
+        histogram.record(100_000);
+        assertEquals(1, copy.count());
+        assertEquals(10, copy.max());
+    }
+
+    @Test
+    public void testBucketBounds() {
+        for (long value = 0; value < 100_000; value++) {
+            assertTrue(QuicheQuicHistogram.upperBound(QuicheQuicHistogram.bucket(value)) >= value);
+            assertWithinError(value, QuicheQuicHistogram.upperBound(QuicheQuicHistogram.bucket(value)));
+        }
+    }
+
+    private static void assertWithinError(long expected, long actual) {
+        assertTrue(Math.abs(actual - expected) <= expected / 8, "expected " + expected + " but was " + actual);
+    }
+}
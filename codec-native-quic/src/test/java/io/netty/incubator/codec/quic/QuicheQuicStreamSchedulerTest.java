@@ -0,0 +1,116 @@
+/*
+ * Copyright 2026 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty.incubator.codec.quic;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class QuicheQuicStreamSchedulerTest {
+
+    private static long[] schedule(QuicheQuicStreamScheduler scheduler, int starvationThreshold) {
+        int count = scheduler.schedule(starvationThreshold);
+        long[] ids = new long[count];
+        for (int i = 0; i < count; i++) {
+            ids[i] = scheduler.streamId(i);
+        }
+        return ids;
+    }
+
+    @Test
+    public void testUrgencyAndIncremental() {
+        QuicheQuicStreamScheduler scheduler = new QuicheQuicStreamScheduler();
+        scheduler.add(0, new QuicStreamPriority(5, false));
+        scheduler.add(4, new QuicStreamPriority(1, true));
+        scheduler.add(8, null);
+        scheduler.add(12, new QuicStreamPriority(1, false));
+        scheduler.add(16, new QuicStreamPriority(QuicheQuicStreamScheduler.DEFAULT_URGENCY, true));
+        assertArrayEquals(new long[] { 12, 4, 8, 16, 0 }, schedule(scheduler, 8));
+    }
+
+    @Test
+    public void testIncrementalStreamsTakeTurns() {
+        QuicheQuicStreamScheduler scheduler = new QuicheQuicStreamScheduler();
+        QuicStreamPriority priority = new QuicStreamPriority(3, true);
+        long[][] expected = {
+                { 0, 4, 8 },
+                { 4, 8, 0 },
+                { 8, 0, 4 },
+                { 0, 4, 8 },
+        };
+        for (long[] round: expected) {
+            scheduler.add(8, priority);
+            scheduler.add(0, priority);
+            scheduler.add(4, priority);
+            assertArrayEquals(round, schedule(scheduler, 8));
+            scheduler.clear();
+        }
+    }
+
+    @Test
+    public void testNonIncrementalStreamsAreSequential() {
+        QuicheQuicStreamScheduler scheduler = new QuicheQuicStreamScheduler();
+        QuicStreamPriority priority = new QuicStreamPriority(3, false);
+        for (int i = 0; i < 3; i++) {
+            scheduler.add(4, priority);
+            scheduler.add(0, priority);
+            assertArrayEquals(new long[] { 0, 4 }, schedule(scheduler, 8));
+            scheduler.clear();
+        }
+    }
+
+    @Test
+    public void testStarvedStreamGoesFirst() {
+        QuicheQuicStreamScheduler scheduler = new QuicheQuicStreamScheduler();
+        QuicStreamPriority urgent = new QuicStreamPriority(0, false);
+        QuicStreamPriority background = new QuicStreamPriority(7, false);
+        for (int i = 0; i < 2; i++) {
+            scheduler.add(0, background);
+            scheduler.add(4, urgent);
+            assertArrayEquals(new long[] { 4, 0 }, schedule(scheduler, 2));
+            scheduler.served(0, false);
+            scheduler.served(1, true);
+            scheduler.clear();
+        }
+        scheduler.add(0, background);
+        scheduler.add(4, urgent);
+        assertArrayEquals(new long[] { 0, 4 }, schedule(scheduler, 2));
+        scheduler.served(0, false);
+        scheduler.served(1, false);
+        scheduler.clear();
+
+        // Once served it needs to wait again.
+        scheduler.add(0, background);
+        scheduler.add(4, urgent);
+        assertArrayEquals(new long[] { 4, 0 }, schedule(scheduler, 2));
+        scheduler.clear();
+    }
+
+    @Test
+    public void testRemoveResetsState() {
+        QuicheQuicStreamScheduler scheduler = new QuicheQuicStreamScheduler();
+        scheduler.add(0, new QuicStreamPriority(7, false));
+        assertEquals(1, scheduler.schedule(1));
+        scheduler.served(0, true);
+        scheduler.clear();
+        scheduler.remove(0);
+
+        scheduler.add(0, new QuicStreamPriority(7, false));
+        scheduler.add(4, new QuicStreamPriority(0, false));
+        assertArrayEquals(new long[] { 4, 0 }, schedule(scheduler, 1));
+    }
+}
@@ -0,0 +1,68 @@
+/*
+ * Copyright 2026 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty.incubator.codec.quic;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+public class ShardedQuicSslSessionStoreTest {
+
+    private static byte[] id(int i) {
+        byte[] id = new byte[BoringSSLSessionStoreCallback.SESSION_ID_LEN];
+        Arrays.fill(id, (byte) i);
+        return id;
+    }
+
+    @Test
+    public void testPutGetRemove() {
+        ShardedQuicSslSessionStore store = new ShardedQuicSslSessionStore(4, 64, 1, TimeUnit.MINUTES);
+        byte[] session = { 1, 2, 3 };
+        store.put(id(1), session);
+        // A different array with the same content must find the session.
+        assertArrayEquals(session, store.get(id(1)).getNow());
+        assertNull(store.get(id(2)).getNow());
+
+        store.remove(id(1));
+        assertNull(store.get(id(1)).getNow());
+        assertEquals(0, store.size());
+    }
+
+    @Test
+    public void testEvictsWhenFull() {
+        ShardedQuicSslSessionStore store = new ShardedQuicSslSessionStore(1, 2, 1, TimeUnit.MINUTES);
+        store.put(id(1), new byte[1]);
+        store.put(id(2), new byte[1]);
+        // Access the first so the second is the least recently used.
+        store.get(id(1));
+        store.put(id(3), new byte[1]);
+        assertEquals(2, store.size());
+        assertNull(store.get(id(2)).getNow());
+    }
+
+    @Test
+    public void testExpiredSessionsAreNotReturned() throws Exception {
+        ShardedQuicSslSessionStore store = new ShardedQuicSslSessionStore(2, 64, 1, TimeUnit.MILLISECONDS);
+        store.put(id(1), new byte[1]);
+        Thread.sleep(10);
+        assertNull(store.get(id(1)).getNow());
+    }
+}
@@ -15,12 +15,15 @@
  */
 package io.netty.incubator.codec.quic;
 
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.MethodSource;
 
 import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
+import java.util.Arrays;
 import java.util.concurrent.ThreadLocalRandom;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -155,4 +158,49 @@ public class SipHashTest {
 
         assertNotEquals(bufferHash, emptyBufferHash);
     }
+
+    @Test
+    void testHashWithPosition() {
+        byte[] bytes = new byte[64];
+        ThreadLocalRandom.current().nextBytes(bytes);
+
+        SipHash hash = new SipHash(2, 4, REFERENCE_SEED);
+        for (int offset = 0; offset < 16; offset++) {
+            for (int length = 0; length < bytes.length - offset; length++) {
+                ByteBuffer slice = ByteBuffer.wrap(bytes, offset, length);
+                ByteBuffer copy = ByteBuffer.wrap(Arrays.copyOfRange(bytes, offset, offset + length));
+                assertEquals(hash.macHash(copy), hash.macHash(slice));
+                assertEquals(offset, slice.position());
+            }
+        }
+    }
+
+    @Test
+    void testTweak() {
+        ByteBuffer buffer = ByteBuffer.wrap(new byte[] { 1, 2, 3 });
+        SipHash hash = new SipHash(2, 4, REFERENCE_SEED);
+        assertEquals(hash.macHash(buffer), hash.macHash(buffer, 0));
+        assertNotEquals(hash.macHash(buffer, 0), hash.macHash(buffer, 1));
+    }
+
+    @Test
+    void testSigner() {
+        byte[] bytes = new byte[20];
+        ThreadLocalRandom.current().nextBytes(bytes);
+        ByteBuffer input = ByteBuffer.wrap(bytes);
+        for (int length = 0; length <= 20; length++) {
+            ByteBuf out = Unpooled.buffer();
+            try {
+                SipHashSigner.DEFAULT.sign(input, out, length);
+                assertEquals(length, out.readableBytes());
+                assertEquals(SipHashSigner.DEFAULT.sign(input, length), out.nioBuffer());
+                assertEquals(0, input.position());
+            } finally {
+                out.release();
+            }
+        }
+        // Different input should produce a different signature.
+        assertNotEquals(SipHashSigner.DEFAULT.sign(input, 16),
+                SipHashSigner.DEFAULT.sign(ByteBuffer.wrap(new byte[20]), 16));
+    }
 }
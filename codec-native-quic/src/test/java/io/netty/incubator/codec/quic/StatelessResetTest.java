@@ -0,0 +1,85 @@
+/*
+ * Copyright 2026 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty.incubator.codec.quic;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class StatelessResetTest {
+
+    @Test
+    public void testRateLimiterBurstAndRefill() {
+        long now = 0;
+        StatelessResetRateLimiter limiter = new StatelessResetRateLimiter(4, now);
+        for (int i = 0; i < 4; i++) {
+            assertTrue(limiter.tryAcquire(now));
+        }
+        assertFalse(limiter.tryAcquire(now));
+
+        // A quarter of a second should give us exactly one more permit.
+        now += TimeUnit.MILLISECONDS.toNanos(250);
+        assertTrue(limiter.tryAcquire(now));
+        assertFalse(limiter.tryAcquire(now));
+
+        // The burst is capped by the number of permits per second.
+        now += TimeUnit.SECONDS.toNanos(10);
+        for (int i = 0; i < 4; i++) {
+            assertTrue(limiter.tryAcquire(now));
+        }
+        assertFalse(limiter.tryAcquire(now));
+    }
+
+    @Test
+    public void testRateLimiterRejectsInvalidRate() {
+        assertThrows(IllegalArgumentException.class, () -> new StatelessResetRateLimiter(0));
+    }
+
+    @Test
+    public void testWriteStatelessReset() {
+        byte[] token = new byte[Quic.RESET_TOKEN_LEN];
+        ThreadLocalRandom.current().nextBytes(token);
+
+        for (int length = QuicheQuicServerCodec.MIN_STATELESS_RESET_LEN;
+             length <= QuicheQuicServerCodec.MAX_STATELESS_RESET_LEN; length++) {
+            ByteBuf out = Unpooled.buffer(length);
+            try {
+                QuicheQuicServerCodec.writeStatelessReset(out, length, cid -> ByteBuffer.wrap(token),
+                        ByteBuffer.wrap(new byte[8]));
+                assertEquals(length, out.readableBytes());
+                byte first = out.getByte(0);
+                // Must look like a short header packet.
+                assertTrue(QuicHeaderParser.hasShortHeader(first));
+                assertEquals(0x40, first & 0x40);
+
+                byte[] writtenToken = new byte[Quic.RESET_TOKEN_LEN];
+                out.getBytes(length - Quic.RESET_TOKEN_LEN, writtenToken);
+                assertEquals(ByteBuffer.wrap(token), ByteBuffer.wrap(writtenToken));
+            } finally {
+                out.release();
+            }
+        }
+    }
+}